@@ -0,0 +1,63 @@
+package com.hemasundar.options.strategies;
+
+import com.hemasundar.options.models.LegFilter;
+import com.hemasundar.options.models.OptionChainResponse.OptionData;
+
+import java.util.List;
+
+/**
+ * Micro-benchmark of the leg checks on wide chains: boxed {@link LegFilter#passes} per
+ * {@link OptionData} against the {@link LegFilterKernel} scalar and SIMD masks. Not part of
+ * the test suite: only the {@code vector} profile compiles it, and it runs with
+ * <pre>
+ * mvn -Pvector test-compile exec:exec@leg-filter-benchmark
+ * </pre>
+ */
+public class LegFilterKernelBenchmark {
+
+    private static final LegFilter FILTER = LegFilter.builder()
+            .minDelta(0.15).maxDelta(0.35).minPremium(0.50).minVolume(10).minOpenInterest(100)
+            .minVolatility(20.0).maxVolatility(60.0)
+            .build();
+
+    public static void main(String[] args) {
+        System.out.printf("Vector API: %s%n", LegFilterKernel.vectorized());
+        for (int strikes : new int[]{64, 256, 1024, 4096}) {
+            List<OptionData> legs = LegFilterKernelTest.randomLegs(strikes, strikes);
+            LegColumns columns = LegColumns.of(legs.stream().map(List::of).toList());
+            int rounds = 4_000_000 / strikes;
+
+            double boxed = time(rounds, () -> {
+                int passing = 0;
+                for (OptionData leg : legs) {
+                    if (LegFilter.passes(FILTER, leg)) {
+                        passing++;
+                    }
+                }
+                return passing;
+            });
+            double scalar = time(rounds, () -> LegFilterKernel.evaluate(FILTER, columns, false).eligible().cardinality());
+            double vector = LegFilterKernel.vectorized()
+                    ? time(rounds, () -> LegFilterKernel.evaluate(FILTER, columns, true).eligible().cardinality())
+                    : Double.NaN;
+            System.out.printf("%5d strikes: boxed %8.2f us, scalar kernel %8.2f us, vector kernel %8.2f us (%.1fx vs boxed)%n",
+                    strikes, boxed, scalar, vector, boxed / (Double.isNaN(vector) ? scalar : vector));
+        }
+    }
+
+    private static double time(int rounds, java.util.function.IntSupplier body) {
+        long sink = 0;
+        for (int i = 0; i < rounds; i++) {
+            sink += body.getAsInt(); // warm-up
+        }
+        long t0 = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            sink += body.getAsInt();
+        }
+        double micros = (System.nanoTime() - t0) / 1000.0 / rounds;
+        if (sink == 42) {
+            System.out.print("");
+        }
+        return micros;
+    }
+}
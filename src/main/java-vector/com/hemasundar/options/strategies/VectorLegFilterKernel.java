@@ -0,0 +1,40 @@
+package com.hemasundar.options.strategies;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD form of {@link LegFilterKernel}'s bound check. Lives in the {@code src/main/java-vector}
+ * source set, compiled only by the {@code vector} Maven profile; {@link LegFilterKernel} loads
+ * it reflectively when the {@code jdk.incubator.vector} module is present and falls back to
+ * its scalar loop otherwise.
+ */
+final class VectorLegFilterKernel implements LegFilterKernel.BoundCheck {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    VectorLegFilterKernel() {
+        if (SPECIES.length() < 2) {
+            throw new IllegalStateException("No SIMD lanes for doubles");
+        }
+    }
+
+    /**
+     * Sets the bits of legs whose value is neither below {@code lo} nor above {@code hi}.
+     * The lane count is a power of two no larger than 64, so a lane block never straddles a word.
+     */
+    @Override
+    public void within(double[] values, int n, double lo, double hi, long[] words) {
+        int lanes = SPECIES.length();
+        int bound = SPECIES.loopBound(n);
+        int i = 0;
+        for (; i < bound; i += lanes) {
+            DoubleVector v = DoubleVector.fromArray(SPECIES, values, i);
+            VectorMask<Double> outside = v.compare(VectorOperators.LT, lo).or(v.compare(VectorOperators.GT, hi));
+            words[i >>> 6] |= outside.not().toLong() << (i & 63);
+        }
+        LegFilterKernel.within(values, i, n, lo, hi, words);
+    }
+}
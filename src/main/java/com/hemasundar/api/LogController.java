@@ -6,6 +6,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.Map;
@@ -21,10 +22,14 @@ public class LogController {
     private final StrategyExecutionService executionService;
 
     /**
-     * Returns all filter-stage log entries captured during the current or most recent execution.
+     * Returns all filter-stage log entries captured during the given execution, or during
+     * the most recently started execution when no id is given.
      */
     @GetMapping("/filter-logs")
-    public ResponseEntity<?> getFilterLogs() {
+    public ResponseEntity<?> getFilterLogs(@RequestParam(required = false) String executionId) {
+        if (executionId != null && !executionId.isBlank()) {
+            return ResponseEntity.ok(executionService.getFilterLogs(executionId));
+        }
         return ResponseEntity.ok(executionService.getFilterLogs());
     }
 
@@ -4,9 +4,11 @@ import com.hemasundar.dto.AlertMessages;
 import com.hemasundar.dto.CustomScreenerRequest;
 import com.hemasundar.dto.ExecutionAlert;
 import com.hemasundar.dto.ScreenerExecutionResult;
+import com.hemasundar.dto.UniverseFilterRequest;
 import com.hemasundar.services.ScreenerExecutionService;
 import com.hemasundar.services.StrategyExecutionService;
 import com.hemasundar.services.SupabaseService;
+import com.hemasundar.services.UniverseFilterService;
 import com.hemasundar.technical.ScreenerConfig;
 import com.hemasundar.technical.ScreenerType;
 import com.hemasundar.technical.TechnicalFilterChain;
@@ -15,12 +17,12 @@ import com.hemasundar.utils.SecuritiesResolver;
 import com.hemasundar.utils.WikipediaSecuritiesFetcher;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
+import org.apache.commons.lang3.StringUtils;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.io.IOException;
 import java.util.*;
-import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -39,6 +41,7 @@ public class ScreenerController {
     private final SecuritiesResolver securitiesResolver;
     private final StrategiesConfigLoader strategiesConfigLoader;
     private final WikipediaSecuritiesFetcher wikipediaFetcher;
+    private final UniverseFilterService universeFilterService;
 
     /**
      * Returns all enabled technical screeners with index, name, and type.
@@ -110,7 +113,7 @@ public class ScreenerController {
      */
     @PostMapping("/execute/custom-screener")
     public ResponseEntity<?> executeCustomScreener(@RequestBody CustomScreenerRequest request) {
-        if (executionService.isExecutionRunning()) {
+        if (!executionService.canStartExecution()) {
             return ResponseEntity.badRequest()
                     .body(Map.of("error", "An execution is already running"));
         }
@@ -186,18 +189,19 @@ public class ScreenerController {
         if (request.getSecurities() != null) requestParams.put("securities", request.getSecurities());
         if (request.getTechnicalFilters() != null) requestParams.put("technicalFilters", request.getTechnicalFilters());
 
-        CompletableFuture.runAsync(() -> {
-            executionService.startGlobalExecution("Custom Screener: " + screenerConfig.getName());
+        boolean admitted = executionService.submitExecution("Custom Screener: " + screenerConfig.getName(), () -> {
             try {
                 screenerExecutionService.executeCustomScreener(screenerConfig, requestParams);
             } catch (Exception e) {
                 log.error("Custom screener execution failed", e);
                 executionService.addAlert(ExecutionAlert.Severity.ERROR, AlertMessages.SRC_EXECUTION,
                         String.format(AlertMessages.UNEXPECTED_FAILURE_FMT, e.getMessage()));
-            } finally {
-                executionService.finishGlobalExecution();
             }
         });
+        if (!admitted) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("error", "An execution is already running"));
+        }
 
         return ResponseEntity.ok(Map.of(
                 "status", "started",
@@ -205,6 +209,55 @@ public class ScreenerController {
                         + " securities"));
     }
 
+    /**
+     * Evaluates math conditions (e.g. {@code RSI <= 30}) over the cached indicators of the
+     * whole universe, optionally restricted to securities files and/or inline tickers.
+     * Runs synchronously against the in-memory indicator matrix and fetches nothing, so
+     * it does not take the global execution slot.
+     */
+    @PostMapping("/screeners/filter")
+    public ResponseEntity<?> filterUniverse(@RequestBody UniverseFilterRequest request) {
+        if (request.getConditions() == null || request.getConditions().isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Provide at least one condition"));
+        }
+
+        Set<String> symbolSet = new LinkedHashSet<>();
+        if (request.getSecuritiesFile() != null && !request.getSecuritiesFile().isBlank()) {
+            try {
+                Map<String, List<String>> securitiesMap = securitiesResolver.loadSecuritiesMaps();
+                for (String fileName : request.getSecuritiesFile().split(",")) {
+                    List<String> fileSymbols = securitiesMap.get(fileName.trim().toLowerCase());
+                    if (fileSymbols != null) {
+                        symbolSet.addAll(fileSymbols);
+                    } else {
+                        log.warn("Securities file '{}' not found. Available: {}", fileName.trim(), securitiesMap.keySet());
+                    }
+                }
+            } catch (IOException e) {
+                log.error("Failed to load securities maps: {}", e.getMessage());
+                return ResponseEntity.internalServerError()
+                        .body(Map.of("error", "Failed to load securities files: " + e.getMessage()));
+            }
+        }
+        if (request.getSecurities() != null && !request.getSecurities().isBlank()) {
+            Arrays.stream(request.getSecurities().split(","))
+                    .map(String::trim).filter(s -> !s.isEmpty()).map(String::toUpperCase)
+                    .forEach(symbolSet::add);
+        }
+        boolean restricted = StringUtils.isNotBlank(request.getSecuritiesFile())
+                || StringUtils.isNotBlank(request.getSecurities());
+        if (restricted && symbolSet.isEmpty()) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("error", "The requested securities files and tickers resolve to no symbols"));
+        }
+
+        try {
+            return ResponseEntity.ok(universeFilterService.filter(request.getConditions(), restricted ? symbolSet : null));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     /**
      * Deletes a specific custom screener execution result by its Supabase ID.
      */
@@ -7,15 +7,21 @@ import com.hemasundar.dto.CustomExecuteRequest;
 import com.hemasundar.dto.ExecuteRequest;
 import com.hemasundar.dto.ExecutionAlert;
 import com.hemasundar.dto.StrategyResult;
+import com.hemasundar.dto.SweepReport;
+import com.hemasundar.dto.SweepRequest;
+import com.hemasundar.dto.SweepResult;
 import com.hemasundar.options.models.OptionsConfig;
 import com.hemasundar.options.models.OptionsStrategyFilter;
+import com.hemasundar.options.strategies.AbstractTradingStrategy;
 import com.hemasundar.options.strategies.StrategyType;
 import com.hemasundar.pojos.MarketHoursResponse;
 import com.hemasundar.pojos.QuotesResponse;
+import com.hemasundar.services.ExecutionContext;
 import com.hemasundar.services.ScreenerExecutionService;
 import com.hemasundar.services.StrategyExecutionService;
 import com.hemasundar.services.supabase.IVDataRepository;
 import com.hemasundar.technical.ScreenerConfig;
+import com.hemasundar.technical.TechnicalFilterChain;
 import com.hemasundar.utils.AuthErrorUtils;
 import com.hemasundar.utils.FilterParser;
 import com.hemasundar.utils.SecuritiesResolver;
@@ -30,7 +36,6 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
-import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -52,6 +57,9 @@ public class StrategyExecutionController {
     private final Optional<IVDataRepository> ivDataRepository;
     private final WikipediaSecuritiesFetcher wikipediaFetcher;
 
+    /** Upper bound on the variants of one parameter sweep. */
+    private static final int MAX_SWEEP_VARIANTS = 100;
+
     /**
      * Returns all enabled strategies with index, name, and type.
      */
@@ -112,6 +120,19 @@ public class StrategyExecutionController {
         }
     }
 
+    /**
+     * Returns the outcome of the latest parameter sweep, or 404 when none has finished.
+     */
+    @GetMapping("/results/sweep")
+    public ResponseEntity<?> getLatestSweep() {
+        return executionService.getLatestSweep()
+                .<ResponseEntity<?>>map(report -> ResponseEntity.ok()
+                        .header("Cache-Control", "no-cache, no-store, must-revalidate")
+                        .body(report))
+                .orElseGet(() -> ResponseEntity.status(404)
+                        .body(Map.of("error", "No parameter sweep has finished yet")));
+    }
+
     /**
      * Returns recent custom execution results (last 10).
      */
@@ -136,7 +157,7 @@ public class StrategyExecutionController {
      */
     @PostMapping("/execute")
     public ResponseEntity<?> executeStrategies(@RequestBody ExecuteRequest request) {
-        if (executionService.isExecutionRunning()) {
+        if (!executionService.canStartExecution()) {
             return ResponseEntity.badRequest()
                     .body(Map.of("error", "An execution is already running"));
         }
@@ -147,8 +168,7 @@ public class StrategyExecutionController {
                 : null;
         log.info("REST: Execute strategies with indices: {}, screener indices: {}", indices, screenerIndices);
 
-        CompletableFuture.runAsync(() -> {
-            executionService.startGlobalExecution("Initializing execution...");
+        boolean admitted = executionService.submitExecution("Initializing execution...", () -> {
             try {
                 if (indices != null && !indices.isEmpty()) {
                     executionService.executeStrategies(indices);
@@ -162,10 +182,12 @@ public class StrategyExecutionController {
                 log.error("Strategy execution failed", e);
                 executionService.addAlert(ExecutionAlert.Severity.ERROR, AlertMessages.SRC_EXECUTION,
                         String.format(AlertMessages.UNEXPECTED_FAILURE_FMT, e.getMessage()));
-            } finally {
-                executionService.finishGlobalExecution();
             }
         });
+        if (!admitted) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("error", "An execution is already running"));
+        }
 
         int total = indices.size() + (screenerIndices != null ? screenerIndices.size() : 0);
         return ResponseEntity.ok(Map.of(
@@ -178,58 +200,24 @@ public class StrategyExecutionController {
      */
     @PostMapping("/execute/custom")
     public ResponseEntity<?> executeCustomStrategy(@RequestBody CustomExecuteRequest request) {
-        if (executionService.isExecutionRunning()) {
+        if (!executionService.canStartExecution()) {
             return ResponseEntity.badRequest()
                     .body(Map.of("error", "An execution is already running"));
         }
 
         try {
             StrategyType type = StrategyType.fromString(request.getStrategyType());
-            Set<String> symbolSet = new LinkedHashSet<>();
-
-            if (request.getSecuritiesFile() != null && !request.getSecuritiesFile().isBlank()) {
-                try {
-                    Map<String, List<String>> securitiesMap = securitiesResolver.loadSecuritiesMaps();
-                    String[] fileNames = request.getSecuritiesFile().split(",");
-                    for (String fileName : fileNames) {
-                        String key = fileName.trim();
-                        String keyLower = key.toLowerCase();
-                        List<String> fileSymbols = securitiesMap.get(keyLower);
-                        if (fileSymbols != null) {
-                            symbolSet.addAll(fileSymbols);
-                        } else if (key.equalsIgnoreCase("SPY") || key.equalsIgnoreCase("QQQ")) {
-                            log.info("Lazily fetching dynamic securities for custom execution: {}", key);
-                            try {
-                                symbolSet.addAll(wikipediaFetcher.fetch(key.toUpperCase()));
-                            } catch (IllegalStateException e) {
-                                return ResponseEntity.status(503)
-                                        .body(Map.of("error", "Failed to load " + key + " from Wikipedia: " + e.getMessage()));
-                            }
-                        } else {
-                            log.warn("Securities file '{}' not found. Available: {}", key, securitiesMap.keySet());
-                        }
-                    }
-                } catch (IOException e) {
-                    log.error("Failed to load securities maps: {}", e.getMessage());
-                    return ResponseEntity.internalServerError()
-                            .body(Map.of("error", "Failed to load securities files: " + e.getMessage()));
-                }
-            }
-
-            if (request.getSecurities() != null && !request.getSecurities().isBlank()) {
-                Arrays.stream(request.getSecurities().split(","))
-                        .map(String::trim)
-                        .filter(s -> !s.isEmpty())
-                        .map(String::toUpperCase)
-                        .forEach(symbolSet::add);
+            List<String> symbols;
+            try {
+                symbols = resolveSymbols(request.getSecuritiesFile(), request.getSecurities());
+            } catch (SymbolResolutionException e) {
+                return ResponseEntity.status(e.status).body(Map.of("error", e.getMessage()));
             }
-
-            if (symbolSet.isEmpty()) {
+            if (symbols.isEmpty()) {
                 return ResponseEntity.badRequest()
                         .body(Map.of("error", "Provide a securities file, inline tickers, or both"));
             }
 
-            List<String> symbols = new ArrayList<>(symbolSet);
             OptionsStrategyFilter filter = FilterParser.buildFilter(type, request.getFilter());
             if (filter != null) {
                 filter.setStrategyType(type.name());
@@ -256,9 +244,11 @@ public class StrategyExecutionController {
 
             log.info("REST: Custom execute {} on {} securities", type.getDisplayName(), symbols.size());
 
-            CompletableFuture.runAsync(() -> {
-                executionService.executeCustomStrategy(config);
-            });
+            if (!executionService.submitExecution("Custom: " + type.getDisplayName(),
+                    () -> executionService.executeCustomStrategy(config))) {
+                return ResponseEntity.badRequest()
+                        .body(Map.of("error", "An execution is already running"));
+            }
 
             return ResponseEntity.ok(Map.of(
                     "status", "started",
@@ -273,6 +263,182 @@ public class StrategyExecutionController {
         }
     }
 
+    /**
+     * Starts a run of one strategy type over a universe with several filter variants, keeping
+     * the best trades per variant. Candidates are generated once per symbol and expiry for all
+     * variants; nothing is sent to Telegram or saved. The sweep runs in the background like
+     * any other execution; its outcome is then served by GET /api/results/sweep. Technical
+     * filters apply to all variants, so they may only be set on the base filter.
+     */
+    @PostMapping("/execute/sweep")
+    public ResponseEntity<?> executeSweep(@RequestBody SweepRequest request) {
+        if (!executionService.canStartExecution()) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("error", "An execution is already running"));
+        }
+        if (CollectionUtils.isEmpty(request.getVariants())) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Provide at least one variant"));
+        }
+        if (request.getVariants().size() > MAX_SWEEP_VARIANTS) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("error", "At most " + MAX_SWEEP_VARIANTS + " variants per sweep"));
+        }
+
+        try {
+            StrategyType type = StrategyType.fromString(request.getStrategyType());
+            List<String> symbols;
+            try {
+                symbols = resolveSymbols(request.getSecuritiesFile(), request.getSecurities());
+            } catch (SymbolResolutionException e) {
+                return ResponseEntity.status(e.status).body(Map.of("error", e.getMessage()));
+            }
+            if (symbols.isEmpty()) {
+                return ResponseEntity.badRequest()
+                        .body(Map.of("error", "Provide a securities file, inline tickers, or both"));
+            }
+
+            List<OptionsStrategyFilter> variants = new ArrayList<>();
+            for (Map<String, Object> overrides : request.getVariants()) {
+                Map<String, Object> merged = mergeFilterMaps(request.getFilter(), overrides);
+                OptionsStrategyFilter filter = FilterParser.buildFilter(type, merged);
+                filter.setStrategyType(type.name());
+                variants.add(filter);
+            }
+            if (request.getVariants().stream().anyMatch(v -> v != null && v.containsKey("technicalFilters"))) {
+                return ResponseEntity.badRequest()
+                        .body(Map.of("error", "Technical filters can only be set on the base filter"));
+            }
+            Map<String, Object> technicalFilters = technicalFilters(request.getFilter());
+            TechnicalFilterChain technicalFilterChain = technicalFilters != null
+                    ? strategiesConfigLoader.parseTechnicalFilters(technicalFilters) : null;
+            if (technicalFilters != null) {
+                variants.forEach(v -> v.setTechnicalFilters(technicalFilters));
+            }
+
+            String name = request.getAlias() != null && !request.getAlias().isBlank()
+                    ? request.getAlias() : type.getDisplayName();
+            int tradesPerVariant = request.getMaxTradesPerVariant() != null ? request.getMaxTradesPerVariant() : 10;
+            log.info("REST: Parameter sweep {} with {} variants on {} securities", name, variants.size(), symbols.size());
+
+            AbstractTradingStrategy strategy = strategiesConfigLoader.getStrategy(type);
+            boolean admitted = executionService.submitExecution("Parameter sweep: " + name, () -> {
+                try {
+                    SweepReport report = executionService.executeSweep(strategy, name, symbols, variants,
+                            tradesPerVariant, technicalFilterChain);
+                    List<SweepResult> results = report.getResults();
+                    executionService.setLatestSweep(report.toBuilder()
+                            .results(IntStream.range(0, results.size())
+                                    .mapToObj(i -> results.get(i).toBuilder().overrides(request.getVariants().get(i)).build())
+                                    .toList())
+                            .build());
+                } catch (Exception e) {
+                    log.error("Parameter sweep failed", e);
+                    executionService.addAlert(ExecutionAlert.Severity.ERROR, AlertMessages.SRC_EXECUTION,
+                            String.format(AlertMessages.UNEXPECTED_FAILURE_FMT, e.getMessage()));
+                }
+            });
+            if (!admitted) {
+                return ResponseEntity.badRequest()
+                        .body(Map.of("error", "An execution is already running"));
+            }
+            return ResponseEntity.ok(Map.of(
+                    "status", "started",
+                    "message", "Parameter sweep started: " + name + " with " + variants.size()
+                            + " variants on " + symbols.size() + " securities"));
+        } catch (IllegalArgumentException e) {
+            String errorMsg = e.getMessage() != null && e.getMessage().contains("No enum constant")
+                    ? "Invalid strategy type: " + request.getStrategyType()
+                    : e.getMessage();
+            return ResponseEntity.badRequest()
+                    .body(Map.of("error", errorMsg));
+        }
+    }
+
+    /**
+     * The non-empty {@code technicalFilters} map of a request filter, or null.
+     */
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> technicalFilters(Map<String, Object> filter) {
+        Object technical = filter != null ? filter.get("technicalFilters") : null;
+        return technical instanceof Map<?, ?> map && !map.isEmpty() ? (Map<String, Object>) map : null;
+    }
+
+    /**
+     * {@code base} with {@code overrides} applied; nested maps (e.g. {@code shortLeg}) are
+     * merged key by key, so a variant only lists the values it changes.
+     */
+    @SuppressWarnings("unchecked")
+    static Map<String, Object> mergeFilterMaps(Map<String, Object> base, Map<String, Object> overrides) {
+        Map<String, Object> merged = base != null ? new LinkedHashMap<>(base) : new LinkedHashMap<>();
+        if (overrides != null) {
+            for (Map.Entry<String, Object> entry : overrides.entrySet()) {
+                Object current = merged.get(entry.getKey());
+                merged.put(entry.getKey(), current instanceof Map && entry.getValue() instanceof Map
+                        ? mergeFilterMaps((Map<String, Object>) current, (Map<String, Object>) entry.getValue())
+                        : entry.getValue());
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Symbols of the named securities file(s) and inline tickers of a custom request, in
+     * order and without duplicates. SPY / QQQ are fetched from Wikipedia when no file has them.
+     */
+    private List<String> resolveSymbols(String securitiesFile, String securities) throws SymbolResolutionException {
+        Set<String> symbolSet = new LinkedHashSet<>();
+
+        if (securitiesFile != null && !securitiesFile.isBlank()) {
+            try {
+                Map<String, List<String>> securitiesMap = securitiesResolver.loadSecuritiesMaps();
+                String[] fileNames = securitiesFile.split(",");
+                for (String fileName : fileNames) {
+                    String key = fileName.trim();
+                    String keyLower = key.toLowerCase();
+                    List<String> fileSymbols = securitiesMap.get(keyLower);
+                    if (fileSymbols != null) {
+                        symbolSet.addAll(fileSymbols);
+                    } else if (key.equalsIgnoreCase("SPY") || key.equalsIgnoreCase("QQQ")) {
+                        log.info("Lazily fetching dynamic securities for custom execution: {}", key);
+                        try {
+                            symbolSet.addAll(wikipediaFetcher.fetch(key.toUpperCase()));
+                        } catch (IllegalStateException e) {
+                            throw new SymbolResolutionException(503,
+                                    "Failed to load " + key + " from Wikipedia: " + e.getMessage());
+                        }
+                    } else {
+                        log.warn("Securities file '{}' not found. Available: {}", key, securitiesMap.keySet());
+                    }
+                }
+            } catch (IOException e) {
+                log.error("Failed to load securities maps: {}", e.getMessage());
+                throw new SymbolResolutionException(500, "Failed to load securities files: " + e.getMessage());
+            }
+        }
+
+        if (securities != null && !securities.isBlank()) {
+            Arrays.stream(securities.split(","))
+                    .map(String::trim)
+                    .filter(s -> !s.isEmpty())
+                    .map(String::toUpperCase)
+                    .forEach(symbolSet::add);
+        }
+
+        return new ArrayList<>(symbolSet);
+    }
+
+    /**
+     * Symbols of a custom request could not be loaded; {@link #status} is the HTTP status to answer with.
+     */
+    private static final class SymbolResolutionException extends Exception {
+        private final int status;
+
+        SymbolResolutionException(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+
     /**
      * Returns current execution status.
      */
@@ -285,6 +451,16 @@ public class StrategyExecutionController {
             response.put("startTimeMs", executionService.getExecutionStartTimeMs());
             response.put("elapsedMs", System.currentTimeMillis() - executionService.getExecutionStartTimeMs());
             response.put("currentTask", executionService.getCurrentExecutionTask());
+            List<Map<String, Object>> executions = new ArrayList<>();
+            for (ExecutionContext context : executionService.getActiveExecutions()) {
+                Map<String, Object> execution = new LinkedHashMap<>();
+                execution.put("executionId", context.getExecutionId());
+                execution.put("startTimeMs", context.getStartTimeMs());
+                execution.put("elapsedMs", System.currentTimeMillis() - context.getStartTimeMs());
+                execution.put("currentTask", context.getCurrentTask());
+                executions.add(execution);
+            }
+            response.put("executions", executions);
         }
         List<ExecutionAlert> alerts = executionService.getAlerts();
         if (!alerts.isEmpty()) {
@@ -303,15 +479,22 @@ public class StrategyExecutionController {
     }
 
     /**
-     * Cancels a running execution.
+     * Cancels one running execution, or all of them when no execution id is given.
      */
     @PostMapping("/cancel")
-    public ResponseEntity<?> cancelExecution() {
+    public ResponseEntity<?> cancelExecution(@RequestParam(required = false) String executionId) {
         if (!executionService.isExecutionRunning()) {
             return ResponseEntity.badRequest()
                     .body(Map.of("error", "No execution is currently running"));
         }
-        executionService.cancelExecution();
+        if (executionId != null && !executionId.isBlank()) {
+            if (!executionService.cancelExecution(executionId)) {
+                return ResponseEntity.badRequest()
+                        .body(Map.of("error", "Execution " + executionId + " is not running"));
+            }
+        } else {
+            executionService.cancelExecution();
+        }
         return ResponseEntity.ok(Map.of("cancelled", true));
     }
 
@@ -9,6 +9,7 @@ import com.hemasundar.utils.ApiErrorHandler;
 import com.hemasundar.utils.TokenProvider;
 import com.hemasundar.utils.BaseURLs;
 import com.hemasundar.utils.JavaUtils;
+import com.hemasundar.utils.OptionChainProjection;
 import io.restassured.RestAssured;
 import io.restassured.response.Response;
 import lombok.RequiredArgsConstructor;
@@ -31,6 +32,10 @@ public class ThinkOrSwimAPIs {
     private final ApiErrorHandler apiErrorHandler;
     private final com.hemasundar.utils.SchwabApiExecutor schwabApiExecutor;
 
+    /** Parse option chains with {@link OptionChainProjection} (only the fields strategies read). */
+    @Value("${cache.option-chain.projection.enabled:true}")
+    private boolean optionChainProjectionEnabled = true;
+
     /**
      * Fetches quotes for multiple symbols in a single API call.
      */
@@ -172,7 +177,9 @@ public class ThinkOrSwimAPIs {
         Response response = request.get(BaseURLs.SCHWAB_BASE_URL + "/chains");
 
         if (response.statusCode() == 200) {
-            return JavaUtils.convertJsonToPojo(response.asString(), OptionChainResponse.class);
+            return optionChainProjectionEnabled
+                    ? OptionChainProjection.parse(response.asString())
+                    : OptionChainProjection.parseFull(response.asString());
         } else if (response.statusCode() == 502 && response.asString().contains("Body buffer overflow")) {
             throw new BodyBufferOverflowException();
         } else {
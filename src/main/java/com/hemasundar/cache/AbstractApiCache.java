@@ -1,20 +1,43 @@
 package com.hemasundar.cache;
 
 import com.hemasundar.utils.SchwabApiExecutor;
+import com.hemasundar.utils.SymbolTable;
 import lombok.Getter;
 import lombok.extern.log4j.Log4j2;
 import org.apache.commons.collections4.CollectionUtils;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
+import java.util.function.ToLongFunction;
 
 /**
  * Base generic cache for API responses.
  *
+ * <p>Caches are unbounded by default. Calling {@link #setMemoryBudget(long, ToLongFunction)}
+ * bounds the cache by the estimated retained size of its entries: when a
+ * {@link #put} pushes the total over budget, entries are evicted until it fits again.
+ * Victims are chosen among unpinned entries, preferring entries that are no longer
+ * needed ({@link #isStillNeeded(String)}), and within each group the one with the
+ * largest {@code size × idle time} — big, cold entries go first. Pinned entries
+ * ({@link #pin(String)}) are never evicted.
+ *
+ * <p>Entries never expire by default. {@link #setPolicy(CachePolicy)} gives them a
+ * freshness window: expired entries are treated as misses, and stale ones are still
+ * served by {@link #getOrFetch(String, Function)} while a single background refresh
+ * replaces them (stale-while-revalidate). With a {@link SpillStore} attached
+ * ({@link #setSpillStore(SpillStore)}), entries evicted for budget reasons are written
+ * to disk instead of dropped and read back — with their original fetch time — on the
+ * next heap miss.
+ *
  * @param <T> The type of the cached data
  */
 @Log4j2
@@ -28,6 +51,42 @@ public abstract class AbstractApiCache<T> {
     protected final AtomicInteger hits = new AtomicInteger(0);
     @Getter
     protected final AtomicInteger misses = new AtomicInteger(0);
+    @Getter
+    protected final AtomicInteger evictions = new AtomicInteger(0);
+    @Getter
+    protected final AtomicLong retainedBytes = new AtomicLong(0);
+    @Getter
+    protected final AtomicLong peakRetainedBytes = new AtomicLong(0);
+    @Getter
+    protected final AtomicInteger staleHits = new AtomicInteger(0);
+    @Getter
+    protected final AtomicInteger revalidations = new AtomicInteger(0);
+    @Getter
+    protected final AtomicInteger spillWrites = new AtomicInteger(0);
+    @Getter
+    protected final AtomicInteger spillLoads = new AtomicInteger(0);
+
+    // ── Freshness and disk tier (inactive until setPolicy / setSpillStore are called) ──
+    private static final Executor DEFAULT_REVALIDATOR = Executors.newFixedThreadPool(2, runnable -> {
+        Thread thread = new Thread(runnable, "cache-revalidate");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Map<String, Long> writtenAt = new ConcurrentHashMap<>();
+    private final Set<String> revalidating = ConcurrentHashMap.newKeySet();
+    @Getter
+    private volatile CachePolicy policy = CachePolicy.NEVER_EXPIRES;
+    private volatile SpillStore<T> spillStore;
+    private volatile Executor revalidator = DEFAULT_REVALIDATOR;
+
+    // ── Size-aware bounding (inactive until setMemoryBudget is called) ──
+    private final Map<String, Long> weights = new ConcurrentHashMap<>();
+    private final Map<String, Long> lastAccess = new ConcurrentHashMap<>();
+    private final Set<String> pinned = ConcurrentHashMap.newKeySet();
+    private final AtomicLong accessClock = new AtomicLong(0);
+    private final Object evictionLock = new Object();
+    private volatile long maxRetainedBytes;
+    private volatile ToLongFunction<T> weigher;
 
     /**
      * Pre-warms the cache by fetching all uncached {@code symbols} in parallel via
@@ -43,10 +102,10 @@ public abstract class AbstractApiCache<T> {
             return;
         }
 
-        // Only queue symbols that aren't already cached
+        // Only queue symbols that aren't already cached and fresh
         List<String> uncached = symbols.stream()
                 .distinct()
-                .filter(s -> !cache.containsKey(s))
+                .filter(s -> lookup(s) == null || !isFresh(s))
                 .toList();
 
         if (uncached.isEmpty()) {
@@ -60,7 +119,7 @@ public abstract class AbstractApiCache<T> {
         long t0 = System.currentTimeMillis();
         List<T> responses = executor.executeParallel(uncached,
                 symbol -> {
-                    apiCallCounter.incrementAndGet();
+                    countFetch();
                     return fetchFunction.apply(symbol);
                 }, alertCallback);
 
@@ -68,7 +127,7 @@ public abstract class AbstractApiCache<T> {
         for (int i = 0; i < uncached.size(); i++) {
             T resp = responses.get(i);
             if (resp != null) {
-                cache.put(uncached.get(i), resp);
+                put(uncached.get(i), resp);
             } else {
                 log.warn("Pre-warm failed for symbol: {}", uncached.get(i));
             }
@@ -79,13 +138,25 @@ public abstract class AbstractApiCache<T> {
     }
 
     /**
-     * Checks if a symbol is already cached.
+     * Checks if a symbol is already cached in memory and not expired.
      *
      * @param symbol The stock symbol
      * @return true if cached, false otherwise
      */
     public boolean isCached(String symbol) {
-        return cache.containsKey(symbol);
+        return cache.containsKey(symbol) && freshness(symbol) != CachePolicy.Freshness.EXPIRED;
+    }
+
+    /**
+     * @return true if {@code symbol} is cached in memory and within its freshness window
+     */
+    public boolean isFresh(String symbol) {
+        return cache.containsKey(symbol) && freshness(symbol) == CachePolicy.Freshness.FRESH;
+    }
+
+    private CachePolicy.Freshness freshness(String symbol) {
+        Long at = writtenAt.get(symbol);
+        return at == null ? CachePolicy.Freshness.FRESH : policy.freshness(at, System.currentTimeMillis());
     }
 
     /**
@@ -95,19 +166,37 @@ public abstract class AbstractApiCache<T> {
      * @param data   The data to cache
      */
     public void put(String symbol, T data) {
+        put(symbol, data, System.currentTimeMillis());
+    }
+
+    /**
+     * Stores data that was originally fetched at {@code writtenAtMs} (e.g. read back from disk).
+     */
+    protected void put(String symbol, T data, long writtenAtMs) {
         if (symbol != null && data != null) {
+            symbol = SymbolTable.intern(symbol);
             cache.put(symbol, data);
+            writtenAt.put(symbol, writtenAtMs);
+            if (weigher != null) {
+                long weight = weigher.applyAsLong(data);
+                Long previous = weights.put(symbol, weight);
+                long total = retainedBytes.addAndGet(weight - (previous != null ? previous : 0L));
+                peakRetainedBytes.accumulateAndGet(total, Math::max);
+                touch(symbol);
+                evictIfOverBudget();
+            }
         }
     }
     
     /**
-     * Retrieves cached data for a symbol.
+     * Retrieves cached data for a symbol. Expired entries count as misses; stale
+     * entries are returned as-is (use {@link #getOrFetch} to have them refreshed).
      *
      * @param symbol The stock symbol
      * @return T if cached, null otherwise
      */
     public T get(String symbol) {
-        T data = cache.get(symbol);
+        T data = lookup(symbol);
         if (data != null) {
             hits.incrementAndGet();
         } else {
@@ -116,6 +205,265 @@ public abstract class AbstractApiCache<T> {
         return data;
     }
 
+    /**
+     * Read-through lookup: returns the cached value, fetching and caching it when
+     * missing or expired. A stale value is returned immediately and refreshed in the
+     * background, at most one refresh per symbol at a time.
+     *
+     * @param symbol        The stock symbol
+     * @param fetchFunction Function to fetch the data from the API
+     * @return the cached or freshly fetched value (null if the fetch returned null)
+     */
+    public T getOrFetch(String symbol, Function<String, T> fetchFunction) {
+        T data = get(symbol);
+        if (data == null) {
+            countFetch();
+            data = fetchFunction.apply(symbol);
+            put(symbol, data);
+        } else if (freshness(symbol) == CachePolicy.Freshness.STALE) {
+            revalidate(symbol, fetchFunction);
+        }
+        return data;
+    }
+
+    /**
+     * Looks {@code symbol} up in memory, then in the disk tier, without touching the hit/miss
+     * counters. Expired entries are dropped.
+     */
+    protected T lookup(String symbol) {
+        if (symbol == null) {
+            return null;
+        }
+        T data = cache.get(symbol);
+        if (data != null) {
+            CachePolicy.Freshness freshness = freshness(symbol);
+            if (freshness != CachePolicy.Freshness.EXPIRED) {
+                if (freshness == CachePolicy.Freshness.STALE) {
+                    staleHits.incrementAndGet();
+                }
+                touch(symbol);
+                return data;
+            }
+            remove(symbol);
+        }
+        return loadSpilled(symbol);
+    }
+
+    /**
+     * Refreshes {@code symbol} in the background unless a refresh is already running.
+     */
+    protected void revalidate(String symbol, Function<String, T> fetchFunction) {
+        if (!revalidating.add(symbol)) {
+            return;
+        }
+        try {
+            revalidator.execute(() -> {
+                try {
+                    countFetch();
+                    T fresh = fetchFunction.apply(symbol);
+                    if (fresh != null) {
+                        put(symbol, fresh);
+                        revalidations.incrementAndGet();
+                    }
+                } catch (Exception e) {
+                    log.warn("[Cache] Background refresh of {} failed: {}", symbol, e.getMessage());
+                } finally {
+                    revalidating.remove(symbol);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            revalidating.remove(symbol);
+        }
+    }
+
+    /**
+     * Whether this cache's fetch functions record their own upstream calls in
+     * {@link #apiCallCounter}. Caches whose fetch can be answered locally (e.g. from a disk
+     * store) return true and count only the requests that actually reach the API.
+     */
+    protected boolean countsOwnApiCalls() {
+        return false;
+    }
+
+    private void countFetch() {
+        if (!countsOwnApiCalls()) {
+            apiCallCounter.incrementAndGet();
+        }
+    }
+
+    /**
+     * Sets the freshness policy for all entries, including those already cached.
+     *
+     * @param policy freshness policy; {@code null} means entries never expire
+     */
+    public void setPolicy(CachePolicy policy) {
+        this.policy = policy != null ? policy : CachePolicy.NEVER_EXPIRES;
+    }
+
+    /**
+     * Attaches a disk tier that receives entries evicted for budget reasons.
+     *
+     * @param spillStore disk tier, or {@code null} to drop evicted entries
+     */
+    public void setSpillStore(SpillStore<T> spillStore) {
+        this.spillStore = spillStore;
+    }
+
+    /**
+     * Replaces the executor that runs stale-while-revalidate refreshes.
+     */
+    void setRevalidationExecutor(Executor executor) {
+        this.revalidator = executor != null ? executor : DEFAULT_REVALIDATOR;
+    }
+
+    private T loadSpilled(String symbol) {
+        SpillStore<T> store = spillStore;
+        if (store == null) {
+            return null;
+        }
+        SpillStore.Entry<T> entry = store.read(symbol);
+        if (entry == null) {
+            return null;
+        }
+        CachePolicy.Freshness freshness = policy.freshness(entry.writtenAtMs(), System.currentTimeMillis());
+        if (freshness == CachePolicy.Freshness.EXPIRED) {
+            store.delete(symbol);
+            return null;
+        }
+        if (freshness == CachePolicy.Freshness.STALE) {
+            staleHits.incrementAndGet();
+        }
+        spillLoads.incrementAndGet();
+        put(symbol, entry.value(), entry.writtenAtMs());
+        return entry.value();
+    }
+
+    private void spill(String symbol) {
+        SpillStore<T> store = spillStore;
+        T data = cache.get(symbol);
+        if (store != null && data != null) {
+            Long at = writtenAt.get(symbol);
+            store.write(symbol, data, at != null ? at : System.currentTimeMillis());
+            spillWrites.incrementAndGet();
+        }
+    }
+
+    /**
+     * Bounds the cache to {@code maxBytes} of estimated retained size.
+     *
+     * @param maxBytes budget in bytes; {@code <= 0} disables bounding
+     * @param weigher  estimates the retained size of one cached value
+     */
+    public void setMemoryBudget(long maxBytes, ToLongFunction<T> weigher) {
+        this.maxRetainedBytes = maxBytes;
+        this.weigher = maxBytes > 0 ? weigher : null;
+        if (this.weigher != null) {
+            cache.forEach((symbol, data) -> {
+                long weight = this.weigher.applyAsLong(data);
+                Long previous = weights.put(symbol, weight);
+                retainedBytes.addAndGet(weight - (previous != null ? previous : 0L));
+            });
+            peakRetainedBytes.accumulateAndGet(retainedBytes.get(), Math::max);
+            evictIfOverBudget();
+        }
+    }
+
+    /**
+     * @return true when a memory budget is active
+     */
+    public boolean isMemoryBounded() {
+        return weigher != null;
+    }
+
+    /**
+     * Protects {@code symbol} from eviction until {@link #unpin(String)} is called.
+     */
+    public void pin(String symbol) {
+        if (symbol != null) {
+            pinned.add(symbol);
+        }
+    }
+
+    public void unpin(String symbol) {
+        if (symbol != null) {
+            pinned.remove(symbol);
+        }
+    }
+
+    /**
+     * Eviction hint: entries that are no longer needed are evicted before entries that are.
+     * The base implementation treats every entry as still needed.
+     */
+    protected boolean isStillNeeded(String symbol) {
+        return true;
+    }
+
+    /**
+     * Marks {@code symbol} as recently used for eviction ordering.
+     */
+    protected void touch(String symbol) {
+        if (weigher != null) {
+            lastAccess.put(symbol, accessClock.incrementAndGet());
+        }
+    }
+
+    private void evictIfOverBudget() {
+        if (weigher == null || retainedBytes.get() <= maxRetainedBytes) {
+            return;
+        }
+        synchronized (evictionLock) {
+            while (retainedBytes.get() > maxRetainedBytes) {
+                String victim = selectVictim();
+                if (victim == null) {
+                    log.warn("[Cache] Over budget ({} > {} bytes) but every entry is pinned",
+                            retainedBytes.get(), maxRetainedBytes);
+                    return;
+                }
+                spill(victim);
+                remove(victim);
+                evictions.incrementAndGet();
+                log.debug("[Cache] Evicted {} (retained now {} bytes)", victim, retainedBytes.get());
+            }
+        }
+    }
+
+    private String selectVictim() {
+        long now = accessClock.get();
+        String victim = null;
+        boolean victimNeeded = true;
+        double victimScore = -1;
+        for (String symbol : cache.keySet()) {
+            if (pinned.contains(symbol)) {
+                continue;
+            }
+            boolean needed = isStillNeeded(symbol);
+            double score = (double) weights.getOrDefault(symbol, 0L)
+                    * (now - lastAccess.getOrDefault(symbol, 0L) + 1);
+            boolean better = victim == null
+                    || (victimNeeded && !needed)
+                    || (needed == victimNeeded && score > victimScore);
+            if (better) {
+                victim = symbol;
+                victimNeeded = needed;
+                victimScore = score;
+            }
+        }
+        return victim;
+    }
+
+    /**
+     * Removes a single entry, releasing its accounted size.
+     */
+    protected void remove(String symbol) {
+        cache.remove(symbol);
+        writtenAt.remove(symbol);
+        Long weight = weights.remove(symbol);
+        if (weight != null) {
+            retainedBytes.addAndGet(-weight);
+        }
+        lastAccess.remove(symbol);
+    }
+
     /**
      * Returns the number of cached symbols.
      */
@@ -124,13 +472,24 @@ public abstract class AbstractApiCache<T> {
     }
 
     /**
-     * Clears all cached data and resets counters.
+     * Clears all cached data and resets counters. Spilled entries on disk are kept.
      */
     public void clear() {
         cache.clear();
+        writtenAt.clear();
+        weights.clear();
+        lastAccess.clear();
+        pinned.clear();
         apiCallCounter.set(0);
         hits.set(0);
         misses.set(0);
+        evictions.set(0);
+        retainedBytes.set(0);
+        peakRetainedBytes.set(0);
+        staleHits.set(0);
+        revalidations.set(0);
+        spillWrites.set(0);
+        spillLoads.set(0);
         log.debug("[Cache] Cleared");
     }
 
@@ -140,8 +499,20 @@ public abstract class AbstractApiCache<T> {
     public String getStats() {
         int totalCalls = hits.get() + misses.get();
         double hitRate = totalCalls > 0 ? (hits.get() * 100.0 / totalCalls) : 0;
-        return String.format("Cache - Hits: %d | Misses: %d | Hit Rate: %.1f%% | Cached Symbols: %d | Total API calls: %d",
+        String stats = String.format("Cache - Hits: %d | Misses: %d | Hit Rate: %.1f%% | Cached Symbols: %d | Total API calls: %d",
                 hits.get(), misses.get(), hitRate, cache.size(), apiCallCounter.get());
+        if (weigher != null) {
+            stats += String.format(" | Evictions: %d | Retained: %.1f MB (peak %.1f MB, budget %.1f MB)",
+                    evictions.get(), retainedBytes.get() / 1_048_576.0, peakRetainedBytes.get() / 1_048_576.0,
+                    maxRetainedBytes / 1_048_576.0);
+        }
+        if (policy != CachePolicy.NEVER_EXPIRES) {
+            stats += String.format(" | Stale hits: %d | Revalidations: %d", staleHits.get(), revalidations.get());
+        }
+        if (spillStore != null) {
+            stats += String.format(" | Spilled: %d | Spill loads: %d", spillWrites.get(), spillLoads.get());
+        }
+        return stats;
     }
 
     public void printStats() {
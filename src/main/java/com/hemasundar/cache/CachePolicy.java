@@ -0,0 +1,92 @@
+package com.hemasundar.cache;
+
+import lombok.Getter;
+import org.apache.commons.lang3.Validate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+/**
+ * Freshness rules for one type of cached data.
+ *
+ * <p>An entry written at {@code t} is <em>fresh</em> until {@link #freshUntil(long)} —
+ * either {@code t + ttl}, or the next midnight in a given zone for day-scoped data such
+ * as daily candles and IV rank. After that it is <em>stale</em> for
+ * {@code staleWhileRevalidate} more: it may still be served while a refresh runs in the
+ * background. After that it is <em>expired</em> and treated as a miss.
+ */
+@Getter
+public final class CachePolicy {
+
+    public enum Freshness { FRESH, STALE, EXPIRED }
+
+    /** Entries never expire — the behaviour of every cache unless a policy is set. */
+    public static final CachePolicy NEVER_EXPIRES = new CachePolicy(null, null, Duration.ZERO);
+
+    private final Duration ttl;
+    private final ZoneId endOfDayZone;
+    private final Duration staleWhileRevalidate;
+
+    private CachePolicy(Duration ttl, ZoneId endOfDayZone, Duration staleWhileRevalidate) {
+        this.ttl = ttl;
+        this.endOfDayZone = endOfDayZone;
+        this.staleWhileRevalidate = staleWhileRevalidate;
+    }
+
+    /**
+     * Entries are fresh for {@code ttl}, then servable while revalidating for {@code staleWhileRevalidate}.
+     */
+    public static CachePolicy ttl(Duration ttl, Duration staleWhileRevalidate) {
+        Validate.isTrue(ttl != null && !ttl.isNegative() && !ttl.isZero(), "ttl must be positive");
+        return new CachePolicy(ttl, null, nonNegative(staleWhileRevalidate));
+    }
+
+    /**
+     * Entries are fresh until the end of the day (midnight in {@code zone}) on which they were written.
+     */
+    public static CachePolicy untilEndOfDay(ZoneId zone, Duration staleWhileRevalidate) {
+        Validate.notNull(zone, "zone must not be null");
+        return new CachePolicy(null, zone, nonNegative(staleWhileRevalidate));
+    }
+
+    private static Duration nonNegative(Duration duration) {
+        return duration == null || duration.isNegative() ? Duration.ZERO : duration;
+    }
+
+    /**
+     * @return epoch ms until which an entry written at {@code writtenAtMs} is fresh
+     */
+    public long freshUntil(long writtenAtMs) {
+        if (ttl != null) {
+            return writtenAtMs + ttl.toMillis();
+        }
+        if (endOfDayZone != null) {
+            LocalDate day = Instant.ofEpochMilli(writtenAtMs).atZone(endOfDayZone).toLocalDate();
+            return day.plusDays(1).atStartOfDay(endOfDayZone).toInstant().toEpochMilli();
+        }
+        return Long.MAX_VALUE;
+    }
+
+    /**
+     * @return epoch ms until which an entry written at {@code writtenAtMs} may be served (fresh or stale)
+     */
+    public long usableUntil(long writtenAtMs) {
+        long freshUntil = freshUntil(writtenAtMs);
+        return freshUntil == Long.MAX_VALUE ? freshUntil : freshUntil + staleWhileRevalidate.toMillis();
+    }
+
+    public Freshness freshness(long writtenAtMs, long nowMs) {
+        if (nowMs < freshUntil(writtenAtMs)) {
+            return Freshness.FRESH;
+        }
+        return nowMs < usableUntil(writtenAtMs) ? Freshness.STALE : Freshness.EXPIRED;
+    }
+
+    @Override
+    public String toString() {
+        String fresh = ttl != null ? "ttl=" + ttl : endOfDayZone != null ? "until end of day " + endOfDayZone : "never expires";
+        return fresh + ", stale-while-revalidate=" + staleWhileRevalidate;
+    }
+}
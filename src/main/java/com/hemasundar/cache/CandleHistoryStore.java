@@ -0,0 +1,257 @@
+package com.hemasundar.cache;
+
+import com.hemasundar.pojos.PriceHistoryResponse;
+import com.hemasundar.pojos.PriceHistoryResponse.CandleData;
+import com.hemasundar.utils.SymbolTable;
+import lombok.Getter;
+import lombok.extern.log4j.Log4j2;
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Local, per-symbol persistence for daily candle series.
+ *
+ * <p>Each symbol is stored in {@code <dir>/<SYMBOL>.candles} as a fixed 64-byte
+ * header followed by fixed-width 48-byte rows
+ * ({@code datetime, open, high, low, close, volume}). Because rows are fixed
+ * width, an incremental refresh only rewrites the rows from the first changed
+ * candle onwards (usually just the last, still-forming candle plus the new ones)
+ * via {@link #writeTail}, instead of rewriting the whole year.
+ *
+ * <p>Null prices are stored as {@code NaN} and null longs as {@link Long#MIN_VALUE}.
+ * I/O failures are logged and swallowed — callers fall back to a full API fetch.
+ */
+@Log4j2
+public class CandleHistoryStore {
+
+    static final int MAGIC = 0x50484353; // "PHCS"
+    static final short FORMAT_VERSION = 1;
+    static final int HEADER_BYTES = 64;
+    static final int ROW_BYTES = 48;
+    static final String FILE_EXTENSION = ".candles";
+
+    private static final long NULL_LONG = Long.MIN_VALUE;
+    private static final int WRITE_TIME_OFFSET = 4 + 2 + 2;
+    private static final int PREVIOUS_CLOSE_OFFSET = WRITE_TIME_OFFSET + 8;
+    private static final int PREVIOUS_CLOSE_DATE_OFFSET = PREVIOUS_CLOSE_OFFSET + 8;
+    private static final int ROW_COUNT_OFFSET = PREVIOUS_CLOSE_DATE_OFFSET + 8;
+
+    @Getter
+    private final Path directory;
+
+    public CandleHistoryStore(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Default store location: {@code ${tradingbot.cache.dir}/price-history},
+     * falling back to {@code ~/.trading-bot/price-history}.
+     */
+    public static CandleHistoryStore defaultStore() {
+        String customDir = System.getProperty("tradingbot.cache.dir");
+        if (StringUtils.isNotBlank(customDir)) {
+            return new CandleHistoryStore(Paths.get(customDir, "price-history"));
+        }
+        return new CandleHistoryStore(Paths.get(System.getProperty("user.home"), ".trading-bot", "price-history"));
+    }
+
+    /**
+     * Loads the stored series for {@code symbol}.
+     *
+     * @return the stored series, or {@code null} if missing or unreadable
+     */
+    public PriceHistoryResponse load(String symbol) {
+        Path file = fileFor(symbol);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buf = ByteBuffer.allocate((int) channel.size());
+            while (buf.hasRemaining() && channel.read(buf) >= 0) {
+                // read fully
+            }
+            buf.flip();
+            return decode(symbol, buf);
+        } catch (IOException | RuntimeException e) {
+            log.warn("[CandleHistoryStore] Failed to read {}: {}", file.getFileName(), e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Returns when the stored series for {@code symbol} was last written or extended.
+     *
+     * @return epoch ms, or {@code -1} if nothing readable is stored
+     */
+    public long lastWriteMillis(String symbol) {
+        Path file = fileFor(symbol);
+        if (!Files.isRegularFile(file)) {
+            return -1;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(ROW_COUNT_OFFSET);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // read fully
+            }
+            if (header.hasRemaining() || header.getInt(0) != MAGIC) {
+                return -1;
+            }
+            return header.getLong(WRITE_TIME_OFFSET);
+        } catch (IOException e) {
+            log.warn("[CandleHistoryStore] Failed to read header of {}: {}", file.getFileName(), e.getMessage());
+            return -1;
+        }
+    }
+
+    /**
+     * Replaces the stored series for {@code symbol} with {@code history}.
+     */
+    public void writeAll(String symbol, PriceHistoryResponse history) {
+        if (history == null || history.getCandles() == null) {
+            return;
+        }
+        Path file = fileFor(symbol);
+        try {
+            Files.createDirectories(directory);
+            List<CandleData> candles = history.getCandles();
+            ByteBuffer buf = ByteBuffer.allocate(HEADER_BYTES + candles.size() * ROW_BYTES);
+            writeHeader(buf, history.getPreviousClose(), history.getPreviousCloseDate(), candles.size());
+            buf.position(HEADER_BYTES);
+            candles.forEach(c -> writeRow(buf, c));
+            buf.flip();
+
+            Path tmp = Files.createTempFile(directory, symbol, ".tmp");
+            try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+                while (buf.hasRemaining()) {
+                    channel.write(buf);
+                }
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("[CandleHistoryStore] Failed to write {}: {}", file.getFileName(), e.getMessage());
+        }
+    }
+
+    /**
+     * Overwrites rows starting at {@code fromRow} with {@code tail} and truncates
+     * anything after it. Rows before {@code fromRow} are left untouched on disk; the
+     * header takes the new row count and previous-close metadata.
+     *
+     * @param symbol            stock symbol
+     * @param fromRow           index of the first row to replace (0 ≤ fromRow ≤ stored row count)
+     * @param tail              candles to write from {@code fromRow} onwards
+     * @param previousClose     previous close of the refreshed series, or {@code null}
+     * @param previousCloseDate date of {@code previousClose} in epoch ms, or {@code null}
+     */
+    public void writeTail(String symbol, int fromRow, List<CandleData> tail, Double previousClose,
+                          Long previousCloseDate) {
+        Path file = fileFor(symbol);
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            ByteBuffer rows = ByteBuffer.allocate(tail.size() * ROW_BYTES);
+            tail.forEach(c -> writeRow(rows, c));
+            rows.flip();
+
+            FileChannel channel = raf.getChannel();
+            long offset = HEADER_BYTES + (long) fromRow * ROW_BYTES;
+            while (rows.hasRemaining()) {
+                offset += channel.write(rows, offset);
+            }
+            channel.truncate(offset);
+
+            ByteBuffer previous = ByteBuffer.allocate(16)
+                    .putDouble(0, toDouble(previousClose))
+                    .putLong(8, toLong(previousCloseDate));
+            channel.write(previous, PREVIOUS_CLOSE_OFFSET);
+            ByteBuffer count = ByteBuffer.allocate(4).putInt(0, fromRow + tail.size());
+            channel.write(count, ROW_COUNT_OFFSET);
+            ByteBuffer writeTime = ByteBuffer.allocate(8).putLong(0, System.currentTimeMillis());
+            channel.write(writeTime, WRITE_TIME_OFFSET);
+        } catch (IOException e) {
+            log.warn("[CandleHistoryStore] Failed to append to {}: {}", file.getFileName(), e.getMessage());
+        }
+    }
+
+    private Path fileFor(String symbol) {
+        return directory.resolve(symbol.replaceAll("[^A-Za-z0-9._-]", "_") + FILE_EXTENSION);
+    }
+
+    // ── Encoding ────────────────────────────────────────────────────────────────
+
+    private static void writeHeader(ByteBuffer buf, Double previousClose, Long previousCloseDate, int rowCount) {
+        buf.putInt(MAGIC);
+        buf.putShort(FORMAT_VERSION);
+        buf.putShort((short) 0); // reserved
+        buf.putLong(System.currentTimeMillis());
+        buf.putDouble(toDouble(previousClose));
+        buf.putLong(toLong(previousCloseDate));
+        buf.putInt(rowCount);
+    }
+
+    private static void writeRow(ByteBuffer buf, CandleData c) {
+        buf.putLong(toLong(c.getDatetime()));
+        buf.putDouble(toDouble(c.getOpen()));
+        buf.putDouble(toDouble(c.getHigh()));
+        buf.putDouble(toDouble(c.getLow()));
+        buf.putDouble(toDouble(c.getClose()));
+        buf.putLong(toLong(c.getVolume()));
+    }
+
+    private static PriceHistoryResponse decode(String symbol, ByteBuffer buf) {
+        if (buf.getInt() != MAGIC) {
+            throw new IllegalStateException("Not a candle history file");
+        }
+        short version = buf.getShort();
+        if (version != FORMAT_VERSION) {
+            throw new IllegalStateException("Unsupported candle history version " + version);
+        }
+        buf.getShort(); // reserved
+        buf.getLong();  // last write time
+        Double previousClose = fromDouble(buf.getDouble());
+        Long previousCloseDate = fromLong(buf.getLong());
+        int rowCount = buf.getInt();
+        if (buf.limit() < HEADER_BYTES + (long) rowCount * ROW_BYTES) {
+            throw new IllegalStateException("Truncated candle history (" + rowCount + " rows expected)");
+        }
+
+        buf.position(HEADER_BYTES);
+        List<CandleData> candles = new ArrayList<>(rowCount);
+        for (int i = 0; i < rowCount; i++) {
+            Long datetime = fromLong(buf.getLong());
+            Double open = fromDouble(buf.getDouble());
+            Double high = fromDouble(buf.getDouble());
+            Double low = fromDouble(buf.getDouble());
+            Double close = fromDouble(buf.getDouble());
+            Long volume = fromLong(buf.getLong());
+            candles.add(new CandleData(open, high, low, close, volume, datetime));
+        }
+        return new PriceHistoryResponse(SymbolTable.intern(symbol), CollectionUtils.isEmpty(candles), previousClose, previousCloseDate, candles);
+    }
+
+    private static double toDouble(Double value) {
+        return value == null ? Double.NaN : value;
+    }
+
+    private static Double fromDouble(double value) {
+        return Double.isNaN(value) ? null : value;
+    }
+
+    private static long toLong(Long value) {
+        return value == null ? NULL_LONG : value;
+    }
+
+    private static Long fromLong(long value) {
+        return value == NULL_LONG ? null : value;
+    }
+}
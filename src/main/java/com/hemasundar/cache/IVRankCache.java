@@ -4,31 +4,85 @@ import lombok.extern.log4j.Log4j2;
 
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * Thread-safe singleton cache for IV Rank values calculated during a single execution run.
+ * Thread-safe cache for IV Rank values calculated during a single execution run.
  *
  * <p>IV Rank is expensive to compute (requires a Supabase query per symbol). This cache
  * ensures each symbol is only queried once per execution, regardless of how many strategies
- * are running concurrently.
+ * read it. Each {@link com.hemasundar.services.ExecutionContext} owns its own instance.
  *
- * <p>The cache must be cleared at the start of each execution via {@link #clear()}.
+ * <p>IV history only changes once a day, so runs can additionally share a process-wide
+ * tier enabled with {@link #enableSharedTier(CachePolicy)} (normally fresh until the end
+ * of the trading day). Lookups that miss the run's own map are served from that tier
+ * while its entry is not expired, and every {@link #put} writes through to it. The
+ * shared tier is off by default, so ranks only cross runs when it is configured.
  */
 @Log4j2
 public class IVRankCache {
 
-    private static final IVRankCache INSTANCE = new IVRankCache();
-
     /**
      * Maps symbol → computed IV Rank (0–100), or {@code null} if data was insufficient.
      * Storing {@code null} explicitly distinguishes "we checked, no data" from "not yet queried".
      */
     private final ConcurrentHashMap<String, Optional<Double>> cache = new ConcurrentHashMap<>();
 
-    private IVRankCache() {}
+    private static final ConcurrentHashMap<String, SharedRank> SHARED = new ConcurrentHashMap<>();
+    private static volatile CachePolicy sharedPolicy;
+    private static final AtomicInteger SHARED_HITS = new AtomicInteger(0);
 
-    public static IVRankCache getInstance() {
-        return INSTANCE;
+    private record SharedRank(Optional<Double> rank, long writtenAtMs) {
+    }
+
+    public IVRankCache() {}
+
+    /**
+     * Enables the process-wide tier shared by every run.
+     *
+     * @param policy freshness of shared ranks; {@code null} disables the tier and drops its entries
+     */
+    public static void enableSharedTier(CachePolicy policy) {
+        sharedPolicy = policy;
+        if (policy == null) {
+            SHARED.clear();
+        }
+    }
+
+    public static boolean isSharedTierEnabled() {
+        return sharedPolicy != null;
+    }
+
+    /** Drops all entries of the shared tier. */
+    public static void clearSharedTier() {
+        SHARED.clear();
+        SHARED_HITS.set(0);
+    }
+
+    /** Number of lookups answered by the shared tier. */
+    public static int getSharedHits() {
+        return SHARED_HITS.get();
+    }
+
+    /**
+     * Copies a usable shared-tier rank into this run's map.
+     */
+    private void promoteShared(String symbol) {
+        CachePolicy policy = sharedPolicy;
+        if (policy == null || cache.containsKey(symbol)) {
+            return;
+        }
+        SharedRank shared = SHARED.get(symbol);
+        if (shared == null) {
+            return;
+        }
+        if (policy.freshness(shared.writtenAtMs(), System.currentTimeMillis()) == CachePolicy.Freshness.EXPIRED) {
+            SHARED.remove(symbol, shared);
+            return;
+        }
+        if (cache.putIfAbsent(symbol, shared.rank()) == null) {
+            SHARED_HITS.incrementAndGet();
+        }
     }
 
     /**
@@ -42,6 +96,7 @@ public class IVRankCache {
      *         use {@link #isCached(String)}.
      */
     public Optional<Double> get(String symbol) {
+        promoteShared(symbol);
         return cache.getOrDefault(symbol, null);
     }
 
@@ -49,6 +104,7 @@ public class IVRankCache {
      * Returns true if this symbol has already been looked up (even if the result was null).
      */
     public boolean isCached(String symbol) {
+        promoteShared(symbol);
         return cache.containsKey(symbol);
     }
 
@@ -61,11 +117,14 @@ public class IVRankCache {
      */
     public void put(String symbol, Double ivRank) {
         cache.put(symbol, Optional.ofNullable(ivRank));
+        if (sharedPolicy != null) {
+            SHARED.put(symbol, new SharedRank(Optional.ofNullable(ivRank), System.currentTimeMillis()));
+        }
         log.debug("[{}] IV Rank cached: {}", symbol, ivRank != null ? String.format("%.1f", ivRank) : "N/A");
     }
 
     /**
-     * Clears all cached IV Rank values. Should be called at the start of each execution run.
+     * Clears this run's cached IV Rank values (the shared tier is left alone).
      */
     public void clear() {
         int size = cache.size();
@@ -0,0 +1,89 @@
+package com.hemasundar.cache;
+
+import com.hemasundar.technical.IndicatorState;
+import lombok.Getter;
+import lombok.extern.log4j.Log4j2;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Persists {@link IndicatorState} next to the candle files of a {@link CandleHistoryStore}:
+ * {@code <dir>/<SYMBOL>.indicators} holds the committed rolling state, so after a restart
+ * indicators resume from the last committed candle instead of being recomputed over the year.
+ *
+ * <p>A state that no longer lines up with the stored candles is simply rebuilt on the next
+ * sync; {@link PriceHistoryCache} deletes it whenever it replaces the stored series.
+ * I/O failures are logged and swallowed.
+ */
+@Log4j2
+public class IndicatorStateStore {
+
+    static final String FILE_EXTENSION = ".indicators";
+
+    @Getter
+    private final Path directory;
+
+    public IndicatorStateStore(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Store sharing the directory of {@code candleStore}.
+     */
+    public static IndicatorStateStore alongside(CandleHistoryStore candleStore) {
+        return candleStore == null ? null : new IndicatorStateStore(candleStore.getDirectory());
+    }
+
+    /**
+     * @return the stored state, or {@code null} if missing or unreadable
+     */
+    public IndicatorState load(String symbol) {
+        Path file = fileFor(symbol);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            return IndicatorState.readFrom(symbol, in);
+        } catch (IOException | RuntimeException e) {
+            log.warn("[IndicatorStateStore] Failed to read {}: {}", file.getFileName(), e.getMessage());
+            return null;
+        }
+    }
+
+    public void write(String symbol, IndicatorState state) {
+        Path file = fileFor(symbol);
+        try {
+            Files.createDirectories(directory);
+            Path tmp = Files.createTempFile(directory, fileName(symbol), ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                state.writeTo(out);
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("[IndicatorStateStore] Failed to write {}: {}", file.getFileName(), e.getMessage());
+        }
+    }
+
+    public void delete(String symbol) {
+        try {
+            Files.deleteIfExists(fileFor(symbol));
+        } catch (IOException e) {
+            log.warn("[IndicatorStateStore] Failed to delete state of {}: {}", symbol, e.getMessage());
+        }
+    }
+
+    private Path fileFor(String symbol) {
+        return directory.resolve(fileName(symbol) + FILE_EXTENSION);
+    }
+
+    private static String fileName(String symbol) {
+        return symbol.replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+}
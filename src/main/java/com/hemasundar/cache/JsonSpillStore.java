@@ -0,0 +1,116 @@
+package com.hemasundar.cache;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Getter;
+import lombok.extern.log4j.Log4j2;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * {@link SpillStore} that keeps one gzip-compressed file per key in
+ * {@code <dir>/<KEY>.spill}: an 8-byte {@code writtenAt} timestamp followed by the
+ * value as JSON. Meant for small, Jackson-friendly values such as quotes; option
+ * chains and candles have their own binary stores.
+ *
+ * <p>I/O failures are logged and swallowed — a broken spill file is just a cache miss.
+ *
+ * @param <T> The type of the spilled data
+ */
+@Log4j2
+public class JsonSpillStore<T> implements SpillStore<T> {
+
+    static final String FILE_EXTENSION = ".spill";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    @Getter
+    private final Path directory;
+    private final Class<T> type;
+
+    public JsonSpillStore(Path directory, Class<T> type) {
+        this.directory = directory;
+        this.type = type;
+    }
+
+    /**
+     * Default location: {@code ${tradingbot.cache.dir}/spill/<name>}, falling back to
+     * {@code ~/.trading-bot/spill/<name>}.
+     */
+    public static <T> JsonSpillStore<T> defaultStore(String name, Class<T> type) {
+        String customDir = System.getProperty("tradingbot.cache.dir");
+        if (StringUtils.isNotBlank(customDir)) {
+            return new JsonSpillStore<>(Paths.get(customDir, "spill", name), type);
+        }
+        return new JsonSpillStore<>(Paths.get(System.getProperty("user.home"), ".trading-bot", "spill", name), type);
+    }
+
+    @Override
+    public void write(String key, T value, long writtenAtMs) {
+        if (key == null || value == null) {
+            return;
+        }
+        Path file = fileFor(key);
+        try {
+            byte[] json = MAPPER.writeValueAsBytes(value);
+            Files.createDirectories(directory);
+            Path tmp = Files.createTempFile(directory, fileName(key), ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new GZIPOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeLong(writtenAtMs);
+                out.write(json);
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            log.warn("[JsonSpillStore] Failed to write {}: {}", file.getFileName(), e.getMessage());
+        }
+    }
+
+    @Override
+    public Entry<T> read(String key) {
+        if (key == null) {
+            return null;
+        }
+        Path file = fileFor(key);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new GZIPInputStream(Files.newInputStream(file)))) {
+            long writtenAtMs = in.readLong();
+            T value = MAPPER.readValue(in.readAllBytes(), type);
+            return value != null ? new Entry<>(value, writtenAtMs) : null;
+        } catch (IOException | RuntimeException e) {
+            log.warn("[JsonSpillStore] Failed to read {}: {}", file.getFileName(), e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    public void delete(String key) {
+        if (key == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(fileFor(key));
+        } catch (IOException e) {
+            log.warn("[JsonSpillStore] Failed to delete {}: {}", key, e.getMessage());
+        }
+    }
+
+    private Path fileFor(String key) {
+        return directory.resolve(fileName(key) + FILE_EXTENSION);
+    }
+
+    private static String fileName(String key) {
+        return key.replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+}
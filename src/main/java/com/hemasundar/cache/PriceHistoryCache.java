@@ -1,9 +1,19 @@
 package com.hemasundar.cache;
 
 import com.hemasundar.pojos.PriceHistoryResponse;
+import com.hemasundar.pojos.PriceHistoryResponse.CandleData;
 import com.hemasundar.apis.ThinkOrSwimAPIs;
-import com.hemasundar.utils.VolatilityCalculator;
+import com.hemasundar.technical.CandleSeries;
+import com.hemasundar.technical.IndicatorEngine;
+import lombok.Getter;
 import lombok.extern.log4j.Log4j2;
+import org.apache.commons.collections4.CollectionUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 /**
  * Thread-safe singleton cache for price history and calculated historical
@@ -11,13 +21,46 @@ import lombok.extern.log4j.Log4j2;
  * Caches both raw price data and the calculated annualized volatility to
  * minimize
  * API calls and avoid redundant calculations.
+ * <p>
+ * Daily candles are also persisted locally through {@link CandleHistoryStore}.
+ * On a cold in-memory miss only the missing tail is requested from Schwab
+ * ({@code startDate} = last stored candle), merged over the stored series, and
+ * just the affected rows are rewritten on disk. A full one-year fetch is only
+ * made when nothing usable is stored.
+ * <p>
+ * With a {@link CachePolicy} set (daily history is normally fresh until the end of
+ * the trading day), the stored series itself counts as fresh while its last write
+ * is within the policy, so a restart or an evicted entry reloads from disk without
+ * any Schwab call, and stale in-memory series are refreshed in the background.
+ * <p>
+ * The cache also owns the {@link IndicatorEngine} whose rolling indicator state is
+ * persisted next to the candle files; replacing a stored series with a full fetch
+ * invalidates that state.
  */
 @Log4j2
 public class PriceHistoryCache extends AbstractApiCache<PriceHistoryCache.HistoricalData> {
 
-    private static final PriceHistoryCache INSTANCE = new PriceHistoryCache();
+    private static final PriceHistoryCache INSTANCE = new PriceHistoryCache(CandleHistoryStore.defaultStore());
+
+    /** Length of the series returned to callers — matches a one-year daily fetch. */
+    private static final Duration HISTORY_WINDOW = Duration.ofDays(365);
+
+    /** Stored rows older than the window are compacted away once there are this many. */
+    private static final int COMPACTION_THRESHOLD = 64;
+
+    private final CandleHistoryStore store;
+
+    @Getter
+    private final IndicatorEngine indicatorEngine;
+
+    @Getter
+    private final AtomicInteger incrementalRefreshes = new AtomicInteger(0);
+    @Getter
+    private final AtomicInteger storeLoads = new AtomicInteger(0);
 
-    private PriceHistoryCache() {
+    PriceHistoryCache(CandleHistoryStore store) {
+        this.store = store;
+        this.indicatorEngine = new IndicatorEngine(IndicatorStateStore.alongside(store));
     }
 
     public static PriceHistoryCache getInstance() {
@@ -32,33 +75,127 @@ public class PriceHistoryCache extends AbstractApiCache<PriceHistoryCache.Histor
      */
     @Override
     public HistoricalData get(String symbol) {
-        HistoricalData data = cache.get(symbol);
+        HistoricalData data = super.get(symbol);
         if (data != null) {
-            hits.incrementAndGet();
             log.debug("[PriceHistoryCache] HIT for {}", symbol);
         } else {
-            misses.incrementAndGet();
             log.debug("[PriceHistoryCache] MISS for {}", symbol);
         }
         return data;
     }
 
     /**
-     * Gets the HistoricalData for a symbol. If not cached, fetches 1-year daily history.
+     * Gets the HistoricalData for a symbol. If not cached, refreshes the locally
+     * stored series with the missing tail, or fetches 1-year daily history when
+     * nothing usable is stored. A stale cached series is returned immediately and
+     * refreshed in the background.
      */
     public HistoricalData getHistoricalData(String symbol, ThinkOrSwimAPIs schwabApi) {
-        HistoricalData data = get(symbol);
-        if (data != null) {
-            return data;
+        return getOrFetch(symbol, s -> loadHistoricalData(s, schwabApi));
+    }
+
+    /**
+     * Loads the HistoricalData for a symbol from the local store and/or Schwab,
+     * bypassing the in-memory cache. Used as the pre-warm fetch function.
+     */
+    public HistoricalData loadHistoricalData(String symbol, ThinkOrSwimAPIs schwabApi) {
+        PriceHistoryResponse priceHistory = refreshFromStore(symbol, schwabApi);
+        if (priceHistory == null) {
+            log.debug("[PriceHistoryCache] Fetching price history for {}", symbol);
+            apiCallCounter.incrementAndGet();
+            priceHistory = schwabApi.getYearlyPriceHistory(symbol, 1);
+            if (store != null && priceHistory != null) {
+                store.writeAll(symbol, priceHistory);
+            }
+            indicatorEngine.invalidate(symbol);
         }
 
+        return new HistoricalData(priceHistory);
+    }
+
+    /**
+     * Extends the stored series with candles from the last stored candle onwards.
+     *
+     * @return the merged one-year series, or {@code null} when a full fetch is needed
+     */
+    private PriceHistoryResponse refreshFromStore(String symbol, ThinkOrSwimAPIs schwabApi) {
+        if (store == null) {
+            return null;
+        }
+        PriceHistoryResponse stored = store.load(symbol);
+        if (stored == null || CollectionUtils.isEmpty(stored.getCandles())) {
+            return null;
+        }
+
+        long now = System.currentTimeMillis();
+        long windowStart = now - HISTORY_WINDOW.toMillis();
+        List<CandleData> candles = stored.getCandles();
+        Long lastDatetime = candles.get(candles.size() - 1).getDatetime();
+        if (lastDatetime == null || lastDatetime < windowStart) {
+            return null;
+        }
+
+        if (getPolicy() != CachePolicy.NEVER_EXPIRES
+                && getPolicy().freshness(store.lastWriteMillis(symbol), now) == CachePolicy.Freshness.FRESH) {
+            log.debug("[PriceHistoryCache] {} stored series is still fresh, skipping tail fetch", symbol);
+            storeLoads.incrementAndGet();
+            List<CandleData> windowed = candles.stream()
+                    .filter(c -> c.getDatetime() != null && c.getDatetime() >= windowStart)
+                    .collect(Collectors.toCollection(ArrayList::new));
+            return new PriceHistoryResponse(symbol, windowed.isEmpty(),
+                    stored.getPreviousClose(), stored.getPreviousCloseDate(), windowed);
+        }
+
+        log.debug("[PriceHistoryCache] Fetching price history tail for {} since {}", symbol, lastDatetime);
         apiCallCounter.incrementAndGet();
-        log.debug("[PriceHistoryCache] Fetching price history for {}", symbol);
-        PriceHistoryResponse priceHistory = schwabApi.getYearlyPriceHistory(symbol, 1);
-        
-        data = new HistoricalData(priceHistory);
-        put(symbol, data);
-        return data;
+        PriceHistoryResponse tail = schwabApi.getPriceHistory(symbol, "year", 1, "daily", 1,
+                lastDatetime, now, false, true);
+        if (tail == null || tail.getCandles() == null) {
+            return null;
+        }
+
+        List<CandleData> tailCandles = tail.getCandles().stream()
+                .filter(c -> c.getDatetime() != null && c.getDatetime() >= lastDatetime)
+                .toList();
+        int fromRow = candles.size();
+        if (!tailCandles.isEmpty()) {
+            long firstNew = tailCandles.get(0).getDatetime();
+            while (fromRow > 0 && candles.get(fromRow - 1).getDatetime() != null
+                    && candles.get(fromRow - 1).getDatetime() >= firstNew) {
+                fromRow--;
+            }
+        }
+
+        List<CandleData> merged = new ArrayList<>(candles.subList(0, fromRow));
+        merged.addAll(tailCandles);
+        List<CandleData> windowed = merged.stream()
+                .filter(c -> c.getDatetime() != null && c.getDatetime() >= windowStart)
+                .collect(Collectors.toCollection(ArrayList::new));
+
+        // The tail response carries the current previous close; the stored one only when it has none
+        Double previousClose = tail.getPreviousClose() != null ? tail.getPreviousClose() : stored.getPreviousClose();
+        Long previousCloseDate = tail.getPreviousCloseDate() != null
+                ? tail.getPreviousCloseDate() : stored.getPreviousCloseDate();
+        PriceHistoryResponse result = new PriceHistoryResponse(symbol, windowed.isEmpty(),
+                previousClose, previousCloseDate, windowed);
+        if (merged.size() - windowed.size() >= COMPACTION_THRESHOLD) {
+            store.writeAll(symbol, result);
+        } else {
+            store.writeTail(symbol, fromRow, tailCandles, previousClose, previousCloseDate);
+        }
+        incrementalRefreshes.incrementAndGet();
+        log.debug("[PriceHistoryCache] {} refreshed incrementally: {} row(s) rewritten from row {}",
+                symbol, tailCandles.size(), fromRow);
+        return result;
+    }
+
+    /**
+     * Loads served from the candle store are not API calls; the Schwab requests are counted
+     * in {@link #loadHistoricalData}.
+     */
+    @Override
+    protected boolean countsOwnApiCalls() {
+        return true;
     }
 
     /**
@@ -68,22 +205,38 @@ public class PriceHistoryCache extends AbstractApiCache<PriceHistoryCache.Histor
      * @param data   Historical data to cache
      */
     public void put(String symbol, HistoricalData data) {
-        cache.put(symbol, data);
+        super.put(symbol, data);
         log.debug("[PriceHistoryCache] Cached data for {}", symbol);
     }
 
     /**
-     * POJO containing price history and calculated volatility.
+     * Clears cached series and in-memory indicator state. Stored candles and indicator state are kept.
+     */
+    @Override
+    public void clear() {
+        super.clear();
+        indicatorEngine.clear();
+    }
+
+    /**
+     * POJO containing price history and its columnar {@link CandleSeries} view.
+     * The columnar view is built once here and shared by every consumer.
      */
     public static class HistoricalData {
         private final PriceHistoryResponse priceHistory;
+        private final CandleSeries candleSeries;
 
         public HistoricalData(PriceHistoryResponse priceHistory) {
             this.priceHistory = priceHistory;
+            this.candleSeries = CandleSeries.from(priceHistory);
         }
 
         public PriceHistoryResponse getPriceHistory() {
             return priceHistory;
         }
+
+        public CandleSeries getCandleSeries() {
+            return candleSeries;
+        }
     }
 }
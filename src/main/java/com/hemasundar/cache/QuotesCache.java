@@ -2,10 +2,15 @@ package com.hemasundar.cache;
 
 import com.hemasundar.apis.ThinkOrSwimAPIs;
 import com.hemasundar.pojos.QuotesResponse;
+import com.hemasundar.utils.SchwabApiExecutor;
 import lombok.extern.log4j.Log4j2;
+import org.apache.commons.collections4.ListUtils;
 
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 
 /**
  * Thread-safe singleton cache for Schwab quote + fundamental data.
@@ -15,17 +20,102 @@ import java.util.Map;
  * during screener pre-warming via {@link AbstractApiCache#prewarm(java.util.List, com.hemasundar.utils.SchwabApiExecutor, java.util.function.Function, java.util.function.BiConsumer)}
  * before any per-symbol analysis begins, keeping the per-symbol hot-path
  * entirely cache-based.
+ *
+ * <p>
+ * The cache can be bounded with {@link #setMemoryBudget(long)}; quotes are weighed
+ * at a flat {@link #ESTIMATED_QUOTE_BYTES} each.
  */
 @Log4j2
 public class QuotesCache extends AbstractApiCache<QuotesResponse.QuoteData> {
 
     private static final QuotesCache INSTANCE = new QuotesCache();
 
+    /** Rough retained size of one quote with its fundamental and extended blocks. */
+    static final long ESTIMATED_QUOTE_BYTES = 2_048;
+
     private QuotesCache() {
     }
 
     public static QuotesCache getInstance() {
         return INSTANCE;
     }
+
+    /**
+     * Bounds the cache to {@code maxBytes} of estimated retained quote size.
+     *
+     * @param maxBytes budget in bytes; {@code <= 0} leaves the cache unbounded
+     */
+    public void setMemoryBudget(long maxBytes) {
+        setMemoryBudget(maxBytes, quote -> ESTIMATED_QUOTE_BYTES);
+    }
+
+    /**
+     * Pre-warms the cache with one multi-symbol request per {@code batchSize} uncached or
+     * stale symbols, instead of one request per symbol. A failed batch is reported to
+     * {@code alertCallback} and its symbols are left uncached.
+     *
+     * @param fetchBatch    fetches the quotes of a batch, keyed by symbol
+     * @param alertCallback callback for surfacing errors (can be null)
+     * @return the number of requests made
+     */
+    public int prewarmBatched(List<String> symbols, int batchSize,
+                              Function<List<String>, Map<String, QuotesResponse.QuoteData>> fetchBatch,
+                              BiConsumer<String, String> alertCallback) {
+        return prewarmBatched(symbols, batchSize, null, fetchBatch, alertCallback);
+    }
+
+    /**
+     * Like {@link #prewarmBatched(List, int, Function, BiConsumer)}, but issues the batches
+     * concurrently on {@code executor} (sequentially when {@code null}), so the pre-warm
+     * takes roughly one round trip per pool width instead of one per batch.
+     *
+     * @return the number of requests made
+     */
+    public int prewarmBatched(List<String> symbols, int batchSize, SchwabApiExecutor executor,
+                              Function<List<String>, Map<String, QuotesResponse.QuoteData>> fetchBatch,
+                              BiConsumer<String, String> alertCallback) {
+        List<String> uncached = symbols.stream()
+                .distinct()
+                .filter(s -> lookup(s) == null || !isFresh(s))
+                .toList();
+        // Batches keyed by their first symbol, which is unique and names the batch in alerts
+        Map<String, List<String>> batches = new LinkedHashMap<>();
+        for (List<String> batch : ListUtils.partition(uncached, Math.max(1, batchSize))) {
+            batches.put(batch.get(0), batch);
+        }
+        Function<String, Integer> fetch = first -> {
+            apiCallCounter.incrementAndGet();
+            Map<String, QuotesResponse.QuoteData> quotes = fetchBatch.apply(batches.get(first));
+            if (quotes != null) {
+                quotes.forEach((symbol, quote) -> {
+                    if (quote != null) {
+                        put(symbol, quote);
+                    }
+                });
+            }
+            return quotes != null ? quotes.size() : 0;
+        };
+
+        long t0 = System.currentTimeMillis();
+        if (executor != null && batches.size() > 1) {
+            executor.executeParallel(List.copyOf(batches.keySet()), fetch, alertCallback == null ? null
+                    : (first, message) -> alertCallback.accept("Quotes batch " + first, message));
+        } else {
+            for (String first : batches.keySet()) {
+                try {
+                    fetch.apply(first);
+                } catch (Exception e) {
+                    log.warn("Batched quote pre-warm failed for {} symbols starting at {}: {}",
+                            batches.get(first).size(), first, e.getMessage());
+                    if (alertCallback != null) {
+                        alertCallback.accept("Quotes batch " + first, e.getMessage());
+                    }
+                }
+            }
+        }
+        log.info("Batched quote pre-warm: {} of {} symbols fetched in {} requests ({}ms)",
+                uncached.size(), symbols.size(), batches.size(), System.currentTimeMillis() - t0);
+        return batches.size();
+    }
 }
 
@@ -0,0 +1,26 @@
+package com.hemasundar.cache;
+
+/**
+ * Disk tier (L2) behind an {@link AbstractApiCache}: entries evicted from the heap
+ * are written here and read back on the next heap miss, together with the time the
+ * value was originally fetched so freshness survives the round trip.
+ *
+ * @param <T> The type of the cached data
+ */
+public interface SpillStore<T> {
+
+    /**
+     * A spilled value and the epoch ms at which it was originally cached.
+     */
+    record Entry<T>(T value, long writtenAtMs) {
+    }
+
+    void write(String key, T value, long writtenAtMs);
+
+    /**
+     * @return the spilled entry, or {@code null} if missing or unreadable
+     */
+    Entry<T> read(String key);
+
+    void delete(String key);
+}
@@ -3,6 +3,9 @@ package com.hemasundar.cache;
 import com.hemasundar.technical.TechnicalScreener.ScreeningResult;
 import lombok.extern.log4j.Log4j2;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Thread-safe singleton cache for pre-calculated technical indicators.
  * Stores a fully populated ScreeningResult per symbol.
@@ -26,7 +29,23 @@ public class TechnicalIndicatorCache extends AbstractApiCache<ScreeningResult> {
      * @param data   ScreeningResult to cache
      */
     public void put(String symbol, ScreeningResult data) {
-        cache.put(symbol, data);
+        super.put(symbol, data);
         log.debug("[TechnicalIndicatorCache] Cached data for {}", symbol);
     }
+
+    /**
+     * Returns every unexpired cached result, e.g. to build an
+     * {@link com.hemasundar.technical.IndicatorMatrix} over the whole universe.
+     * Does not count as cache hits or misses.
+     */
+    public List<ScreeningResult> snapshot() {
+        List<ScreeningResult> results = new ArrayList<>(cache.size());
+        for (String symbol : new ArrayList<>(cache.keySet())) {
+            ScreeningResult result = lookup(symbol);
+            if (result != null) {
+                results.add(result);
+            }
+        }
+        return results;
+    }
 }
@@ -0,0 +1,80 @@
+package com.hemasundar.config;
+
+import com.hemasundar.cache.CachePolicy;
+import com.hemasundar.cache.IVRankCache;
+import com.hemasundar.cache.JsonSpillStore;
+import com.hemasundar.cache.PriceHistoryCache;
+import com.hemasundar.cache.QuotesCache;
+import com.hemasundar.cache.TechnicalIndicatorCache;
+import com.hemasundar.pojos.QuotesResponse;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.time.ZoneId;
+
+/**
+ * Applies freshness policies and the disk tier to the process-wide caches at startup.
+ *
+ * <pre>
+ *   quotes             fresh for cache.quotes.ttl-seconds, then served stale for
+ *                      cache.quotes.stale-seconds while refreshed in the background;
+ *                      beyond cache.quotes.max-mb spilled to ${tradingbot.cache.dir}/spill/quotes
+ *   price history      fresh until the end of the trading day (America/New_York), then
+ *   + indicators       served stale for cache.price-history.stale-hours while refreshed
+ *   IV rank            shared across runs until the end of the trading day
+ *                      (cache.iv-rank.shared=true)
+ * </pre>
+ * Option chains get their TTL per run from {@code cache.option-chain.ttl-minutes}
+ * (see {@code StrategyExecutionService}); their disk tier is the snapshot store.
+ * Without this configuration (e.g. in unit tests) caches never expire.
+ */
+@Log4j2
+@Configuration
+public class CacheTierConfig {
+
+    private static final ZoneId MARKET_ZONE = ZoneId.of("America/New_York");
+
+    @Value("${cache.quotes.ttl-seconds:60}")
+    private long quotesTtlSeconds;
+
+    @Value("${cache.quotes.stale-seconds:300}")
+    private long quotesStaleSeconds;
+
+    @Value("${cache.quotes.max-mb:8}")
+    private long quotesMaxMb;
+
+    @Value("${cache.quotes.spill.enabled:true}")
+    private boolean quotesSpillEnabled;
+
+    @Value("${cache.price-history.stale-hours:12}")
+    private long priceHistoryStaleHours;
+
+    @Value("${cache.iv-rank.shared:true}")
+    private boolean ivRankShared;
+
+    @PostConstruct
+    public void apply() {
+        QuotesCache quotes = QuotesCache.getInstance();
+        if (quotesTtlSeconds > 0) {
+            quotes.setPolicy(CachePolicy.ttl(Duration.ofSeconds(quotesTtlSeconds), Duration.ofSeconds(quotesStaleSeconds)));
+        }
+        quotes.setMemoryBudget(quotesMaxMb * 1024 * 1024);
+        if (quotesSpillEnabled && quotesMaxMb > 0) {
+            quotes.setSpillStore(JsonSpillStore.defaultStore("quotes", QuotesResponse.QuoteData.class));
+        }
+
+        CachePolicy daily = CachePolicy.untilEndOfDay(MARKET_ZONE, Duration.ofHours(priceHistoryStaleHours));
+        PriceHistoryCache.getInstance().setPolicy(daily);
+        TechnicalIndicatorCache.getInstance().setPolicy(daily);
+
+        if (ivRankShared) {
+            IVRankCache.enableSharedTier(CachePolicy.untilEndOfDay(MARKET_ZONE, Duration.ZERO));
+        }
+
+        log.info("Cache tiers configured - quotes: {} (budget {} MB, spill {}), price history/indicators: {}, shared IV rank: {}",
+                quotes.getPolicy(), quotesMaxMb, quotesSpillEnabled && quotesMaxMb > 0, daily, ivRankShared);
+    }
+}
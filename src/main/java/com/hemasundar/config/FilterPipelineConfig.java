@@ -0,0 +1,35 @@
+package com.hemasundar.config;
+
+import com.hemasundar.options.strategies.StageOrderOptimizer;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Applies the adaptive stage-ordering settings to {@link StageOrderOptimizer} at startup.
+ * Without this configuration (e.g. in unit tests) filter pipelines run in declared order.
+ */
+@Log4j2
+@Configuration
+public class FilterPipelineConfig {
+
+    @Value("${filter.pipeline.adaptive-order.enabled:false}")
+    private boolean adaptiveOrderEnabled;
+
+    @Value("${filter.pipeline.adaptive-order.min-samples:200}")
+    private int minSamples;
+
+    @Value("${filter.pipeline.adaptive-order.exact-counts:true}")
+    private boolean exactCounts;
+
+    @PostConstruct
+    public void apply() {
+        StageOrderOptimizer optimizer = StageOrderOptimizer.getInstance();
+        optimizer.setMinSamples(minSamples);
+        optimizer.setExactCounts(exactCounts);
+        optimizer.setEnabled(adaptiveOrderEnabled);
+        log.info("Filter pipeline adaptive stage order: {} (min samples {}, exact counts {})",
+                adaptiveOrderEnabled, minSamples, exactCounts);
+    }
+}
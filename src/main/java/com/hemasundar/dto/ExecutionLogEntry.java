@@ -33,6 +33,12 @@ public class ExecutionLogEntry {
     /** Number of candidates that passed this filter stage. */
     private int tradesOut;
 
+    /** API requests spent by a scan funnel tier; null for candidate filter stages. */
+    private Integer apiRequests;
+
+    /** Wall-clock time of a scan funnel tier in millis; null for candidate filter stages. */
+    private Long elapsedMs;
+
     /** Epoch millis when this log entry was captured. */
     @Builder.Default
     private long timestamp = System.currentTimeMillis();
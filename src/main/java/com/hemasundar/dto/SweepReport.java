@@ -0,0 +1,28 @@
+package com.hemasundar.dto;
+
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Outcome of a parameter sweep. Sweeps run in the background, so POST /api/execute/sweep
+ * only starts one; the latest outcome is served by GET /api/results/sweep.
+ */
+@Value
+@Builder(toBuilder = true)
+@Jacksonized
+public class SweepReport {
+    String name;
+    String strategyType;
+    /** Symbols in the requested universe. */
+    int symbols;
+    /** Symbols left after the base filter's technical screen; all of them without one. */
+    int screenedSymbols;
+    LocalDateTime completedAt;
+    long executionTimeMs;
+    /** One result per variant, in request order. */
+    List<SweepResult> results;
+}
@@ -0,0 +1,27 @@
+package com.hemasundar.dto;
+
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Request body for POST /api/execute/sweep: one strategy type over one universe, run with
+ * several filter variants. Each variant's keys override the base {@code filter}.
+ */
+@Value
+@Builder(toBuilder = true)
+@Jacksonized
+public class SweepRequest {
+    private String strategyType;
+    private String securitiesFile; // e.g., "portfolio, top100"
+    private String securities;     // e.g., "AAPL, MSFT, GOOG"
+    private String alias;
+    private Map<String, Object> filter;
+    /** Filter overrides per variant, e.g. [{"shortLeg": {"maxDelta": 0.20}}, {"shortLeg": {"maxDelta": 0.30}}]. */
+    private List<Map<String, Object>> variants;
+    /** Best trades kept per variant (default 10). */
+    private Integer maxTradesPerVariant;
+}
@@ -0,0 +1,26 @@
+package com.hemasundar.dto;
+
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Trades found by one variant of a parameter sweep (POST /api/execute/sweep).
+ */
+@Value
+@Builder(toBuilder = true)
+@Jacksonized
+public class SweepResult {
+    int variantIndex;
+    /** Strategy id the variant's filter log entries are recorded under. */
+    String strategyId;
+    /** The variant's overrides of the base filter. */
+    Map<String, Object> overrides;
+    int tradesFound;
+    int symbolsWithTrades;
+    /** Best trades by return on risk, at most maxTradesPerVariant. */
+    List<Trade> topTrades;
+}
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.hemasundar.options.models.LongCallLeap;
 import com.hemasundar.options.models.OptionChainResponse;
 import com.hemasundar.options.models.TradeSetup;
+import com.hemasundar.utils.SymbolTable;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -211,9 +212,9 @@ public class Trade {
 
         return Trade.builder()
                 .companyName(compName)
-                .symbol(symbol)
+                .symbol(SymbolTable.intern(symbol))
                 .underlyingPrice(setup.getCurrentPrice())
-                .expiryDate(setup.getExpiryDate())
+                .expiryDate(SymbolTable.intern(setup.getExpiryDate()))
                 .dte(setup.getDaysToExpiration())
                 .legs(legDTOs)
                 .netCredit(setup.getNetCredit())
@@ -0,0 +1,29 @@
+package com.hemasundar.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Request body for POST /api/screeners/filter.
+ * Re-runs math conditions over the cached indicators of the whole universe, so the UI
+ * can try different thresholds without executing a screener.
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class UniverseFilterRequest {
+
+    /** Conditions that must all hold, e.g. ["RSI <= 30", "PRICE >= SMA200", "VOLUME_SMA20 >= VOLUME_SMA50 * 90%"]. */
+    List<String> conditions;
+
+    /** Optional named securities file(s), comma-separated, e.g. "portfolio, top100". */
+    String securitiesFile;
+
+    /** Optional inline ticker list, comma-separated. Without files or tickers the whole cached universe is filtered. */
+    String securities;
+}
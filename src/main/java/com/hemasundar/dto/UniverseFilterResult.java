@@ -0,0 +1,28 @@
+package com.hemasundar.dto;
+
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Result of filtering the cached indicator matrix (POST /api/screeners/filter).
+ */
+@Value
+@Builder(toBuilder = true)
+@Jacksonized
+public class UniverseFilterResult {
+    /** Symbols the conditions were evaluated for. */
+    int universeSize;
+    int matchedCount;
+    /** Matching symbols, in matrix order. */
+    List<String> symbols;
+    /** Values of the variables the conditions reference, per matching symbol. */
+    Map<String, Map<String, Double>> values;
+    /** Time spent evaluating the conditions over the matrix. */
+    long filterMicros;
+    /** When the matrix was built from the indicator cache (epoch millis). */
+    long matrixBuiltAtMs;
+}
@@ -0,0 +1,33 @@
+package com.hemasundar.jobs;
+
+import com.hemasundar.services.CacheWarmingService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Runs {@link CacheWarmingService} on weekdays before the open in the long-running
+ * web instance. Enabled with {@code cache.warm.enabled=true}; the schedule is
+ * {@code cache.warm.cron} in America/New_York.
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "cache.warm.enabled", havingValue = "true")
+@Log4j2
+@RequiredArgsConstructor
+public class CacheWarmingScheduler {
+
+    private final CacheWarmingService cacheWarmingService;
+
+    @Scheduled(cron = "${cache.warm.cron:0 0 8 * * MON-FRI}", zone = "America/New_York")
+    public void warmBeforeOpen() {
+        try {
+            cacheWarmingService.warm();
+        } catch (Exception e) {
+            log.error("Pre-market cache warming failed: {}", e.getMessage(), e);
+        }
+    }
+}
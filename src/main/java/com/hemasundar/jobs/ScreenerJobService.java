@@ -2,10 +2,12 @@ package com.hemasundar.jobs;
 
 import com.hemasundar.options.models.OptionsConfig;
 import com.hemasundar.technical.ScreenerConfig;
+import com.hemasundar.services.PrewarmPlanner;
 import com.hemasundar.services.StrategyExecutionService;
 import com.hemasundar.services.ScreenerExecutionService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
@@ -23,25 +25,55 @@ public class ScreenerJobService {
 
     private final ScreenerExecutionService screenerExecutionService;
 
+    private final PrewarmPlanner prewarmPlanner;
+
+    /** Pre-warm once for strategies and screeners together instead of once per phase. */
+    @Value("${prewarm.planner.enabled:true}")
+    private boolean unifiedPrewarm = true;
+
     public void runScheduledScreeners() throws IOException {
         log.info("Starting scheduled Options Strategies and Technical Screeners execution...");
-        // 1. Run Options Strategies
         List<OptionsConfig> enabledStrategies = strategyExecutionService.getEnabledStrategies();
+        List<ScreenerConfig> enabledScreeners = screenerExecutionService.getEnabledScreeners();
+
+        // Both phases share one execution, so the alerts checked at the end cover both
+        strategyExecutionService.startGlobalExecution("Scheduled execution");
+        try {
+            runPhases(enabledStrategies, enabledScreeners);
+        } finally {
+            strategyExecutionService.finishGlobalExecution();
+        }
+    }
+
+    private void runPhases(List<OptionsConfig> enabledStrategies, List<ScreenerConfig> enabledScreeners)
+            throws IOException {
+        // 0. One deduplicated pre-warm for both phases
+        boolean prewarmed = false;
+        if (unifiedPrewarm && (!enabledStrategies.isEmpty() || !enabledScreeners.isEmpty())) {
+            try {
+                PrewarmPlanner.PrewarmPlan plan = prewarmPlanner.plan(enabledStrategies, enabledScreeners);
+                prewarmPlanner.execute(plan, (source, message) -> log.warn("Prewarm error ({}): {}", source, message));
+                prewarmed = true;
+            } catch (Exception e) {
+                log.warn("Unified pre-warm failed, each phase pre-warms on its own: {}", e.getMessage());
+            }
+        }
+
+        // 1. Run Options Strategies
         if (!enabledStrategies.isEmpty()) {
             Set<Integer> strategyIndices = IntStream.range(0, enabledStrategies.size()).boxed()
                     .collect(Collectors.toSet());
-            strategyExecutionService.executeStrategies(strategyIndices);
+            strategyExecutionService.executeStrategies(strategyIndices, prewarmed);
             log.info("Successfully executed {} Options Strategies", enabledStrategies.size());
         } else {
             log.info("No Options Strategies enabled.");
         }
 
         // 2. Run Technical Screeners
-        List<ScreenerConfig> enabledScreeners = screenerExecutionService.getEnabledScreeners();
         if (!enabledScreeners.isEmpty()) {
             Set<Integer> screenerIndices = IntStream.range(0, enabledScreeners.size()).boxed()
                     .collect(Collectors.toSet());
-            screenerExecutionService.executeScreeners(screenerIndices, enabledScreeners);
+            screenerExecutionService.executeScreeners(screenerIndices, enabledScreeners, prewarmed);
             log.info("Successfully executed {} Technical Screeners", enabledScreeners.size());
         } else {
             log.info("No Technical Screeners enabled.");
@@ -1,8 +1,12 @@
 package com.hemasundar.options.models;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.hemasundar.serializers.InternedStringDeserializer;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 
@@ -18,6 +22,7 @@ import lombok.ToString;
 @ToString(of = {"symbol", "underlyingPrice"})
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class OptionChainResponse {
+    @JsonDeserialize(using = InternedStringDeserializer.class)
     public String symbol;
     public String status;
     public Object underlying;
@@ -150,12 +155,16 @@ public class OptionChainResponse {
         }
     }
 
-    @Data
-    @NoArgsConstructor
+    /**
+     * Key of the expiry maps. Immutable, so {@link com.hemasundar.utils.SymbolTable} can
+     * share one instance across chains.
+     */
+    @Getter
+    @EqualsAndHashCode
     @AllArgsConstructor
     public static class ExpirationDateKey {
-        private String date;
-        private int daysToExpiry;
+        private final String date;
+        private final int daysToExpiry;
 
         // Constructor for Jackson Key Deserialization
         public ExpirationDateKey(String source) {
@@ -180,6 +189,7 @@ public class OptionChainResponse {
     @ToString(of = {"symbol", "mark"})
     @JsonIgnoreProperties(ignoreUnknown = true)
     public static class OptionData {
+        @JsonDeserialize(using = InternedStringDeserializer.class)
         public String putCall;
         public String symbol;
         public String description;
@@ -212,6 +222,7 @@ public class OptionChainResponse {
         public double theoreticalVolatility;
         public List<OptionDeliverable> optionDeliverablesList;
         public double strikePrice;
+        @JsonDeserialize(using = InternedStringDeserializer.class)
         public String expirationDate;
         public int daysToExpiration;
         public String expirationType;
@@ -1,6 +1,8 @@
 package com.hemasundar.options.models;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.hemasundar.technical.CompiledConditions;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -71,6 +73,12 @@ public class OptionsStrategyFilter {
     @lombok.Builder.Default
     private java.util.List<com.hemasundar.technical.MathExpression> earningsFilterExpressions = new java.util.ArrayList<>();
 
+    /** {@link #earningsFilterExpressions} compiled at load (or on first use for built filters). */
+    @Getter(lombok.AccessLevel.NONE)
+    @Setter(lombok.AccessLevel.NONE)
+    private final java.util.concurrent.atomic.AtomicReference<CompiledConditions> compiledEarningsConditions =
+            new java.util.concurrent.atomic.AtomicReference<>();
+
     private java.util.Map<String, Object> earningsFilters;
 
     private java.util.List<String> includeOnly;
@@ -111,6 +119,37 @@ public class OptionsStrategyFilter {
      */
     private Double maxIVRank;
 
+    // Underlying quote filters (checked from batched quotes before any option chain is fetched)
+
+    /** Minimum last price of the underlying; if null, not applied. */
+    private Double minUnderlyingPrice;
+
+    /** Maximum last price of the underlying; if null, not applied. */
+    private Double maxUnderlyingPrice;
+
+    /** Minimum share volume of the underlying for the day; if null, not applied. */
+    private Long minUnderlyingVolume;
+
+    /** Minimum percent change of the underlying for the day (e.g. -5.0); if null, not applied. */
+    private Double minUnderlyingChangePercent;
+
+    /** Maximum percent change of the underlying for the day (e.g. 5.0); if null, not applied. */
+    private Double maxUnderlyingChangePercent;
+
+    // Search budgets (see SearchBudget); if null, the strategy.budget.* defaults apply, 0 = unlimited
+
+    /** Maximum candidates enumerated for one symbol. */
+    private Integer maxCandidatesPerSymbol;
+
+    /** Maximum search time for one symbol, in milliseconds. */
+    private Long maxSearchMillisPerSymbol;
+
+    /** Maximum candidates enumerated across all symbols of one strategy run. */
+    private Integer maxCandidatesPerStrategy;
+
+    /** Maximum search time across all symbols of one strategy run, in milliseconds. */
+    private Long maxSearchMillisPerStrategy;
+
     /**
      * Human-readable summary of the technical filter conditions applied during execution.
      * Serialized into the filterConfig JSON blob so the UI can display it in Filter Details.
@@ -247,4 +286,57 @@ public class OptionsStrategyFilter {
         if (this.maxIVRank != null && ivRank > this.maxIVRank) return false;
         return true;
     }
+
+    /**
+     * @return true if any underlying price, volume or change bound is set
+     */
+    @JsonIgnore
+    public boolean hasUnderlyingQuoteFilter() {
+        return minUnderlyingPrice != null || maxUnderlyingPrice != null || minUnderlyingVolume != null
+                || minUnderlyingChangePercent != null || maxUnderlyingChangePercent != null;
+    }
+
+    /**
+     * Checks the underlying's quote against the price, volume and change bounds.
+     * Fail-open like {@link #passesIVRank}: a missing value skips its bounds.
+     *
+     * @param price         last price, or {@code null} if unavailable
+     * @param volume        share volume for the day, or {@code null} if unavailable
+     * @param changePercent percent change for the day, or {@code null} if unavailable
+     * @return true if every available value is within its bounds
+     */
+    public boolean passesUnderlyingQuote(Double price, Long volume, Double changePercent) {
+        if (price != null) {
+            if (minUnderlyingPrice != null && price < minUnderlyingPrice) return false;
+            if (maxUnderlyingPrice != null && price > maxUnderlyingPrice) return false;
+        }
+        if (volume != null && minUnderlyingVolume != null && volume < minUnderlyingVolume) return false;
+        if (changePercent != null) {
+            if (minUnderlyingChangePercent != null && changePercent < minUnderlyingChangePercent) return false;
+            if (maxUnderlyingChangePercent != null && changePercent > maxUnderlyingChangePercent) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Replaces the earnings rules and compiles them right away, so the per-expiry
+     * check in {@code findTrades} never parses or looks up rule text.
+     */
+    public void setEarningsFilterExpressions(java.util.List<com.hemasundar.technical.MathExpression> earningsFilterExpressions) {
+        this.earningsFilterExpressions = earningsFilterExpressions;
+        this.compiledEarningsConditions.set(CompiledConditions.compile(earningsFilterExpressions));
+    }
+
+    /**
+     * Returns {@link #earningsFilterExpressions} compiled into slot-indexed rules.
+     */
+    @JsonIgnore
+    public CompiledConditions getCompiledEarningsConditions() {
+        CompiledConditions compiled = compiledEarningsConditions.get();
+        if (compiled == null) {
+            compiled = CompiledConditions.compile(earningsFilterExpressions);
+            compiledEarningsConditions.set(compiled);
+        }
+        return compiled;
+    }
 }
@@ -4,15 +4,18 @@ import com.hemasundar.apis.FinnHubAPIs;
 import com.hemasundar.apis.ThinkOrSwimAPIs;
 import com.hemasundar.cache.IVRankCache;
 import com.hemasundar.cache.PriceHistoryCache;
+import com.hemasundar.options.models.LegFilter;
 import com.hemasundar.options.models.OptionChainResponse;
 import com.hemasundar.options.models.OptionsStrategyFilter;
 import com.hemasundar.options.models.TradeSetup;
 import com.hemasundar.pojos.EarningsCalendarResponse;
 import com.hemasundar.pojos.PriceHistoryResponse;
+import com.hemasundar.services.ExecutionContext;
 import com.hemasundar.services.FilterLogStore;
 import com.hemasundar.services.SupabaseService;
 import com.hemasundar.services.EarningsDataResolver;
-import com.hemasundar.technical.MathExpressionEvaluator;
+import com.hemasundar.technical.CompiledConditions;
+import com.hemasundar.utils.JavaUtils;
 import org.apache.commons.collections4.CollectionUtils;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
@@ -20,10 +23,15 @@ import lombok.extern.log4j.Log4j2;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.ToIntBiFunction;
+import java.util.function.ToIntFunction;
 
 @Log4j2
 @RequiredArgsConstructor
@@ -45,23 +53,181 @@ public abstract class AbstractTradingStrategy implements TradingStrategy {
     public List<TradeSetup> findTrades(OptionChainResponse chain, OptionsStrategyFilter filter) {
         String strategyName = getStrategyName(filter);
         String symbol = chain.getSymbol();
+        ExecutionContext context = ExecutionContext.current();
+        FilterLogStore filterLog = context.getFilterLogStore();
+
+        if (!checkIVRank(chain, filter)) {
+            return Collections.emptyList();
+        }
+
+        List<String> expiryDates = expiryDatesInRange(chain, filter);
+        if (expiryDates.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        log.info("[{}] Processing {} expiry dates: {}", symbol, expiryDates.size(), expiryDates);
+
+        List<TradeSetup> allTrades = new ArrayList<>();
+        SearchBudget budget = SearchBudget.forSymbol(filter, context.getStrategyBudget());
+        int expiriesSearched = 0;
+
+        for (String expiryDate : expiryDates) {
+            if (budget.isExhausted()) {
+                log.info("[{}] Search budget exhausted after {}/{} expiries, keeping {} trades found so far",
+                        symbol, expiriesSearched, expiryDates.size(), allTrades.size());
+                filterLog.logFilter(strategyName, symbol, FilterStage.SEARCH_BUDGET.displayName(),
+                        expiryDates.size(), expiriesSearched);
+                break;
+            }
+            expiriesSearched++;
+
+            if (!checkEarnings(symbol, expiryDate, filter)) {
+                continue;
+            }
+
+            // Find trades for this expiry
+            List<TradeSetup> trades = findValidTrades(chain, expiryDate, filter, budget, context.getCandidateMemo());
+            log.info("[{}] Found {} trades for expiry {}", symbol, trades.size(), expiryDate);
+            allTrades.addAll(trades);
+        }
+
+        log.info("[{}] Total trades found: {}", symbol, allTrades.size());
+        return allTrades;
+    }
+
+    /**
+     * Finds trades for several filters of this strategy type over one chain, e.g. configs
+     * or sweep variants differing only in thresholds. Each expiry's candidates are generated
+     * once, by {@link #generateCandidateSet}, for every filter whose DTE range and earnings
+     * conditions cover it; each filter then applies its own checks to them. Per filter, the
+     * trades and filter log entries match {@link #findTrades(OptionChainResponse, OptionsStrategyFilter)}.
+     * The search budget of the symbol is the loosest of the filters' limits; when it runs out,
+     * each filter left with unsearched expiries logs it under its own name.
+     *
+     * @return one list of trades per filter, in the order of {@code filters}
+     */
+    public List<List<TradeSetup>> findTradesForFilters(OptionChainResponse chain, List<? extends OptionsStrategyFilter> filters) {
+        if (filters.size() == 1) {
+            return List.of(findTrades(chain, filters.get(0)));
+        }
+        String symbol = chain.getSymbol();
+        ExecutionContext context = ExecutionContext.current();
+
+        List<List<TradeSetup>> results = new ArrayList<>();
+        Map<String, List<Integer>> filtersByExpiry = new LinkedHashMap<>();
+        for (int i = 0; i < filters.size(); i++) {
+            OptionsStrategyFilter filter = filters.get(i);
+            results.add(new ArrayList<>());
+            if (!checkIVRank(chain, filter)) {
+                continue;
+            }
+            for (String expiryDate : expiryDatesInRange(chain, filter)) {
+                if (checkEarnings(symbol, expiryDate, filter)) {
+                    filtersByExpiry.computeIfAbsent(expiryDate, e -> new ArrayList<>()).add(i);
+                }
+            }
+        }
+
+        SearchBudget budget = SearchBudget.forSymbol(filters, context.getStrategyBudget());
+        int expiriesSearched = 0;
+        for (Map.Entry<String, List<Integer>> entry : filtersByExpiry.entrySet()) {
+            if (budget.isExhausted()) {
+                log.info("[{}] Search budget exhausted after {}/{} expiries", symbol, expiriesSearched, filtersByExpiry.size());
+                logBudgetExhausted(filters, symbol, filtersByExpiry, expiriesSearched);
+                break;
+            }
+            expiriesSearched++;
+
+            List<OptionsStrategyFilter> covering = entry.getValue().stream().<OptionsStrategyFilter>map(filters::get).toList();
+            CandidateSet candidates = generateCandidateSet(chain, entry.getKey(), covering, budget);
+            for (int i : entry.getValue()) {
+                results.get(i).addAll(candidates.filter(filters.get(i)));
+            }
+        }
+
+        log.info("[{}] {} filters searched over {} shared expiries", symbol, filters.size(), filtersByExpiry.size());
+        return results;
+    }
+
+    /**
+     * Logs {@link FilterStage#SEARCH_BUDGET} for each filter that still had expiries to search
+     * after the first {@code expiriesSearched} shared ones, with that filter's own expiry counts.
+     */
+    private void logBudgetExhausted(List<? extends OptionsStrategyFilter> filters, String symbol,
+            Map<String, List<Integer>> filtersByExpiry, int expiriesSearched) {
+        int[] total = new int[filters.size()];
+        int[] searched = new int[filters.size()];
+        int position = 0;
+        for (List<Integer> covering : filtersByExpiry.values()) {
+            for (int i : covering) {
+                total[i]++;
+                if (position < expiriesSearched) {
+                    searched[i]++;
+                }
+            }
+            position++;
+        }
+        FilterLogStore filterLog = ExecutionContext.current().getFilterLogStore();
+        for (int i = 0; i < filters.size(); i++) {
+            if (searched[i] < total[i]) {
+                filterLog.logFilter(getStrategyName(filters.get(i)), symbol, FilterStage.SEARCH_BUDGET.displayName(),
+                        total[i], searched[i]);
+            }
+        }
+    }
+
+    /**
+     * Candidates of one expiry, generated once for several filters; {@link #filter} applies
+     * one filter's checks to them and returns its trades.
+     */
+    @FunctionalInterface
+    protected interface CandidateSet {
+        List<TradeSetup> filter(OptionsStrategyFilter filter);
+    }
+
+    /**
+     * Generates the candidates of {@code expiryDate} once for all of {@code filters}. The
+     * default shares nothing and runs {@link #findValidTrades} per filter; strategies whose
+     * candidates do not depend on the filter override it to enumerate them once, keeping
+     * only those that could pass at least one filter.
+     */
+    protected CandidateSet generateCandidateSet(OptionChainResponse chain, String expiryDate,
+            List<OptionsStrategyFilter> filters, SearchBudget budget) {
+        return filter -> findValidTrades(chain, expiryDate, filter, budget);
+    }
+
+    /**
+     * IV Rank check of {@code filter} for the chain's symbol, logged to the filter log.
+     */
+    private boolean checkIVRank(OptionChainResponse chain, OptionsStrategyFilter filter) {
+        String strategyName = getStrategyName(filter);
+        String symbol = chain.getSymbol();
+        ExecutionContext context = ExecutionContext.current();
+        FilterLogStore filterLog = context.getFilterLogStore();
 
         // ── Track C: Fire IV Rank ──
         CompletableFuture<Double> ivRankFuture = CompletableFuture
-                .supplyAsync(() -> resolveIVRank(symbol));
+                .supplyAsync(context.wrap(() -> resolveIVRank(symbol)));
 
         // ── IV Rank Filter ──
         Double ivRank = ivRankFuture.join();
         if (!filter.passesIVRank(ivRank)) {
             log.info("[{}] IV Rank {:.1f}% outside configured bounds [min={}, max={}], skipping symbol",
                     symbol, ivRank, filter.getMinIVRank(), filter.getMaxIVRank());
-            FilterLogStore.getInstance().logFilter(strategyName, symbol, FilterStage.IV_RANK_FILTER.displayName(), 1, 0);
-            return Collections.emptyList();
+            filterLog.logFilter(strategyName, symbol, FilterStage.IV_RANK_FILTER.displayName(), 1, 0);
+            return false;
         }
         if (filter.getMinIVRank() != null || filter.getMaxIVRank() != null) {
-            FilterLogStore.getInstance().logFilter(strategyName, symbol, FilterStage.IV_RANK_FILTER.displayName(), 1, 1);
+            filterLog.logFilter(strategyName, symbol, FilterStage.IV_RANK_FILTER.displayName(), 1, 1);
         }
+        return true;
+    }
 
+    /**
+     * Expiries of the chain inside the filter's DTE range, logged as the DTE filter.
+     */
+    private List<String> expiryDatesInRange(OptionChainResponse chain, OptionsStrategyFilter filter) {
+        String symbol = chain.getSymbol();
         int targetDTE = filter.getTargetDTE() != null ? filter.getTargetDTE() : 0;
         int minDTE = filter.getMinDTE() != null ? filter.getMinDTE() : 0;
         int maxDTE = filter.getMaxDTE() != null ? filter.getMaxDTE() : Integer.MAX_VALUE;
@@ -72,47 +238,122 @@ public abstract class AbstractTradingStrategy implements TradingStrategy {
         int totalExpiries = 0;
         if (chain.getCallExpDateMap() != null) totalExpiries = chain.getCallExpDateMap().size();
         else if (chain.getPutExpDateMap() != null) totalExpiries = chain.getPutExpDateMap().size();
-        FilterLogStore.getInstance().logFilter(strategyName, symbol, "DTE Filter", totalExpiries, expiryDates.size());
+        ExecutionContext.current().getFilterLogStore()
+                .logFilter(getStrategyName(filter), symbol, "DTE Filter", totalExpiries, expiryDates.size());
 
         if (expiryDates.isEmpty()) {
             log.debug("[{}] No expiry dates found in range [{}-{}]",
                     symbol, minDTE, maxDTE);
-            return new ArrayList<>();
         }
+        return expiryDates;
+    }
 
-        log.info("[{}] Processing {} expiry dates: {}", symbol, expiryDates.size(), expiryDates);
+    /**
+     * Earnings conditions of {@code filter} for one expiry, logged to the filter log.
+     */
+    private boolean checkEarnings(String symbol, String expiryDate, OptionsStrategyFilter filter) {
+        String strategyName = getStrategyName(filter);
+        FilterLogStore filterLog = ExecutionContext.current().getFilterLogStore();
 
-        List<TradeSetup> allTrades = new ArrayList<>();
+        // Apply new Earnings Filters
+        if (CollectionUtils.isNotEmpty(filter.getEarningsFilterExpressions())) {
+            CompiledConditions earningsConditions = filter.getCompiledEarningsConditions();
+            boolean passesEarnings = earningsConditions.test(
+                    EarningsDataResolver.resolveFrame(symbol, expiryDate, finnHubAPIs, earningsConditions));
 
-        for (String expiryDate : expiryDates) {
-            // Apply new Earnings Filters
-            if (CollectionUtils.isNotEmpty(filter.getEarningsFilterExpressions())) {
-                java.util.Map<String, Double> earningsVariables = EarningsDataResolver.resolve(symbol, expiryDate, finnHubAPIs);
-                boolean passesEarnings = MathExpressionEvaluator.evaluateAll(filter.getEarningsFilterExpressions(), earningsVariables::get);
-                
-                FilterLogStore.getInstance().logFilter(strategyName, symbol, expiryDate, FilterStage.EARNINGS_FILTER.displayName(), 1, passesEarnings ? 1 : 0);
-                
-                if (!passesEarnings) {
-                    log.info("[{}] Skipping expiry {} due to earnings filter condition mismatch", symbol, expiryDate);
-                    continue;
-                }
-            } else {
-                FilterLogStore.getInstance().logFilter(strategyName, symbol, expiryDate, FilterStage.EARNINGS_FILTER.displayName(), 1, 1);
-            }
+            filterLog.logFilter(strategyName, symbol, expiryDate, FilterStage.EARNINGS_FILTER.displayName(), 1, passesEarnings ? 1 : 0);
 
-            // Find trades for this expiry
-            List<TradeSetup> trades = findValidTrades(chain, expiryDate, filter);
-            log.info("[{}] Found {} trades for expiry {}", symbol, trades.size(), expiryDate);
-            allTrades.addAll(trades);
+            if (!passesEarnings) {
+                log.info("[{}] Skipping expiry {} due to earnings filter condition mismatch", symbol, expiryDate);
+                return false;
+            }
+        } else {
+            filterLog.logFilter(strategyName, symbol, expiryDate, FilterStage.EARNINGS_FILTER.displayName(), 1, 1);
         }
-
-        log.info("[{}] Total trades found: {}", symbol, allTrades.size());
-        return allTrades;
+        return true;
     }
 
     protected abstract List<TradeSetup> findValidTrades(OptionChainResponse chain, String expiryDate,
             OptionsStrategyFilter filter);
 
+    /**
+     * Budget-aware variant called by {@link #findTrades}. Strategies whose candidate count
+     * grows combinatorially override it to stop enumerating once {@code budget} is
+     * exhausted; the default ignores the budget (it is still checked between expiries).
+     */
+    protected List<TradeSetup> findValidTrades(OptionChainResponse chain, String expiryDate,
+            OptionsStrategyFilter filter, SearchBudget budget) {
+        return findValidTrades(chain, expiryDate, filter);
+    }
+
+    /**
+     * Finds the trades of one expiry, reusing memoized candidates when the run has a
+     * {@link CandidateMemo} and the strategy can key its candidates ({@link #candidateKey}).
+     */
+    private List<TradeSetup> findValidTrades(OptionChainResponse chain, String expiryDate,
+            OptionsStrategyFilter filter, SearchBudget budget, CandidateMemo memo) {
+        Object key = memo != null ? candidateKey(filter) : null;
+        if (key == null) {
+            return findValidTrades(chain, expiryDate, filter, budget);
+        }
+        CandidateSet candidates = memo.computeIfAbsent(String.valueOf(strategyType), chain, expiryDate, key,
+                () -> generateCandidateSet(chain, expiryDate, List.of(filter), budget));
+        return candidates.filter(filter);
+    }
+
+    /**
+     * The filter parameters {@link #generateCandidateSet} depends on, as a key with value
+     * equality, e.g. the leg filters of a spread. Filters with equal keys share memoized
+     * candidates, so every other parameter must only be applied by {@link CandidateSet#filter}.
+     * The default, {@code null}, never memoizes.
+     */
+    protected Object candidateKey(OptionsStrategyFilter filter) {
+        return null;
+    }
+
+    /**
+     * Value-comparable form of a leg filter for {@link #candidateKey}; {@code null} stays {@code null}.
+     */
+    @SuppressWarnings("unchecked")
+    protected static Map<String, Object> legFilterKey(LegFilter legFilter) {
+        return legFilter != null ? JavaUtils.convertValue(legFilter, Map.class) : null;
+    }
+
+    /**
+     * For a spread candidate set pruned to {@code kept}, the spreads one filter's pipeline
+     * would have rejected at each leg check (delta, premium, volume, open interest,
+     * volatility) and then at the positive credit check had it seen every spread, for
+     * {@link FilterPipeline#step(FilterStage, java.util.function.Predicate, int)}. Each leg
+     * check's survivors are counted over the full enumeration with {@code pairCount}, less
+     * those among {@code kept}. Kept spreads all take in a credit, so the filter's leg
+     * survivors missing from {@code kept} are the credit check's rejections.
+     */
+    protected static <C> int[] prunedSpreadRejections(LegFilterKernel.Masks shortMasks, LegFilterKernel.Masks longMasks,
+            List<C> kept, ToIntFunction<C> shortIndex, ToIntFunction<C> longIndex,
+            ToIntBiFunction<BitSet, BitSet> pairCount) {
+        BitSet[] shorts = shortMasks.cumulative();
+        BitSet[] longs = longMasks.cumulative();
+        BitSet all = new BitSet(shortMasks.size());
+        all.set(0, shortMasks.size());
+
+        int[] rejected = new int[shorts.length + 1];
+        int fullIn = pairCount.applyAsInt(all, all);
+        int keptIn = kept.size();
+        for (int k = 0; k < shorts.length; k++) {
+            BitSet shortPass = shorts[k];
+            BitSet longPass = longs[k];
+            int fullOut = pairCount.applyAsInt(shortPass, longPass);
+            int keptOut = (int) kept.stream()
+                    .filter(c -> shortPass.get(shortIndex.applyAsInt(c)) && longPass.get(longIndex.applyAsInt(c)))
+                    .count();
+            rejected[k] = (fullIn - fullOut) - (keptIn - keptOut);
+            fullIn = fullOut;
+            keptIn = keptOut;
+        }
+        rejected[shorts.length] = fullIn - keptIn;
+        return rejected;
+    }
+
     /**
      * Returns the display name for this strategy.
      * Uses the unique strategyId if available in the filter, otherwise falls back to StrategyType display name.
@@ -258,8 +499,8 @@ public abstract class AbstractTradingStrategy implements TradingStrategy {
      * @param symbol stock ticker
      * @return IV Rank in [0, 100], or {@code null} if unavailable
      */
-    protected Double resolveIVRank(String symbol) {
-        IVRankCache cache = IVRankCache.getInstance();
+    public Double resolveIVRank(String symbol) {
+        IVRankCache cache = ExecutionContext.current().getIvRankCache();
         if (cache.isCached(symbol)) {
             return cache.get(symbol).orElse(null);
         }
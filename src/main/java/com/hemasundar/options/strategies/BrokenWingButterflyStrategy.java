@@ -15,16 +15,17 @@ import org.apache.commons.collections4.MapUtils;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.function.Predicate;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import com.hemasundar.apis.FinnHubAPIs;
 import com.hemasundar.apis.ThinkOrSwimAPIs;
-import com.hemasundar.services.FilterLogStore;
+import com.hemasundar.services.ExecutionContext;
 import com.hemasundar.services.SupabaseService;
 
 @Log4j2
@@ -40,6 +41,12 @@ public class BrokenWingButterflyStrategy extends AbstractTradingStrategy {
     @Override
     protected List<TradeSetup> findValidTrades(OptionChainResponse chain, String expiryDate,
             OptionsStrategyFilter filter) {
+        return findValidTrades(chain, expiryDate, filter, SearchBudget.unlimited());
+    }
+
+    @Override
+    protected List<TradeSetup> findValidTrades(OptionChainResponse chain, String expiryDate,
+            OptionsStrategyFilter filter, SearchBudget budget) {
         log.trace("[BWB] Starting findValidTrades for expiry: {}", expiryDate);
 
         Map<String, List<OptionData>> callMap = chain.getOptionDataForASpecificExpiryDate(
@@ -69,19 +76,36 @@ public class BrokenWingButterflyStrategy extends AbstractTradingStrategy {
 
         log.trace("[BWB] Current price: {}, Available strikes: {}", chain.getUnderlyingPrice(), sortedStrikes);
 
+        LegColumns calls = LegColumns.byStrike(callMap);
+        LegFilterKernel.Masks leg1Masks = LegFilterKernel.evaluate(leg1Filter, calls);
+        LegFilterKernel.Masks leg2Masks = LegFilterKernel.evaluate(leg2Filter, calls);
+        LegFilterKernel.Masks leg3Masks = LegFilterKernel.evaluate(leg3Filter, calls);
+
         String strategyName = getStrategyName(filter);
         String symbol = chain.getSymbol();
 
-        List<BWBCandidate> candidates = generateCandidates(callMap, sortedStrikes, chain.getUnderlyingPrice()).toList();
-        FilterLogStore.getInstance().logFilter(strategyName, symbol, expiryDate, FilterStage.GENERATED_CANDIDATES.displayName(), candidates.size(), candidates.size());
+        List<BWBCandidate> candidates;
+        if (budget.isLimited()) {
+            candidates = generatePromisingCandidates(calls, chain.getUnderlyingPrice(), leg1Masks, leg2Masks, leg3Masks, budget);
+            long eligible = countEligibleCombinations(leg1Masks.eligible(), leg2Masks.eligible(), leg3Masks.eligible());
+            if (budget.isExhausted() && candidates.size() < eligible) {
+                log.info("[BWB] Search budget reached for {} {}: {} of up to {} combinations searched",
+                        symbol, expiryDate, candidates.size(), eligible);
+                ExecutionContext.current().getFilterLogStore().logFilter(strategyName, symbol, expiryDate, FilterStage.SEARCH_BUDGET.displayName(),
+                        (int) Math.min(eligible, Integer.MAX_VALUE), candidates.size());
+            }
+        } else {
+            candidates = generateCandidates(calls, chain.getUnderlyingPrice()).toList();
+        }
+        ExecutionContext.current().getFilterLogStore().logFilter(strategyName, symbol, expiryDate, FilterStage.GENERATED_CANDIDATES.displayName(), candidates.size(), candidates.size());
 
         List<BWBCandidate> survived = FilterPipeline
                 .<BWBCandidate>forContext(strategyName, symbol, expiryDate)
-                .step(FilterStage.DELTA_FILTER,           deltaFilter(leg1Filter, leg2Filter, leg3Filter))
-                .step(FilterStage.LEG_PREMIUM_FILTER,     legPremiumFilter(leg1Filter, leg2Filter, leg3Filter))
-                .step(FilterStage.VOLUME_FILTER,          volumeFilter(leg1Filter, leg2Filter, leg3Filter))
-                .step(FilterStage.OPEN_INTEREST_FILTER,   openInterestFilter(leg1Filter, leg2Filter, leg3Filter))
-                .step(FilterStage.LEG_VOLATILITY_FILTER,  volatilityFilter(leg1Filter, leg2Filter, leg3Filter))
+                .step(FilterStage.DELTA_FILTER,           c -> leg1Masks.passesDelta(c.leg1Index()) && leg2Masks.passesDelta(c.leg2Index()) && leg3Masks.passesDelta(c.leg3Index()))
+                .step(FilterStage.LEG_PREMIUM_FILTER,     c -> leg1Masks.passesPremium(c.leg1Index()) && leg2Masks.passesPremium(c.leg2Index()) && leg3Masks.passesPremium(c.leg3Index()))
+                .step(FilterStage.VOLUME_FILTER,          c -> leg1Masks.passesVolume(c.leg1Index()) && leg2Masks.passesVolume(c.leg2Index()) && leg3Masks.passesVolume(c.leg3Index()))
+                .step(FilterStage.OPEN_INTEREST_FILTER,   c -> leg1Masks.passesOpenInterest(c.leg1Index()) && leg2Masks.passesOpenInterest(c.leg2Index()) && leg3Masks.passesOpenInterest(c.leg3Index()))
+                .step(FilterStage.LEG_VOLATILITY_FILTER,  c -> leg1Masks.passesVolatility(c.leg1Index()) && leg2Masks.passesVolatility(c.leg2Index()) && leg3Masks.passesVolatility(c.leg3Index()))
                 .step(FilterStage.DEFAULT_DEBIT_FILTER,      defaultDebitFilter())
                 .step(FilterStage.WING_WIDTH_RATIO_FILTER,   wingWidthRatioFilter())
                 .step(FilterStage.DEBIT_VS_PRICE_FILTER,     debitVsPriceFilter(filter))
@@ -109,29 +133,58 @@ public class BrokenWingButterflyStrategy extends AbstractTradingStrategy {
     /**
      * Generates all valid 3-leg combinations as a stream of BWBCandidate records.
      */
-    private Stream<BWBCandidate> generateCandidates(Map<String, List<OptionData>> callMap,
-            List<Double> strikes, double currentPrice) {
-        return IntStream.range(0, strikes.size()).boxed()
-                .flatMap(i -> IntStream.range(i + 1, strikes.size()).boxed()
-                        .flatMap(j -> IntStream.range(j + 1, strikes.size()).boxed()
-                                .map(k -> createCandidate(callMap, strikes, i, j, k, currentPrice))))
-                .filter(Optional::isPresent)
-                .map(Optional::get);
+    private Stream<BWBCandidate> generateCandidates(LegColumns calls, double currentPrice) {
+        return IntStream.range(0, calls.size()).boxed()
+                .flatMap(i -> IntStream.range(i + 1, calls.size()).boxed()
+                        .flatMap(j -> IntStream.range(j + 1, calls.size())
+                                .mapToObj(k -> new BWBCandidate(calls.option(i), calls.option(j), calls.option(k),
+                                        i, j, k, currentPrice))));
     }
 
     /**
-     * Creates a BWBCandidate if all legs have valid option data.
+     * Budgeted enumeration, promising combinations first: only legs passing their leg
+     * filters (no other combination survives the leg steps), short strike nearest the money
+     * first, then the narrowest lower wing and upper wing. Upper wings wider than the wing
+     * width ratio allows are not generated. Stops as soon as {@code budget} is exhausted.
      */
-    private Optional<BWBCandidate> createCandidate(Map<String, List<OptionData>> callMap,
-            List<Double> strikes, int i, int j, int k, double currentPrice) {
-        OptionData leg1 = getOption(callMap, strikes.get(i));
-        OptionData leg2 = getOption(callMap, strikes.get(j));
-        OptionData leg3 = getOption(callMap, strikes.get(k));
-
-        if (leg1 == null || leg2 == null || leg3 == null) {
-            return Optional.empty();
+    private List<BWBCandidate> generatePromisingCandidates(LegColumns calls, double currentPrice,
+            LegFilterKernel.Masks leg1Masks, LegFilterKernel.Masks leg2Masks, LegFilterKernel.Masks leg3Masks,
+            SearchBudget budget) {
+        BitSet lowers = leg1Masks.eligible();
+        BitSet uppers = leg3Masks.eligible();
+        List<Integer> shorts = leg2Masks.eligible().stream().boxed()
+                .sorted(Comparator.comparingDouble(j -> Math.abs(calls.option(j).getStrikePrice() - currentPrice)))
+                .toList();
+
+        List<BWBCandidate> candidates = new ArrayList<>();
+        for (int j : shorts) {
+            for (int i = lowers.previousSetBit(j - 1); i >= 0; i = lowers.previousSetBit(i - 1)) {
+                for (int k = uppers.nextSetBit(j + 1); k >= 0; k = uppers.nextSetBit(k + 1)) {
+                    BWBCandidate candidate = new BWBCandidate(calls.option(i), calls.option(j), calls.option(k),
+                            i, j, k, currentPrice);
+                    if (candidate.upperWingWidth() > 2 * candidate.lowerWingWidth()) {
+                        break; // Wider upper wings fail the wing width ratio too
+                    }
+                    if (!budget.tryConsume()) {
+                        return candidates;
+                    }
+                    candidates.add(candidate);
+                }
+            }
         }
-        return Optional.of(new BWBCandidate(leg1, leg2, leg3, currentPrice));
+        return candidates;
+    }
+
+    /**
+     * @return the number of combinations whose three legs pass their leg filters
+     */
+    private static long countEligibleCombinations(BitSet lowers, BitSet shorts, BitSet uppers) {
+        long count = 0;
+        int length = Math.max(lowers.length(), uppers.length());
+        for (int j = shorts.nextSetBit(0); j >= 0; j = shorts.nextSetBit(j + 1)) {
+            count += (long) lowers.get(0, j).cardinality() * uppers.get(j + 1, Math.max(j + 1, length)).cardinality();
+        }
+        return count;
     }
 
     private OptionData getOption(Map<String, List<OptionData>> map, Double strike) {
@@ -141,25 +194,8 @@ public class BrokenWingButterflyStrategy extends AbstractTradingStrategy {
 
     // ========== FILTER PREDICATES ==========
 
-    private Predicate<BWBCandidate> deltaFilter(LegFilter l1, LegFilter l2, LegFilter l3) {
-        return c -> LegFilter.passesDelta(l1, c.leg1()) && LegFilter.passesDelta(l2, c.leg2()) && LegFilter.passesDelta(l3, c.leg3());
-    }
-
-    private Predicate<BWBCandidate> legPremiumFilter(LegFilter l1, LegFilter l2, LegFilter l3) {
-        return c -> LegFilter.passesPremium(l1, c.leg1()) && LegFilter.passesPremium(l2, c.leg2()) && LegFilter.passesPremium(l3, c.leg3());
-    }
-
-    private Predicate<BWBCandidate> volumeFilter(LegFilter l1, LegFilter l2, LegFilter l3) {
-        return c -> LegFilter.passesVolume(l1, c.leg1()) && LegFilter.passesVolume(l2, c.leg2()) && LegFilter.passesVolume(l3, c.leg3());
-    }
-
-    private Predicate<BWBCandidate> openInterestFilter(LegFilter l1, LegFilter l2, LegFilter l3) {
-        return c -> LegFilter.passesOpenInterest(l1, c.leg1()) && LegFilter.passesOpenInterest(l2, c.leg2()) && LegFilter.passesOpenInterest(l3, c.leg3());
-    }
-
-    private Predicate<BWBCandidate> volatilityFilter(LegFilter l1, LegFilter l2, LegFilter l3) {
-        return c -> LegFilter.passesVolatility(l1, c.leg1()) && LegFilter.passesVolatility(l2, c.leg2()) && LegFilter.passesVolatility(l3, c.leg3());
-    }
+    // Leg checks (delta, premium, volume, open interest, volatility) read the
+    // LegFilterKernel masks computed once per expiry in findValidTrades.
 
     /**
      * Mandatory requirement: Debit limit should be less than the price of Leg 1
@@ -383,7 +419,8 @@ public class BrokenWingButterflyStrategy extends AbstractTradingStrategy {
     /**
      * Immutable record holding a BWB trade candidate with all derived calculations.
      */
-    private record BWBCandidate(OptionData leg1, OptionData leg2, OptionData leg3, double currentPrice) {
+    private record BWBCandidate(OptionData leg1, OptionData leg2, OptionData leg3,
+            int leg1Index, int leg2Index, int leg3Index, double currentPrice) {
 
         double lowerWingWidth() {
             return (leg2.getStrikePrice() - leg1.getStrikePrice()) * 100;
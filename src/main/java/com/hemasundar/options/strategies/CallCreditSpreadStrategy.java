@@ -9,22 +9,21 @@ import com.hemasundar.options.models.OptionType;
 import com.hemasundar.options.models.OptionsStrategyFilter;
 import com.hemasundar.options.models.TradeSetup;
 import lombok.extern.log4j.Log4j2;
-import org.apache.commons.collections4.CollectionUtils;
 
 import org.apache.commons.collections4.MapUtils;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.function.Predicate;
-import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import com.hemasundar.apis.FinnHubAPIs;
 import com.hemasundar.apis.ThinkOrSwimAPIs;
-import com.hemasundar.services.FilterLogStore;
+import com.hemasundar.services.ExecutionContext;
 import com.hemasundar.services.SupabaseService;
 
 @Log4j2
@@ -46,32 +45,69 @@ public class CallCreditSpreadStrategy extends AbstractTradingStrategy {
         if (MapUtils.isEmpty(callMap))
             return new ArrayList<>();
 
-        // Extract leg filters
-        LegFilter shortLegFilter = null, longLegFilter = null;
-        if (filter instanceof CreditSpreadFilter csFilter) {
-            shortLegFilter = csFilter.getShortLeg();
-            longLegFilter = csFilter.getLongLeg();
-        }
+        LegColumns calls = LegColumns.byStrike(callMap);
+        BitSet all = new BitSet(calls.size());
+        all.set(0, calls.size());
+        List<CallSpreadCandidate> candidates = generateCandidates(calls, chain.getUnderlyingPrice(), all, all).toList();
+        return filterCandidates(chain, expiryDate, filter, calls, candidates, false);
+    }
+
+    /**
+     * Enumerates the spreads of {@code expiryDate} once for all {@code filters}, keeping
+     * those whose legs pass the leg filters of at least one of them and that take in a
+     * credit; each filter then runs its own pipeline over the shared list, logging the
+     * pruned spreads at the checks that would have rejected them.
+     */
+    @Override
+    protected CandidateSet generateCandidateSet(OptionChainResponse chain, String expiryDate,
+            List<OptionsStrategyFilter> filters, SearchBudget budget) {
+        Map<String, List<OptionData>> callMap = chain.getOptionDataForASpecificExpiryDate(
+                OptionType.CALL, expiryDate);
 
-        List<Double> sortedStrikes = callMap.keySet().stream()
-                .map(Double::parseDouble)
-                .sorted()
+        if (MapUtils.isEmpty(callMap))
+            return filter -> new ArrayList<>();
+
+        LegColumns calls = LegColumns.byStrike(callMap);
+        BitSet shorts = new BitSet(calls.size());
+        BitSet longs = new BitSet(calls.size());
+        for (OptionsStrategyFilter filter : filters) {
+            shorts.or(LegFilterKernel.evaluate(shortLegFilter(filter), calls).eligible());
+            longs.or(LegFilterKernel.evaluate(longLegFilter(filter), calls).eligible());
+        }
+        List<CallSpreadCandidate> candidates = generateCandidates(calls, chain.getUnderlyingPrice(), shorts, longs)
+                .filter(creditFilter())
                 .toList();
+        return filter -> filterCandidates(chain, expiryDate, filter, calls, candidates, true);
+    }
+
+    /**
+     * Runs the pipeline of {@code filter} over {@code candidates}. When they were pruned by
+     * {@link #generateCandidateSet}, the spreads left out are counted back in, so the logged
+     * funnel matches a search over every spread of the expiry.
+     */
+    private List<TradeSetup> filterCandidates(OptionChainResponse chain, String expiryDate,
+            OptionsStrategyFilter filter, LegColumns calls, List<CallSpreadCandidate> candidates, boolean pruned) {
+        LegFilterKernel.Masks shortMasks = LegFilterKernel.evaluate(shortLegFilter(filter), calls);
+        LegFilterKernel.Masks longMasks = LegFilterKernel.evaluate(longLegFilter(filter), calls);
+        int[] prunedBy = pruned
+                ? prunedSpreadRejections(shortMasks, longMasks, candidates, CallSpreadCandidate::shortIndex,
+                        CallSpreadCandidate::longIndex, (shorts, longs) -> countCandidates(calls, chain.getUnderlyingPrice(), shorts, longs))
+                : new int[6];
+        int generated = candidates.size() + Arrays.stream(prunedBy).sum();
 
         String strategyName = getStrategyName(filter);
         String symbol = chain.getSymbol();
 
-        List<CallSpreadCandidate> candidates = generateCandidates(callMap, sortedStrikes, chain.getUnderlyingPrice()).toList();
-        FilterLogStore.getInstance().logFilter(strategyName, symbol, expiryDate, FilterStage.GENERATED_CANDIDATES.displayName(), candidates.size(), candidates.size());
+        ExecutionContext.current().getFilterLogStore().logFilter(strategyName, symbol, expiryDate, FilterStage.GENERATED_CANDIDATES.displayName(), generated, generated);
 
         List<CallSpreadCandidate> survived = FilterPipeline
                 .<CallSpreadCandidate>forContext(strategyName, symbol, expiryDate)
-                .step(FilterStage.DELTA_FILTER,              deltaFilter(shortLegFilter, longLegFilter))
-                .step(FilterStage.LEG_PREMIUM_FILTER,        legPremiumFilter(shortLegFilter, longLegFilter))
-                .step(FilterStage.VOLUME_FILTER,             volumeFilter(shortLegFilter, longLegFilter))
-                .step(FilterStage.OPEN_INTEREST_FILTER,      openInterestFilter(shortLegFilter, longLegFilter))
-                .step(FilterStage.LEG_VOLATILITY_FILTER,     volatilityFilter(shortLegFilter, longLegFilter))
-                .step(FilterStage.POSITIVE_CREDIT_FILTER,    creditFilter())
+                .step(FilterStage.DELTA_FILTER,              c -> shortMasks.passesDelta(c.shortIndex()) && longMasks.passesDelta(c.longIndex()), prunedBy[0])
+                .step(FilterStage.LEG_PREMIUM_FILTER,        c -> shortMasks.passesPremium(c.shortIndex()) && longMasks.passesPremium(c.longIndex()), prunedBy[1])
+                .step(FilterStage.VOLUME_FILTER,             c -> shortMasks.passesVolume(c.shortIndex()) && longMasks.passesVolume(c.longIndex()), prunedBy[2])
+                .step(FilterStage.OPEN_INTEREST_FILTER,      c -> shortMasks.passesOpenInterest(c.shortIndex()) && longMasks.passesOpenInterest(c.longIndex()), prunedBy[3])
+                .step(FilterStage.LEG_VOLATILITY_FILTER,     c -> shortMasks.passesVolatility(c.shortIndex()) && longMasks.passesVolatility(c.longIndex()), prunedBy[4])
+                .step(FilterStage.POSITIVE_CREDIT_FILTER,    creditFilter(), prunedBy[5])
                 .step(FilterStage.MAX_CREDIT_FILTER,         commonMaxTotalCreditFilter(filter, CallSpreadCandidate::netCredit))
                 .step(FilterStage.MIN_CREDIT_FILTER,         commonMinTotalCreditFilter(filter, CallSpreadCandidate::netCredit))
                 .step(FilterStage.MAX_LOSS_FILTER,           commonMaxLossFilter(filter, CallSpreadCandidate::maxLoss))
@@ -92,65 +128,51 @@ public class CallCreditSpreadStrategy extends AbstractTradingStrategy {
     /**
      * Generates all valid 2-leg combinations as a stream of CallSpreadCandidate
      * records.
-     * For Call Spreads: Short Strike (i) < Long Strike (j)
+     * For Call Spreads: Short Strike (i) < Long Strike (j). Only shorts in {@code shorts}
+     * and longs in {@code longs} are combined.
      */
-    private Stream<CallSpreadCandidate> generateCandidates(Map<String, List<OptionData>> callMap,
-            List<Double> strikes, double currentPrice) {
-        return IntStream.range(0, strikes.size()).boxed()
-                .flatMap(i -> IntStream.range(i + 1, strikes.size()).boxed()
-                        .map(j -> createCandidate(callMap, strikes, i, j, currentPrice)))
-                .filter(Optional::isPresent)
-                .map(Optional::get);
+    private Stream<CallSpreadCandidate> generateCandidates(LegColumns calls, double currentPrice, BitSet shorts, BitSet longs) {
+        // OTM Check: For Call Credit Spread, Short Strike MUST be > Current Price
+        return shorts.stream()
+                .filter(i -> calls.strike(i) > currentPrice).boxed()
+                .flatMap(i -> longs.get(i + 1, Math.max(i + 1, calls.size())).stream()
+                        .mapToObj(k -> new CallSpreadCandidate(calls.option(i), calls.option(i + 1 + k), i, i + 1 + k, currentPrice)));
     }
 
-    private Optional<CallSpreadCandidate> createCandidate(Map<String, List<OptionData>> callMap,
-            List<Double> strikes, int shortIndex, int longIndex, double currentPrice) {
-        double shortStrike = strikes.get(shortIndex);
-
-        // OTM Check: For Call Credit Spread, Short Strike must be > Current Price
-        // Wait, logic in original file was: if (shortStrikePrice <= currentPrice)
-        // continue
-        // So Short Strike MUST be > Current Price (OTM)
-        if (shortStrike <= currentPrice) {
-            return Optional.empty();
-        }
-
-        OptionData shortLeg = getOption(callMap, shortStrike);
-        OptionData longLeg = getOption(callMap, strikes.get(longIndex));
-
-        if (shortLeg == null || longLeg == null) {
-            return Optional.empty();
+    /**
+     * Number of spreads {@link #generateCandidates} would enumerate for {@code shorts} and
+     * {@code longs}, without enumerating them.
+     */
+    private static int countCandidates(LegColumns calls, double currentPrice, BitSet shorts, BitSet longs) {
+        int count = 0;
+        for (int i = shorts.nextSetBit(0); i >= 0; i = shorts.nextSetBit(i + 1)) {
+            if (calls.strike(i) > currentPrice) {
+                count += longs.get(i + 1, Math.max(i + 1, calls.size())).cardinality();
+            }
         }
-        return Optional.of(new CallSpreadCandidate(shortLeg, longLeg, currentPrice));
+        return count;
     }
 
-    private OptionData getOption(Map<String, List<OptionData>> map, Double strike) {
-        List<OptionData> options = map.get(String.valueOf(strike));
-        return CollectionUtils.isEmpty(options) ? null : options.get(0);
-    }
-
-    // ========== FILTER PREDICATES ==========
-
-    private Predicate<CallSpreadCandidate> deltaFilter(LegFilter shortLegFilter, LegFilter longLegFilter) {
-        return candidate -> LegFilter.passesDelta(shortLegFilter, candidate.shortLeg())
-                && LegFilter.passesDelta(longLegFilter, candidate.longLeg());
-    }
-
-    private Predicate<CallSpreadCandidate> legPremiumFilter(LegFilter shortFilter, LegFilter longFilter) {
-        return c -> LegFilter.passesPremium(shortFilter, c.shortLeg()) && LegFilter.passesPremium(longFilter, c.longLeg());
+    /**
+     * Spreads are generated from the leg filters only; credit, loss and return thresholds
+     * are applied per filter, so reruns that change them reuse memoized candidates.
+     */
+    @Override
+    protected Object candidateKey(OptionsStrategyFilter filter) {
+        return Arrays.asList(legFilterKey(shortLegFilter(filter)), legFilterKey(longLegFilter(filter)));
     }
 
-    private Predicate<CallSpreadCandidate> volumeFilter(LegFilter shortFilter, LegFilter longFilter) {
-        return c -> LegFilter.passesVolume(shortFilter, c.shortLeg()) && LegFilter.passesVolume(longFilter, c.longLeg());
+    private static LegFilter shortLegFilter(OptionsStrategyFilter filter) {
+        return filter instanceof CreditSpreadFilter csFilter ? csFilter.getShortLeg() : null;
     }
 
-    private Predicate<CallSpreadCandidate> openInterestFilter(LegFilter shortFilter, LegFilter longFilter) {
-        return c -> LegFilter.passesOpenInterest(shortFilter, c.shortLeg()) && LegFilter.passesOpenInterest(longFilter, c.longLeg());
+    private static LegFilter longLegFilter(OptionsStrategyFilter filter) {
+        return filter instanceof CreditSpreadFilter csFilter ? csFilter.getLongLeg() : null;
     }
 
-    private Predicate<CallSpreadCandidate> volatilityFilter(LegFilter shortFilter, LegFilter longFilter) {
-        return c -> LegFilter.passesVolatility(shortFilter, c.shortLeg()) && LegFilter.passesVolatility(longFilter, c.longLeg());
-    }
+    // ========== FILTER PREDICATES ==========
+    // Leg checks (delta, premium, volume, open interest, volatility) read the per-filter
+    // LegFilterKernel masks that filterCandidates computes for each expiry.
 
     private Predicate<CallSpreadCandidate> creditFilter() {
         return candidate -> candidate.netCredit() > 0;
@@ -176,7 +198,8 @@ public class CallCreditSpreadStrategy extends AbstractTradingStrategy {
 
     // ========== CANDIDATE RECORD ==========
 
-    private record CallSpreadCandidate(OptionData shortLeg, OptionData longLeg, double currentPrice) {
+    private record CallSpreadCandidate(OptionData shortLeg, OptionData longLeg, int shortIndex, int longIndex,
+            double currentPrice) {
 
         double netCredit() {
             return (shortLeg.getBid() - longLeg.getAsk()) * 100;
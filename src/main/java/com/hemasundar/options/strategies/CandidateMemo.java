@@ -0,0 +1,122 @@
+package com.hemasundar.options.strategies;
+
+import com.hemasundar.options.models.OptionChainResponse;
+
+import java.lang.ref.WeakReference;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Candidate sets of single expiries kept across custom runs, so a rerun that only changes
+ * downstream thresholds (credit, return on risk, loss, Top N) re-filters the candidates it
+ * already generated instead of enumerating the chain again.
+ *
+ * <p>An entry is keyed by strategy type, symbol, expiry and the filter parameters the
+ * candidates depend on ({@link AbstractTradingStrategy#candidateKey}), and is only reused
+ * for the very chain instance it was generated from; a refetched chain regenerates it.
+ * Entries hold their chain weakly, so the memo never keeps a replaced chain alive, and
+ * {@link #evictOlderThan} drops entries by age or once their chain is gone.
+ * Concurrent runs asking for the same entry generate it once: the first registers it as in
+ * flight and the others wait for its result. The least recently used entries are dropped
+ * beyond {@code maxEntries}.
+ */
+public final class CandidateMemo {
+
+    private record Key(String strategyType, String symbol, String expiryDate, Object generationKey) {
+    }
+
+    private record Entry(WeakReference<OptionChainResponse> chain, CompletableFuture<Object> candidates,
+                         long createdAtMs) {
+    }
+
+    private final Map<Key, Entry> entries;
+    private final AtomicInteger hits = new AtomicInteger();
+    private final AtomicInteger misses = new AtomicInteger();
+
+    public CandidateMemo(int maxEntries) {
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Returns the candidates memoized for this chain, expiry and generation key, generating
+     * and storing them on a miss. A caller finding them in flight waits for them; a failed
+     * generation is dropped and its error rethrown to every waiting caller.
+     */
+    @SuppressWarnings("unchecked")
+    <T> T computeIfAbsent(String strategyType, OptionChainResponse chain, String expiryDate, Object generationKey,
+                          Supplier<T> generator) {
+        Key key = new Key(strategyType, chain.getSymbol(), expiryDate, generationKey);
+        CompletableFuture<Object> pending = new CompletableFuture<>();
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+            if (entry == null || entry.chain().get() != chain) {
+                entry = new Entry(new WeakReference<>(chain), pending, System.currentTimeMillis());
+                entries.put(key, entry);
+            }
+        }
+        if (entry.candidates() != pending) {
+            hits.incrementAndGet();
+            try {
+                return (T) entry.candidates().join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+
+        misses.incrementAndGet();
+        try {
+            T candidates = generator.get();
+            pending.complete(candidates);
+            return candidates;
+        } catch (RuntimeException | Error e) {
+            synchronized (entries) {
+                entries.remove(key, entry);
+            }
+            pending.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Drops the entries generated before {@code cutoffMs} and those whose chain was collected.
+     *
+     * @return the number of entries dropped
+     */
+    public int evictOlderThan(long cutoffMs) {
+        synchronized (entries) {
+            int before = entries.size();
+            entries.values().removeIf(entry -> entry.createdAtMs() < cutoffMs || entry.chain().get() == null);
+            return before - entries.size();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public int getHits() {
+        return hits.get();
+    }
+
+    public int getMisses() {
+        return misses.get();
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+}
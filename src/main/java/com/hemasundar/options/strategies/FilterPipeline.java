@@ -1,5 +1,6 @@
 package com.hemasundar.options.strategies;
 
+import com.hemasundar.services.ExecutionContext;
 import com.hemasundar.services.FilterLogStore;
 
 import java.util.ArrayList;
@@ -23,6 +24,22 @@ import java.util.function.Predicate;
  *     .run(candidates);
  * }</pre>
  *
+ * <p>When {@link StageOrderOptimizer} is enabled, steps are evaluated cheapest and most
+ * selective first (as learned from earlier runs) instead of in declared order. The surviving
+ * candidates and their order are the same either way, and the funnel is still logged in
+ * declared order with chained counts. With {@link StageOrderOptimizer#isExactCounts()} (the
+ * default) the per-step counts are identical too: a rejected candidate is credited to the
+ * first step it fails in declared order, checking the earlier-declared steps it skipped for
+ * attribution only. That re-check costs what reordering saved on rejected candidates, so
+ * without exact counts a candidate failing several steps is instead credited to the one that
+ * ran first. Steps that must not move — e.g. one relying on an earlier step having removed
+ * bad data — are added with {@link #fixedStep}.
+ *
+ * <p>A caller that dropped candidates before {@link #run} — e.g. a candidate set shared by
+ * several filters and pruned to what any of them could accept — passes how many of them each
+ * step would have rejected to {@link #step(FilterStage, Predicate, int)}. The logged funnel
+ * then counts them as if they had been part of the input.
+ *
  * @param <T> the type of candidate or trade being filtered
  */
 public class FilterPipeline<T> {
@@ -31,6 +48,7 @@ public class FilterPipeline<T> {
     private final String symbol;
     private final String expiry;
     private final List<NamedFilter<T>> steps = new ArrayList<>();
+    private final List<Integer> pruned = new ArrayList<>();
 
     private FilterPipeline(String strategy, String symbol, String expiry) {
         this.strategy = strategy;
@@ -58,6 +76,7 @@ public class FilterPipeline<T> {
      */
     public FilterPipeline<T> step(String name, Predicate<T> predicate) {
         steps.add(new NamedFilter<>(name, predicate));
+        pruned.add(0);
         return this;
     }
 
@@ -73,6 +92,47 @@ public class FilterPipeline<T> {
         return step(stage.displayName(), predicate);
     }
 
+    /**
+     * Adds a step that would also have rejected {@code pruned} candidates the caller removed
+     * before {@link #run}; they are included in the logged counts of this step.
+     *
+     * @param stage     the canonical filter stage identifier
+     * @param predicate the filter condition
+     * @param pruned    candidates removed up front that this step would have rejected first
+     * @return this pipeline, for method chaining
+     */
+    public FilterPipeline<T> step(FilterStage stage, Predicate<T> predicate, int pruned) {
+        step(stage, predicate);
+        this.pruned.set(this.pruned.size() - 1, pruned);
+        return this;
+    }
+
+    /**
+     * Adds the step only when {@code enabled}; a step left out is neither run nor logged,
+     * e.g. a check the strategy applies elsewhere in some configurations.
+     *
+     * @param enabled   whether the step belongs to this pipeline
+     * @param stage     the canonical filter stage identifier
+     * @param predicate the filter condition
+     * @return this pipeline, for method chaining
+     */
+    public FilterPipeline<T> stepIf(boolean enabled, FilterStage stage, Predicate<T> predicate) {
+        return enabled ? step(stage, predicate) : this;
+    }
+
+    /**
+     * Adds a named filter step that {@link StageOrderOptimizer} never moves or crosses.
+     *
+     * @param name      the human-readable label shown in the logs UI
+     * @param predicate the filter condition
+     * @return this pipeline, for method chaining
+     */
+    public FilterPipeline<T> fixedStep(String name, Predicate<T> predicate) {
+        steps.add(new NamedFilter<>(name, predicate, false));
+        pruned.add(0);
+        return this;
+    }
+
     /**
      * Executes all registered filter steps in order against {@code input}.
      * After each step, the result count is recorded in {@link FilterLogStore}.
@@ -81,13 +141,91 @@ public class FilterPipeline<T> {
      * @return the list of candidates that survived all filter steps
      */
     public List<T> run(List<T> input) {
+        FilterLogStore log = ExecutionContext.current().getFilterLogStore();
+        StageOrderOptimizer optimizer = StageOrderOptimizer.getInstance();
+        if (!optimizer.isEnabled()) {
+            // Pruned candidates still ahead of their rejecting step count as input
+            int pending = pruned.stream().mapToInt(Integer::intValue).sum();
+            List<T> current = input;
+            for (int k = 0; k < steps.size(); k++) {
+                List<T> next = current.stream().filter(steps.get(k).predicate()).toList();
+                int in = current.size() + pending;
+                pending -= pruned.get(k);
+                log.logFilter(strategy, symbol, expiry, steps.get(k).name(), in, next.size() + pending);
+                current = next;
+            }
+            return current;
+        }
+        return runAdaptive(input, log, optimizer);
+    }
+
+    private List<T> runAdaptive(List<T> input, FilterLogStore log, StageOrderOptimizer optimizer) {
+        int stages = steps.size();
+        boolean[] movable = new boolean[stages];
+        StringBuilder key = new StringBuilder(String.valueOf(strategy));
+        for (int k = 0; k < stages; k++) {
+            movable[k] = steps.get(k).reorderable();
+            key.append('|').append(steps.get(k).name());
+        }
+        int[] order = optimizer.order(key.toString(), movable);
+        int[] position = new int[stages];
+        for (int p = 0; p < stages; p++) {
+            position[order[p]] = p;
+        }
+
+        int[] in = new int[stages];
+        int[] out = new int[stages];
+        long[] nanos = new long[stages];
+        int[] rejectedBy = new int[stages];
+        for (int k = 0; k < stages; k++) {
+            rejectedBy[k] = pruned.get(k);
+        }
+        boolean exactCounts = optimizer.isExactCounts();
         List<T> current = input;
-        FilterLogStore log = FilterLogStore.getInstance();
-        for (NamedFilter<T> step : steps) {
-            List<T> next = current.stream().filter(step.predicate()).toList();
-            log.logFilter(strategy, symbol, expiry, step.name(), current.size(), next.size());
+        for (int k : order) {
+            Predicate<T> predicate = steps.get(k).predicate();
+            List<T> next = new ArrayList<>(current.size());
+            List<T> rejected = new ArrayList<>();
+            long start = System.nanoTime();
+            for (T candidate : current) {
+                (predicate.test(candidate) ? next : rejected).add(candidate);
+            }
+            nanos[k] = System.nanoTime() - start;
+            in[k] = current.size();
+            out[k] = next.size();
+            if (exactCounts) {
+                for (T candidate : rejected) {
+                    rejectedBy[firstDeclaredFailure(candidate, k, position)]++;
+                }
+            } else {
+                rejectedBy[k] += rejected.size();
+            }
             current = next;
         }
+        optimizer.record(key.toString(), in, out, nanos);
+
+        // Report in declared order: each step passes on what the previous one kept, minus its own rejections
+        int remaining = input.size() + pruned.stream().mapToInt(Integer::intValue).sum();
+        for (int k = 0; k < stages; k++) {
+            int kept = remaining - rejectedBy[k];
+            log.logFilter(strategy, symbol, expiry, steps.get(k).name(), remaining, kept);
+            remaining = kept;
+        }
         return current;
     }
+
+    /**
+     * The declared step a candidate rejected by {@code failedStep} would have been rejected by
+     * in declared order: the first earlier-declared step it fails among those that had not run
+     * yet. Steps that ran before {@code failedStep} are known to pass. A fixed step is never
+     * crossed, so every step checked here sits in the same segment as {@code failedStep}.
+     */
+    private int firstDeclaredFailure(T candidate, int failedStep, int[] position) {
+        for (int j = 0; j < failedStep; j++) {
+            if (position[j] > position[failedStep] && !steps.get(j).predicate().test(candidate)) {
+                return j;
+            }
+        }
+        return failedStep;
+    }
 }
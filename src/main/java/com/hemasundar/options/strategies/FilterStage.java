@@ -26,6 +26,7 @@ public enum FilterStage {
     MIN_EXTRINSIC_VALUE_FILTER("Min Extrinsic Value Filter"),
     BREAK_EVEN_FILTER("Break-Even Filter"),
     EARNINGS_FILTER("Earnings Filter"),
+    SEARCH_BUDGET("Search Budget"),
 
     // ── Credit spread strategies (Put & Call) ───────────────────────────────
     POSITIVE_CREDIT_FILTER("Positive Credit Filter"),
@@ -47,7 +48,14 @@ public enum FilterStage {
     PREMIUM_LIMIT_FILTER("Premium Limit Filter"),
     COST_EFFICIENCY_FILTER("Cost Efficiency Filter"),
     CAGR_FILTER("CAGR Filter"),
-    COST_SAVINGS_FILTER("Cost Savings Filter");
+    COST_SAVINGS_FILTER("Cost Savings Filter"),
+
+    // ── Scan funnel tiers (universe level, counted in symbols) ─────────────
+    QUOTE_TIER("Funnel: Quotes"),
+    TECHNICAL_TIER("Funnel: Technicals"),
+    IV_RANK_TIER("Funnel: IV Rank"),
+    EXPIRATION_TIER("Funnel: Expirations"),
+    OPTION_CHAIN_TIER("Funnel: Option Chains");
 
     private final String displayName;
 
@@ -17,7 +17,7 @@ import java.util.List;
 
 import com.hemasundar.apis.FinnHubAPIs;
 import com.hemasundar.apis.ThinkOrSwimAPIs;
-import com.hemasundar.services.FilterLogStore;
+import com.hemasundar.services.ExecutionContext;
 import com.hemasundar.services.SupabaseService;
 
 public class IronCondorStrategy extends AbstractTradingStrategy {
@@ -138,7 +138,7 @@ public class IronCondorStrategy extends AbstractTradingStrategy {
             }
         }
         
-        FilterLogStore.getInstance().logFilter(
+        ExecutionContext.current().getFilterLogStore().logFilter(
                 getStrategyName(filter), symbol, expiryDate,
                 FilterStage.GENERATED_CANDIDATES.displayName(),
                 combinations.size(), combinations.size());
@@ -0,0 +1,98 @@
+package com.hemasundar.options.strategies;
+
+import com.hemasundar.options.models.OptionChainResponse.OptionData;
+import org.apache.commons.collections4.CollectionUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Column block of the option legs of one expiry and side: the fields {@link com.hemasundar.options.models.LegFilter}
+ * checks, copied once into primitive arrays indexed by leg, so {@link LegFilterKernel} can
+ * test every strike in a single pass instead of one {@link OptionData} getter at a time.
+ */
+public final class LegColumns {
+
+    private final OptionData[] options;
+    private final double[] strikes;
+    final double[] absDelta;
+    final double[] mark;
+    final double[] volume;
+    final double[] openInterest;
+    final double[] volatility;
+
+    private LegColumns(List<OptionData> legs, double[] strikes) {
+        int n = legs.size();
+        options = legs.toArray(new OptionData[0]);
+        this.strikes = strikes;
+        absDelta = new double[n];
+        mark = new double[n];
+        volume = new double[n];
+        openInterest = new double[n];
+        volatility = new double[n];
+        for (int i = 0; i < n; i++) {
+            OptionData leg = options[i];
+            absDelta[i] = leg.getAbsDelta();
+            mark[i] = leg.getMark();
+            volume[i] = leg.getTotalVolume();
+            openInterest[i] = leg.getOpenInterest();
+            volatility[i] = leg.getVolatility();
+        }
+    }
+
+    /**
+     * Builds the block from a strike map in ascending strike order, taking the first
+     * option of each strike and skipping strikes without one.
+     */
+    public static LegColumns byStrike(Map<String, List<OptionData>> strikeMap) {
+        double[] sortedStrikes = strikeMap.keySet().stream().mapToDouble(Double::parseDouble).sorted().toArray();
+        List<OptionData> legs = new ArrayList<>(sortedStrikes.length);
+        double[] strikes = new double[sortedStrikes.length];
+        for (double strike : sortedStrikes) {
+            List<OptionData> options = strikeMap.get(String.valueOf(strike));
+            if (CollectionUtils.isNotEmpty(options)) {
+                strikes[legs.size()] = strike;
+                legs.add(options.get(0));
+            }
+        }
+        return new LegColumns(legs, Arrays.copyOf(strikes, legs.size()));
+    }
+
+    /**
+     * Builds the block from the first option of each list, in iteration order.
+     */
+    public static LegColumns of(Collection<List<OptionData>> optionLists) {
+        List<OptionData> legs = new ArrayList<>(optionLists.size());
+        for (List<OptionData> options : optionLists) {
+            if (CollectionUtils.isNotEmpty(options)) {
+                legs.add(options.get(0));
+            }
+        }
+        return new LegColumns(legs, legs.stream().mapToDouble(OptionData::getStrikePrice).toArray());
+    }
+
+    public int size() {
+        return options.length;
+    }
+
+    public OptionData option(int index) {
+        return options[index];
+    }
+
+    /**
+     * @return the strike of leg {@code index}, as keyed in the chain for {@link #byStrike}
+     */
+    public double strike(int index) {
+        return strikes[index];
+    }
+
+    /**
+     * @return the legs in block order
+     */
+    public List<OptionData> options() {
+        return List.of(options);
+    }
+}
@@ -0,0 +1,198 @@
+package com.hemasundar.options.strategies;
+
+import com.hemasundar.options.models.LegFilter;
+import lombok.extern.log4j.Log4j2;
+
+import java.util.BitSet;
+
+/**
+ * Applies a {@link LegFilter} to a whole {@link LegColumns} block at once and returns
+ * per-check bit masks of the legs that pass.
+ *
+ * <p>Each configured bound is one pass over its column, evaluated by a scalar loop by
+ * default. A build with the {@code vector} Maven profile also compiles
+ * {@code VectorLegFilterKernel}; run with {@code --add-modules jdk.incubator.vector}, the
+ * passes then use SIMD lanes of the incubating Vector API. Both give bit-identical masks,
+ * and both match {@link LegFilter#passes} per leg: a bound is violated only when the value
+ * compares below the minimum or above the maximum, so {@code NaN} never fails a bound,
+ * exactly as in the boxed checks.
+ */
+@Log4j2
+public final class LegFilterKernel {
+
+    private static final String VECTOR_KERNEL = "com.hemasundar.options.strategies.VectorLegFilterKernel";
+
+    /** SIMD bound check, or {@code null} when it was not compiled in or cannot run. */
+    private static final BoundCheck VECTOR = loadVectorKernel();
+    private static final boolean VECTORIZED = VECTOR != null;
+
+    /**
+     * Bound check over indexes {@code [0, n)}, OR-ing the bits of passing legs into {@code words}.
+     */
+    interface BoundCheck {
+        void within(double[] values, int n, double lo, double hi, long[] words);
+    }
+
+    private LegFilterKernel() {
+    }
+
+    private static BoundCheck loadVectorKernel() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return null;
+        }
+        try {
+            return (BoundCheck) Class.forName(VECTOR_KERNEL).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+            log.debug("Vector API unavailable, using scalar leg filters: {}", e.toString());
+            return null;
+        }
+    }
+
+    /**
+     * @return whether masks are computed with the Vector API
+     */
+    public static boolean vectorized() {
+        return VECTORIZED;
+    }
+
+    /**
+     * Evaluates every check of {@code filter} over {@code legs}; a {@code null} filter passes every leg.
+     */
+    public static Masks evaluate(LegFilter filter, LegColumns legs) {
+        return evaluate(filter, legs, VECTORIZED);
+    }
+
+    static Masks evaluate(LegFilter filter, LegColumns legs, boolean vectorized) {
+        if (filter == null) {
+            return Masks.all(legs.size());
+        }
+        int n = legs.size();
+        BitSet delta = within(legs.absDelta, n, filter.getMinDelta(), filter.getMaxDelta(), vectorized);
+        BitSet premium = within(legs.mark, n, filter.getMinPremium(), filter.getMaxPremium(), vectorized);
+        BitSet volume = within(legs.volume, n, toDouble(filter.getMinVolume()), null, vectorized);
+        BitSet openInterest = within(legs.openInterest, n, toDouble(filter.getMinOpenInterest()), null, vectorized);
+        BitSet volatility = within(legs.volatility, n, filter.getMinVolatility(), filter.getMaxVolatility(), vectorized);
+        return new Masks(n, delta, premium, volume, openInterest, volatility);
+    }
+
+    private static Double toDouble(Integer value) {
+        return value == null ? null : value.doubleValue();
+    }
+
+    /**
+     * Legs whose value is neither below {@code min} nor above {@code max}; a {@code null}
+     * bound is not checked, and with no bound at all every leg passes without a pass.
+     */
+    private static BitSet within(double[] values, int n, Double min, Double max, boolean vectorized) {
+        if (min == null && max == null) {
+            BitSet all = new BitSet(n);
+            all.set(0, n);
+            return all;
+        }
+        double lo = min != null ? min : Double.NEGATIVE_INFINITY;
+        double hi = max != null ? max : Double.POSITIVE_INFINITY;
+        long[] words = new long[(n + 63) >>> 6];
+        if (vectorized && VECTOR != null) {
+            VECTOR.within(values, n, lo, hi, words);
+        } else {
+            within(values, 0, n, lo, hi, words);
+        }
+        return BitSet.valueOf(words);
+    }
+
+    /**
+     * Scalar form of the bound check for indexes {@code [from, to)}, OR-ed into {@code words}.
+     */
+    static void within(double[] values, int from, int to, double lo, double hi, long[] words) {
+        int i = from;
+        while (i < to) {
+            int end = Math.min(to, (i | 63) + 1);
+            long bits = 0;
+            for (; i < end; i++) {
+                double value = values[i];
+                // Non-short-circuit '&' keeps the loop free of data-dependent branches
+                bits |= (!(value < lo) & !(value > hi) ? 1L : 0L) << i;
+            }
+            words[(end - 1) >>> 6] |= bits;
+        }
+    }
+
+    /**
+     * Per-check results of one {@link LegFilter} over one {@link LegColumns} block, indexed
+     * like the block. Each method mirrors the {@link LegFilter} check of the same name.
+     */
+    public static final class Masks {
+        private final int size;
+        private final BitSet delta;
+        private final BitSet premium;
+        private final BitSet volume;
+        private final BitSet openInterest;
+        private final BitSet volatility;
+
+        private Masks(int size, BitSet delta, BitSet premium, BitSet volume, BitSet openInterest, BitSet volatility) {
+            this.size = size;
+            this.delta = delta;
+            this.premium = premium;
+            this.volume = volume;
+            this.openInterest = openInterest;
+            this.volatility = volatility;
+        }
+
+        private static Masks all(int size) {
+            BitSet all = new BitSet(size);
+            all.set(0, size);
+            return new Masks(size, all, all, all, all, all);
+        }
+
+        public boolean passesDelta(int leg) {
+            return delta.get(leg);
+        }
+
+        public boolean passesPremium(int leg) {
+            return premium.get(leg);
+        }
+
+        public boolean passesVolume(int leg) {
+            return volume.get(leg);
+        }
+
+        public boolean passesOpenInterest(int leg) {
+            return openInterest.get(leg);
+        }
+
+        public boolean passesVolatility(int leg) {
+            return volatility.get(leg);
+        }
+
+        /**
+         * @return the legs passing every check up to and including each one, in the order
+         *         delta, premium, volume, open interest, volatility (fresh copies)
+         */
+        BitSet[] cumulative() {
+            BitSet[] cumulative = new BitSet[5];
+            cumulative[0] = (BitSet) delta.clone();
+            BitSet[] checks = {premium, volume, openInterest, volatility};
+            for (int k = 0; k < checks.length; k++) {
+                cumulative[k + 1] = (BitSet) cumulative[k].clone();
+                cumulative[k + 1].and(checks[k]);
+            }
+            return cumulative;
+        }
+
+        /**
+         * @return the legs passing every check (a fresh copy)
+         */
+        public BitSet eligible() {
+            BitSet eligible = (BitSet) delta.clone();
+            eligible.and(premium);
+            eligible.and(volume);
+            eligible.and(openInterest);
+            eligible.and(volatility);
+            return eligible;
+        }
+
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -8,6 +8,7 @@ import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.apache.commons.collections4.CollectionUtils;
@@ -16,13 +17,17 @@ import org.springframework.stereotype.Component;
 
 import com.hemasundar.apis.FinnHubAPIs;
 import com.hemasundar.apis.ThinkOrSwimAPIs;
-import com.hemasundar.services.FilterLogStore;
+import com.hemasundar.services.ExecutionContext;
 import com.hemasundar.services.SupabaseService;
 
 /**
  * Unified Long Call LEAP strategy.
  * Supports both strict filtering and Top N ranked results with progressive
  * relaxation.
+ *
+ * <p>Relaxation is answered from a single scan of the chain: the filters named in
+ * {@code relaxationPriority} are left out of the pipeline, and each surviving trade is
+ * tagged with the tightest level it satisfies (0 = strict, i = first i filters relaxed).
  */
 @Log4j2
 public class LongCallLeapStrategy extends AbstractTradingStrategy {
@@ -34,11 +39,15 @@ public class LongCallLeapStrategy extends AbstractTradingStrategy {
         super(strategyType, finnHubAPIs, ThinkOrSwimAPIs, supabaseService);
     }
 
+    /** Filters that may be named in {@code relaxationPriority}. */
+    private static final Set<String> RELAXABLE_FILTERS = Set.of(
+            "maxCAGRForBreakEven", "maxOptionPricePercent", "minCostSavingsPercent");
+
     @Override
     public List<TradeSetup> findTrades(OptionChainResponse chain, OptionsStrategyFilter filter) {
-        // Step 1: Find strict trades using the base strategy logic (findValidTrades)
-        List<TradeSetup> strictTrades = super.findTrades(chain, filter);
-        log.info("[{}] Found {} trades with strict filters", chain.getSymbol(), strictTrades.size());
+        // Step 1: Single scan using the base strategy logic (findValidTrades). When relaxation
+        // is enabled the relaxable filters are deferred, so this returns every level at once.
+        List<TradeSetup> scanned = super.findTrades(chain, filter);
 
         // Step 2: Identify target N from filter
         Integer topTradesCount = null;
@@ -49,47 +58,69 @@ public class LongCallLeapStrategy extends AbstractTradingStrategy {
         // Case A: No limit set - return all strict trades (sorted using strategy preference)
         if (topTradesCount == null) {
             log.info("[{}] No topTradesCount limit set. Returning all {} strict trades.",
-                    chain.getSymbol(), strictTrades.size());
-            return getTopNTrades(strictTrades, Integer.MAX_VALUE, filter);
+                    chain.getSymbol(), scanned.size());
+            return getTopNTrades(scanned, Integer.MAX_VALUE, filter);
         }
 
         // Case B: Limit set - apply Top N logic with optional relaxation
         int topN = topTradesCount;
         log.info("[{}] Finding Top {} Long LEAP trades", chain.getSymbol(), topN);
 
-        // If we already have enough trades meeting strict criteria, return them
-        if (strictTrades.size() >= topN) {
-            return getTopNTrades(strictTrades, topN, filter);
-        }
-
-        // Step 3: Progressive relaxation
         java.util.List<String> relaxationOrder = getRelaxationPriority(filter);
 
         if (CollectionUtils.isEmpty(relaxationOrder)) {
             // No relaxation configured - return whatever strict results we found
-            log.info("[{}] No relaxationPriority configured. Returning {} strict trades (target was {})",
-                    chain.getSymbol(), strictTrades.size(), topN);
-            return getTopNTrades(strictTrades, topN, filter);
+            log.info("[{}] Found {} trades with strict filters", chain.getSymbol(), scanned.size());
+            if (scanned.size() < topN) {
+                log.info("[{}] No relaxationPriority configured. Returning {} strict trades (target was {})",
+                        chain.getSymbol(), scanned.size(), topN);
+            }
+            return getTopNTrades(scanned, topN, filter);
+        }
+
+        // Step 3: Bucket the scanned trades by the tightest relaxation level they satisfy
+        List<List<TradeSetup>> byLevel = new ArrayList<>();
+        for (int level = 0; level <= relaxationOrder.size(); level++) {
+            byLevel.add(new ArrayList<>());
+        }
+        for (TradeSetup trade : scanned) {
+            int level = relaxationLevel(trade, filter, relaxationOrder);
+            if (level >= 0) {
+                byLevel.get(level).add(trade);
+            }
+        }
+
+        List<TradeSetup> allTrades = new ArrayList<>(byLevel.get(0));
+        log.info("[{}] Found {} trades with strict filters", chain.getSymbol(), allTrades.size());
+
+        // If we already have enough trades meeting strict criteria, return them
+        if (allTrades.size() >= topN) {
+            return getTopNTrades(allTrades, topN, filter);
         }
 
         // Progressive relaxation is enabled
         log.info("[{}] Applying progressive relaxation with order: {}", chain.getSymbol(), relaxationOrder);
-        List<TradeSetup> allTrades = new ArrayList<>(strictTrades);
 
-        // Apply relaxation levels based on configured priority until target N is reached
+        // Add relaxation levels based on configured priority until target N is reached
         for (int i = 0; i < relaxationOrder.size() && allTrades.size() < topN; i++) {
-            String filterToRelax = relaxationOrder.get(i);
-            log.info("[{}] Applying relaxation level {} ({})", chain.getSymbol(), i + 1, filterToRelax);
-
-            List<TradeSetup> relaxedTrades = findTradesWithRelaxation(chain, filter, relaxationOrder.subList(0, i + 1));
-            allTrades = combineAndDeduplicate(allTrades, relaxedTrades);
-            log.info("[{}] Total trades after level {}: {}", chain.getSymbol(), i + 1, allTrades.size());
+            allTrades.addAll(byLevel.get(i + 1));
+            log.info("[{}] Total trades after relaxation level {} ({}): {}",
+                    chain.getSymbol(), i + 1, relaxationOrder.get(i), allTrades.size());
         }
 
         // Sort and return top N from the combined (strict + relaxed) list
         return getTopNTrades(allTrades, topN, filter);
     }
 
+    /**
+     * Runs {@link #findTrades(OptionChainResponse, OptionsStrategyFilter)} per filter, so each
+     * keeps its own Top N and relaxation; the single pass over the calls is linear anyway.
+     */
+    @Override
+    public List<List<TradeSetup>> findTradesForFilters(OptionChainResponse chain, List<? extends OptionsStrategyFilter> filters) {
+        return filters.stream().map(filter -> findTrades(chain, filter)).toList();
+    }
+
     @Override
     protected List<TradeSetup> findValidTrades(OptionChainResponse chain, String expiryDate,
             OptionsStrategyFilter filter) {
@@ -113,13 +144,16 @@ public class LongCallLeapStrategy extends AbstractTradingStrategy {
         String strategyName = getStrategyName(filter);
         String symbol = chain.getSymbol();
 
+        // Relaxable filters are checked per trade in findTrades instead, so they are left out of the funnel
+        Set<String> deferred = deferredFilters(filter);
+
         // Build all candidates
         List<LeapCandidate> allCandidates = calls.stream()
                 .map(call -> createCandidate(call, chain.getUnderlyingPrice(), chain.getDividendYield(), filter))
                 .filter(Optional::isPresent)
                 .map(Optional::get)
                 .toList();
-        FilterLogStore.getInstance().logFilter(strategyName, symbol, expiryDate, FilterStage.GENERATED_CANDIDATES.displayName(), calls.size(), allCandidates.size());
+        ExecutionContext.current().getFilterLogStore().logFilter(strategyName, symbol, expiryDate, FilterStage.GENERATED_CANDIDATES.displayName(), calls.size(), allCandidates.size());
 
         List<LeapCandidate> survived = FilterPipeline
                 .<LeapCandidate>forContext(strategyName, symbol, expiryDate)
@@ -128,11 +162,11 @@ public class LongCallLeapStrategy extends AbstractTradingStrategy {
                 .step(FilterStage.VOLUME_FILTER,          volumeFilter(finalLongCallFilter))
                 .step(FilterStage.OPEN_INTEREST_FILTER,   openInterestFilter(finalLongCallFilter))
                 .step(FilterStage.LEG_VOLATILITY_FILTER,  volatilityFilter(finalLongCallFilter))
-                .step(FilterStage.PREMIUM_LIMIT_FILTER,   premiumLimitFilter(filter))
+                .stepIf(!deferred.contains("maxOptionPricePercent"), FilterStage.PREMIUM_LIMIT_FILTER, premiumLimitFilter(filter))
                 .step(FilterStage.MAX_LOSS_FILTER,         maxLossFilter(filter))
                 .step(FilterStage.COST_EFFICIENCY_FILTER,  costEfficiencyFilter(filter))
-                .step(FilterStage.CAGR_FILTER,             cagrFilter(filter))
-                .step(FilterStage.COST_SAVINGS_FILTER,     costSavingsFilter(filter))
+                .stepIf(!deferred.contains("maxCAGRForBreakEven"), FilterStage.CAGR_FILTER, cagrFilter(filter))
+                .stepIf(!deferred.contains("minCostSavingsPercent"), FilterStage.COST_SAVINGS_FILTER, costSavingsFilter(filter))
                 .step(FilterStage.DEBIT_LIMIT_FILTER,      candidate -> filter.passesDebitLimit(candidate.callPremium() * 100))
                 .run(allCandidates);
 
@@ -234,57 +268,44 @@ public class LongCallLeapStrategy extends AbstractTradingStrategy {
     }
 
     /**
-     * Finds trades with relaxed filters.
+     * Relaxable filters left out of the scan: those named in {@code relaxationPriority} when a
+     * Top N limit is set, none otherwise.
      */
-    private List<TradeSetup> findTradesWithRelaxation(OptionChainResponse chain,
-            OptionsStrategyFilter filter,
-            java.util.List<String> filtersToRelax) {
-        if (!(filter instanceof LongCallLeapFilter originalFilter)) {
-            return new ArrayList<>();
+    private Set<String> deferredFilters(OptionsStrategyFilter filter) {
+        if (filter instanceof LongCallLeapFilter leapFilter && leapFilter.getTopTradesCount() != null
+                && CollectionUtils.isNotEmpty(leapFilter.getRelaxationPriority())) {
+            return leapFilter.getRelaxationPriority().stream()
+                    .filter(RELAXABLE_FILTERS::contains)
+                    .collect(Collectors.toSet());
         }
-
-        boolean relaxCAGR = filtersToRelax.contains("maxCAGRForBreakEven");
-        boolean relaxOptionPrice = filtersToRelax.contains("maxOptionPricePercent");
-        boolean relaxCostSavings = filtersToRelax.contains("minCostSavingsPercent");
-
-        LongCallLeapFilter relaxedFilter = LongCallLeapFilter.builder()
-                .minDTE(filter.getMinDTE())
-                .maxDTE(filter.getMaxDTE())
-                .targetDTE(filter.getTargetDTE())
-                .marginInterestRate(filter.getMarginInterestRate())
-                .savingsInterestRate(filter.getSavingsInterestRate())
-                .maxLossLimit(filter.getMaxLossLimit())
-                .maxCAGRForBreakEven(relaxCAGR ? null : originalFilter.getMaxCAGRForBreakEven())
-                .maxOptionPricePercent(relaxOptionPrice ? null : originalFilter.getMaxOptionPricePercent())
-                .longCall(originalFilter.getLongCall())
-                .minCostSavingsPercent(relaxCostSavings ? null : originalFilter.getMinCostSavingsPercent())
-                .build();
-
-        return super.findTrades(chain, relaxedFilter);
+        return Set.of();
     }
 
     /**
-     * Combines lists and removes duplicates.
+     * Returns the tightest relaxation level {@code trade} satisfies: 0 if it passes every
+     * relaxable filter, otherwise 1 + the position in {@code relaxationOrder} of the last
+     * failed filter; -1 if it fails a filter that is never relaxed.
      */
-    private List<TradeSetup> combineAndDeduplicate(List<TradeSetup> list1, List<TradeSetup> list2) {
-        List<TradeSetup> combined = new ArrayList<>(list1);
-
-        for (TradeSetup trade : list2) {
-            if (trade instanceof LongCallLeap relaxedLeap) {
-                boolean isDuplicate = list1.stream()
-                        .filter(t -> t instanceof LongCallLeap)
-                        .map(t -> (LongCallLeap) t)
-                        .anyMatch(strictLeap -> strictLeap.getExpiryDate().equals(relaxedLeap.getExpiryDate()) &&
-                                strictLeap.getLongCall().getStrikePrice() == relaxedLeap.getLongCall()
-                                        .getStrikePrice());
-
-                if (!isDuplicate) {
-                    combined.add(trade);
-                }
-            }
+    private int relaxationLevel(TradeSetup trade, OptionsStrategyFilter filter, java.util.List<String> relaxationOrder) {
+        if (!(trade instanceof LongCallLeap leap)) {
+            return -1;
         }
+        int level = 0;
+        if (!passesOptionPricePercent(filter, leap.getLongCall().getAsk(), leap.getCurrentPrice())) {
+            level = Math.max(level, levelOf("maxOptionPricePercent", relaxationOrder));
+        }
+        if (!passesCAGR(filter, leap.getBreakevenCAGR())) {
+            level = Math.max(level, levelOf("maxCAGRForBreakEven", relaxationOrder));
+        }
+        if (!passesCostSavings(filter, leap.getCostSavingsPercent())) {
+            level = Math.max(level, levelOf("minCostSavingsPercent", relaxationOrder));
+        }
+        return level == Integer.MAX_VALUE ? -1 : level;
+    }
 
-        return combined;
+    private static int levelOf(String filterName, java.util.List<String> relaxationOrder) {
+        int index = relaxationOrder.indexOf(filterName);
+        return index < 0 ? Integer.MAX_VALUE : index + 1;
     }
 
     /**
@@ -367,13 +388,7 @@ public class LongCallLeapStrategy extends AbstractTradingStrategy {
     }
 
     private java.util.function.Predicate<LeapCandidate> premiumLimitFilter(OptionsStrategyFilter filter) {
-        return c -> {
-            if (filter.getMaxOptionPricePercent() == null) {
-                return true; // No limit
-            }
-            double maxPrice = c.currentPrice() * (filter.getMaxOptionPricePercent() / 100.0);
-            return c.callPremium() <= maxPrice;
-        };
+        return c -> passesOptionPricePercent(filter, c.callPremium(), c.currentPrice());
     }
 
     private java.util.function.Predicate<LeapCandidate> maxLossFilter(OptionsStrategyFilter filter) {
@@ -400,25 +415,39 @@ public class LongCallLeapStrategy extends AbstractTradingStrategy {
     }
 
     private java.util.function.Predicate<LeapCandidate> cagrFilter(OptionsStrategyFilter filter) {
-        return c -> {
-            if (filter.getMaxCAGRForBreakEven() == null) {
-                return true;
-            }
-            return c.breakevenCAGR() <= filter.getMaxCAGRForBreakEven();
-        };
+        return c -> passesCAGR(filter, c.breakevenCAGR());
     }
 
     private java.util.function.Predicate<LeapCandidate> costSavingsFilter(OptionsStrategyFilter filter) {
-        return c -> {
-            // Only apply if filter is LongCallLeapFilter and minCostSavingsPercent is set
-            if (filter instanceof LongCallLeapFilter leapFilter) {
-                Double minSavings = leapFilter.getMinCostSavingsPercent();
-                if (minSavings != null) {
-                    return c.costSavingsPercent() >= minSavings;
-                }
+        return c -> passesCostSavings(filter, c.costSavingsPercent());
+    }
+
+    // Relaxable checks, shared by the pipeline and relaxationLevel
+
+    private static boolean passesOptionPricePercent(OptionsStrategyFilter filter, double callPremium, double currentPrice) {
+        if (filter.getMaxOptionPricePercent() == null) {
+            return true; // No limit
+        }
+        double maxPrice = currentPrice * (filter.getMaxOptionPricePercent() / 100.0);
+        return callPremium <= maxPrice;
+    }
+
+    private static boolean passesCAGR(OptionsStrategyFilter filter, double breakevenCAGR) {
+        if (filter.getMaxCAGRForBreakEven() == null) {
+            return true;
+        }
+        return breakevenCAGR <= filter.getMaxCAGRForBreakEven();
+    }
+
+    private static boolean passesCostSavings(OptionsStrategyFilter filter, double costSavingsPercent) {
+        // Only apply if filter is LongCallLeapFilter and minCostSavingsPercent is set
+        if (filter instanceof LongCallLeapFilter leapFilter) {
+            Double minSavings = leapFilter.getMinCostSavingsPercent();
+            if (minSavings != null) {
+                return costSavingsPercent >= minSavings;
             }
-            return true; // No filter set, pass all trades
-        };
+        }
+        return true; // No filter set, pass all trades
     }
 
     // ========== CANDIDATE RECORD ==========
@@ -8,6 +8,13 @@ import java.util.function.Predicate;
  *
  * <p>Used by {@link FilterPipeline} to describe each step in a named filter chain.
  *
- * @param <T> the type of candidate or trade being filtered
+ * @param <T>       the type of candidate or trade being filtered
+ * @param reorderable whether the step commutes with its neighbours and may be moved by
+ *                  {@link StageOrderOptimizer}
  */
-public record NamedFilter<T>(String name, Predicate<T> predicate) {}
+public record NamedFilter<T>(String name, Predicate<T> predicate, boolean reorderable) {
+
+    public NamedFilter(String name, Predicate<T> predicate) {
+        this(name, predicate, true);
+    }
+}
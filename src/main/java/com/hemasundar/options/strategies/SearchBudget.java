@@ -0,0 +1,196 @@
+package com.hemasundar.options.strategies;
+
+import com.hemasundar.options.models.OptionsStrategyFilter;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Caps how much search one strategy may spend, per symbol and per strategy run: the number
+ * of candidates enumerated and the wall time.
+ *
+ * <p>A symbol budget draws from its strategy budget, so candidates and time spent on one
+ * symbol also count against the strategy. Once a budget is exhausted the search stops and
+ * the trades found so far are returned; combination searches (BWB, ZEBRA) then enumerate
+ * promising candidates first so the truncated result stays close to the exhaustive one.
+ *
+ * <p>Limits come from the filter ({@code maxCandidatesPerSymbol}, {@code maxSearchMillisPerSymbol},
+ * {@code maxCandidatesPerStrategy}, {@code maxSearchMillisPerStrategy}) or else from the
+ * {@link Defaults} passed to {@link #forStrategy}, which its symbol budgets inherit;
+ * 0 or unset means unlimited, the default. A search shared by several filters gets the
+ * loosest of their limits, so no filter is searched less than it would be on its own.
+ */
+public final class SearchBudget {
+
+    /** Candidates enumerated between two clock reads. */
+    private static final int CLOCK_CHECK_INTERVAL = 256;
+
+    private static final SearchBudget UNLIMITED = new SearchBudget(0, 0, null, Defaults.NONE);
+
+    private final long maxCandidates;
+    private final long deadlineNanos;
+    private final SearchBudget parent;
+    /** Limits for the symbol budgets drawing from this one. */
+    private final Defaults defaults;
+    private final AtomicLong used = new AtomicLong();
+    private final AtomicBoolean timedOut = new AtomicBoolean();
+
+    /**
+     * Limits used when a filter does not set its own ({@code strategy.budget.*}); 0 means unlimited.
+     */
+    public record Defaults(int maxCandidatesPerSymbol, long maxMillisPerSymbol,
+                           int maxCandidatesPerStrategy, long maxMillisPerStrategy) {
+
+        public static final Defaults NONE = new Defaults(0, 0, 0, 0);
+
+        public Defaults {
+            maxCandidatesPerSymbol = Math.max(0, maxCandidatesPerSymbol);
+            maxMillisPerSymbol = Math.max(0, maxMillisPerSymbol);
+            maxCandidatesPerStrategy = Math.max(0, maxCandidatesPerStrategy);
+            maxMillisPerStrategy = Math.max(0, maxMillisPerStrategy);
+        }
+
+        private boolean limitsSymbols() {
+            return maxCandidatesPerSymbol > 0 || maxMillisPerSymbol > 0;
+        }
+    }
+
+    private SearchBudget(long maxCandidates, long maxMillis, SearchBudget parent, Defaults defaults) {
+        this.maxCandidates = maxCandidates;
+        this.deadlineNanos = maxMillis > 0 ? System.nanoTime() + maxMillis * 1_000_000 : 0;
+        this.parent = parent != null && parent.isLimited() ? parent : null;
+        this.defaults = defaults;
+    }
+
+    public static SearchBudget unlimited() {
+        return UNLIMITED;
+    }
+
+    /**
+     * Starts the budget of one strategy run over all of its symbols, without default limits.
+     */
+    public static SearchBudget forStrategy(OptionsStrategyFilter filter) {
+        return forStrategy(filter, Defaults.NONE);
+    }
+
+    /**
+     * Starts the budget of one strategy run over all of its symbols; its symbol budgets
+     * also fall back to {@code defaults}.
+     */
+    public static SearchBudget forStrategy(OptionsStrategyFilter filter, Defaults defaults) {
+        return forStrategy(Collections.singletonList(filter), defaults);
+    }
+
+    /**
+     * Starts the budget of one strategy run shared by {@code filters}, with the loosest of
+     * their strategy limits.
+     */
+    public static SearchBudget forStrategy(List<? extends OptionsStrategyFilter> filters, Defaults defaults) {
+        long maxCandidates = loosest(filters, OptionsStrategyFilter::getMaxCandidatesPerStrategy,
+                defaults.maxCandidatesPerStrategy());
+        long maxMillis = loosest(filters, OptionsStrategyFilter::getMaxSearchMillisPerStrategy,
+                defaults.maxMillisPerStrategy());
+        return maxCandidates > 0 || maxMillis > 0 || defaults.limitsSymbols()
+                ? new SearchBudget(maxCandidates, maxMillis, null, defaults) : UNLIMITED;
+    }
+
+    /**
+     * Starts the budget of one symbol, drawing from {@code strategyBudget} (may be null, then
+     * only the filter's own limits apply).
+     */
+    public static SearchBudget forSymbol(OptionsStrategyFilter filter, SearchBudget strategyBudget) {
+        return forSymbol(Collections.singletonList(filter), strategyBudget);
+    }
+
+    /**
+     * Starts the budget of one symbol searched for all of {@code filters}, with the loosest
+     * of their symbol limits, drawing from {@code strategyBudget} (may be null).
+     */
+    public static SearchBudget forSymbol(List<? extends OptionsStrategyFilter> filters, SearchBudget strategyBudget) {
+        Defaults defaults = strategyBudget != null ? strategyBudget.defaults : Defaults.NONE;
+        long maxCandidates = loosest(filters, OptionsStrategyFilter::getMaxCandidatesPerSymbol,
+                defaults.maxCandidatesPerSymbol());
+        long maxMillis = loosest(filters, OptionsStrategyFilter::getMaxSearchMillisPerSymbol,
+                defaults.maxMillisPerSymbol());
+        boolean inherited = strategyBudget != null && strategyBudget.isLimited();
+        if (maxCandidates <= 0 && maxMillis <= 0 && !inherited) {
+            return UNLIMITED;
+        }
+        return new SearchBudget(maxCandidates, maxMillis, strategyBudget, Defaults.NONE);
+    }
+
+    /**
+     * The largest of the filters' limits, each falling back to {@code fallback}; 0 (unlimited)
+     * as soon as one filter is unlimited.
+     */
+    private static long loosest(List<? extends OptionsStrategyFilter> filters,
+                                Function<OptionsStrategyFilter, ? extends Number> limit, long fallback) {
+        long loosest = 0;
+        for (OptionsStrategyFilter filter : filters) {
+            Number own = filter != null ? limit.apply(filter) : null;
+            long value = own != null ? own.longValue() : fallback;
+            if (value <= 0) {
+                return 0;
+            }
+            loosest = Math.max(loosest, value);
+        }
+        return loosest;
+    }
+
+    /**
+     * @return whether any limit applies; an unlimited budget never stops a search
+     */
+    public boolean isLimited() {
+        return maxCandidates > 0 || deadlineNanos != 0 || parent != null;
+    }
+
+    /**
+     * Counts one enumerated candidate.
+     *
+     * @return false once the candidate or time limit is reached; the candidate is then not counted
+     */
+    public boolean tryConsume() {
+        if (this == UNLIMITED) {
+            return true;
+        }
+        if (maxCandidates > 0 && used.get() >= maxCandidates) {
+            return false;
+        }
+        if (used.get() % CLOCK_CHECK_INTERVAL == 0 && isOutOfTime()) {
+            return false;
+        }
+        if (parent != null && !parent.tryConsume()) {
+            return false;
+        }
+        used.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * @return whether no further candidate may be enumerated (reads the clock)
+     */
+    public boolean isExhausted() {
+        if (this == UNLIMITED) {
+            return false;
+        }
+        return (maxCandidates > 0 && used.get() >= maxCandidates) || isOutOfTime()
+                || (parent != null && parent.isExhausted());
+    }
+
+    /**
+     * @return candidates counted against this budget so far
+     */
+    public long used() {
+        return used.get();
+    }
+
+    private boolean isOutOfTime() {
+        if (deadlineNanos != 0 && System.nanoTime() - deadlineNanos >= 0) {
+            timedOut.set(true);
+        }
+        return timedOut.get();
+    }
+}
@@ -10,10 +10,9 @@ import com.hemasundar.options.models.OptionType;
 import com.hemasundar.options.models.OptionsStrategyFilter;
 import com.hemasundar.options.models.ShortPut;
 import com.hemasundar.options.models.TradeSetup;
-import com.hemasundar.services.FilterLogStore;
+import com.hemasundar.services.ExecutionContext;
 import com.hemasundar.services.SupabaseService;
 import lombok.extern.log4j.Log4j2;
-import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.MapUtils;
 
 import java.util.ArrayList;
@@ -21,6 +20,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.function.Predicate;
+import java.util.stream.IntStream;
 
 /**
  * Strategy implementation for a single-leg Short Put (naked / cash-secured put).
@@ -63,15 +63,16 @@ public class ShortPutStrategy extends AbstractTradingStrategy {
         }
 
         // Flatten all put options for this expiry into typed candidate records
-        List<ShortPutCandidate> candidates = putMap.values().stream()
-                .filter(list -> !CollectionUtils.isEmpty(list))
-                .map(list -> new ShortPutCandidate(list.get(0), chain.getUnderlyingPrice()))
+        LegColumns puts = LegColumns.of(putMap.values());
+        LegFilterKernel.Masks shortMasks = LegFilterKernel.evaluate(shortLegFilter, puts);
+        List<ShortPutCandidate> candidates = IntStream.range(0, puts.size())
+                .mapToObj(i -> new ShortPutCandidate(puts.option(i), i, chain.getUnderlyingPrice()))
                 .toList();
 
         String strategyName = getStrategyName(filter);
         String symbol = chain.getSymbol();
 
-        FilterLogStore.getInstance().logFilter(
+        ExecutionContext.current().getFilterLogStore().logFilter(
                 strategyName, symbol, expiryDate,
                 FilterStage.GENERATED_CANDIDATES.displayName(),
                 candidates.size(), candidates.size());
@@ -79,11 +80,11 @@ public class ShortPutStrategy extends AbstractTradingStrategy {
         // ── Phase 1: Candidate-level filters (before building TradeSetup) ──────
         List<ShortPutCandidate> survived = FilterPipeline
                 .<ShortPutCandidate>forContext(strategyName, symbol, expiryDate)
-                .step(FilterStage.DELTA_FILTER,               deltaFilter(shortLegFilter))
-                .step(FilterStage.LEG_PREMIUM_FILTER,         legPremiumFilter(shortLegFilter))
-                .step(FilterStage.VOLUME_FILTER,              volumeFilter(shortLegFilter))
-                .step(FilterStage.OPEN_INTEREST_FILTER,       openInterestFilter(shortLegFilter))
-                .step(FilterStage.LEG_VOLATILITY_FILTER,      volatilityFilter(shortLegFilter))
+                .step(FilterStage.DELTA_FILTER,               c -> shortMasks.passesDelta(c.index()))
+                .step(FilterStage.LEG_PREMIUM_FILTER,         c -> shortMasks.passesPremium(c.index()))
+                .step(FilterStage.VOLUME_FILTER,              c -> shortMasks.passesVolume(c.index()))
+                .step(FilterStage.OPEN_INTEREST_FILTER,       c -> shortMasks.passesOpenInterest(c.index()))
+                .step(FilterStage.LEG_VOLATILITY_FILTER,      c -> shortMasks.passesVolatility(c.index()))
                 .step(FilterStage.POSITIVE_CREDIT_FILTER,     creditFilter())
                 .step(FilterStage.MAX_CREDIT_FILTER,          commonMaxTotalCreditFilter(filter, ShortPutCandidate::netCredit))
                 .step(FilterStage.MIN_CREDIT_FILTER,          commonMinTotalCreditFilter(filter, ShortPutCandidate::netCredit))
@@ -105,26 +106,7 @@ public class ShortPutStrategy extends AbstractTradingStrategy {
     }
 
     // ========== FILTER PREDICATES ==========
-
-    private Predicate<ShortPutCandidate> deltaFilter(LegFilter shortFilter) {
-        return c -> LegFilter.passesDelta(shortFilter, c.shortLeg());
-    }
-
-    private Predicate<ShortPutCandidate> legPremiumFilter(LegFilter shortFilter) {
-        return c -> LegFilter.passesPremium(shortFilter, c.shortLeg());
-    }
-
-    private Predicate<ShortPutCandidate> volumeFilter(LegFilter shortFilter) {
-        return c -> LegFilter.passesVolume(shortFilter, c.shortLeg());
-    }
-
-    private Predicate<ShortPutCandidate> openInterestFilter(LegFilter shortFilter) {
-        return c -> LegFilter.passesOpenInterest(shortFilter, c.shortLeg());
-    }
-
-    private Predicate<ShortPutCandidate> volatilityFilter(LegFilter shortFilter) {
-        return c -> LegFilter.passesVolatility(shortFilter, c.shortLeg());
-    }
+    // Leg checks read the LegFilterKernel masks computed once per expiry in findValidTrades.
 
     private Predicate<ShortPutCandidate> creditFilter() {
         return c -> c.netCredit() > 0;
@@ -146,7 +128,7 @@ public class ShortPutStrategy extends AbstractTradingStrategy {
 
     // ========== CANDIDATE RECORD ==========
 
-    private record ShortPutCandidate(OptionData shortLeg, double currentPrice) {
+    private record ShortPutCandidate(OptionData shortLeg, int index, double currentPrice) {
 
         /** Credit received = sell at bid × 100 (conservative estimate). */
         double netCredit() {
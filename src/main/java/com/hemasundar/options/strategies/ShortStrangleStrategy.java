@@ -10,10 +10,9 @@ import com.hemasundar.options.models.OptionsStrategyFilter;
 import com.hemasundar.options.models.ShortStrangle;
 import com.hemasundar.options.models.ShortStrangleFilter;
 import com.hemasundar.options.models.TradeSetup;
-import com.hemasundar.services.FilterLogStore;
+import com.hemasundar.services.ExecutionContext;
 import com.hemasundar.services.SupabaseService;
 import lombok.extern.log4j.Log4j2;
-import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.MapUtils;
 
 import java.util.ArrayList;
@@ -21,6 +20,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.function.Predicate;
+import java.util.stream.IntStream;
 
 /**
  * Strategy implementation for a Short Strangle.
@@ -67,39 +67,37 @@ public class ShortStrangleStrategy extends AbstractTradingStrategy {
             callShortLegFilter = strangleFilter.getCallShortLeg();
         }
 
-        // Flatten all put options for this expiry into typed candidate records
-        List<OptionData> putCandidates = putMap.values().stream()
-                .filter(list -> !CollectionUtils.isEmpty(list))
-                .map(list -> list.get(0))
-                .toList();
-                
-        // Flatten all call options for this expiry into typed candidate records
-        List<OptionData> callCandidates = callMap.values().stream()
-                .filter(list -> !CollectionUtils.isEmpty(list))
-                .map(list -> list.get(0))
-                .toList();
+        // Flatten all put and call options for this expiry into column blocks; candidates are leg indexes
+        LegColumns puts = LegColumns.of(putMap.values());
+        LegColumns calls = LegColumns.of(callMap.values());
+        LegFilterKernel.Masks putMasks = LegFilterKernel.evaluate(putShortLegFilter, puts);
+        LegFilterKernel.Masks callMasks = LegFilterKernel.evaluate(callShortLegFilter, calls);
+        List<Integer> putCandidates = IntStream.range(0, puts.size()).boxed().toList();
+        List<Integer> callCandidates = IntStream.range(0, calls.size()).boxed().toList();
 
         String strategyName = getStrategyName(filter);
         String symbol = chain.getSymbol();
 
         // ── Phase 1: Candidate-level filters (before building TradeSetup) ──────
         List<OptionData> survivedPuts = FilterPipeline
-                .<OptionData>forContext(strategyName, symbol, expiryDate)
-                .step("Put " + FilterStage.DELTA_FILTER.displayName(),               deltaFilter(putShortLegFilter))
-                .step("Put " + FilterStage.LEG_PREMIUM_FILTER.displayName(),         legPremiumFilter(putShortLegFilter))
-                .step("Put " + FilterStage.VOLUME_FILTER.displayName(),              volumeFilter(putShortLegFilter))
-                .step("Put " + FilterStage.OPEN_INTEREST_FILTER.displayName(),       openInterestFilter(putShortLegFilter))
-                .step("Put " + FilterStage.LEG_VOLATILITY_FILTER.displayName(),      volatilityFilter(putShortLegFilter))
-                .run(putCandidates);
+                .<Integer>forContext(strategyName, symbol, expiryDate)
+                .step("Put " + FilterStage.DELTA_FILTER.displayName(),               putMasks::passesDelta)
+                .step("Put " + FilterStage.LEG_PREMIUM_FILTER.displayName(),         putMasks::passesPremium)
+                .step("Put " + FilterStage.VOLUME_FILTER.displayName(),              putMasks::passesVolume)
+                .step("Put " + FilterStage.OPEN_INTEREST_FILTER.displayName(),       putMasks::passesOpenInterest)
+                .step("Put " + FilterStage.LEG_VOLATILITY_FILTER.displayName(),      putMasks::passesVolatility)
+                .run(putCandidates)
+                .stream().map(puts::option).toList();
                 
         List<OptionData> survivedCalls = FilterPipeline
-                .<OptionData>forContext(strategyName, symbol, expiryDate)
-                .step("Call " + FilterStage.DELTA_FILTER.displayName(),               deltaFilter(callShortLegFilter))
-                .step("Call " + FilterStage.LEG_PREMIUM_FILTER.displayName(),         legPremiumFilter(callShortLegFilter))
-                .step("Call " + FilterStage.VOLUME_FILTER.displayName(),              volumeFilter(callShortLegFilter))
-                .step("Call " + FilterStage.OPEN_INTEREST_FILTER.displayName(),       openInterestFilter(callShortLegFilter))
-                .step("Call " + FilterStage.LEG_VOLATILITY_FILTER.displayName(),      volatilityFilter(callShortLegFilter))
-                .run(callCandidates);
+                .<Integer>forContext(strategyName, symbol, expiryDate)
+                .step("Call " + FilterStage.DELTA_FILTER.displayName(),               callMasks::passesDelta)
+                .step("Call " + FilterStage.LEG_PREMIUM_FILTER.displayName(),         callMasks::passesPremium)
+                .step("Call " + FilterStage.VOLUME_FILTER.displayName(),              callMasks::passesVolume)
+                .step("Call " + FilterStage.OPEN_INTEREST_FILTER.displayName(),       callMasks::passesOpenInterest)
+                .step("Call " + FilterStage.LEG_VOLATILITY_FILTER.displayName(),      callMasks::passesVolatility)
+                .run(callCandidates)
+                .stream().map(calls::option).toList();
 
         List<ShortStrangleCandidate> combinations = new ArrayList<>();
         double currentPrice = chain.getUnderlyingPrice();
@@ -114,7 +112,7 @@ public class ShortStrangleStrategy extends AbstractTradingStrategy {
             }
         }
 
-        FilterLogStore.getInstance().logFilter(
+        ExecutionContext.current().getFilterLogStore().logFilter(
                 strategyName, symbol, expiryDate,
                 FilterStage.GENERATED_CANDIDATES.displayName(),
                 combinations.size(), combinations.size());
@@ -143,26 +141,6 @@ public class ShortStrangleStrategy extends AbstractTradingStrategy {
 
     // ========== FILTER PREDICATES ==========
 
-    private Predicate<OptionData> deltaFilter(LegFilter legFilter) {
-        return o -> LegFilter.passesDelta(legFilter, o);
-    }
-
-    private Predicate<OptionData> legPremiumFilter(LegFilter legFilter) {
-        return o -> LegFilter.passesPremium(legFilter, o);
-    }
-
-    private Predicate<OptionData> volumeFilter(LegFilter legFilter) {
-        return o -> LegFilter.passesVolume(legFilter, o);
-    }
-
-    private Predicate<OptionData> openInterestFilter(LegFilter legFilter) {
-        return o -> LegFilter.passesOpenInterest(legFilter, o);
-    }
-
-    private Predicate<OptionData> volatilityFilter(LegFilter legFilter) {
-        return o -> LegFilter.passesVolatility(legFilter, o);
-    }
-
     private Predicate<ShortStrangleCandidate> creditFilter() {
         return c -> c.netCredit() > 0;
     }
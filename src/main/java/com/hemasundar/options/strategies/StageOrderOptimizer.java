@@ -0,0 +1,172 @@
+package com.hemasundar.options.strategies;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+/**
+ * Learns the selectivity and per-candidate cost of every {@link FilterPipeline} stage from
+ * the input/output counts and timings of recent runs, and proposes an evaluation order that
+ * runs cheap, selective stages first.
+ *
+ * <p>Statistics are kept per pipeline (strategy name plus its stage names) as exponentially
+ * decayed sums, so older runs fade out and a changed filter configuration is picked up
+ * after a few runs. Stages are ranked by expected cost per rejected candidate,
+ * {@code cost / (1 - passRate)}, the optimal order for independent predicates. Stages added
+ * with {@link FilterPipeline#fixedStep} keep their position and are never crossed.
+ *
+ * <p>Disabled by default ({@code filter.pipeline.adaptive-order.enabled}); while disabled
+ * nothing is measured and every pipeline runs in its declared order.
+ */
+public final class StageOrderOptimizer {
+
+    /** Weight of the accumulated history when a new observation is added. */
+    private static final double DECAY = 0.9;
+
+    private static final StageOrderOptimizer INSTANCE = new StageOrderOptimizer();
+
+    private final Map<String, Stats> pipelines = new ConcurrentHashMap<>();
+    private volatile boolean enabled;
+    private volatile boolean exactCounts = true;
+    private volatile int minSamples = 200;
+
+    StageOrderOptimizer() {
+    }
+
+    public static StageOrderOptimizer getInstance() {
+        return INSTANCE;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * @return whether reordered pipelines credit each rejection to the first declared stage the
+     *         candidate fails, so the filter log matches declared order exactly
+     */
+    public boolean isExactCounts() {
+        return exactCounts;
+    }
+
+    public void setExactCounts(boolean exactCounts) {
+        this.exactCounts = exactCounts;
+    }
+
+    /**
+     * @param minSamples candidates a stage must have seen before it may be moved
+     */
+    public void setMinSamples(int minSamples) {
+        this.minSamples = Math.max(1, minSamples);
+    }
+
+    /**
+     * Forgets all learned statistics.
+     */
+    public void reset() {
+        pipelines.clear();
+    }
+
+    /**
+     * Returns the evaluation order for the stages of pipeline {@code key}: the declared
+     * order until every movable stage has {@code minSamples} observations, then each run of
+     * movable stages between fixed ones sorted by expected cost per rejected candidate.
+     *
+     * @param movable per declared stage, whether it commutes with the others
+     */
+    int[] order(String key, boolean[] movable) {
+        int[] order = IntStream.range(0, movable.length).toArray();
+        Stats stats = pipelines.get(key);
+        if (stats == null || stats.size() != movable.length) {
+            return order;
+        }
+        double[] rank;
+        synchronized (stats) {
+            for (int k = 0; k < movable.length; k++) {
+                if (movable[k] && stats.in[k] < minSamples) {
+                    return order;
+                }
+            }
+            rank = stats.rank();
+        }
+        int from = 0;
+        while (from < movable.length) {
+            if (!movable[from]) {
+                from++;
+                continue;
+            }
+            int to = from;
+            while (to < movable.length && movable[to]) {
+                to++;
+            }
+            List<Integer> segment = new ArrayList<>();
+            for (int k = from; k < to; k++) {
+                segment.add(k);
+            }
+            // Stable sort: equally ranked stages keep their declared order
+            segment.sort(Comparator.comparingDouble(k -> rank[k]));
+            for (int k = from; k < to; k++) {
+                order[k] = segment.get(k - from);
+            }
+            from = to;
+        }
+        return order;
+    }
+
+    /**
+     * Records one run of pipeline {@code key}; {@code in[k]}, {@code out[k]} and
+     * {@code nanos[k]} describe declared stage {@code k} ({@code in[k] == 0} when it did not run).
+     */
+    void record(String key, int[] in, int[] out, long[] nanos) {
+        Stats stats = pipelines.computeIfAbsent(key, k -> new Stats(in.length));
+        if (stats.size() != in.length) {
+            return;
+        }
+        synchronized (stats) {
+            for (int k = 0; k < in.length; k++) {
+                if (in[k] > 0) {
+                    stats.in[k] = stats.in[k] * DECAY + in[k];
+                    stats.out[k] = stats.out[k] * DECAY + out[k];
+                    stats.nanos[k] = stats.nanos[k] * DECAY + nanos[k];
+                }
+            }
+        }
+    }
+
+    /**
+     * Decayed per-stage sums of candidates in, candidates out and nanoseconds spent.
+     */
+    private static final class Stats {
+        final double[] in;
+        final double[] out;
+        final double[] nanos;
+
+        Stats(int stages) {
+            in = new double[stages];
+            out = new double[stages];
+            nanos = new double[stages];
+        }
+
+        int size() {
+            return in.length;
+        }
+
+        double[] rank() {
+            double[] rank = new double[in.length];
+            for (int k = 0; k < in.length; k++) {
+                double cost = nanos[k] / in[k];
+                double rejectRate = 1 - out[k] / in[k];
+                // A stage that never rejects goes last; among those the cheaper one first
+                rank[k] = rejectRate > 0 ? cost / rejectRate : Double.MAX_VALUE / 2 + cost;
+            }
+            return rank;
+        }
+    }
+}
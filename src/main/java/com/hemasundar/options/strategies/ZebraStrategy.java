@@ -9,22 +9,21 @@ import com.hemasundar.options.models.TradeSetup;
 import com.hemasundar.options.models.ZebraFilter;
 import com.hemasundar.options.models.ZebraTrade;
 import lombok.extern.log4j.Log4j2;
-import org.apache.commons.collections4.CollectionUtils;
 
 import org.apache.commons.collections4.MapUtils;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
-import java.util.function.Predicate;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import com.hemasundar.apis.FinnHubAPIs;
 import com.hemasundar.apis.ThinkOrSwimAPIs;
-import com.hemasundar.services.FilterLogStore;
+import com.hemasundar.services.ExecutionContext;
 import com.hemasundar.services.SupabaseService;
 
 @Log4j2
@@ -40,6 +39,12 @@ public class ZebraStrategy extends AbstractTradingStrategy {
     @Override
     protected List<TradeSetup> findValidTrades(OptionChainResponse chain, String expiryDate,
             OptionsStrategyFilter filter) {
+        return findValidTrades(chain, expiryDate, filter, SearchBudget.unlimited());
+    }
+
+    @Override
+    protected List<TradeSetup> findValidTrades(OptionChainResponse chain, String expiryDate,
+            OptionsStrategyFilter filter, SearchBudget budget) {
         Map<String, List<OptionData>> callMap = chain.getOptionDataForASpecificExpiryDate(
                 OptionType.CALL, expiryDate);
 
@@ -54,24 +59,40 @@ public class ZebraStrategy extends AbstractTradingStrategy {
             longLegFilter = zFilter.getLongCall();
         }
 
-        List<Double> sortedStrikes = callMap.keySet().stream()
-                .map(Double::parseDouble)
-                .sorted()
-                .toList();
+        LegColumns calls = LegColumns.byStrike(callMap);
+        LegFilterKernel.Masks shortMasks = LegFilterKernel.evaluate(shortLegFilter, calls);
+        LegFilterKernel.Masks longMasks = LegFilterKernel.evaluate(longLegFilter, calls);
 
         String strategyName = getStrategyName(filter);
         String symbol = chain.getSymbol();
 
-        List<ZebraCandidate> candidates = generateCandidates(callMap, sortedStrikes, chain.getUnderlyingPrice()).toList();
-        FilterLogStore.getInstance().logFilter(strategyName, symbol, expiryDate, FilterStage.GENERATED_CANDIDATES.displayName(), candidates.size(), candidates.size());
+        List<ZebraCandidate> candidates;
+        if (budget.isLimited()) {
+            BitSet shorts = shortMasks.eligible();
+            BitSet longs = longMasks.eligible();
+            candidates = generatePromisingCandidates(calls, chain.getUnderlyingPrice(), shorts, longs, budget);
+            long eligible = 0;
+            for (int j = shorts.nextSetBit(0); j >= 0; j = shorts.nextSetBit(j + 1)) {
+                eligible += longs.get(0, j).cardinality();
+            }
+            if (budget.isExhausted() && candidates.size() < eligible) {
+                log.info("[ZEBRA] Search budget reached for {} {}: {} of up to {} combinations searched",
+                        symbol, expiryDate, candidates.size(), eligible);
+                ExecutionContext.current().getFilterLogStore().logFilter(strategyName, symbol, expiryDate, FilterStage.SEARCH_BUDGET.displayName(),
+                        (int) Math.min(eligible, Integer.MAX_VALUE), candidates.size());
+            }
+        } else {
+            candidates = generateCandidates(calls, chain.getUnderlyingPrice()).toList();
+        }
+        ExecutionContext.current().getFilterLogStore().logFilter(strategyName, symbol, expiryDate, FilterStage.GENERATED_CANDIDATES.displayName(), candidates.size(), candidates.size());
 
         List<ZebraCandidate> survived = FilterPipeline
                 .<ZebraCandidate>forContext(strategyName, symbol, expiryDate)
-                .step(FilterStage.DELTA_FILTER,              deltaFilter(shortLegFilter, longLegFilter))
-                .step(FilterStage.LEG_PREMIUM_FILTER,        legPremiumFilter(shortLegFilter, longLegFilter))
-                .step(FilterStage.VOLUME_FILTER,             volumeFilter(shortLegFilter, longLegFilter))
-                .step(FilterStage.OPEN_INTEREST_FILTER,      openInterestFilter(shortLegFilter, longLegFilter))
-                .step(FilterStage.LEG_VOLATILITY_FILTER,     volatilityFilter(shortLegFilter, longLegFilter))
+                .step(FilterStage.DELTA_FILTER,              c -> shortMasks.passesDelta(c.shortIndex()) && longMasks.passesDelta(c.longIndex()))
+                .step(FilterStage.LEG_PREMIUM_FILTER,        c -> shortMasks.passesPremium(c.shortIndex()) && longMasks.passesPremium(c.longIndex()))
+                .step(FilterStage.VOLUME_FILTER,             c -> shortMasks.passesVolume(c.shortIndex()) && longMasks.passesVolume(c.longIndex()))
+                .step(FilterStage.OPEN_INTEREST_FILTER,      c -> shortMasks.passesOpenInterest(c.shortIndex()) && longMasks.passesOpenInterest(c.longIndex()))
+                .step(FilterStage.LEG_VOLATILITY_FILTER,     c -> shortMasks.passesVolatility(c.shortIndex()) && longMasks.passesVolatility(c.longIndex()))
                 .step(FilterStage.MAX_LOSS_FILTER,           commonMaxLossFilter(filter, ZebraCandidate::maxLoss))
                 .step(FilterStage.MAX_DEBIT_FILTER,          commonMaxTotalDebitFilter(filter, ZebraCandidate::netDebit))
                 .step(FilterStage.MIN_RETURN_ON_RISK_FILTER, commonMinReturnOnRiskFilter(filter, candidate -> candidate.maxLoss() > 0 ? 0.0 : 100.0, ZebraCandidate::maxLoss))
@@ -92,59 +113,42 @@ public class ZebraStrategy extends AbstractTradingStrategy {
      * Generates all valid 2-leg combinations (representing the 3 legs, as the 2
      * longs use the same strike).
      */
-    private Stream<ZebraCandidate> generateCandidates(Map<String, List<OptionData>> callMap,
-            List<Double> strikes, double currentPrice) {
+    private Stream<ZebraCandidate> generateCandidates(LegColumns calls, double currentPrice) {
         // ZEBRA requires selling a call (close to ATM, e.g. 50 Delta)
         // and buying 2 calls further ITM (e.g. 70 Delta)
-        // Since Calls ITM have lower strikes, Long Strike < Short Strike
-        return IntStream.range(0, strikes.size()).boxed()
-                .flatMap(i -> IntStream.range(i + 1, strikes.size()).boxed()
-                        .map(j -> createCandidate(callMap, strikes, i, j, currentPrice)))
-                .filter(Optional::isPresent)
-                .map(Optional::get);
+        // Since Calls ITM have lower strikes, Long Strike (i) < Short Strike (j)
+        return IntStream.range(0, calls.size()).boxed()
+                .flatMap(i -> IntStream.range(i + 1, calls.size())
+                        .mapToObj(j -> new ZebraCandidate(calls.option(j), calls.option(i), j, i, currentPrice)));
     }
 
-    private Optional<ZebraCandidate> createCandidate(Map<String, List<OptionData>> callMap,
-            List<Double> strikes, int longIndex, int shortIndex, double currentPrice) {
-        double longStrike = strikes.get(longIndex); // Lower strike -> Higher Delta -> ITM
-        double shortStrike = strikes.get(shortIndex); // Higher strike -> Lower Delta -> ATM
-
-        OptionData longLeg = getOption(callMap, longStrike);
-        OptionData shortLeg = getOption(callMap, shortStrike);
+    /**
+     * Budgeted enumeration, promising combinations first: only legs passing their leg
+     * filters (no other combination survives the leg steps), short strike nearest the money
+     * first, then long strikes from the nearest one down. Stops as soon as {@code budget}
+     * is exhausted.
+     */
+    private List<ZebraCandidate> generatePromisingCandidates(LegColumns calls, double currentPrice,
+            BitSet shorts, BitSet longs, SearchBudget budget) {
+        List<Integer> shortOrder = shorts.stream().boxed()
+                .sorted(Comparator.comparingDouble(j -> Math.abs(calls.option(j).getStrikePrice() - currentPrice)))
+                .toList();
 
-        if (longLeg == null || shortLeg == null) {
-            return Optional.empty();
+        List<ZebraCandidate> candidates = new ArrayList<>();
+        for (int j : shortOrder) {
+            for (int i = longs.previousSetBit(j - 1); i >= 0; i = longs.previousSetBit(i - 1)) {
+                if (!budget.tryConsume()) {
+                    return candidates;
+                }
+                candidates.add(new ZebraCandidate(calls.option(j), calls.option(i), j, i, currentPrice));
+            }
         }
-
-        return Optional.of(new ZebraCandidate(shortLeg, longLeg, currentPrice));
-    }
-
-    private OptionData getOption(Map<String, List<OptionData>> map, Double strike) {
-        List<OptionData> options = map.get(String.valueOf(strike));
-        return CollectionUtils.isEmpty(options) ? null : options.get(0);
+        return candidates;
     }
 
     // ========== FILTER PREDICATES ==========
-
-    private Predicate<ZebraCandidate> deltaFilter(LegFilter shortFilter, LegFilter longFilter) {
-        return c -> LegFilter.passesDelta(shortFilter, c.shortLeg()) && LegFilter.passesDelta(longFilter, c.longLeg());
-    }
-
-    private Predicate<ZebraCandidate> legPremiumFilter(LegFilter shortFilter, LegFilter longFilter) {
-        return c -> LegFilter.passesPremium(shortFilter, c.shortLeg()) && LegFilter.passesPremium(longFilter, c.longLeg());
-    }
-
-    private Predicate<ZebraCandidate> volumeFilter(LegFilter shortFilter, LegFilter longFilter) {
-        return c -> LegFilter.passesVolume(shortFilter, c.shortLeg()) && LegFilter.passesVolume(longFilter, c.longLeg());
-    }
-
-    private Predicate<ZebraCandidate> openInterestFilter(LegFilter shortFilter, LegFilter longFilter) {
-        return c -> LegFilter.passesOpenInterest(shortFilter, c.shortLeg()) && LegFilter.passesOpenInterest(longFilter, c.longLeg());
-    }
-
-    private Predicate<ZebraCandidate> volatilityFilter(LegFilter shortFilter, LegFilter longFilter) {
-        return c -> LegFilter.passesVolatility(shortFilter, c.shortLeg()) && LegFilter.passesVolatility(longFilter, c.longLeg());
-    }
+    // Leg checks (delta, premium, volume, open interest, volatility) read the
+    // LegFilterKernel masks computed once per expiry in findValidTrades.
 
     // ========== TRADE BUILDER ==========
 
@@ -163,7 +167,8 @@ public class ZebraStrategy extends AbstractTradingStrategy {
 
     // ========== CANDIDATE RECORD ==========
 
-    private record ZebraCandidate(OptionData shortLeg, OptionData longLeg, double currentPrice) {
+    private record ZebraCandidate(OptionData shortLeg, OptionData longLeg, int shortIndex, int longIndex,
+            double currentPrice) {
 
         double netDebit() {
             // Buying 2 calls, Selling 1 call
@@ -1,6 +1,8 @@
 package com.hemasundar.pojos;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.hemasundar.serializers.InternedStringDeserializer;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -16,6 +18,7 @@ import java.util.List;
 @AllArgsConstructor
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class PriceHistoryResponse {
+    @JsonDeserialize(using = InternedStringDeserializer.class)
     private String symbol;
     private Boolean empty;
     private Double previousClose;
@@ -3,6 +3,8 @@ package com.hemasundar.pojos;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.hemasundar.serializers.InternedStringDeserializer;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -44,6 +46,7 @@ public class QuotesResponse {
         private String quoteType; // NBBO
         private Boolean realtime;
         private Long ssid;
+        @JsonDeserialize(using = InternedStringDeserializer.class)
         private String symbol;
         private Extended extended;
         private Fundamental fundamental;
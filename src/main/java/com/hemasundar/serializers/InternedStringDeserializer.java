@@ -0,0 +1,24 @@
+package com.hemasundar.serializers;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.hemasundar.utils.SymbolTable;
+
+import java.io.IOException;
+
+/**
+ * Deserializes a string field to its {@link SymbolTable} canonical instance.
+ * Use on low-cardinality identifier fields (ticker symbols, put/call, expiry dates).
+ */
+public class InternedStringDeserializer extends StdDeserializer<String> {
+
+    public InternedStringDeserializer() {
+        super(String.class);
+    }
+
+    @Override
+    public String deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        return SymbolTable.intern(p.getValueAsString());
+    }
+}
@@ -0,0 +1,31 @@
+package com.hemasundar.serializers;
+
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.KeyDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.hemasundar.options.models.OptionChainResponse.ExpirationDateKey;
+import com.hemasundar.utils.SymbolTable;
+
+/**
+ * Jackson module that canonicalizes option chain map keys through {@link SymbolTable}:
+ * {@link ExpirationDateKey}s come from the expiry-key pool and {@code String} keys
+ * (strike keys) from the symbol table.
+ *
+ * <p>Registered only on the option chain mappers in {@link com.hemasundar.utils.OptionChainProjection},
+ * since it interns every {@code String} map key the mapper reads.
+ */
+public class SymbolTableModule extends SimpleModule {
+
+    public SymbolTableModule() {
+        super("SymbolTableModule");
+        addKeyDeserializer(ExpirationDateKey.class, new ExpirationKeyDeserializer());
+        addKeyDeserializer(String.class, new InternedKeyDeserializer());
+    }
+
+    private static class InternedKeyDeserializer extends KeyDeserializer {
+        @Override
+        public Object deserializeKey(String key, DeserializationContext ctxt) {
+            return SymbolTable.intern(key);
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.hemasundar.services;
+
+import com.hemasundar.apis.FinnHubAPIs;
+import com.hemasundar.apis.ThinkOrSwimAPIs;
+import com.hemasundar.cache.IVRankCache;
+import com.hemasundar.cache.PriceHistoryCache;
+import com.hemasundar.config.StrategiesConfigLoader;
+import com.hemasundar.options.models.OptionsConfig;
+import com.hemasundar.technical.ScreenerConfig;
+import com.hemasundar.utils.EarningsCacheManager;
+import com.hemasundar.utils.FilePaths;
+import com.hemasundar.utils.RateBudget;
+import com.hemasundar.utils.SecuritiesResolver;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.apache.commons.collections4.CollectionUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Warms the slow-changing data every run needs, so market-hours executions only
+ * fetch live option chains and quotes.
+ *
+ * <p>For every symbol in the configured strategy and screener universes (resolving
+ * those universes also refreshes the Wikipedia index lists) it loads, unless
+ * already fresh:
+ * <ul>
+ *   <li>daily candles into {@link PriceHistoryCache} and the local candle store (Schwab budget)</li>
+ *   <li>{@code /expirationchain} lists for the scan funnel's expiration tier, when that tier
+ *       is enabled (Schwab budget)</li>
+ *   <li>earnings into the earnings file cache (FinnHub budget)</li>
+ *   <li>IV rank into the shared {@link IVRankCache} tier, when that tier is enabled (Supabase, unpaced)</li>
+ * </ul>
+ * Upstream calls are paced by per-API {@link RateBudget}s. Warming stops early when
+ * a strategy/screener execution starts, when {@code cache.warm.stop-at} (America/New_York)
+ * is reached, or when a budget is spent.
+ */
+@Service
+@Log4j2
+@RequiredArgsConstructor
+public class CacheWarmingService {
+
+    private static final ZoneId MARKET_ZONE = ZoneId.of("America/New_York");
+
+    private final StrategiesConfigLoader strategiesConfigLoader;
+    private final SecuritiesResolver securitiesResolver;
+    private final ThinkOrSwimAPIs ThinkOrSwimAPIs;
+    private final FinnHubAPIs finnHubAPIs;
+    private final Optional<SupabaseService> supabaseService;
+    private final StrategyExecutionService strategyExecutionService;
+    private final ScanFunnelService scanFunnelService;
+
+    @Value("${cache.warm.schwab-requests-per-minute:60}")
+    private int schwabRequestsPerMinute;
+
+    @Value("${cache.warm.finnhub-requests-per-minute:30}")
+    private int finnHubRequestsPerMinute;
+
+    /** Maximum upstream calls per API in one pass (0 = unlimited). */
+    @Value("${cache.warm.max-requests:0}")
+    private int maxRequests;
+
+    @Value("${cache.warm.stop-at:09:25}")
+    private String stopAt;
+
+    /**
+     * Summary of one warming pass.
+     */
+    @Data
+    public static class WarmingReport {
+        private int symbols;
+        private int priceHistoryLoaded;
+        private int expirationsLoaded;
+        private int earningsLoaded;
+        private int ivRanksLoaded;
+        private int alreadyFresh;
+        private int failures;
+        private String stoppedReason;
+    }
+
+    /**
+     * Runs one warming pass over the configured universe.
+     */
+    public WarmingReport warm() {
+        long t0 = System.currentTimeMillis();
+        WarmingReport report = new WarmingReport();
+        List<String> universe = resolveUniverse();
+        report.setSymbols(universe.size());
+        log.info("[CacheWarming] Warming {} symbols (Schwab {}/min, FinnHub {}/min, max {} requests per API)",
+                universe.size(), schwabRequestsPerMinute, finnHubRequestsPerMinute, maxRequests);
+
+        RateBudget schwabBudget = new RateBudget(schwabRequestsPerMinute, maxRequests);
+        RateBudget finnHubBudget = new RateBudget(finnHubRequestsPerMinute, maxRequests);
+        IVRankCache ivRanks = new IVRankCache();
+        LocalDate earningsHorizon = LocalDate.now().plusYears(1);
+        LocalTime deadline = LocalTime.parse(stopAt);
+
+        for (String symbol : universe) {
+            String reason = stopReason(deadline, schwabBudget, finnHubBudget);
+            if (reason != null) {
+                report.setStoppedReason(reason);
+                log.info("[CacheWarming] Stopping early: {}", reason);
+                break;
+            }
+            try {
+                warmPriceHistory(symbol, schwabBudget, report);
+                warmExpirations(symbol, schwabBudget, report);
+                warmEarnings(symbol, earningsHorizon, finnHubBudget, report);
+                warmIVRank(symbol, ivRanks, report);
+            } catch (Exception e) {
+                report.setFailures(report.getFailures() + 1);
+                log.warn("[CacheWarming] Failed to warm {}: {}", symbol, e.getMessage());
+            }
+        }
+
+        log.info("[CacheWarming] Done in {}ms: {}", System.currentTimeMillis() - t0, report);
+        return report;
+    }
+
+    private String stopReason(LocalTime deadline, RateBudget schwabBudget, RateBudget finnHubBudget) {
+        if (strategyExecutionService.isExecutionRunning()) {
+            return "an execution started";
+        }
+        if (!ZonedDateTime.now(MARKET_ZONE).toLocalTime().isBefore(deadline)) {
+            return "reached stop time " + deadline;
+        }
+        if (schwabBudget.isExhausted() && finnHubBudget.isExhausted()) {
+            return "request budget spent";
+        }
+        return null;
+    }
+
+    private void warmPriceHistory(String symbol, RateBudget budget, WarmingReport report) {
+        PriceHistoryCache cache = PriceHistoryCache.getInstance();
+        if (cache.isFresh(symbol)) {
+            report.setAlreadyFresh(report.getAlreadyFresh() + 1);
+            return;
+        }
+        if (budget.tryAcquire()) {
+            cache.getHistoricalData(symbol, ThinkOrSwimAPIs);
+            report.setPriceHistoryLoaded(report.getPriceHistoryLoaded() + 1);
+        }
+    }
+
+    private void warmExpirations(String symbol, RateBudget budget, WarmingReport report) {
+        if (!scanFunnelService.isExpirationTierEnabled() || scanFunnelService.hasExpirations(symbol)) {
+            return;
+        }
+        if (budget.tryAcquire() && scanFunnelService.loadExpirations(symbol)) {
+            report.setExpirationsLoaded(report.getExpirationsLoaded() + 1);
+        }
+    }
+
+    private void warmEarnings(String symbol, LocalDate horizon, RateBudget budget, WarmingReport report) {
+        if (EarningsCacheManager.getEarningsFromCache(symbol, horizon) != null) {
+            return;
+        }
+        if (budget.tryAcquire()) {
+            finnHubAPIs.getEarningsByTicker(symbol, horizon);
+            report.setEarningsLoaded(report.getEarningsLoaded() + 1);
+        }
+    }
+
+    private void warmIVRank(String symbol, IVRankCache ivRanks, WarmingReport report) throws Exception {
+        if (supabaseService.isEmpty() || !IVRankCache.isSharedTierEnabled() || ivRanks.isCached(symbol)) {
+            return;
+        }
+        ivRanks.put(symbol, supabaseService.get().getIVRank(symbol));
+        report.setIvRanksLoaded(report.getIvRanksLoaded() + 1);
+    }
+
+    /**
+     * Union of the securities of every configured strategy and screener.
+     */
+    List<String> resolveUniverse() {
+        Set<String> symbols = new LinkedHashSet<>();
+        try {
+            Map<String, List<String>> securitiesMap = securitiesResolver.loadSecuritiesMaps();
+            List<OptionsConfig> strategies = strategiesConfigLoader.load(FilePaths.strategiesConfig, securitiesMap);
+            List<ScreenerConfig> screeners = strategiesConfigLoader.loadScreeners(FilePaths.strategiesConfig, securitiesMap);
+            if (strategies != null) {
+                strategies.stream()
+                        .filter(c -> CollectionUtils.isNotEmpty(c.getSecurities()))
+                        .forEach(c -> symbols.addAll(c.getSecurities()));
+            }
+            if (screeners != null) {
+                screeners.stream()
+                        .filter(c -> CollectionUtils.isNotEmpty(c.getSecurities()))
+                        .forEach(c -> symbols.addAll(c.getSecurities()));
+            }
+        } catch (Exception e) {
+            log.error("[CacheWarming] Failed to resolve the securities universe: {}", e.getMessage());
+        }
+        return new ArrayList<>(symbols);
+    }
+}
@@ -0,0 +1,177 @@
+package com.hemasundar.services;
+
+import com.hemasundar.options.strategies.CandidateMemo;
+import com.hemasundar.technical.TechnicalScreener;
+import com.hemasundar.utils.OptionChainCache;
+import lombok.extern.log4j.Log4j2;
+
+import java.lang.ref.WeakReference;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Stage outputs of recent custom executions, so rerunning {@code /api/execute/custom} with
+ * a tweaked threshold restarts from the earliest stage the change affects:
+ * <pre>
+ *   1. Technical screen  survivors, keyed by the securities and the technical filters
+ *   2. Option chains     the chain cache of the previous custom run, reused only by a rerun
+ *                        over the same securities and strategy type
+ *   3. Candidates        per symbol and expiry, keyed by the leg filters (see {@link CandidateMemo})
+ * </pre>
+ * Changing only e.g. {@code minReturnOnRisk} or {@code topTradesCount} therefore re-filters
+ * memoized candidates; changing a leg filter regenerates candidates from the cached chains;
+ * changing the securities or technical filters re-screens, and changing the securities or
+ * strategy type fetches fresh chains. Every stage output is timestamped and is neither
+ * reused nor kept once it is older than {@code custom.memo.ttl-minutes}: expired outputs
+ * are swept in the background, so an idle instance does not hold them until the next run.
+ *
+ * <p>Note: This is NOT a Spring bean — StrategyExecutionService owns one instance.
+ */
+@Log4j2
+public class CustomExecutionMemo {
+
+    /** Technical screens kept, most recently used first. */
+    private static final int MAX_SCREENS = 16;
+
+    private static final ScheduledExecutorService EVICTOR = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "custom-memo-evict");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private record ScreenKey(List<String> securities, Map<String, Object> technicalFilters) {
+    }
+
+    private record Screen(List<TechnicalScreener.ScreeningResult> results, long createdAtMs) {
+    }
+
+    private record ChainKey(List<String> securities, String strategyType) {
+    }
+
+    private final long ttlMs;
+    private final CandidateMemo candidates;
+    private final Map<ScreenKey, Screen> screens =
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<ScreenKey, Screen> eldest) {
+                    return size() > MAX_SCREENS;
+                }
+            };
+    private ChainKey chainKey;
+    private OptionChainCache chains;
+    private long chainsCreatedAtMs;
+    private ScheduledFuture<?> eviction;
+
+    /**
+     * @param ttlMinutes         how long stage outputs are reused; 0 disables the memo
+     * @param maxCandidateSets   expiries whose candidates are kept
+     */
+    public CustomExecutionMemo(long ttlMinutes, int maxCandidateSets) {
+        this.ttlMs = Math.max(0, ttlMinutes) * 60_000;
+        this.candidates = new CandidateMemo(Math.max(1, maxCandidateSets));
+    }
+
+    public boolean isEnabled() {
+        return ttlMs > 0;
+    }
+
+    /**
+     * Sweeps expired stage outputs in the background every quarter TTL. The task holds the
+     * memo weakly, so an abandoned memo is still collected.
+     */
+    public synchronized void startEviction() {
+        if (!isEnabled() || eviction != null) {
+            return;
+        }
+        long intervalMs = Math.max(1_000, ttlMs / 4);
+        WeakReference<CustomExecutionMemo> memo = new WeakReference<>(this);
+        eviction = EVICTOR.scheduleWithFixedDelay(() -> {
+            CustomExecutionMemo live = memo.get();
+            if (live == null) {
+                throw new IllegalStateException("Custom execution memo collected"); // cancels the task
+            }
+            live.evictExpired();
+        }, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Returns the chain cache of the previous custom run when this run covers the same
+     * {@code securities} with the same {@code strategyType} and the cache is still fresh,
+     * else a new one from {@code factory}.
+     */
+    public synchronized OptionChainCache chains(List<String> securities, String strategyType,
+                                                Supplier<OptionChainCache> factory) {
+        ChainKey key = new ChainKey(securities != null ? List.copyOf(securities) : List.of(), strategyType);
+        long ageMs = System.currentTimeMillis() - chainsCreatedAtMs;
+        if (chains != null && key.equals(chainKey) && ageMs < ttlMs) {
+            log.info("[CustomExecutionMemo] Reusing option chains of the previous run ({}s old)", ageMs / 1000);
+            return chains;
+        }
+        chainKey = key;
+        chains = factory.get();
+        chainsCreatedAtMs = System.currentTimeMillis();
+        return chains;
+    }
+
+    /**
+     * Returns the memoized technical screen of {@code securities}, running {@code screener}
+     * on a miss. Without a {@code technicalFilters} map the screen cannot be keyed and always runs.
+     */
+    public List<TechnicalScreener.ScreeningResult> screen(List<String> securities, Map<String, Object> technicalFilters,
+                                                          Supplier<List<TechnicalScreener.ScreeningResult>> screener) {
+        if (technicalFilters == null) {
+            return screener.get();
+        }
+        ScreenKey key = new ScreenKey(List.copyOf(securities), technicalFilters);
+        synchronized (this) {
+            Screen memoized = screens.get(key);
+            if (memoized != null && System.currentTimeMillis() - memoized.createdAtMs() < ttlMs) {
+                log.info("[CustomExecutionMemo] Reusing technical screen of {} securities", securities.size());
+                return memoized.results();
+            }
+        }
+        List<TechnicalScreener.ScreeningResult> results = List.copyOf(screener.get());
+        synchronized (this) {
+            screens.put(key, new Screen(results, System.currentTimeMillis()));
+        }
+        return results;
+    }
+
+    public CandidateMemo candidates() {
+        return candidates;
+    }
+
+    /** Drops the stage outputs older than the TTL. */
+    public void evictExpired() {
+        evictOlderThan(System.currentTimeMillis() - ttlMs);
+    }
+
+    /** Drops the stage outputs created before {@code cutoffMs}. */
+    synchronized void evictOlderThan(long cutoffMs) {
+        int screensBefore = screens.size();
+        screens.values().removeIf(screen -> screen.createdAtMs() < cutoffMs);
+        boolean chainsDropped = chains != null && chainsCreatedAtMs < cutoffMs;
+        if (chainsDropped) {
+            chains = null;
+            chainKey = null;
+        }
+        int candidateSets = candidates.evictOlderThan(cutoffMs);
+        if (chainsDropped || candidateSets > 0 || screens.size() < screensBefore) {
+            log.info("[CustomExecutionMemo] Evicted {} technical screens, {} candidate sets{}",
+                    screensBefore - screens.size(), candidateSets, chainsDropped ? " and the option chains" : "");
+        }
+    }
+
+    public synchronized void clear() {
+        screens.clear();
+        candidates.clear();
+        chains = null;
+        chainKey = null;
+    }
+}
@@ -2,6 +2,7 @@ package com.hemasundar.services;
 
 import com.hemasundar.apis.FinnHubAPIs;
 import com.hemasundar.pojos.EarningsCalendarResponse;
+import com.hemasundar.technical.CompiledConditions;
 import lombok.experimental.UtilityClass;
 import lombok.extern.log4j.Log4j2;
 import org.apache.commons.collections4.CollectionUtils;
@@ -19,6 +20,10 @@ public class EarningsDataResolver {
     public static final double NO_EARNINGS_DAYS_TO_NEXT = 999999.0;
     public static final double NO_EARNINGS_BEFORE_DTE = 0.0;
 
+    public static final String DTE = "DTE";
+    public static final String DAYS_TO_NEXT_EARNINGS = "DAYS_TO_NEXT_EARNINGS";
+    public static final String EARNINGS_NEAREST_TO_DTE = "EARNINGS_NEAREST_TO_DTE";
+
     /**
      * Resolves earnings data for a given symbol and expiry date, calculating variables
      * for mathematical expression evaluation.
@@ -29,14 +34,44 @@ public class EarningsDataResolver {
      * @return Map of variable names to their computed double values
      */
     public static Map<String, Double> resolve(String symbol, String expiryDate, FinnHubAPIs finnHubAPIs) {
+        double[] values = compute(symbol, expiryDate, finnHubAPIs);
         Map<String, Double> variables = new HashMap<>();
-        
+        variables.put(DTE, values[0]);
+        variables.put(DAYS_TO_NEXT_EARNINGS, values[1]);
+        variables.put(EARNINGS_NEAREST_TO_DTE, values[2]);
+        return variables;
+    }
+
+    /**
+     * Resolves the same variables straight into an evaluation frame of {@code conditions}
+     * (slots of variables the rules do not read are skipped).
+     *
+     * @return a frame for {@link CompiledConditions#test(double[])}
+     */
+    public static double[] resolveFrame(String symbol, String expiryDate, FinnHubAPIs finnHubAPIs,
+            CompiledConditions conditions) {
+        double[] values = compute(symbol, expiryDate, finnHubAPIs);
+        double[] frame = conditions.newFrame();
+        put(frame, conditions.slot(DTE), values[0]);
+        put(frame, conditions.slot(DAYS_TO_NEXT_EARNINGS), values[1]);
+        put(frame, conditions.slot(EARNINGS_NEAREST_TO_DTE), values[2]);
+        return frame;
+    }
+
+    private static void put(double[] frame, int slot, double value) {
+        if (slot >= 0) {
+            frame[slot] = value;
+        }
+    }
+
+    /**
+     * @return {DTE, DAYS_TO_NEXT_EARNINGS, EARNINGS_NEAREST_TO_DTE}
+     */
+    private static double[] compute(String symbol, String expiryDate, FinnHubAPIs finnHubAPIs) {
         LocalDate today = LocalDate.now();
         LocalDate expiry = LocalDate.parse(expiryDate);
         long dte = ChronoUnit.DAYS.between(today, expiry);
         if (dte < 0) dte = 0;
-        
-        variables.put("DTE", (double) dte);
 
         try {
             // Fetch earnings up to expiry date + 1 year
@@ -46,9 +81,7 @@ public class EarningsDataResolver {
             List<EarningsCalendarResponse.EarningCalendar> earnings = response != null ? response.getEarningsCalendar() : null;
 
             if (CollectionUtils.isEmpty(earnings)) {
-                variables.put("DAYS_TO_NEXT_EARNINGS", NO_EARNINGS_DAYS_TO_NEXT);
-                variables.put("EARNINGS_NEAREST_TO_DTE", NO_EARNINGS_BEFORE_DTE);
-                return variables;
+                return new double[]{dte, NO_EARNINGS_DAYS_TO_NEXT, NO_EARNINGS_BEFORE_DTE};
             }
 
             // DAYS_TO_NEXT_EARNINGS: The soonest earnings event from today
@@ -77,15 +110,13 @@ public class EarningsDataResolver {
                 }
             }
             
-            variables.put("DAYS_TO_NEXT_EARNINGS", daysToNext == Long.MAX_VALUE ? NO_EARNINGS_DAYS_TO_NEXT : (double) daysToNext);
-            variables.put("EARNINGS_NEAREST_TO_DTE", earningsNearestToDte == -1 ? NO_EARNINGS_BEFORE_DTE : (double) earningsNearestToDte);
+            return new double[]{dte,
+                    daysToNext == Long.MAX_VALUE ? NO_EARNINGS_DAYS_TO_NEXT : (double) daysToNext,
+                    earningsNearestToDte == -1 ? NO_EARNINGS_BEFORE_DTE : (double) earningsNearestToDte};
 
         } catch (Exception e) {
             log.error("[{}] Error resolving earnings variables: {}", symbol, e.getMessage());
-            variables.put("DAYS_TO_NEXT_EARNINGS", NO_EARNINGS_DAYS_TO_NEXT);
-            variables.put("EARNINGS_NEAREST_TO_DTE", NO_EARNINGS_BEFORE_DTE);
+            return new double[]{dte, NO_EARNINGS_DAYS_TO_NEXT, NO_EARNINGS_BEFORE_DTE};
         }
-
-        return variables;
     }
 }
@@ -0,0 +1,85 @@
+package com.hemasundar.services;
+
+import com.hemasundar.dto.ExecutionAlert;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Alerts raised during one {@link ExecutionContext}'s run, grouped by (severity, message)
+ * so the same error across many symbols shows up once.
+ */
+public class ExecutionAlerts {
+
+    /**
+     * Ordered alert groups keyed by (severity:message) — deduplicates same-message
+     * alerts across symbols.
+     */
+    private final Map<String, AlertGroup> groups = new LinkedHashMap<>();
+
+    ExecutionAlerts() {}
+
+    /** Adds an alert, merging its source into an existing group with the same message. */
+    public synchronized void add(ExecutionAlert.Severity severity, String source, String message) {
+        String key = severity.name() + ":" + message;
+        AlertGroup group = groups.get(key);
+        if (group == null) {
+            groups.put(key, new AlertGroup(severity, message, source));
+        } else {
+            group.addSource(source);
+        }
+    }
+
+    /** Returns a snapshot of the deduplicated alerts, oldest first. */
+    public synchronized List<ExecutionAlert> getAlerts() {
+        return groups.values().stream()
+                .map(AlertGroup::toAlert)
+                .collect(Collectors.toList());
+    }
+
+    public synchronized void clear() {
+        groups.clear();
+    }
+
+    /**
+     * Groups multiple-source alerts under a single (severity, message) key.
+     * Displays first 3 sources; appends "(+N more)" for the rest.
+     */
+    private static final class AlertGroup {
+        private final ExecutionAlert.Severity severity;
+        private final String message;
+        private final long timestamp = System.currentTimeMillis();
+        private final List<String> sources = new ArrayList<>();
+
+        AlertGroup(ExecutionAlert.Severity severity, String message, String firstSource) {
+            this.severity = severity;
+            this.message = message;
+            this.sources.add(firstSource);
+        }
+
+        void addSource(String source) {
+            if (!sources.contains(source))
+                sources.add(source);
+        }
+
+        ExecutionAlert toAlert() {
+            int n = sources.size();
+            String combined;
+            if (n <= 3) {
+                combined = String.join(", ", sources);
+            } else {
+                combined = sources.get(0) + ", " + sources.get(1) + ", " + sources.get(2)
+                        + " (+" + (n - 3) + " more)";
+            }
+            return ExecutionAlert.builder()
+                    .severity(severity)
+                    .source(combined)
+                    .message(message)
+                    .timestamp(timestamp)
+                    .build();
+        }
+    }
+}
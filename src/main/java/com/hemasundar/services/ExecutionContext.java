@@ -0,0 +1,165 @@
+package com.hemasundar.services;
+
+import com.hemasundar.cache.IVRankCache;
+import com.hemasundar.options.strategies.CandidateMemo;
+import com.hemasundar.options.strategies.SearchBudget;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * State owned by a single strategy/screener execution run.
+ *
+ * <p>Each run gets its own {@link FilterLogStore}, {@link IVRankCache}, progress task,
+ * cancellation flag and auth-failure flag, so several executions (e.g. custom runs from
+ * different UI users) can proceed concurrently without mixing filter logs or stopping
+ * each other. Market data that is identical for every run — {@code QuotesCache},
+ * {@code PriceHistoryCache}, {@code TechnicalIndicatorCache} and the earnings cache —
+ * stays in the shared, process-wide read-through tier.
+ *
+ * <p>The context is bound to the thread driving the run (see {@link #bind()}); code deep
+ * inside strategies reaches it through {@link #current()}. Work handed to other threads
+ * must be wrapped with {@link #wrap(Supplier)} to carry the context along. Outside of a
+ * run, {@link #current()} returns a shared detached context, whose filter log keeps only
+ * the most recent {@value #DETACHED_LOG_ENTRIES} entries since nothing ever resets it.
+ */
+@Getter
+public class ExecutionContext {
+
+    private static final ThreadLocal<ExecutionContext> CURRENT = new ThreadLocal<>();
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+    private static final int DETACHED_LOG_ENTRIES = 1000;
+    private static final ExecutionContext DETACHED = new ExecutionContext("", DETACHED_LOG_ENTRIES);
+
+    private final String executionId;
+    private final long startTimeMs;
+    private final FilterLogStore filterLogStore;
+    private final IVRankCache ivRankCache = new IVRankCache();
+    private final ExecutionAlerts alerts = new ExecutionAlerts();
+
+    @Getter(AccessLevel.NONE)
+    private final AtomicReference<String> currentTask;
+    @Getter(AccessLevel.NONE)
+    private final AtomicBoolean cancellationRequested = new AtomicBoolean(false);
+    @Getter(AccessLevel.NONE)
+    private final AtomicBoolean authFailed = new AtomicBoolean(false);
+    @Getter(AccessLevel.NONE)
+    private final AtomicReference<SearchBudget> strategyBudget = new AtomicReference<>();
+    @Getter(AccessLevel.NONE)
+    private final AtomicReference<CandidateMemo> candidateMemo = new AtomicReference<>();
+
+    public ExecutionContext(String initialTask) {
+        this(initialTask, 0);
+    }
+
+    private ExecutionContext(String initialTask, int maxLogEntries) {
+        this.startTimeMs = System.currentTimeMillis();
+        this.executionId = "run_" + startTimeMs + "_" + SEQUENCE.incrementAndGet();
+        this.currentTask = new AtomicReference<>(initialTask != null ? initialTask : "");
+        this.filterLogStore = new FilterLogStore(maxLogEntries);
+    }
+
+    /**
+     * Returns the context bound to the calling thread, or the shared detached context
+     * when no run is active on this thread.
+     */
+    public static ExecutionContext current() {
+        ExecutionContext context = CURRENT.get();
+        return context != null ? context : DETACHED;
+    }
+
+    /**
+     * Returns the context bound to the calling thread, or {@code null}.
+     */
+    static ExecutionContext bound() {
+        return CURRENT.get();
+    }
+
+    /** Returns the shared context used outside of any run. */
+    static ExecutionContext detached() {
+        return DETACHED;
+    }
+
+    /** Binds this context to the calling thread. */
+    public void bind() {
+        CURRENT.set(this);
+    }
+
+    /** Unbinds this context from the calling thread if it is the one bound. */
+    public void unbind() {
+        if (CURRENT.get() == this) {
+            CURRENT.remove();
+        }
+    }
+
+    /**
+     * Wraps {@code task} so that it runs with this context bound, for work submitted to
+     * another thread (e.g. {@code CompletableFuture.supplyAsync}).
+     */
+    public <T> Supplier<T> wrap(Supplier<T> task) {
+        return () -> {
+            ExecutionContext previous = CURRENT.get();
+            CURRENT.set(this);
+            try {
+                return task.get();
+            } finally {
+                if (previous != null) {
+                    CURRENT.set(previous);
+                } else {
+                    CURRENT.remove();
+                }
+            }
+        };
+    }
+
+    public String getCurrentTask() {
+        return currentTask.get();
+    }
+
+    public void setCurrentTask(String task) {
+        currentTask.set(task != null ? task : "");
+    }
+
+    public boolean isCancellationRequested() {
+        return cancellationRequested.get();
+    }
+
+    public void requestCancellation() {
+        cancellationRequested.set(true);
+    }
+
+    public boolean isAuthFailed() {
+        return authFailed.get();
+    }
+
+    public void setAuthFailed(boolean failed) {
+        authFailed.set(failed);
+    }
+
+    /**
+     * Returns the search budget of the strategy currently being run, or {@code null}.
+     */
+    public SearchBudget getStrategyBudget() {
+        return strategyBudget.get();
+    }
+
+    public void setStrategyBudget(SearchBudget budget) {
+        strategyBudget.set(budget);
+    }
+
+    /**
+     * Returns the candidate memo strategies may reuse candidates from, or {@code null}
+     * (only custom runs have one).
+     */
+    public CandidateMemo getCandidateMemo() {
+        return candidateMemo.get();
+    }
+
+    public void setCandidateMemo(CandidateMemo memo) {
+        candidateMemo.set(memo);
+    }
+}
@@ -1,6 +1,7 @@
 package com.hemasundar.services;
 
 import com.hemasundar.dto.ExecutionLogEntry;
+import com.hemasundar.utils.SymbolTable;
 import lombok.extern.log4j.Log4j2;
 
 import java.util.ArrayList;
@@ -8,22 +9,23 @@ import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
- * Thread-safe singleton store for filter-stage execution log entries.
- * Strategy classes write entries directly here during execution.
- * The store is cleared at the start of each execution.
+ * Thread-safe store for filter-stage execution log entries.
+ * One store is owned by each {@link ExecutionContext}; strategy classes write entries
+ * to {@code ExecutionContext.current().getFilterLogStore()} during execution.
  * The UI polls /api/filter-logs to display these entries in real-time.
+ * A store may be capped, in which case the oldest entries are dropped first.
  */
 @Log4j2
 public class FilterLogStore {
 
-    private static final FilterLogStore INSTANCE = new FilterLogStore();
-
     private final CopyOnWriteArrayList<ExecutionLogEntry> entries = new CopyOnWriteArrayList<>();
+    private final int maxEntries;
 
-    private FilterLogStore() {}
-
-    public static FilterLogStore getInstance() {
-        return INSTANCE;
+    /**
+     * @param maxEntries entries kept before the oldest are dropped (0 = unbounded)
+     */
+    FilterLogStore(int maxEntries) {
+        this.maxEntries = maxEntries;
     }
 
     /**
@@ -46,16 +48,45 @@ public class FilterLogStore {
                 strategyName, symbol, expiry != null ? expiry : "symbol-level",
                 filterStage, tradesIn, tradesOut, filtered);
 
-        entries.add(ExecutionLogEntry.builder()
+        append(ExecutionLogEntry.builder()
                 .strategyName(strategyName)
-                .symbol(symbol)
-                .expiry(expiry)
+                .symbol(SymbolTable.intern(symbol))
+                .expiry(SymbolTable.intern(expiry))
                 .filterStage(filterStage)
                 .tradesIn(tradesIn)
                 .tradesOut(tradesOut)
                 .build());
     }
 
+    /**
+     * Records one universe-level scan funnel tier: how many symbols entered and passed it,
+     * and what it cost. Logged without a symbol, so the UI shows it under "(global)".
+     */
+    public void logTier(String strategyName, String tier, int symbolsIn, int symbolsOut, int apiRequests, long elapsedMs) {
+        log.info("[FUNNEL][{}] {} — in: {}, passed: {}, requests: {}, {}ms",
+                strategyName, tier, symbolsIn, symbolsOut, apiRequests, elapsedMs);
+
+        append(ExecutionLogEntry.builder()
+                .strategyName(strategyName)
+                .filterStage(tier)
+                .tradesIn(symbolsIn)
+                .tradesOut(symbolsOut)
+                .apiRequests(apiRequests)
+                .elapsedMs(elapsedMs)
+                .build());
+    }
+
+    private void append(ExecutionLogEntry entry) {
+        entries.add(entry);
+        if (maxEntries > 0) {
+            synchronized (entries) {
+                while (entries.size() > maxEntries) {
+                    entries.remove(0);
+                }
+            }
+        }
+    }
+
     /**
      * Returns a snapshot of all collected log entries.
      */
@@ -64,7 +95,7 @@ public class FilterLogStore {
     }
 
     /**
-     * Clears all log entries. Called at the start of each execution.
+     * Clears all log entries (manual reset from the Logs UI page).
      */
     public void clear() {
         entries.clear();
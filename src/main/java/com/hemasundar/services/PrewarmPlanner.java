@@ -0,0 +1,178 @@
+package com.hemasundar.services;
+
+import com.hemasundar.apis.ThinkOrSwimAPIs;
+import com.hemasundar.cache.PriceHistoryCache;
+import com.hemasundar.cache.QuotesCache;
+import com.hemasundar.options.models.OptionsConfig;
+import com.hemasundar.technical.ScreenerConfig;
+import com.hemasundar.utils.SchwabApiExecutor;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.apache.commons.collections4.CollectionUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Plans and runs one pre-warm for a set of strategies and screeners, instead of each
+ * run deciding on its own what to fetch.
+ *
+ * <p>{@link #plan} collects every (data type, symbol, parameters) fetch the configs need
+ * and merges duplicates, counting how many configs asked for each. {@link #execute} then
+ * loads each fetch once, by priority:
+ * <pre>
+ *   1. PRICE_HISTORY  one year of daily candles, one request per symbol (indicators read them)
+ *   2. QUOTE          all fields, multi-symbol requests of screener.quote-batch-size
+ *   3. INDICATORS     union of every config's indicators, computed locally from the candles
+ * </pre>
+ * Within a type, symbols wanted by the most configs go first. Entries already fresh in
+ * {@link PriceHistoryCache} / {@link QuotesCache} are not fetched again. Option chains are
+ * not planned: they are cached per strategy run.
+ */
+@Service
+@Log4j2
+@RequiredArgsConstructor
+public class PrewarmPlanner {
+
+    private final ThinkOrSwimAPIs ThinkOrSwimAPIs;
+    private final SchwabApiExecutor schwabApiExecutor;
+    private final TechnicalIndicatorPreCalculationService technicalIndicatorPreCalculationService;
+
+    /** Symbols per multi-symbol quotes request. */
+    @Value("${screener.quote-batch-size:200}")
+    private int quoteBatchSize = 200;
+
+    /**
+     * Kinds of data a run pre-warms, in execution priority order.
+     */
+    public enum DataType {
+        PRICE_HISTORY("daily candles, 1 year"),
+        QUOTE("all fields"),
+        INDICATORS("union of enabled configs");
+
+        private final String parameters;
+
+        DataType(String parameters) {
+            this.parameters = parameters;
+        }
+
+        public String parameters() {
+            return parameters;
+        }
+    }
+
+    /**
+     * One deduplicated fetch.
+     *
+     * @param demand number of configs that need it
+     */
+    public record Fetch(DataType type, String symbol, String parameters, int demand) {
+    }
+
+    /**
+     * @param fetches   deduplicated fetches in execution order
+     * @param requested fetches asked for by the configs before deduplication
+     */
+    public record PrewarmPlan(List<Fetch> fetches, int requested) {
+
+        public List<String> symbols(DataType type) {
+            return fetches.stream().filter(f -> f.type() == type).map(Fetch::symbol).toList();
+        }
+    }
+
+    /**
+     * Summary of one executed plan.
+     */
+    @Data
+    public static class PrewarmReport {
+        private int requested;
+        private int planned;
+        private int alreadyFresh;
+        private int upstreamRequests;
+        private long elapsedMs;
+    }
+
+    /**
+     * Works out the deduplicated fetches of {@code strategies} and {@code screeners}. Every
+     * config needs price history, a quote and indicators for each of its securities.
+     */
+    public PrewarmPlan plan(List<OptionsConfig> strategies, List<ScreenerConfig> screeners) {
+        List<List<String>> universes = new ArrayList<>();
+        if (strategies != null) {
+            strategies.stream().map(OptionsConfig::getSecurities).filter(CollectionUtils::isNotEmpty).forEach(universes::add);
+        }
+        if (screeners != null) {
+            screeners.stream().map(ScreenerConfig::getSecurities).filter(CollectionUtils::isNotEmpty).forEach(universes::add);
+        }
+
+        Map<DataType, Map<String, Integer>> demand = new EnumMap<>(DataType.class);
+        int requested = 0;
+        for (DataType type : DataType.values()) {
+            Map<String, Integer> bySymbol = new LinkedHashMap<>();
+            for (List<String> universe : universes) {
+                for (String symbol : universe.stream().distinct().toList()) {
+                    bySymbol.merge(symbol, 1, Integer::sum);
+                    requested++;
+                }
+            }
+            demand.put(type, bySymbol);
+        }
+
+        List<Fetch> fetches = new ArrayList<>();
+        demand.forEach((type, bySymbol) -> bySymbol.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder()))
+                .forEach(e -> fetches.add(new Fetch(type, e.getKey(), type.parameters(), e.getValue()))));
+        return new PrewarmPlan(fetches, requested);
+    }
+
+    /**
+     * Loads every fetch of {@code plan} that is not already fresh, in priority order.
+     */
+    public PrewarmReport execute(PrewarmPlan plan, BiConsumer<String, String> alertCallback) {
+        long t0 = System.currentTimeMillis();
+        PrewarmReport report = new PrewarmReport();
+        report.setRequested(plan.requested());
+        report.setPlanned(plan.fetches().size());
+
+        PriceHistoryCache history = PriceHistoryCache.getInstance();
+        List<String> historySymbols = plan.symbols(DataType.PRICE_HISTORY);
+        List<String> staleHistory = historySymbols.stream().filter(s -> !history.isFresh(s)).toList();
+        report.setAlreadyFresh(historySymbols.size() - staleHistory.size());
+        if (!staleHistory.isEmpty()) {
+            history.prewarm(staleHistory, schwabApiExecutor, s -> history.loadHistoricalData(s, ThinkOrSwimAPIs), alertCallback);
+            report.setUpstreamRequests(staleHistory.size());
+        }
+
+        QuotesCache quotes = QuotesCache.getInstance();
+        List<String> quoteSymbols = plan.symbols(DataType.QUOTE);
+        List<String> staleQuotes = quoteSymbols.stream().filter(s -> !quotes.isFresh(s)).toList();
+        report.setAlreadyFresh(report.getAlreadyFresh() + quoteSymbols.size() - staleQuotes.size());
+        if (!staleQuotes.isEmpty()) {
+            int requests = quotes.prewarmBatched(staleQuotes, quoteBatchSize, schwabApiExecutor,
+                    ThinkOrSwimAPIs::getQuotes, alertCallback);
+            // Single-symbol requests for whatever a failed batch left uncached
+            List<String> missing = staleQuotes.stream().filter(s -> !quotes.isFresh(s)).toList();
+            if (!missing.isEmpty()) {
+                quotes.prewarm(missing, schwabApiExecutor, s -> ThinkOrSwimAPIs.getQuote(s, null), alertCallback);
+            }
+            report.setUpstreamRequests(report.getUpstreamRequests() + requests + missing.size());
+        }
+
+        technicalIndicatorPreCalculationService.preCalculateAll(plan.symbols(DataType.INDICATORS), alertCallback);
+
+        report.setElapsedMs(System.currentTimeMillis() - t0);
+        log.info("[PrewarmPlanner] {} fetches requested by configs, {} after dedup, {} already fresh, "
+                        + "{} upstream requests in {}ms",
+                report.getRequested(), report.getPlanned(), report.getAlreadyFresh(),
+                report.getUpstreamRequests(), report.getElapsedMs());
+        return report;
+    }
+}
@@ -0,0 +1,234 @@
+package com.hemasundar.services;
+
+import com.hemasundar.apis.ThinkOrSwimAPIs;
+import com.hemasundar.cache.QuotesCache;
+import com.hemasundar.options.models.ExpirationChainResponse;
+import com.hemasundar.options.models.OptionsStrategyFilter;
+import com.hemasundar.options.strategies.AbstractTradingStrategy;
+import com.hemasundar.options.strategies.FilterStage;
+import com.hemasundar.pojos.QuotesResponse;
+import com.hemasundar.utils.OptionChainCache;
+import com.hemasundar.utils.SchwabApiExecutor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.apache.commons.collections4.CollectionUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+/**
+ * Cheap-first funnel that narrows a strategy's universe before any option chain is fetched:
+ * <pre>
+ *   1. Quotes        one request per quote-batch-size symbols; price / volume / change bounds
+ *   2. Technicals    cached daily history (run by StrategyExecutionService)
+ *   3. IV Rank       per-run IV rank cache; minIVRank / maxIVRank
+ *   4. Expirations   /expirationchain; at least one expiry inside minDTE..maxDTE
+ *   5. Option Chains full chain fetch for the survivors only
+ * </pre>
+ * A tier whose bounds are not configured is skipped. Each tier that runs records its
+ * symbols in / out, API requests and elapsed time via {@link FilterLogStore#logTier}.
+ *
+ * <p>Disabled by default ({@code scan.funnel.enabled}); while disabled every symbol's option
+ * chain is pre-warmed up front as before. Expiration lists are kept for the day, so
+ * {@link CacheWarmingService} can load them before the open ({@link #loadExpirations}).
+ */
+@Log4j2
+@Service
+@RequiredArgsConstructor
+public class ScanFunnelService {
+
+    private final ThinkOrSwimAPIs thinkOrSwimAPIs;
+    private final SchwabApiExecutor schwabApiExecutor;
+
+    @Value("${scan.funnel.enabled:false}")
+    private boolean enabled;
+
+    /** Symbols per multi-symbol quotes request. */
+    @Value("${scan.funnel.quote-batch-size:200}")
+    private int quoteBatchSize = 200;
+
+    @Value("${scan.funnel.expiration-check.enabled:true}")
+    private boolean expirationCheckEnabled = true;
+
+    /** Expiration lists fetched today, shared by the strategies of a run and later runs; older lists are pruned. */
+    private final Map<String, DatedExpirations> expirations = new ConcurrentHashMap<>();
+
+    private record DatedExpirations(LocalDate fetchedOn, ExpirationChainResponse response) {
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** Returns true if the funnel runs its expiration tier. */
+    public boolean isExpirationTierEnabled() {
+        return enabled && expirationCheckEnabled;
+    }
+
+    /** Returns true if {@code symbol}'s expiration list was fetched today. */
+    public boolean hasExpirations(String symbol) {
+        DatedExpirations known = expirations.get(symbol);
+        return known != null && LocalDate.now().equals(known.fetchedOn());
+    }
+
+    /**
+     * Fetches {@code symbol}'s expiration list for the expiration tier, e.g. while warming caches.
+     *
+     * @return true if a list was stored
+     */
+    public boolean loadExpirations(String symbol) {
+        ExpirationChainResponse response = thinkOrSwimAPIs.getExpirationChain(symbol);
+        if (response == null) {
+            return false;
+        }
+        LocalDate today = LocalDate.now();
+        pruneExpirations(today);
+        expirations.put(symbol, new DatedExpirations(today, response));
+        return true;
+    }
+
+    /**
+     * Drops the expiration lists not fetched on {@code today}.
+     */
+    void pruneExpirations(LocalDate today) {
+        expirations.values().removeIf(known -> !today.equals(known.fetchedOn()));
+    }
+
+    /**
+     * Tier 1: fetches quotes in concurrent batches into {@link QuotesCache} and keeps the symbols whose
+     * quote passes the filter's underlying price, volume and change bounds. Symbols without
+     * a quote are kept (fail-open), as are all symbols when no bound is set.
+     */
+    public List<String> quoteTier(String strategyName, OptionsStrategyFilter filter, List<String> symbols,
+                                  BiConsumer<String, String> alertCallback) {
+        long start = System.nanoTime();
+        QuotesCache quotes = QuotesCache.getInstance();
+        int requests = quotes.prewarmBatched(symbols, quoteBatchSize, schwabApiExecutor,
+                thinkOrSwimAPIs::getQuotes, alertCallback);
+        if (filter == null || !filter.hasUnderlyingQuoteFilter()) {
+            record(strategyName, FilterStage.QUOTE_TIER, symbols.size(), symbols.size(), requests, start);
+            return symbols;
+        }
+        List<String> passed = new ArrayList<>();
+        for (String symbol : symbols) {
+            QuotesResponse.QuoteData data = quotes.get(symbol);
+            QuotesResponse.Quote quote = data != null ? data.getQuote() : null;
+            if (quote == null || filter.passesUnderlyingQuote(quote.getLastPrice(), quote.getTotalVolume(), quote.getNetPercentChange())) {
+                passed.add(symbol);
+            }
+        }
+        record(strategyName, FilterStage.QUOTE_TIER, symbols.size(), passed.size(), requests, start);
+        return passed;
+    }
+
+    /**
+     * Tier 3: keeps the symbols whose IV rank is within the filter's bounds. Ranks go to the
+     * per-run cache, so the strategy's own IV rank check later is a cache hit. Lookups run on
+     * the {@link SchwabApiExecutor} pool, bound to the caller's execution context.
+     */
+    public List<String> ivRankTier(String strategyName, AbstractTradingStrategy strategy, OptionsStrategyFilter filter,
+                                   List<String> symbols) {
+        if (filter == null || (filter.getMinIVRank() == null && filter.getMaxIVRank() == null) || symbols.isEmpty()) {
+            return symbols;
+        }
+        long start = System.nanoTime();
+        ExecutionContext context = ExecutionContext.current();
+        int requests = (int) symbols.stream().filter(s -> !context.getIvRankCache().isCached(s)).count();
+        List<Double> ranks = schwabApiExecutor.executeParallel(symbols,
+                symbol -> context.wrap(() -> strategy.resolveIVRank(symbol)).get());
+        List<String> passed = new ArrayList<>();
+        for (int i = 0; i < symbols.size(); i++) {
+            if (filter.passesIVRank(ranks.get(i))) {
+                passed.add(symbols.get(i));
+            }
+        }
+        record(strategyName, FilterStage.IV_RANK_TIER, symbols.size(), passed.size(), requests, start);
+        return passed;
+    }
+
+    /**
+     * Tier 4: keeps the symbols with at least one expiry inside the filter's
+     * {@code minDTE..maxDTE} window, checked against {@code /expirationchain}. Skipped for a
+     * {@code targetDTE} filter (the nearest expiry always exists) and for an open window;
+     * symbols whose chain is already cached, or whose expirations cannot be fetched, are kept.
+     */
+    public List<String> expirationTier(String strategyName, OptionsStrategyFilter filter, List<String> symbols,
+                                       OptionChainCache chains, BiConsumer<String, String> alertCallback) {
+        if (!expirationCheckEnabled || filter == null || symbols.isEmpty()
+                || (filter.getTargetDTE() != null && filter.getTargetDTE() > 0)
+                || (filter.getMinDTE() == null && filter.getMaxDTE() == null)) {
+            return symbols;
+        }
+        long start = System.nanoTime();
+        int minDTE = filter.getMinDTE() != null ? filter.getMinDTE() : 0;
+        int maxDTE = filter.getMaxDTE() != null ? filter.getMaxDTE() : Integer.MAX_VALUE;
+        LocalDate today = LocalDate.now();
+        pruneExpirations(today);
+
+        List<String> toFetch = symbols.stream()
+                .filter(s -> !chains.isCached(s))
+                .filter(s -> {
+                    DatedExpirations known = expirations.get(s);
+                    return known == null || !today.equals(known.fetchedOn());
+                })
+                .distinct()
+                .toList();
+        if (!toFetch.isEmpty()) {
+            List<ExpirationChainResponse> fetched = schwabApiExecutor.executeParallel(toFetch,
+                    thinkOrSwimAPIs::getExpirationChain, alertCallback);
+            for (int i = 0; i < toFetch.size(); i++) {
+                if (fetched.get(i) != null) {
+                    expirations.put(toFetch.get(i), new DatedExpirations(today, fetched.get(i)));
+                }
+            }
+        }
+
+        List<String> passed = new ArrayList<>();
+        for (String symbol : symbols) {
+            DatedExpirations known = expirations.get(symbol);
+            if (chains.isCached(symbol) || known == null || !today.equals(known.fetchedOn())
+                    || hasExpiryWithin(known.response(), minDTE, maxDTE)) {
+                passed.add(symbol);
+            }
+        }
+        record(strategyName, FilterStage.EXPIRATION_TIER, symbols.size(), passed.size(), toFetch.size(), start);
+        return passed;
+    }
+
+    static boolean hasExpiryWithin(ExpirationChainResponse response, int minDTE, int maxDTE) {
+        if (CollectionUtils.isEmpty(response.getExpirationList())) {
+            return false;
+        }
+        return response.getExpirationList().stream()
+                .anyMatch(e -> e.getDaysToExpiration() >= minDTE && e.getDaysToExpiration() <= maxDTE);
+    }
+
+    /**
+     * Tier 5: fetches the option chains of the surviving symbols in parallel.
+     */
+    public void optionChainTier(String strategyName, List<String> symbols, OptionChainCache chains) {
+        if (symbols.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        int requests = (int) symbols.stream().distinct().filter(s -> !chains.isCached(s)).count();
+        chains.prewarm(symbols, schwabApiExecutor);
+        int fetched = (int) symbols.stream().filter(chains::isCached).count();
+        record(strategyName, FilterStage.OPTION_CHAIN_TIER, symbols.size(), fetched, requests, start);
+    }
+
+    /**
+     * Records a tier that ran elsewhere (e.g. technical screening in StrategyExecutionService).
+     */
+    public void record(String strategyName, FilterStage tier, int symbolsIn, int symbolsOut, int requests, long startNanos) {
+        long elapsedMs = (System.nanoTime() - startNanos) / 1_000_000;
+        ExecutionContext.current().getFilterLogStore()
+                .logTier(strategyName, tier.displayName(), symbolsIn, symbolsOut, requests, elapsedMs);
+    }
+}
@@ -15,12 +15,17 @@ import com.hemasundar.cache.QuotesCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.apache.commons.collections4.CollectionUtils;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 
 @Service
@@ -40,6 +45,14 @@ public class ScreenerExecutionService {
     private final VolatilityCalculator volatilityCalculator;
     private final TechnicalIndicatorPreCalculationService technicalIndicatorPreCalculationService;
 
+    /** Symbols per multi-symbol quotes request during the pre-warm. */
+    @Value("${screener.quote-batch-size:200}")
+    private int quoteBatchSize = 200;
+
+    /** Screen the selected screeners in one pass over their symbols instead of one pass each. */
+    @Value("${screener.fused.enabled:false}")
+    private boolean fusedEnabled;
+
     /**
      * Loads all enabled technical screeners from strategies-config.json
      */
@@ -55,7 +68,16 @@ public class ScreenerExecutionService {
     }
 
     public void executeScreeners(Set<Integer> screenerIndices, List<ScreenerConfig> allScreeners) {
-        executeScreenersInternal(screenerIndices, allScreeners, false, null);
+        executeScreeners(screenerIndices, allScreeners, false);
+    }
+
+    /**
+     * @param prewarmed {@code true} when {@link PrewarmPlanner} has already loaded the price
+     *                  history and indicators, so the run skips those; quotes that went stale
+     *                  since are still refreshed in batches
+     */
+    public void executeScreeners(Set<Integer> screenerIndices, List<ScreenerConfig> allScreeners, boolean prewarmed) {
+        executeScreenersInternal(screenerIndices, allScreeners, false, null, prewarmed);
     }
 
     /**
@@ -66,10 +88,11 @@ public class ScreenerExecutionService {
      * @param requestParams the raw request parameter map to persist alongside the result
      */
     public void executeCustomScreener(ScreenerConfig config, Map<String, Object> requestParams) {
-        executeScreenersInternal(Set.of(0), List.of(config), true, requestParams);
+        executeScreenersInternal(Set.of(0), List.of(config), true, requestParams, false);
     }
 
-    private void executeScreenersInternal(Set<Integer> screenerIndices, List<ScreenerConfig> allScreeners, boolean isCustom, Map<String, Object> requestParams) {
+    private void executeScreenersInternal(Set<Integer> screenerIndices, List<ScreenerConfig> allScreeners, boolean isCustom,
+            Map<String, Object> requestParams, boolean prewarmed) {
         if (CollectionUtils.isEmpty(screenerIndices) || allScreeners == null) {
             log.info("No screener indices provided, skipping technical screeners");
             return;
@@ -94,20 +117,34 @@ public class ScreenerExecutionService {
                     strategyExecutionService.addAlert(ExecutionAlert.Severity.ERROR, "Prewarm: " + sourceContext, errorMsg);
                 }
             };
-            PriceHistoryCache.getInstance().prewarm(allSymbolsToPrewarm, schwabApiExecutor, 
-                    symbol -> PriceHistoryCache.getInstance().getHistoricalData(symbol, ThinkOrSwimAPIs),
-                    prewarmAlertCallback);
+            if (!prewarmed) {
+                PriceHistoryCache.getInstance().prewarm(allSymbolsToPrewarm, schwabApiExecutor,
+                        symbol -> PriceHistoryCache.getInstance().loadHistoricalData(symbol, ThinkOrSwimAPIs),
+                        prewarmAlertCallback);
+            }
 
-            // Prewarm QuotesCache — parallel fetch using single-symbol Quote API
+            // Prewarm QuotesCache — concurrent multi-symbol batches, then single-symbol
+            // requests for whatever a failed batch left uncached. Runs even after a unified
+            // pre-warm, since quotes loaded before the strategy phase may be stale by now;
+            // only stale symbols are requested.
             log.info("[Prewarm] Starting QuotesCache prewarm for {} symbols", allSymbolsToPrewarm.size());
+            QuotesCache.getInstance().prewarmBatched(allSymbolsToPrewarm, quoteBatchSize, schwabApiExecutor,
+                    ThinkOrSwimAPIs::getQuotes, prewarmAlertCallback);
             QuotesCache.getInstance().prewarm(allSymbolsToPrewarm, schwabApiExecutor,
                     symbol -> ThinkOrSwimAPIs.getQuote(symbol, null),
                     prewarmAlertCallback);
 
             // Pre-calculate indicators universally so screeners/strategies can fetch from cache
-            technicalIndicatorPreCalculationService.preCalculateAll(allSymbolsToPrewarm, prewarmAlertCallback);
+            if (!prewarmed) {
+                technicalIndicatorPreCalculationService.preCalculateAll(allSymbolsToPrewarm, prewarmAlertCallback);
+            }
         }
 
+        long fusedPassStartTime = System.currentTimeMillis();
+        Map<ScreenerConfig, List<TechnicalScreener.ScreeningResult>> fusedResults = fusedEnabled
+                ? runFusedPass(selectedScreeners) : Map.of();
+        long fusedPassTime = System.currentTimeMillis() - fusedPassStartTime;
+
         for (ScreenerConfig screenerConfig : selectedScreeners) {
             log.info("Running screener: {}", screenerConfig.getName());
             if (strategyExecutionService != null) {
@@ -131,29 +168,10 @@ public class ScreenerExecutionService {
                 }
             };
 
+            List<TechnicalScreener.ScreeningResult> fused = fusedResults.get(screenerConfig);
             List<TechnicalScreener.ScreeningResult> screenerResults;
             try {
-                // Route to appropriate screener based on type
-                screenerResults = switch (screenerConfig.getScreenerType()) {
-                    case PRICE_DROP -> {
-                        TechFilterConditions cond = screenerConfig.getConditions();
-                        List<com.hemasundar.technical.MathExpression> dropRules = extractDropExpressions(cond, 5.0);
-                        int days = cond.getLookbackDays() != null ? cond.getLookbackDays() : 0;
-                        yield priceDropScreener.screenPriceDrop(securitiesToScan, dropRules, days, alertCallback);
-                    }
-                    case HIGH_52W_DROP -> {
-                        TechFilterConditions cond = screenerConfig.getConditions();
-                        List<com.hemasundar.technical.MathExpression> dropRules = extractDropExpressions(cond, 20.0);
-                        yield priceDropScreener.screen52WeekHighDrop(securitiesToScan, dropRules, alertCallback);
-                    }
-                    default -> {
-                        yield technicalScreener.screenStocks(
-                                securitiesToScan,
-                                screenerConfig.getFilterChain(),
-                                screenerConfig.getFundamentalConditions(),
-                                alertCallback);
-                    }
-                };
+                screenerResults = fused != null ? fused : runScreener(screenerConfig, securitiesToScan, alertCallback);
             } catch (Exception e) {
                 strategyExecutionService.addAlert(ExecutionAlert.Severity.ERROR,
                         String.format(AlertMessages.SRC_SCREENER_FMT, screenerConfig.getName()),
@@ -177,7 +195,8 @@ public class ScreenerExecutionService {
             }
 
             // Save screener result
-            long screenerExecutionTime = System.currentTimeMillis() - screenerStartTime;
+            // Fused screeners are charged the whole shared pass
+            long screenerExecutionTime = System.currentTimeMillis() - screenerStartTime + (fused != null ? fusedPassTime : 0);
             ScreenerExecutionResult scrResult = ScreenerExecutionResult.builder()
                     .screenerId(screenerConfig.getName())
                     .screenerName(screenerConfig.getName())
@@ -201,6 +220,95 @@ public class ScreenerExecutionService {
         }
     }
 
+    /**
+     * Routes a screener to the screener implementation of its type.
+     */
+    private List<TechnicalScreener.ScreeningResult> runScreener(ScreenerConfig screenerConfig, List<String> securitiesToScan,
+            BiConsumer<String, String> alertCallback) {
+        return switch (screenerConfig.getScreenerType()) {
+            case PRICE_DROP -> {
+                TechFilterConditions cond = screenerConfig.getConditions();
+                List<com.hemasundar.technical.MathExpression> dropRules = extractDropExpressions(cond, 5.0);
+                int days = cond.getLookbackDays() != null ? cond.getLookbackDays() : 0;
+                yield priceDropScreener.screenPriceDrop(securitiesToScan, dropRules, days, alertCallback);
+            }
+            case HIGH_52W_DROP -> {
+                TechFilterConditions cond = screenerConfig.getConditions();
+                List<com.hemasundar.technical.MathExpression> dropRules = extractDropExpressions(cond, 20.0);
+                yield priceDropScreener.screen52WeekHighDrop(securitiesToScan, dropRules, alertCallback);
+            }
+            default -> technicalScreener.screenStocks(
+                    securitiesToScan,
+                    screenerConfig.getFilterChain(),
+                    screenerConfig.getFundamentalConditions(),
+                    alertCallback);
+        };
+    }
+
+    /**
+     * Screens the selected screeners in one pass each for technical and price-drop types:
+     * technical screeners through {@link TechnicalScreener#screenStocksFused} (candles, quote
+     * and the union of their indicators computed once per symbol), price-drop screeners
+     * through one {@link PriceDropScreener#screenDrops} call. A type with a single screener
+     * is left to its own run, as is everything after the pass fails.
+     *
+     * @return the results of the fused screeners, by identity
+     */
+    private Map<ScreenerConfig, List<TechnicalScreener.ScreeningResult>> runFusedPass(List<ScreenerConfig> screeners) {
+        List<ScreenerConfig> technical = new ArrayList<>();
+        List<ScreenerConfig> drops = new ArrayList<>();
+        for (ScreenerConfig screener : screeners) {
+            if (CollectionUtils.isEmpty(screener.getSecurities())) {
+                continue;
+            }
+            switch (screener.getScreenerType()) {
+                case PRICE_DROP, HIGH_52W_DROP -> drops.add(screener);
+                default -> technical.add(screener);
+            }
+        }
+
+        BiConsumer<String, String> alertCallback = (sourceContext, errorMsg) -> {
+            if (strategyExecutionService != null) {
+                strategyExecutionService.addAlert(ExecutionAlert.Severity.ERROR,
+                        String.format("Screener fused pass (%s)", sourceContext), errorMsg);
+            }
+        };
+        Map<ScreenerConfig, List<TechnicalScreener.ScreeningResult>> results = new IdentityHashMap<>();
+        try {
+            if (technical.size() > 1) {
+                List<List<TechnicalScreener.ScreeningResult>> matches = technicalScreener.screenStocksFused(
+                        technical.stream().map(s -> new TechnicalScreener.ScreenRequest(
+                                s.getSecurities(), s.getFilterChain(), s.getFundamentalConditions())).toList(),
+                        alertCallback);
+                for (int i = 0; i < technical.size(); i++) {
+                    results.put(technical.get(i), matches.get(i));
+                }
+            }
+            if (drops.size() > 1) {
+                List<PriceDropScreener.DropScan> scans = drops.stream().map(this::dropScan).toList();
+                List<String> universe = drops.stream().flatMap(s -> s.getSecurities().stream()).distinct().toList();
+                List<List<TechnicalScreener.ScreeningResult>> matches = priceDropScreener.screenDrops(universe, scans, alertCallback);
+                for (int i = 0; i < drops.size(); i++) {
+                    // The drop pass runs over the union; keep each screener to its own securities
+                    Set<String> securities = new HashSet<>(drops.get(i).getSecurities());
+                    results.put(drops.get(i), matches.get(i).stream().filter(r -> securities.contains(r.getSymbol())).toList());
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Fused screener pass failed, running the remaining screeners one by one: {}", e.getMessage());
+        }
+        return results;
+    }
+
+    private PriceDropScreener.DropScan dropScan(ScreenerConfig screener) {
+        TechFilterConditions cond = screener.getConditions();
+        if (screener.getScreenerType() == ScreenerType.HIGH_52W_DROP) {
+            return PriceDropScreener.DropScan.of(PriceDropScreener.DropScan.HIGH_52W, extractDropExpressions(cond, 20.0));
+        }
+        int days = cond.getLookbackDays() != null ? cond.getLookbackDays() : 0;
+        return PriceDropScreener.DropScan.of(Math.max(PriceDropScreener.DropScan.INTRADAY, days), extractDropExpressions(cond, 5.0));
+    }
+
     /**
      * Extracts DROP_PCT math expressions from the conditions, falling back to a
      * default threshold expression when none are configured.
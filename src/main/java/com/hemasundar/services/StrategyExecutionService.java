@@ -2,6 +2,8 @@ package com.hemasundar.services;
 
 import com.hemasundar.apis.FinnHubAPIs;
 import com.hemasundar.apis.ThinkOrSwimAPIs;
+import com.hemasundar.cache.CachePolicy;
+import com.hemasundar.cache.PriceHistoryCache;
 import com.hemasundar.config.StrategiesConfigLoader;
 import com.hemasundar.dto.*;
 import com.hemasundar.options.models.OptionChainResponse;
@@ -9,25 +11,34 @@ import com.hemasundar.options.models.OptionsConfig;
 import com.hemasundar.options.models.OptionsStrategyFilter;
 import com.hemasundar.options.models.TradeSetup;
 import com.hemasundar.options.strategies.AbstractTradingStrategy;
+import com.hemasundar.options.strategies.FilterStage;
+import com.hemasundar.options.strategies.SearchBudget;
+import com.hemasundar.options.strategies.StrategyType;
+import com.hemasundar.technical.TechnicalFilterChain;
 import com.hemasundar.technical.TechnicalScreener;
 import com.hemasundar.utils.FilePaths;
 import com.hemasundar.utils.OptionChainCache;
+import com.hemasundar.utils.OptionChainSnapshotStore;
 import com.hemasundar.utils.SchwabApiExecutor;
 import com.hemasundar.utils.SecuritiesResolver;
 import com.hemasundar.utils.TelegramUtils;
 import com.hemasundar.utils.VolatilityCalculator;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationEventPublisher;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
 
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiConsumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -50,75 +61,200 @@ public class StrategyExecutionService {
     private final SchwabApiExecutor schwabApiExecutor;
     private final TechnicalIndicatorPreCalculationService technicalIndicatorPreCalculationService;
     private final ApplicationEventPublisher eventPublisher;
+    private final OptionChainSnapshotStore optionChainSnapshotStore;
+    private final ScanFunnelService scanFunnelService;
+
+    /** Heap budget for the per-run option chain cache in MB (0 = unbounded). */
+    @Value("${cache.option-chain.max-mb:0}")
+    private long optionChainCacheMaxMb;
+
+    /** Minutes a chain stays fresh in the per-run option chain cache (0 = for the whole run). */
+    @Value("${cache.option-chain.ttl-minutes:0}")
+    private long optionChainTtlMinutes;
+
+    /** Minutes the stage outputs of a custom run are reused by later custom runs (0 = never). */
+    @Value("${custom.memo.ttl-minutes:10}")
+    private long customMemoTtlMinutes;
+
+    /** Expiries whose generated candidates are kept for custom reruns. */
+    @Value("${custom.memo.max-candidate-sets:2000}")
+    private int customMemoMaxCandidateSets;
+
+    /** Default search budgets of a strategy run and each of its symbols, when the filter sets none (0 = unlimited). */
+    @Value("${strategy.budget.max-candidates-per-symbol:0}")
+    private int budgetMaxCandidatesPerSymbol;
+
+    @Value("${strategy.budget.max-millis-per-symbol:0}")
+    private long budgetMaxMillisPerSymbol;
+
+    @Value("${strategy.budget.max-candidates-per-strategy:0}")
+    private int budgetMaxCandidatesPerStrategy;
+
+    @Value("${strategy.budget.max-millis-per-strategy:0}")
+    private long budgetMaxMillisPerStrategy;
+
+    /** Search the shared symbols of a run's same-type strategies once for all of them. */
+    @Value("${strategy.group-same-type.enabled:true}")
+    private boolean groupSameType = true;
+
+    /** Maximum number of executions allowed to run at the same time (0 = unlimited). */
+    @Value("${execution.max-concurrent:1}")
+    private int maxConcurrentExecutions;
+
+    /** Number of finished executions whose filter logs stay available by execution id. */
+    private static final int RECENT_EXECUTIONS_KEPT = 10;
 
     // Execution state tracking (visible across page refreshes)
-    private final AtomicBoolean executionRunning = new AtomicBoolean(false);
-    private final AtomicBoolean cancellationRequested = new AtomicBoolean(false);
-    private final AtomicReference<String> currentExecutionTask = new AtomicReference<>("");
+    private final Map<String, ExecutionContext> activeExecutions = new ConcurrentHashMap<>();
+    private final Map<String, ExecutionContext> recentExecutions = Collections.synchronizedMap(
+            new LinkedHashMap<>() {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, ExecutionContext> eldest) {
+                    return size() > RECENT_EXECUTIONS_KEPT && !activeExecutions.containsKey(eldest.getKey());
+                }
+            });
+    private final AtomicReference<ExecutionContext> latestExecution = new AtomicReference<>();
+
+    /** Outcome of the latest parameter sweep, served after it ran in the background. */
+    private final AtomicReference<SweepReport> latestSweep = new AtomicReference<>();
+
+    /** Stage outputs of recent custom runs; created on first use, after the settings are injected. */
+    private CustomExecutionMemo customMemo;
+
+    /** Guards the capacity check and registration of a new execution. */
+    private final Object admissionLock = new Object();
+
+    public boolean isExecutionRunning() {
+        return !activeExecutions.isEmpty();
+    }
 
     /**
-     * Ordered alert groups keyed by (severity:message) — deduplicates same-message
-     * alerts across symbols.
-     */
-    private final Map<String, AlertGroup> alertGroups = new LinkedHashMap<>();
-    private volatile long executionStartTimeMs;
-    /**
-     * Set to true on the first auth failure; stops processing further
-     * symbols/strategies.
+     * Returns true if another execution may start without exceeding
+     * {@code execution.max-concurrent}.
      */
-    private final AtomicBoolean authFailed = new AtomicBoolean(false);
+    public boolean canStartExecution() {
+        return maxConcurrentExecutions <= 0 || activeExecutions.size() < maxConcurrentExecutions;
+    }
 
-    public boolean isExecutionRunning() {
-        return executionRunning.get();
+    /** Returns the running executions, oldest first. */
+    public List<ExecutionContext> getActiveExecutions() {
+        return activeExecutions.values().stream()
+                .sorted(Comparator.comparingLong(ExecutionContext::getStartTimeMs))
+                .collect(Collectors.toList());
     }
 
+    /**
+     * Start time of the execution on the calling thread, else of the oldest running one (0 if idle).
+     */
     public long getExecutionStartTimeMs() {
-        return executionStartTimeMs;
+        ExecutionContext context = currentOrOldestExecution();
+        return context != null ? context.getStartTimeMs() : 0L;
     }
 
+    /**
+     * Progress task of the execution on the calling thread, else of the oldest running one.
+     */
     public String getCurrentExecutionTask() {
-        return currentExecutionTask.get();
+        ExecutionContext context = currentOrOldestExecution();
+        return context != null ? context.getCurrentTask() : "";
     }
 
     public void setCurrentExecutionTask(String task) {
-        currentExecutionTask.set(task);
+        ExecutionContext context = currentExecution();
+        if (context != null) {
+            context.setCurrentTask(task);
+        }
     }
 
-    public void startGlobalExecution(String initialTask) {
-        executionRunning.set(true);
-        cancellationRequested.set(false);
-        synchronized (alertGroups) {
-            alertGroups.clear();
-        } // Clear prior alerts on new execution
-        authFailed.set(false);
-        FilterLogStore.getInstance().clear(); // Reset filter logs for fresh execution
-        executionStartTimeMs = System.currentTimeMillis();
-        currentExecutionTask.set(initialTask);
+    /**
+     * Registers a new execution and binds its {@link ExecutionContext} to the calling thread.
+     * Must be paired with {@link #finishGlobalExecution()} on the same thread. Does not check
+     * {@code execution.max-concurrent}; request-driven runs go through {@link #submitExecution}.
+     */
+    public ExecutionContext startGlobalExecution(String initialTask) {
+        ExecutionContext context = registerExecution(initialTask, false);
+        context.bind();
+        return context;
     }
 
+    /**
+     * Admits a new execution if fewer than {@code execution.max-concurrent} are running and
+     * runs {@code task} asynchronously with its context bound. The capacity check and the
+     * registration happen under one lock, so two requests can never both take the last slot.
+     *
+     * @return false if the execution was not admitted
+     */
+    public boolean submitExecution(String initialTask, Runnable task) {
+        ExecutionContext context = registerExecution(initialTask, true);
+        if (context == null) {
+            return false;
+        }
+        CompletableFuture.runAsync(() -> {
+            context.bind();
+            try {
+                task.run();
+            } finally {
+                finishGlobalExecution();
+            }
+        });
+        return true;
+    }
+
+    private ExecutionContext registerExecution(String initialTask, boolean enforceLimit) {
+        synchronized (admissionLock) {
+            if (enforceLimit && !canStartExecution()) {
+                return null;
+            }
+            if (activeExecutions.isEmpty()) {
+                ExecutionContext.detached().getAlerts().clear(); // Clear stray alerts when nothing else is running
+            }
+            ExecutionContext context = new ExecutionContext(initialTask);
+            activeExecutions.put(context.getExecutionId(), context);
+            recentExecutions.put(context.getExecutionId(), context);
+            latestExecution.set(context);
+            log.info("Execution {} started ({} running)", context.getExecutionId(), activeExecutions.size());
+            return context;
+        }
+    }
+
+    /**
+     * Unregisters the execution bound to the calling thread.
+     */
     public void finishGlobalExecution() {
-        executionRunning.set(false);
-        cancellationRequested.set(false);
-        currentExecutionTask.set("");
+        ExecutionContext context = ExecutionContext.bound();
+        if (context != null) {
+            activeExecutions.remove(context.getExecutionId());
+            context.unbind();
+        }
+    }
+
+    /**
+     * Returns the execution bound to the calling thread if it is still running on this service.
+     */
+    private ExecutionContext currentExecution() {
+        ExecutionContext context = ExecutionContext.bound();
+        return context != null && activeExecutions.get(context.getExecutionId()) == context ? context : null;
+    }
+
+    private ExecutionContext currentOrOldestExecution() {
+        ExecutionContext context = currentExecution();
+        if (context != null) {
+            return context;
+        }
+        List<ExecutionContext> active = getActiveExecutions();
+        return active.isEmpty() ? null : active.get(0);
     }
 
     // ── Alert Management ──
 
     /**
-     * Adds an alert, deduplicating by (severity + message).
+     * Adds an alert to the execution running on the calling thread (outside of a run, to the
+     * detached context), deduplicating by (severity + message).
      * Multiple symbols with the same error are merged into one alert,
      * showing sources as "A, B, C (+N more)" for readability.
      */
     public void addAlert(ExecutionAlert.Severity severity, String source, String message) {
-        String key = severity.name() + ":" + message;
-        synchronized (alertGroups) {
-            AlertGroup group = alertGroups.get(key);
-            if (group == null) {
-                alertGroups.put(key, new AlertGroup(severity, message, source));
-            } else {
-                group.addSource(source);
-            }
-        }
+        ExecutionContext.current().getAlerts().add(severity, source, message);
         if (severity == ExecutionAlert.Severity.ERROR) {
             log.error("[ALERT][ERROR] {}: {}", source, message);
         } else {
@@ -126,32 +262,65 @@ public class StrategyExecutionService {
         }
     }
 
-    /** Returns an unmodifiable snapshot of deduplicated alerts. */
+    /**
+     * Returns the alerts of the execution running on the calling thread. Elsewhere (e.g. the
+     * status endpoint) returns those of every running execution, the most recently started
+     * one and alerts raised outside of a run.
+     */
     public List<ExecutionAlert> getAlerts() {
-        synchronized (alertGroups) {
-            return alertGroups.values().stream()
-                    .map(AlertGroup::toAlert)
-                    .collect(Collectors.toList());
+        ExecutionContext context = currentExecution();
+        if (context != null) {
+            return context.getAlerts().getAlerts();
         }
+        return visibleAlertContexts().stream()
+                .flatMap(visible -> visible.getAlerts().getAlerts().stream())
+                .collect(Collectors.toList());
     }
 
-    /** Clears all captured alerts and resets the auth-fail flag. */
+    /** Clears the alerts returned by {@link #getAlerts()} and resets the auth-fail flag of running executions. */
     public void clearAlerts() {
-        synchronized (alertGroups) {
-            alertGroups.clear();
+        visibleAlertContexts().forEach(context -> context.getAlerts().clear());
+        activeExecutions.values().forEach(context -> context.setAuthFailed(false));
+    }
+
+    private List<ExecutionContext> visibleAlertContexts() {
+        List<ExecutionContext> contexts = new ArrayList<>();
+        contexts.add(ExecutionContext.detached());
+        ExecutionContext latest = latestExecution.get();
+        if (latest != null && !activeExecutions.containsKey(latest.getExecutionId())) {
+            contexts.add(latest);
         }
-        authFailed.set(false);
+        contexts.addAll(getActiveExecutions());
+        return contexts;
     }
 
+    /** Requests cancellation of every running execution. */
     public void cancelExecution() {
-        if (executionRunning.get()) {
-            cancellationRequested.set(true);
-            log.info("Cancellation requested for ongoing execution");
+        activeExecutions.values().forEach(context -> {
+            context.requestCancellation();
+            log.info("Cancellation requested for execution {}", context.getExecutionId());
+        });
+    }
+
+    /**
+     * Requests cancellation of one running execution.
+     *
+     * @return false if no execution with that id is running
+     */
+    public boolean cancelExecution(String executionId) {
+        ExecutionContext context = activeExecutions.get(executionId);
+        if (context == null) {
+            return false;
         }
+        context.requestCancellation();
+        log.info("Cancellation requested for execution {}", executionId);
+        return true;
     }
 
+    /** Returns true if the execution running on the calling thread has been cancelled. */
     public boolean isCancellationRequested() {
-        return cancellationRequested.get();
+        ExecutionContext context = currentExecution();
+        return context != null && context.isCancellationRequested();
     }
 
     /**
@@ -174,9 +343,26 @@ public class StrategyExecutionService {
      * @return ExecutionResult containing results from all executed strategies
      */
     public ExecutionResult executeStrategies(Set<Integer> strategyIndices) throws IOException {
-        // The lock is now managed by the controller (via startGlobalExecution) to allow
-        // chained screener execution.
-        long startTime = executionStartTimeMs > 0 ? executionStartTimeMs : System.currentTimeMillis();
+        return executeStrategies(strategyIndices, false);
+    }
+
+    /**
+     * Executes selected strategies.
+     *
+     * @param strategyIndices Set of strategy indices to execute (0-based)
+     * @param prewarmed       {@code true} when {@link PrewarmPlanner} has already loaded the quotes,
+     *                        price history and indicators, so the run skips its own pre-warm
+     * @return ExecutionResult containing results from all executed strategies
+     */
+    public ExecutionResult executeStrategies(Set<Integer> strategyIndices, boolean prewarmed) throws IOException {
+        // The execution is normally started by the controller (via startGlobalExecution) to
+        // allow chained screener execution; scheduled jobs call in without one.
+        ExecutionContext context = currentExecution();
+        boolean ownsContext = context == null;
+        if (ownsContext) {
+            context = startGlobalExecution("Scheduled execution");
+        }
+        long startTime = context.getStartTimeMs();
         String executionId = "exec_" + startTime;
 
         try {
@@ -204,9 +390,13 @@ public class StrategyExecutionService {
             }
 
             // Shared cache for option chains
-            OptionChainCache cache = new OptionChainCache(ThinkOrSwimAPIs);
+            OptionChainCache cache = newOptionChainCache(selectedStrategies);
 
             // ── Parallel Cache Pre-warm (Track A) ──
+            // Skipped with the scan funnel: each strategy then fetches quotes in batches,
+            // history for quote survivors and chains for its final survivors only
+            boolean funnel = scanFunnelService.isEnabled();
+
             // Option chain pre-warming for strategies without technical filter (strategies with technical filters
             // defer option chain fetching to the screened survivor set)
             List<String> optionChainSymbolsToPrewarm = selectedStrategies.stream()
@@ -215,7 +405,7 @@ public class StrategyExecutionService {
                     .distinct()
                     .collect(Collectors.toList());
 
-            if (!optionChainSymbolsToPrewarm.isEmpty()) {
+            if (!funnel && !optionChainSymbolsToPrewarm.isEmpty()) {
                 log.info("Pre-warming option chain cache for {} unique symbols across {} strategies",
                         optionChainSymbolsToPrewarm.size(), selectedStrategies.size());
                 cache.prewarm(optionChainSymbolsToPrewarm, schwabApiExecutor);
@@ -227,7 +417,7 @@ public class StrategyExecutionService {
                     .distinct()
                     .collect(Collectors.toList());
 
-            if (!allSymbolsAcrossStrategies.isEmpty()) {
+            if (!funnel && !prewarmed && !allSymbolsAcrossStrategies.isEmpty()) {
                 log.info("Pre-warming quotes cache for {} unique symbols", allSymbolsAcrossStrategies.size());
                 com.hemasundar.cache.QuotesCache.getInstance().prewarm(allSymbolsAcrossStrategies, schwabApiExecutor, 
                         symbol -> ThinkOrSwimAPIs.getQuote(symbol, null),
@@ -237,29 +427,39 @@ public class StrategyExecutionService {
                         (sourceContext, errorMsg) -> log.warn("Technical pre-calc error: {}", errorMsg));
             }
 
-            // Execute each strategy
-            List<StrategyResult> results = new ArrayList<>();
-            int totalTrades = 0;
+            // Execute each strategy; same-type strategies run together (see executeStrategyGroup)
+            StrategyResult[] resultsByIndex = new StrategyResult[selectedStrategies.size()];
+            int started = 0;
 
-            for (int i = 0; i < selectedStrategies.size(); i++) {
-                if (cancellationRequested.get()) {
-                    log.info("Execution cancelled after {}/{} strategies", i, selectedStrategies.size());
+            for (List<Integer> group : groupByStrategyType(selectedStrategies)) {
+                if (context.isCancellationRequested()) {
+                    log.info("Execution cancelled after {}/{} strategies", started, selectedStrategies.size());
                     break;
                 }
-                if (authFailed.get()) {
-                    log.warn("Auth failure — stopping after {}/{} strategies", i, selectedStrategies.size());
+                if (context.isAuthFailed()) {
+                    log.warn("Auth failure — stopping after {}/{} strategies", started, selectedStrategies.size());
                     break;
                 }
-                OptionsConfig config = selectedStrategies.get(i);
-                setCurrentExecutionTask(config.getName());
-                log.info("Executing strategy {}/{}: {}", i + 1, selectedStrategies.size(), config.getName());
-
-                StrategyResult result = executeStrategy(config, cache, false);
-
-                results.add(result);
-                totalTrades += result.getTradesFound();
+                List<OptionsConfig> configs = group.stream().map(selectedStrategies::get).toList();
+                started += configs.size();
+                if (configs.size() == 1) {
+                    OptionsConfig config = configs.get(0);
+                    setCurrentExecutionTask(config.getName());
+                    log.info("Executing strategy {}/{}: {}", started, selectedStrategies.size(), config.getName());
+                    resultsByIndex[group.get(0)] = executeStrategy(config, cache, false);
+                } else {
+                    log.info("Executing strategies {}/{} together: {}", started, selectedStrategies.size(),
+                            configs.stream().map(OptionsConfig::getName).toList());
+                    List<StrategyResult> groupResults = executeStrategyGroup(configs, cache);
+                    for (int i = 0; i < group.size(); i++) {
+                        resultsByIndex[group.get(i)] = groupResults.get(i);
+                    }
+                }
             }
 
+            List<StrategyResult> results = Arrays.stream(resultsByIndex).filter(Objects::nonNull).toList();
+            int totalTrades = results.stream().mapToInt(StrategyResult::getTradesFound).sum();
+
             // Build execution result
             ExecutionResult executionResult = ExecutionResult.builder()
                     .executionId(executionId)
@@ -287,7 +487,9 @@ public class StrategyExecutionService {
 
             return executionResult;
         } finally {
-            // Lock handled externally
+            if (ownsContext) {
+                finishGlobalExecution();
+            }
         }
     }
 
@@ -299,14 +501,31 @@ public class StrategyExecutionService {
      * @return ExecutionResult containing the single strategy's result
      */
     public ExecutionResult executeCustomStrategy(OptionsConfig config) {
-        startGlobalExecution(config.getName());
-        long startTime = executionStartTimeMs;
+        // Admitted by the controller (see submitExecution) or started here when called directly
+        ExecutionContext context = currentExecution();
+        boolean ownsExecution = context == null;
+        if (ownsExecution) {
+            context = startGlobalExecution(config.getName());
+        } else {
+            context.setCurrentTask(config.getName());
+        }
+        long startTime = context.getStartTimeMs();
         String executionId = "exec_custom_" + startTime;
 
         try {
             log.info("Starting custom execution: {}", executionId);
 
-            OptionChainCache cache = new OptionChainCache(ThinkOrSwimAPIs);
+            // Reruns restart from the earliest stage the changed parameters affect
+            CustomExecutionMemo memo = customMemo();
+            OptionChainCache cache;
+            if (memo.isEnabled()) {
+                cache = memo.chains(config.getSecurities(), String.valueOf(config.getStrategy().getStrategyType()),
+                        () -> newOptionChainCache(Collections.emptyList()));
+                cache.registerPendingUses(config.getSecurities());
+                ExecutionContext.current().setCandidateMemo(memo.candidates());
+            } else {
+                cache = newOptionChainCache(List.of(config));
+            }
 
             // ── Parallel Cache Pre-warm (Track A — Custom Execution) ──
             // For strategies that do NOT use a technical filter, we know the full
@@ -318,7 +537,8 @@ public class StrategyExecutionService {
                     ? config.getSecurities().stream().distinct().collect(Collectors.toList())
                     : Collections.emptyList();
 
-            if (!customSymbols.isEmpty()) {
+            // With the scan funnel, executeStrategy narrows the symbols before anything is fetched
+            if (!customSymbols.isEmpty() && !scanFunnelService.isEnabled()) {
                 if (!config.hasTechnicalFilter()) {
                     log.info("Pre-warming option chain cache for {} symbols (custom execution)", customSymbols.size());
                     cache.prewarm(customSymbols, schwabApiExecutor);
@@ -357,16 +577,143 @@ public class StrategyExecutionService {
 
             // Print cache statistics
             cache.printStats();
+            if (memo.isEnabled()) {
+                log.info("Custom execution memo: {} candidate sets kept, {} reused, {} generated",
+                        memo.candidates().size(), memo.candidates().getHits(), memo.candidates().getMisses());
+            }
 
             log.info("Custom Execution completed: {} total trades, {}ms",
                     executionResult.getTotalTradesFound(), executionResult.getTotalExecutionTimeMs());
 
             return executionResult;
         } finally {
-            finishGlobalExecution();
+            if (ownsExecution) {
+                finishGlobalExecution();
+            }
+        }
+    }
+
+    /**
+     * Runs one strategy over {@code symbols} with several filter variants, e.g. a parameter
+     * sweep over delta or credit thresholds. Each symbol's chain is fetched once and its
+     * candidates are generated once for all variants
+     * ({@link AbstractTradingStrategy#findTradesForFilters}); each variant then applies its own
+     * filters. Variants are logged to the filter log as "{@code name} #n". With a
+     * {@code technicalFilterChain}, only the symbols passing it are searched. The search budget
+     * is the loosest of the variants'. Nothing is sent to Telegram or saved.
+     *
+     * @param technicalFilterChain technical screen shared by all variants, or null
+     * @return the sweep's outcome, with one result per variant in the order of {@code variants}
+     */
+    public SweepReport executeSweep(AbstractTradingStrategy strategy, String name, List<String> symbols,
+                                    List<OptionsStrategyFilter> variants, int tradesPerVariant,
+                                    TechnicalFilterChain technicalFilterChain) {
+        // Admitted by the controller (see submitExecution) or started here when called directly
+        ExecutionContext context = currentExecution();
+        boolean ownsExecution = context == null;
+        if (ownsExecution) {
+            context = startGlobalExecution("Parameter sweep: " + name);
+        } else {
+            context.setCurrentTask("Parameter sweep: " + name);
+        }
+        long startTime = System.currentTimeMillis();
+        try {
+            log.info("Starting parameter sweep {}: {} variants over {} symbols", name, variants.size(), symbols.size());
+            for (int i = 0; i < variants.size(); i++) {
+                variants.get(i).setStrategyId(name + " #" + (i + 1));
+            }
+            context.setStrategyBudget(SearchBudget.forStrategy(variants, searchBudgetDefaults()));
+
+            List<String> universe = symbols;
+            if (technicalFilterChain != null) {
+                BiConsumer<String, String> alertCallback = (symbol, errorMsg) -> addAlert(ExecutionAlert.Severity.ERROR,
+                        String.format("Technical Filter: %s (%s)", name, symbol),
+                        String.format(AlertMessages.SYMBOL_PROCESSING_FAILED_FMT, errorMsg));
+                symbols = technicalScreener.screenStocks(symbols, technicalFilterChain, alertCallback).stream()
+                        .map(TechnicalScreener.ScreeningResult::getSymbol)
+                        .toList();
+                log.info("Parameter sweep {}: {} of {} symbols match the technical filter", name, symbols.size(), universe.size());
+            }
+
+            OptionChainCache cache = newOptionChainCache(Collections.emptyList());
+            cache.prewarm(symbols, schwabApiExecutor);
+
+            List<List<Map.Entry<String, TradeSetup>>> tradesByVariant = new ArrayList<>();
+            variants.forEach(v -> tradesByVariant.add(new ArrayList<>()));
+            for (String symbol : symbols) {
+                if (context.isCancellationRequested() || context.isAuthFailed()) {
+                    break;
+                }
+                cache.pin(symbol);
+                try {
+                    List<List<TradeSetup>> trades = strategy.findTradesForFilters(cache.get(symbol), variants);
+                    for (int i = 0; i < trades.size(); i++) {
+                        for (TradeSetup setup : trades.get(i)) {
+                            tradesByVariant.get(i).add(Map.entry(symbol, setup));
+                        }
+                    }
+                } catch (Exception e) {
+                    log.error("Error processing {}: {}", symbol, e.getMessage());
+                    String source = String.format(AlertMessages.SRC_STRATEGY_SYMBOL_FMT, name, symbol);
+                    if (isAuthError(e)) {
+                        context.setAuthFailed(true);
+                        addAlert(ExecutionAlert.Severity.ERROR, source, AlertMessages.AUTH_FAILED);
+                    } else {
+                        addAlert(ExecutionAlert.Severity.ERROR, source,
+                                String.format(AlertMessages.SYMBOL_PROCESSING_FAILED_FMT, e.getMessage()));
+                    }
+                } finally {
+                    cache.unpin(symbol);
+                }
+            }
+
+            List<SweepResult> results = new ArrayList<>();
+            for (int i = 0; i < variants.size(); i++) {
+                List<Map.Entry<String, TradeSetup>> trades = tradesByVariant.get(i);
+                List<Trade> topTrades = trades.stream()
+                        .sorted((t1, t2) -> Double.compare(t2.getValue().getReturnOnRisk(), t1.getValue().getReturnOnRisk()))
+                        .limit(tradesPerVariant)
+                        .map(t -> Trade.fromTradeSetup(t.getValue(), t.getKey()))
+                        .toList();
+                results.add(SweepResult.builder()
+                        .variantIndex(i)
+                        .strategyId(variants.get(i).getStrategyId())
+                        .tradesFound(trades.size())
+                        .symbolsWithTrades((int) trades.stream().map(Map.Entry::getKey).distinct().count())
+                        .topTrades(topTrades)
+                        .build());
+            }
+            cache.printStats();
+            context.setStrategyBudget(null);
+            long executionTime = System.currentTimeMillis() - startTime;
+            log.info("Parameter sweep {} completed in {}ms", name, executionTime);
+            return SweepReport.builder()
+                    .name(name)
+                    .strategyType(strategy.getStrategyType() != null ? strategy.getStrategyType().name() : null)
+                    .symbols(universe.size())
+                    .screenedSymbols(symbols.size())
+                    .completedAt(LocalDateTime.now())
+                    .executionTimeMs(executionTime)
+                    .results(results)
+                    .build();
+        } finally {
+            if (ownsExecution) {
+                finishGlobalExecution();
+            }
         }
     }
 
+    /**
+     * @return the outcome of the latest finished parameter sweep, if any
+     */
+    public Optional<SweepReport> getLatestSweep() {
+        return Optional.ofNullable(latestSweep.get());
+    }
+
+    public void setLatestSweep(SweepReport report) {
+        latestSweep.set(report);
+    }
+
     /**
      * Retrieves the most recent custom execution results from Supabase.
      *
@@ -377,13 +724,125 @@ public class StrategyExecutionService {
         return supabaseService.getRecentCustomExecutions(limit);
     }
 
+    private synchronized CustomExecutionMemo customMemo() {
+        if (customMemo == null) {
+            customMemo = new CustomExecutionMemo(customMemoTtlMinutes, customMemoMaxCandidateSets);
+            customMemo.startEviction();
+        }
+        return customMemo;
+    }
+
+    private SearchBudget.Defaults searchBudgetDefaults() {
+        return new SearchBudget.Defaults(budgetMaxCandidatesPerSymbol, budgetMaxMillisPerSymbol,
+                budgetMaxCandidatesPerStrategy, budgetMaxMillisPerStrategy);
+    }
+
+    /**
+     * Creates the per-run option chain cache, bounded by {@code cache.option-chain.max-mb},
+     * expiring chains after {@code cache.option-chain.ttl-minutes} and told which symbols
+     * each queued strategy will read.
+     */
+    private OptionChainCache newOptionChainCache(List<OptionsConfig> configs) {
+        OptionChainCache cache = new OptionChainCache(ThinkOrSwimAPIs, optionChainSnapshotStore);
+        cache.setMemoryBudget(optionChainCacheMaxMb * 1024 * 1024);
+        if (optionChainTtlMinutes > 0) {
+            cache.setPolicy(CachePolicy.ttl(Duration.ofMinutes(optionChainTtlMinutes), Duration.ZERO));
+        }
+        configs.forEach(c -> cache.registerPendingUses(c.getSecurities()));
+        return cache;
+    }
+
     /**
      * Executes a single strategy and returns its result.
      */
     private StrategyResult executeStrategy(OptionsConfig config, OptionChainCache cache, boolean isCustomExecution) {
         long strategyStartTime = System.currentTimeMillis();
+        ScreenedSymbols screened = screenSymbols(config, cache, isCustomExecution);
+
+        // Find trades using the strategy
+        Map<String, List<TradeSetup>> allTrades = new LinkedHashMap<>();
+        if (!screened.symbols().isEmpty()) {
+            allTrades = findTradesForStrategy(cache, screened.symbols(), config);
+        }
+        cache.releasePendingUses(config.getSecurities());
+
+        return completeStrategy(config, allTrades, screened.techResults(),
+                System.currentTimeMillis() - strategyStartTime, isCustomExecution);
+    }
+
+    /**
+     * Runs several configs of one strategy type. Each config is narrowed on its own (scan
+     * funnel, technical filter); each surviving symbol is then searched once for all the
+     * configs it survived for ({@link AbstractTradingStrategy#findTradesForFilters}), under
+     * one search budget, the loosest of the configs'. Results, Telegram alerts and saves stay
+     * per config; a config's execution time is its own screening plus the shared search.
+     *
+     * @return one result per config, in the order of {@code configs}
+     */
+    private List<StrategyResult> executeStrategyGroup(List<OptionsConfig> configs, OptionChainCache cache) {
+        List<ScreenedSymbols> screened = new ArrayList<>();
+        long[] screeningMs = new long[configs.size()];
+        for (int i = 0; i < configs.size(); i++) {
+            setCurrentExecutionTask(configs.get(i).getName());
+            long start = System.currentTimeMillis();
+            screened.add(screenSymbols(configs.get(i), cache, false));
+            screeningMs[i] = System.currentTimeMillis() - start;
+        }
+
+        setCurrentExecutionTask(configs.get(0).getStrategy().getStrategyType().getDisplayName()
+                + " (" + configs.size() + " strategies)");
+        long searchStart = System.currentTimeMillis();
+        List<Map<String, List<TradeSetup>>> trades = findTradesForStrategyGroup(cache, configs, screened);
+        long searchMs = System.currentTimeMillis() - searchStart;
+
+        List<StrategyResult> results = new ArrayList<>();
+        for (int i = 0; i < configs.size(); i++) {
+            cache.releasePendingUses(configs.get(i).getSecurities());
+            results.add(completeStrategy(configs.get(i), trades.get(i), screened.get(i).techResults(),
+                    screeningMs[i] + searchMs, false));
+        }
+        return results;
+    }
 
+    /**
+     * Indices of {@code configs} grouped by strategy type, in order of first appearance.
+     * Configs without a filter, and every config when {@code strategy.group-same-type.enabled}
+     * is off, form a group of their own.
+     */
+    private List<List<Integer>> groupByStrategyType(List<OptionsConfig> configs) {
+        // Keyed by strategy type, or by index for a config that runs alone
+        Map<Object, List<Integer>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < configs.size(); i++) {
+            OptionsConfig config = configs.get(i);
+            StrategyType type = config.getStrategy() != null ? config.getStrategy().getStrategyType() : null;
+            Object key = groupSameType && type != null && config.getFilter() != null ? type : i;
+            groups.computeIfAbsent(key, k -> new ArrayList<>()).add(i);
+        }
+        return new ArrayList<>(groups.values());
+    }
+
+    /**
+     * Symbols of a config left after the scan funnel and technical filter, with the technical
+     * screening result of each.
+     */
+    private record ScreenedSymbols(List<String> symbols, Map<String, TechnicalScreener.ScreeningResult> techResults) {
+    }
+
+    /**
+     * Narrows a config's securities by the scan funnel and its technical filter, fetching
+     * the option chains of the survivors.
+     */
+    private ScreenedSymbols screenSymbols(OptionsConfig config, OptionChainCache cache, boolean isCustomExecution) {
         List<String> securities = config.getSecurities();
+        boolean funnel = scanFunnelService.isEnabled() && securities != null && !securities.isEmpty();
+        String funnelName = config.getStrategyId();
+        BiConsumer<String, String> funnelAlertCallback = (source, errorMsg) -> addAlert(ExecutionAlert.Severity.WARNING,
+                String.format("Scan Funnel: %s (%s)", config.getName(), source), errorMsg);
+
+        // ── Scan funnel tier 1: batched quotes ──
+        if (funnel) {
+            securities = scanFunnelService.quoteTier(funnelName, config.getFilter(), securities, funnelAlertCallback);
+        }
 
         Map<String, TechnicalScreener.ScreeningResult> techResultsMap = new HashMap<>();
 
@@ -395,8 +854,23 @@ public class StrategyExecutionService {
                         String.format(AlertMessages.SYMBOL_PROCESSING_FAILED_FMT, errorMsg));
             };
 
-            List<TechnicalScreener.ScreeningResult> screeningResults = technicalScreener.screenStocks(
-                    securities, config.getTechnicalFilterChain(), alertCallback);
+            // ── Scan funnel tier 2: daily history for the quote survivors only ──
+            long technicalStart = System.nanoTime();
+            int historyRequests = 0;
+            if (funnel) {
+                historyRequests = (int) securities.stream().filter(s -> !PriceHistoryCache.getInstance().isCached(s)).count();
+                technicalIndicatorPreCalculationService.preCalculateAll(securities,
+                        (sourceContext, errorMsg) -> log.warn("Technical pre-calc error: {}", errorMsg));
+            }
+            int screened = securities.size();
+
+            List<String> screenedSecurities = securities;
+            Supplier<List<TechnicalScreener.ScreeningResult>> screen = () -> technicalScreener.screenStocks(
+                    screenedSecurities, config.getTechnicalFilterChain(), alertCallback);
+            CustomExecutionMemo memo = isCustomExecution ? customMemo() : null;
+            List<TechnicalScreener.ScreeningResult> screeningResults = memo != null && memo.isEnabled()
+                    ? memo.screen(securities, config.getFilter() != null ? config.getFilter().getTechnicalFilters() : null, screen)
+                    : screen.get();
             
             for (TechnicalScreener.ScreeningResult sr : screeningResults) {
                 techResultsMap.put(sr.getSymbol(), sr);
@@ -407,25 +881,34 @@ public class StrategyExecutionService {
                     .collect(Collectors.toList());
             log.info("[{}] Found {} stocks matching technical criteria: {}",
                     config.getName(), securities.size(), securities);
+            if (funnel) {
+                scanFunnelService.record(funnelName, FilterStage.TECHNICAL_TIER, screened, securities.size(),
+                        historyRequests, technicalStart);
+            }
 
             // Pre-warm option chain cache in parallel for surviving symbols
-            if (!securities.isEmpty()) {
+            if (!funnel && !securities.isEmpty()) {
                 log.info("[{}] Pre-warming option chain cache for {} technical filter survivors",
                         config.getName(), securities.size());
                 cache.prewarm(securities, schwabApiExecutor);
             }
         }
 
-        // Find trades using the strategy
-        Map<String, List<TradeSetup>> allTrades = new LinkedHashMap<>();
-
-        if (!securities.isEmpty()) {
-            allTrades = findTradesForStrategy(cache, securities, config);
+        // ── Scan funnel tiers 3-5: IV rank, expiration coverage, then the option chains ──
+        if (funnel) {
+            securities = scanFunnelService.ivRankTier(funnelName, config.getStrategy(), config.getFilter(), securities);
+            securities = scanFunnelService.expirationTier(funnelName, config.getFilter(), securities, cache,
+                    funnelAlertCallback);
+            scanFunnelService.optionChainTier(funnelName, securities, cache);
         }
+        return new ScreenedSymbols(securities, techResultsMap);
+    }
 
-        // Build StrategyResult from trades map (uses shared Trade.fromTradeSetup)
-        long executionTime = System.currentTimeMillis() - strategyStartTime;
-
+    /**
+     * Builds a config's result from its trades, sends it to Telegram and saves it.
+     */
+    private StrategyResult completeStrategy(OptionsConfig config, Map<String, List<TradeSetup>> allTrades,
+            Map<String, TechnicalScreener.ScreeningResult> techResultsMap, long executionTime, boolean isCustomExecution) {
         // Enrich the filter with technical filter summary so it gets persisted in filterConfig JSON
         if (config.hasTechnicalFilter() && config.getFilter() != null) {
             config.getFilter().setTechnicalFilterSummary(
@@ -434,6 +917,7 @@ public class StrategyExecutionService {
                             : null);
         }
 
+        // Build StrategyResult from trades map (uses shared Trade.fromTradeSetup)
         StrategyResult result = StrategyResult.fromTrades(config.getStrategyId(), config.getName(), allTrades, executionTime,
                 config.getFilter(), config.getDescriptionFile());
 
@@ -502,67 +986,162 @@ public class StrategyExecutionService {
                 strategy.getStrategyName());
 
         Map<String, List<TradeSetup>> allTrades = new LinkedHashMap<>();
+        ExecutionContext context = ExecutionContext.current();
+
+        // Per-strategy search budget; each symbol's budget draws from it (see AbstractTradingStrategy)
+        if (config.getFilter() != null) {
+            config.getFilter().setStrategyId(config.getStrategyId());
+        }
+        SearchBudget strategyBudget = SearchBudget.forStrategy(config.getFilter(), searchBudgetDefaults());
+        context.setStrategyBudget(strategyBudget);
 
         for (String symbol : symbols) {
-            if (authFailed.get()) {
+            if (context.isAuthFailed()) {
                 log.warn("[{}] Skipping {} — auth already failed", strategy.getStrategyName(), symbol);
                 continue;
             }
+            if (strategyBudget.isExhausted()) {
+                log.info("[{}] Skipping {} — strategy search budget exhausted", strategy.getStrategyName(), symbol);
+                context.getFilterLogStore().logFilter(strategy.getStrategyName(config.getFilter()), symbol,
+                        FilterStage.SEARCH_BUDGET.displayName(), 1, 0);
+                continue;
+            }
+            cache.pin(symbol);
             try {
                 OptionChainResponse optionChainResponse = cache.get(symbol);
 
                 log.info("Processing symbol: {}", symbol);
 
-                OptionsStrategyFilter filter = config.getFilter();
-                if (filter != null) {
-                    filter.setStrategyId(config.getStrategyId());
+                List<TradeSetup> trades = strategy.findTrades(optionChainResponse, config.getFilter());
+                addTopTrades(allTrades, symbol, trades, maxTradesToSend);
+            } catch (Exception e) {
+                if (handleSymbolError(strategy.getStrategyName(), symbol, e, context)) {
+                    break; // Auth error is unrecoverable — stop processing remaining symbols
                 }
+            } finally {
+                cache.unpin(symbol);
+            }
+        }
+        context.setStrategyBudget(null);
 
-                List<TradeSetup> trades = strategy.findTrades(optionChainResponse, filter);
-
-                trades.forEach(trade -> log.info("Trade: {}", trade));
-
-                if (!trades.isEmpty()) {
-                    // Sort by Return on Risk (Descending)
-                    trades.sort((t1, t2) -> Double.compare(t2.getReturnOnRisk(), t1.getReturnOnRisk()));
+        return allTrades;
+    }
 
-                    // Limit trades for Telegram
-                    List<TradeSetup> topTrades = trades;
-                    if (trades.size() > maxTradesToSend) {
-                        topTrades = trades.subList(0, maxTradesToSend);
-                        log.info("[{}] Found {} trades, limiting to top {} for Telegram",
-                                symbol, trades.size(), maxTradesToSend);
-                    }
+    /**
+     * Finds the trades of several same-type configs, searching each symbol once for the
+     * configs whose screened symbols contain it.
+     *
+     * @return one trades map per config, in the order of {@code configs}
+     */
+    private List<Map<String, List<TradeSetup>>> findTradesForStrategyGroup(OptionChainCache cache,
+            List<OptionsConfig> configs, List<ScreenedSymbols> screened) {
+        AbstractTradingStrategy strategy = configs.get(0).getStrategy();
+        ExecutionContext context = ExecutionContext.current();
+
+        List<OptionsStrategyFilter> filters = new ArrayList<>();
+        List<Map<String, List<TradeSetup>>> allTrades = new ArrayList<>();
+        Map<String, List<Integer>> configsBySymbol = new LinkedHashMap<>();
+        for (int i = 0; i < configs.size(); i++) {
+            OptionsConfig config = configs.get(i);
+            config.getFilter().setStrategyId(config.getStrategyId());
+            filters.add(config.getFilter());
+            allTrades.add(new LinkedHashMap<>());
+            for (String symbol : screened.get(i).symbols().stream().distinct().toList()) {
+                configsBySymbol.computeIfAbsent(symbol, s -> new ArrayList<>()).add(i);
+            }
+        }
 
-                    // Group by expiry date
-                    Map<String, List<TradeSetup>> tradesByExpiry = topTrades.stream()
-                            .collect(Collectors.groupingBy(
-                                    TradeSetup::getExpiryDate,
-                                    LinkedHashMap::new,
-                                    Collectors.toList()));
+        // One budget for the shared search, the loosest of the configs'
+        SearchBudget groupBudget = SearchBudget.forStrategy(filters, searchBudgetDefaults());
+        context.setStrategyBudget(groupBudget);
 
-                    for (Map.Entry<String, List<TradeSetup>> entry : tradesByExpiry.entrySet()) {
-                        allTrades.put(symbol + "_" + entry.getKey(), entry.getValue());
-                    }
+        for (Map.Entry<String, List<Integer>> entry : configsBySymbol.entrySet()) {
+            String symbol = entry.getKey();
+            List<Integer> covering = entry.getValue();
+            if (context.isAuthFailed()) {
+                log.warn("[{}] Skipping {} — auth already failed", strategy.getStrategyName(), symbol);
+                continue;
+            }
+            if (groupBudget.isExhausted()) {
+                log.info("[{}] Skipping {} — strategy search budget exhausted", strategy.getStrategyName(), symbol);
+                for (int i : covering) {
+                    context.getFilterLogStore().logFilter(strategy.getStrategyName(filters.get(i)), symbol,
+                            FilterStage.SEARCH_BUDGET.displayName(), 1, 0);
+                }
+                continue;
+            }
+            cache.pin(symbol);
+            try {
+                List<List<TradeSetup>> trades = strategy.findTradesForFilters(cache.get(symbol),
+                        covering.stream().map(filters::get).toList());
+                for (int k = 0; k < covering.size(); k++) {
+                    int i = covering.get(k);
+                    addTopTrades(allTrades.get(i), symbol, trades.get(k), configs.get(i).getMaxTradesToSend());
                 }
             } catch (Exception e) {
-                log.error("Error processing {}: {}", symbol, e.getMessage());
-                String source = String.format(AlertMessages.SRC_STRATEGY_SYMBOL_FMT, strategy.getStrategyName(),
-                        symbol);
-                if (isAuthError(e)) {
-                    authFailed.set(true);
-                    addAlert(ExecutionAlert.Severity.ERROR, source, AlertMessages.AUTH_FAILED);
-                    break; // Auth error is unrecoverable — stop processing remaining symbols
-                } else {
-                    addAlert(ExecutionAlert.Severity.ERROR, source,
-                            String.format(AlertMessages.SYMBOL_PROCESSING_FAILED_FMT, e.getMessage()));
+                if (handleSymbolError(strategy.getStrategyName(), symbol, e, context)) {
+                    break;
                 }
+            } finally {
+                cache.unpin(symbol);
             }
         }
+        context.setStrategyBudget(null);
 
         return allTrades;
     }
 
+    /**
+     * Adds the best {@code maxTradesToSend} of one symbol's trades by return on risk to
+     * {@code allTrades}, keyed by symbol and expiry.
+     */
+    private void addTopTrades(Map<String, List<TradeSetup>> allTrades, String symbol, List<TradeSetup> trades,
+                              int maxTradesToSend) {
+        trades.forEach(trade -> log.info("Trade: {}", trade));
+
+        if (!trades.isEmpty()) {
+            // Sort by Return on Risk (Descending)
+            trades.sort((t1, t2) -> Double.compare(t2.getReturnOnRisk(), t1.getReturnOnRisk()));
+
+            // Limit trades for Telegram
+            List<TradeSetup> topTrades = trades;
+            if (trades.size() > maxTradesToSend) {
+                topTrades = trades.subList(0, maxTradesToSend);
+                log.info("[{}] Found {} trades, limiting to top {} for Telegram",
+                        symbol, trades.size(), maxTradesToSend);
+            }
+
+            // Group by expiry date
+            Map<String, List<TradeSetup>> tradesByExpiry = topTrades.stream()
+                    .collect(Collectors.groupingBy(
+                            TradeSetup::getExpiryDate,
+                            LinkedHashMap::new,
+                            Collectors.toList()));
+
+            for (Map.Entry<String, List<TradeSetup>> entry : tradesByExpiry.entrySet()) {
+                allTrades.put(symbol + "_" + entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Alerts a symbol that failed to process.
+     *
+     * @return true on an auth error, after which the remaining symbols are skipped
+     */
+    private boolean handleSymbolError(String strategyName, String symbol, Exception e, ExecutionContext context) {
+        log.error("Error processing {}: {}", symbol, e.getMessage());
+        String source = String.format(AlertMessages.SRC_STRATEGY_SYMBOL_FMT, strategyName, symbol);
+        if (isAuthError(e)) {
+            context.setAuthFailed(true);
+            addAlert(ExecutionAlert.Severity.ERROR, source, AlertMessages.AUTH_FAILED);
+            return true;
+        }
+        addAlert(ExecutionAlert.Severity.ERROR, source,
+                String.format(AlertMessages.SYMBOL_PROCESSING_FAILED_FMT, e.getMessage()));
+        return false;
+    }
+
     /**
      * Retrieves the latest execution result from Supabase.
      */
@@ -605,47 +1184,6 @@ public class StrategyExecutionService {
                 lower.contains("unauthorized");
     }
 
-    // ── Private: Alert Grouping ───────────────────────────────────────────────
-
-    /**
-     * Groups multiple-source alerts under a single (severity, message) key.
-     * Displays first 3 sources; appends "(+N more)" for the rest.
-     */
-    private static final class AlertGroup {
-        private final ExecutionAlert.Severity severity;
-        private final String message;
-        private final long timestamp = System.currentTimeMillis();
-        private final List<String> sources = new ArrayList<>();
-
-        AlertGroup(ExecutionAlert.Severity severity, String message, String firstSource) {
-            this.severity = severity;
-            this.message = message;
-            this.sources.add(firstSource);
-        }
-
-        void addSource(String source) {
-            if (!sources.contains(source))
-                sources.add(source);
-        }
-
-        ExecutionAlert toAlert() {
-            int n = sources.size();
-            String combined;
-            if (n <= 3) {
-                combined = String.join(", ", sources);
-            } else {
-                combined = sources.get(0) + ", " + sources.get(1) + ", " + sources.get(2)
-                        + " (+" + (n - 3) + " more)";
-            }
-            return ExecutionAlert.builder()
-                    .severity(severity)
-                    .source(combined)
-                    .message(message)
-                    .timestamp(timestamp)
-                    .build();
-        }
-    }
-
     // ── Custom Execution CRUD ──
 
     /**
@@ -659,17 +1197,31 @@ public class StrategyExecutionService {
 
     /**
      * Returns a snapshot of all filter-stage log entries captured during the
-     * current/last execution.
+     * most recently started execution.
      */
     public List<ExecutionLogEntry> getFilterLogs() {
-        return FilterLogStore.getInstance().getEntries();
+        ExecutionContext context = latestExecution.get();
+        return context != null ? context.getFilterLogStore().getEntries() : Collections.emptyList();
     }
 
     /**
-     * Clears the in-memory filter log store (manual reset from the Logs UI page).
+     * Returns the filter-stage log entries of a running or recently finished execution.
+     *
+     * @return the entries, or an empty list if the execution id is unknown
+     */
+    public List<ExecutionLogEntry> getFilterLogs(String executionId) {
+        ExecutionContext context = recentExecutions.get(executionId);
+        return context != null ? context.getFilterLogStore().getEntries() : Collections.emptyList();
+    }
+
+    /**
+     * Clears the filter logs of the most recently started execution (manual reset from the Logs UI page).
      */
     public void clearFilterLogs() {
-        FilterLogStore.getInstance().clear();
+        ExecutionContext context = latestExecution.get();
+        if (context != null) {
+            context.getFilterLogStore().clear();
+        }
     }
 
 }
@@ -168,9 +168,10 @@ public class TechnicalIndicatorPreCalculationService {
             return;
         }
 
+        IndicatorPlan plan = IndicatorPlan.forScreen(universalIndicators, universalConditions);
         uncachedSymbols.parallelStream().forEach(symbol -> {
             try {
-                ScreeningResult result = technicalScreener.analyzeStock(symbol, universalIndicators, universalConditions);
+                ScreeningResult result = technicalScreener.analyzeStock(symbol, universalIndicators, universalConditions, plan);
                 if (result != null) {
                     TechnicalIndicatorCache.getInstance().put(symbol, result);
                 }
@@ -0,0 +1,93 @@
+package com.hemasundar.services;
+
+import com.hemasundar.cache.TechnicalIndicatorCache;
+import com.hemasundar.dto.UniverseFilterResult;
+import com.hemasundar.technical.CompiledConditions;
+import com.hemasundar.technical.IndicatorMatrix;
+import com.hemasundar.utils.MathExpressionParser;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Interactive filtering over the pre-calculated indicators of the whole universe.
+ *
+ * <p>Keeps an {@link IndicatorMatrix} built from {@link TechnicalIndicatorCache} and
+ * evaluates compiled conditions against it as column passes, so a rule set over a few
+ * thousand symbols returns in microseconds and can be re-run on every threshold change.
+ * The matrix is rebuilt when it is older than {@code screener.matrix.max-age-seconds}
+ * or the number of cached symbols changed.
+ */
+@Log4j2
+@Service
+public class UniverseFilterService {
+
+    @Value("${screener.matrix.max-age-seconds:60}")
+    private long maxAgeSeconds = 60;
+
+    private IndicatorMatrix matrix;
+    private int cachedSymbolsAtBuild;
+
+    /**
+     * Returns the current matrix, rebuilding it from the indicator cache when outdated.
+     */
+    public synchronized IndicatorMatrix currentMatrix() {
+        int cachedSymbols = TechnicalIndicatorCache.getInstance().size();
+        long ageMs = matrix == null ? Long.MAX_VALUE : System.currentTimeMillis() - matrix.getBuiltAtMs();
+        if (matrix == null || cachedSymbols != cachedSymbolsAtBuild || ageMs > maxAgeSeconds * 1000) {
+            long t0 = System.nanoTime();
+            cachedSymbolsAtBuild = cachedSymbols;
+            matrix = IndicatorMatrix.of(TechnicalIndicatorCache.getInstance().snapshot());
+            log.info("[UniverseFilterService] Built indicator matrix over {} symbols in {}µs",
+                    matrix.size(), (System.nanoTime() - t0) / 1000);
+        }
+        return matrix;
+    }
+
+    /**
+     * Evaluates {@code conditions} over the cached universe, restricted to {@code symbols}
+     * unless it is {@code null} (an empty collection matches nothing).
+     *
+     * @throws IllegalArgumentException if a condition cannot be parsed
+     */
+    public UniverseFilterResult filter(List<String> conditions, Collection<String> symbols) {
+        CompiledConditions compiled = CompiledConditions.compile(MathExpressionParser.parseRules(conditions));
+        IndicatorMatrix current = currentMatrix();
+
+        long t0 = System.nanoTime();
+        BitSet passing = current.filter(compiled);
+        BitSet universe = symbols != null ? current.rowsOf(symbols) : null;
+        if (universe != null) {
+            passing.and(universe);
+        }
+        long filterMicros = (System.nanoTime() - t0) / 1000;
+
+        int universeSize = universe != null ? universe.cardinality() : current.size();
+        Map<String, Map<String, Double>> values = new LinkedHashMap<>();
+        for (int row = passing.nextSetBit(0); row >= 0; row = passing.nextSetBit(row + 1)) {
+            Map<String, Double> rowValues = new LinkedHashMap<>();
+            for (String variable : compiled.variables()) {
+                double value = current.column(variable)[row];
+                rowValues.put(variable, Double.isNaN(value) ? null : value);
+            }
+            values.put(current.symbol(row), rowValues);
+        }
+
+        log.debug("[UniverseFilterService] {} of {} symbols match {} ({}µs)",
+                passing.cardinality(), universeSize, conditions, filterMicros);
+        return UniverseFilterResult.builder()
+                .universeSize(universeSize)
+                .matchedCount(passing.cardinality())
+                .symbols(current.symbols(passing))
+                .values(values)
+                .filterMicros(filterMicros)
+                .matrixBuiltAtMs(current.getBuiltAtMs())
+                .build();
+    }
+}
@@ -26,6 +26,21 @@ public class AverageTrueRangeFilter implements TechnicalFilter {
         return atr.getValue(series.getEndIndex()).doubleValue();
     }
 
+    /**
+     * Current ATR computed directly over the OHLC columns, without building a BarSeries.
+     */
+    public double getCurrentATR(CandleSeries candles) {
+        return IndicatorKernels.lastAtr(candles.getHigh(), candles.getLow(), candles.getClose(), period,
+                candles.lastIndex());
+    }
+
+    /**
+     * Current ATR from the streaming state of {@code state}'s symbol (O(1)).
+     */
+    public double getCurrentATR(IndicatorState state) {
+        return state.atr(period);
+    }
+
     @Override
     public boolean evaluate(BarSeries series) {
         // ATR by itself is not typically a boolean filter (it's used as a variable in formulas),
@@ -93,6 +93,60 @@ public class BollingerBandsFilter implements TechnicalFilter {
         return currentPrice <= getLowerBand(series);
     }
 
+    /**
+     * Upper band computed directly over the close column, without building a BarSeries.
+     */
+    public double getUpperBand(CandleSeries candles) {
+        return getMiddleBand(candles) + standardDeviations * lastStandardDeviation(candles);
+    }
+
+    /**
+     * Lower band computed directly over the close column, without building a BarSeries.
+     */
+    public double getLowerBand(CandleSeries candles) {
+        return getMiddleBand(candles) - standardDeviations * lastStandardDeviation(candles);
+    }
+
+    /**
+     * Middle band (SMA) computed directly over the close column.
+     */
+    public double getMiddleBand(CandleSeries candles) {
+        return IndicatorKernels.lastSma(candles.getClose(), period, candles.lastIndex());
+    }
+
+    private double lastStandardDeviation(CandleSeries candles) {
+        return IndicatorKernels.lastStandardDeviation(candles.getClose(), period, candles.lastIndex());
+    }
+
+    /**
+     * Upper band from the streaming state of {@code state}'s symbol (O(1)).
+     */
+    public double getUpperBand(IndicatorState state) {
+        return state.sma(period) + standardDeviations * state.standardDeviation(period);
+    }
+
+    /**
+     * Lower band from the streaming state of {@code state}'s symbol (O(1)).
+     */
+    public double getLowerBand(IndicatorState state) {
+        return state.sma(period) - standardDeviations * state.standardDeviation(period);
+    }
+
+    /**
+     * Middle band (SMA) from the streaming state of {@code state}'s symbol (O(1)).
+     */
+    public double getMiddleBand(IndicatorState state) {
+        return state.sma(period);
+    }
+
+    public boolean isPriceTouchingUpperBand(IndicatorState state) {
+        return state.lastClose() >= getUpperBand(state);
+    }
+
+    public boolean isPriceTouchingLowerBand(IndicatorState state) {
+        return state.lastClose() <= getLowerBand(state);
+    }
+
     @Override
     public boolean evaluate(BarSeries series) {
         // Returns true if price is touching either band
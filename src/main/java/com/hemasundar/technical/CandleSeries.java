@@ -0,0 +1,124 @@
+package com.hemasundar.technical;
+
+import com.hemasundar.pojos.PriceHistoryResponse;
+import lombok.Getter;
+import org.apache.commons.collections4.CollectionUtils;
+
+import java.util.List;
+
+/**
+ * Columnar, primitive-array view of a daily candle series.
+ *
+ * <p>Built once per symbol from a {@link PriceHistoryResponse} (see
+ * {@link com.hemasundar.cache.PriceHistoryCache.HistoricalData#getCandleSeries()})
+ * and shared read-only by every indicator, screener and the
+ * {@link com.hemasundar.utils.VolatilityCalculator}, so the boxed candle POJOs are
+ * walked exactly once per run instead of once per consumer.
+ *
+ * <p>Missing prices are stored as {@code NaN}; missing timestamps and volumes as {@code 0}.
+ * The arrays are exposed directly for speed and must not be modified.
+ */
+@Getter
+public final class CandleSeries {
+
+    private static final CandleSeries EMPTY = new CandleSeries(null, new long[0], new double[0], new double[0],
+            new double[0], new double[0], new long[0]);
+
+    private final String symbol;
+    private final long[] epochMs;
+    private final double[] open;
+    private final double[] high;
+    private final double[] low;
+    private final double[] close;
+    private final long[] volume;
+
+    private CandleSeries(String symbol, long[] epochMs, double[] open, double[] high, double[] low,
+            double[] close, long[] volume) {
+        this.symbol = symbol;
+        this.epochMs = epochMs;
+        this.open = open;
+        this.high = high;
+        this.low = low;
+        this.close = close;
+        this.volume = volume;
+    }
+
+    /**
+     * Converts the candle list of {@code response} into columns.
+     *
+     * @return the columnar series; an empty series if {@code response} has no candles
+     */
+    public static CandleSeries from(PriceHistoryResponse response) {
+        if (response == null || CollectionUtils.isEmpty(response.getCandles())) {
+            return response == null ? EMPTY : empty(response.getSymbol());
+        }
+        List<PriceHistoryResponse.CandleData> candles = response.getCandles();
+        int n = candles.size();
+        long[] epochMs = new long[n];
+        double[] open = new double[n];
+        double[] high = new double[n];
+        double[] low = new double[n];
+        double[] close = new double[n];
+        long[] volume = new long[n];
+        for (int i = 0; i < n; i++) {
+            PriceHistoryResponse.CandleData c = candles.get(i);
+            epochMs[i] = c.getDatetime() != null ? c.getDatetime() : 0L;
+            open[i] = c.getOpen() != null ? c.getOpen() : Double.NaN;
+            high[i] = c.getHigh() != null ? c.getHigh() : Double.NaN;
+            low[i] = c.getLow() != null ? c.getLow() : Double.NaN;
+            close[i] = c.getClose() != null ? c.getClose() : Double.NaN;
+            volume[i] = c.getVolume() != null ? c.getVolume() : 0L;
+        }
+        return new CandleSeries(response.getSymbol(), epochMs, open, high, low, close, volume);
+    }
+
+    private static CandleSeries empty(String symbol) {
+        return new CandleSeries(symbol, EMPTY.epochMs, EMPTY.open, EMPTY.high, EMPTY.low, EMPTY.close, EMPTY.volume);
+    }
+
+    public int size() {
+        return close.length;
+    }
+
+    public boolean isEmpty() {
+        return close.length == 0;
+    }
+
+    public int lastIndex() {
+        return close.length - 1;
+    }
+
+    public double lastClose() {
+        return close[lastIndex()];
+    }
+
+    public long lastVolume() {
+        return volume[lastIndex()];
+    }
+
+    /**
+     * Highest high over the last {@code period} bars (fewer if the series is shorter).
+     */
+    public double highestHigh(int period) {
+        int from = Math.max(0, size() - period);
+        double max = Double.NEGATIVE_INFINITY;
+        for (int i = from; i < size(); i++) {
+            if (high[i] > max) {
+                max = high[i];
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Simple average of volume over the last {@code period} bars (fewer if the series is shorter).
+     */
+    public double averageVolume(int period) {
+        int from = Math.max(0, size() - period);
+        long sum = 0L;
+        for (int i = from; i < size(); i++) {
+            sum += volume[i];
+        }
+        return (double) sum / (size() - from);
+    }
+}
@@ -0,0 +1,209 @@
+package com.hemasundar.technical;
+
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * A list of {@link MathExpression} rules compiled once into slot-indexed comparisons.
+ *
+ * <p>Compilation trims and upper-cases every variable name, parses numeric right-hand
+ * sides (pre-multiplied by their scale) and assigns each distinct variable a fixed slot.
+ * Evaluation then reads a {@code double[]} frame indexed by those slots — a handful of
+ * primitive comparisons with no parsing, string handling or map lookups:
+ * <pre>
+ * CompiledConditions rules = CompiledConditions.compile(expressions);   // at config load
+ * double[] frame = rules.newFrame();
+ * frame[rules.slot("RSI")] = rsi;
+ * boolean passes = rules.test(frame);
+ * </pre>
+ * Semantics match {@link MathExpressionEvaluator#evaluateAll}: every rule must hold, a
+ * missing value ({@code NaN} in the frame) fails its rule, and an empty list passes.
+ */
+public final class CompiledConditions {
+
+    public static final CompiledConditions EMPTY = compile(null);
+
+    /** Right-hand slot marker for constant comparisons. */
+    private static final int CONSTANT = -1;
+
+    /**
+     * One compiled rule: {@code frame[left] op frame[right] * scale}, or
+     * {@code frame[left] op constant} when {@code right} is {@link #CONSTANT}.
+     * A rule with an invalid expression ({@code operator == null}) never holds.
+     */
+    private record Rule(int left, RelationalOperator operator, int right, double constant, double scale) {
+
+        boolean test(double[] frame) {
+            if (operator == null) {
+                return false;
+            }
+            return holds(frame[left], right == CONSTANT ? constant : frame[right] * scale);
+        }
+
+        /**
+         * Tests rows {@code [from, to)} of the columns (at most 64) and returns them as bits.
+         */
+        long test(double[][] columns, int from, int to) {
+            if (operator == null) {
+                return 0;
+            }
+            double[] leftColumn = columns[left];
+            double[] rightColumn = right == CONSTANT ? null : columns[right];
+            long bits = 0;
+            for (int row = from; row < to; row++) {
+                double rightValue = rightColumn == null ? constant : rightColumn[row] * scale;
+                if (holds(leftColumn[row], rightValue)) {
+                    bits |= 1L << (row - from);
+                }
+            }
+            return bits;
+        }
+
+        private boolean holds(double leftValue, double rightValue) {
+            // NaN (missing) fails every operator, as a missing value does in MathExpression
+            return !Double.isNaN(leftValue) && !Double.isNaN(rightValue) && operator.evaluate(leftValue, rightValue);
+        }
+    }
+
+    private final Rule[] rules;
+    private final String[] variables;
+    private final Map<String, Integer> slots;
+
+    private CompiledConditions(Rule[] rules, Map<String, Integer> slots) {
+        this.rules = rules;
+        this.slots = slots;
+        this.variables = new String[slots.size()];
+        slots.forEach((name, slot) -> variables[slot] = name);
+    }
+
+    /**
+     * Compiles {@code expressions}; {@code null} or empty compiles to rules that always pass.
+     */
+    public static CompiledConditions compile(List<MathExpression> expressions) {
+        Map<String, Integer> slots = new HashMap<>();
+        List<Rule> rules = new ArrayList<>();
+        if (CollectionUtils.isNotEmpty(expressions)) {
+            for (MathExpression expression : expressions) {
+                rules.add(compile(expression, slots));
+            }
+        }
+        return new CompiledConditions(rules.toArray(new Rule[0]), slots);
+    }
+
+    private static Rule compile(MathExpression expression, Map<String, Integer> slots) {
+        if (expression == null || StringUtils.isBlank(expression.getLeftVariable())
+                || expression.getOperator() == null || StringUtils.isBlank(expression.getRightVariable())) {
+            return new Rule(0, null, CONSTANT, 0, 0);
+        }
+        int left = slot(expression.getLeftVariable(), slots);
+        double scale = expression.getRightScale() != null ? expression.getRightScale() : 1.0;
+        String right = expression.getRightVariable().trim();
+        try {
+            return new Rule(left, expression.getOperator(), CONSTANT, Double.parseDouble(right) * scale, scale);
+        } catch (NumberFormatException e) {
+            return new Rule(left, expression.getOperator(), slot(right, slots), 0, scale);
+        }
+    }
+
+    private static int slot(String variable, Map<String, Integer> slots) {
+        return slots.computeIfAbsent(variable.trim().toUpperCase(), name -> slots.size());
+    }
+
+    /**
+     * @return the frame slot of {@code variable} (case-insensitive), or {@code -1} if no rule reads it
+     */
+    public int slot(String variable) {
+        if (variable == null) {
+            return -1;
+        }
+        Integer slot = slots.get(variable.trim().toUpperCase());
+        return slot != null ? slot : -1;
+    }
+
+    /**
+     * Upper-cased variable names, indexed by slot.
+     */
+    public List<String> variables() {
+        return Collections.unmodifiableList(Arrays.asList(variables));
+    }
+
+    /**
+     * @return a frame with every variable missing ({@code NaN})
+     */
+    public double[] newFrame() {
+        double[] frame = new double[variables.length];
+        Arrays.fill(frame, Double.NaN);
+        return frame;
+    }
+
+    /**
+     * @param frame variable values indexed by {@link #slot(String)}; {@code NaN} = missing
+     * @return whether every rule holds
+     */
+    public boolean test(double[] frame) {
+        for (Rule rule : rules) {
+            if (!rule.test(frame)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Column form of {@link #test(double[])} for many symbols at once: {@code columns[slot]}
+     * holds one variable for {@code rows} symbols ({@code NaN} = missing). Each rule is one
+     * pass over its columns, 64 rows per word; words whose rows all failed an earlier rule
+     * are skipped.
+     *
+     * @return the rows that pass every rule
+     */
+    public BitSet test(double[][] columns, int rows) {
+        long[] words = new long[(rows + 63) >>> 6];
+        Arrays.fill(words, -1L);
+        if ((rows & 63) != 0) {
+            words[words.length - 1] = (1L << (rows & 63)) - 1;
+        }
+        for (Rule rule : rules) {
+            for (int w = 0; w < words.length; w++) {
+                if (words[w] != 0) {
+                    int from = w << 6;
+                    words[w] &= rule.test(columns, from, Math.min(rows, from + 64));
+                }
+            }
+        }
+        return BitSet.valueOf(words);
+    }
+
+    /**
+     * Resolves each distinct variable once through {@code valueProvider}
+     * ({@code null} = missing) and tests the rules.
+     */
+    public boolean evaluate(Function<String, Double> valueProvider) {
+        if (rules.length == 0) {
+            return true;
+        }
+        double[] frame = new double[variables.length];
+        for (int i = 0; i < variables.length; i++) {
+            Double value = valueProvider.apply(variables[i]);
+            frame[i] = value != null ? value : Double.NaN;
+        }
+        return test(frame);
+    }
+
+    public boolean isEmpty() {
+        return rules.length == 0;
+    }
+
+    public int size() {
+        return rules.length;
+    }
+}
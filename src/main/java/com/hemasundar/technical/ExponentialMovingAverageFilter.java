@@ -28,6 +28,20 @@ public class ExponentialMovingAverageFilter implements TechnicalFilter {
         return ema.getValue(series.getEndIndex()).doubleValue();
     }
 
+    /**
+     * Current EMA computed directly over the close column, without building a BarSeries.
+     */
+    public double getCurrentEMA(CandleSeries candles) {
+        return IndicatorKernels.lastEma(candles.getClose(), period, candles.lastIndex());
+    }
+
+    /**
+     * Current EMA from the streaming state of {@code state}'s symbol (O(1)).
+     */
+    public double getCurrentEMA(IndicatorState state) {
+        return state.ema(period);
+    }
+
     /**
      * Gets the current close price.
      *
@@ -1,10 +1,13 @@
 package com.hemasundar.technical;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Container for fundamental filter conditions (e.g. Market Cap).
@@ -43,6 +46,23 @@ public class FundamentalFilterConditions {
     @Builder.Default
     private final List<MathExpression> filterExpressions = new ArrayList<>();
 
+    /** {@link #filterExpressions} compiled on first use; the list is not modified after loading. */
+    @Getter(AccessLevel.NONE)
+    private final AtomicReference<CompiledConditions> compiledExpressions = new AtomicReference<>();
+
+    /**
+     * Returns {@link #filterExpressions} compiled into slot-indexed rules, compiling them once.
+     */
+    @JsonIgnore
+    public CompiledConditions getCompiledExpressions() {
+        CompiledConditions compiled = compiledExpressions.get();
+        if (compiled == null) {
+            compiled = CompiledConditions.compile(filterExpressions);
+            compiledExpressions.set(compiled);
+        }
+        return compiled;
+    }
+
     /**
      * Returns a readable summary of the fundamental conditions.
      */
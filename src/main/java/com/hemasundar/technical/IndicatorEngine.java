@@ -0,0 +1,89 @@
+package com.hemasundar.technical;
+
+import com.hemasundar.cache.IndicatorStateStore;
+import lombok.Getter;
+import lombok.extern.log4j.Log4j2;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Registry of per-symbol {@link IndicatorState}s.
+ *
+ * <p>{@link #sync} lines a symbol's state up with its latest candle series (loading the
+ * persisted state on first use) and returns it for O(1) reads; {@link #persist} writes
+ * it back when it changed. Owned by {@link com.hemasundar.cache.PriceHistoryCache},
+ * which persists the state together with the candle store and invalidates it whenever
+ * the stored series is replaced.
+ */
+@Log4j2
+public class IndicatorEngine {
+
+    private final Map<String, IndicatorState> states = new ConcurrentHashMap<>();
+    private final IndicatorStateStore store;
+
+    /** Bars folded into rolling state by syncs (excludes first-time folds of new indicators). */
+    @Getter
+    private final AtomicLong barsCommitted = new AtomicLong(0);
+    @Getter
+    private final AtomicInteger stateLoads = new AtomicInteger(0);
+
+    public IndicatorEngine(IndicatorStateStore store) {
+        this.store = store;
+    }
+
+    /**
+     * Brings the state of {@code symbol} up to date with {@code candles}.
+     */
+    public IndicatorState sync(String symbol, CandleSeries candles) {
+        IndicatorState state = states.computeIfAbsent(symbol, this::loadOrCreate);
+        int committed = state.sync(candles);
+        barsCommitted.addAndGet(committed);
+        if (committed > 0) {
+            log.debug("[IndicatorEngine] {} advanced by {} bar(s)", symbol, committed);
+        }
+        return state;
+    }
+
+    private IndicatorState loadOrCreate(String symbol) {
+        IndicatorState stored = store != null ? store.load(symbol) : null;
+        if (stored != null) {
+            stateLoads.incrementAndGet();
+            return stored;
+        }
+        return new IndicatorState(symbol);
+    }
+
+    /**
+     * Writes the state of {@code symbol} to the store if it changed since the last write.
+     */
+    public void persist(String symbol) {
+        IndicatorState state = states.get(symbol);
+        if (store == null || state == null || !state.isDirty()) {
+            return;
+        }
+        store.write(symbol, state);
+        state.markPersisted();
+    }
+
+    /**
+     * Drops the in-memory and persisted state of {@code symbol}.
+     */
+    public void invalidate(String symbol) {
+        states.remove(symbol);
+        if (store != null) {
+            store.delete(symbol);
+        }
+    }
+
+    /**
+     * Drops all in-memory state; persisted state is kept.
+     */
+    public void clear() {
+        states.clear();
+        barsCommitted.set(0);
+        stateLoads.set(0);
+    }
+}
@@ -0,0 +1,173 @@
+package com.hemasundar.technical;
+
+import lombok.experimental.UtilityClass;
+
+/**
+ * Allocation-free indicator kernels over primitive {@code double[]} columns
+ * (see {@link CandleSeries}), matching the ta4j definitions the filters use:
+ * <ul>
+ *   <li>SMA / standard deviation use partial windows while fewer than {@code period}
+ *       bars exist; the deviation is the population one</li>
+ *   <li>EMA ({@code 2 / (period + 1)}), RSI and ATR (Wilder, {@code 1 / period}) are
+ *       seeded with the first bar; RSI's first gain/loss is zero and ATR's first true
+ *       range is the bar's high-low range</li>
+ * </ul>
+ * The full-series kernels fill a caller-provided output array; the {@code last*}
+ * variants return the value at one index without any array at all. Both are single
+ * O(n) passes with no {@code Num} boxing and no per-indicator caches.
+ */
+@UtilityClass
+public class IndicatorKernels {
+
+    // ── Full series ─────────────────────────────────────────────────────────────
+
+    /**
+     * Simple moving average of {@code x} into {@code out}.
+     */
+    public static void sma(double[] x, int period, double[] out) {
+        RollingStatistics.mean(x, period, out);
+    }
+
+    /**
+     * Population standard deviation of {@code x} over a rolling window into {@code out}.
+     */
+    public static void standardDeviation(double[] x, int period, double[] out) {
+        RollingStatistics.standardDeviation(x, period, false, out);
+    }
+
+    /**
+     * Bollinger bands of {@code close}: SMA ± {@code k} standard deviations.
+     */
+    public static void bollinger(double[] close, int period, double k, double[] lower, double[] middle, double[] upper) {
+        sma(close, period, middle);
+        standardDeviation(close, period, upper);
+        for (int i = 0; i < close.length; i++) {
+            double width = k * upper[i];
+            lower[i] = middle[i] - width;
+            upper[i] = middle[i] + width;
+        }
+    }
+
+    /**
+     * Exponential moving average of {@code x} into {@code out}.
+     */
+    public static void ema(double[] x, int period, double[] out) {
+        double multiplier = 2.0 / (period + 1);
+        double ema = 0;
+        for (int i = 0; i < x.length; i++) {
+            ema = i == 0 ? x[0] : ema + (x[i] - ema) * multiplier;
+            out[i] = ema;
+        }
+    }
+
+    /**
+     * Relative strength index of {@code close} into {@code out}.
+     */
+    public static void rsi(double[] close, int period, double[] out) {
+        double avgGain = 0;
+        double avgLoss = 0;
+        for (int i = 0; i < close.length; i++) {
+            if (i > 0) {
+                double change = close[i] - close[i - 1];
+                avgGain += (Math.max(change, 0) - avgGain) / period;
+                avgLoss += (Math.max(-change, 0) - avgLoss) / period;
+            }
+            out[i] = rsi(avgGain, avgLoss);
+        }
+    }
+
+    /**
+     * Average true range into {@code out}.
+     */
+    public static void atr(double[] high, double[] low, double[] close, int period, double[] out) {
+        double atr = 0;
+        for (int i = 0; i < close.length; i++) {
+            double trueRange = trueRange(high, low, close, i);
+            atr = i == 0 ? trueRange : atr + (trueRange - atr) / period;
+            out[i] = atr;
+        }
+    }
+
+    // ── Single value ────────────────────────────────────────────────────────────
+
+    /**
+     * SMA at index {@code end}.
+     */
+    public static double lastSma(double[] x, int period, int end) {
+        int from = Math.max(0, end - period + 1);
+        double sum = 0;
+        for (int i = from; i <= end; i++) {
+            sum += x[i];
+        }
+        return sum / (end - from + 1);
+    }
+
+    /**
+     * Population standard deviation over the window ending at {@code end} (two-pass).
+     */
+    public static double lastStandardDeviation(double[] x, int period, int end) {
+        int from = Math.max(0, end - period + 1);
+        double mean = lastSma(x, period, end);
+        double sumSquares = 0;
+        for (int i = from; i <= end; i++) {
+            double d = x[i] - mean;
+            sumSquares += d * d;
+        }
+        return Math.sqrt(sumSquares / (end - from + 1));
+    }
+
+    /**
+     * EMA at index {@code end}.
+     */
+    public static double lastEma(double[] x, int period, int end) {
+        double multiplier = 2.0 / (period + 1);
+        double ema = x[0];
+        for (int i = 1; i <= end; i++) {
+            ema += (x[i] - ema) * multiplier;
+        }
+        return ema;
+    }
+
+    /**
+     * RSI at index {@code end}.
+     */
+    public static double lastRsi(double[] close, int period, int end) {
+        double avgGain = 0;
+        double avgLoss = 0;
+        for (int i = 1; i <= end; i++) {
+            double change = close[i] - close[i - 1];
+            avgGain += (Math.max(change, 0) - avgGain) / period;
+            avgLoss += (Math.max(-change, 0) - avgLoss) / period;
+        }
+        return rsi(avgGain, avgLoss);
+    }
+
+    /**
+     * ATR at index {@code end}.
+     */
+    public static double lastAtr(double[] high, double[] low, double[] close, int period, int end) {
+        double atr = trueRange(high, low, close, 0);
+        for (int i = 1; i <= end; i++) {
+            atr += (trueRange(high, low, close, i) - atr) / period;
+        }
+        return atr;
+    }
+
+    // ── Helpers ─────────────────────────────────────────────────────────────────
+
+    private static double rsi(double avgGain, double avgLoss) {
+        if (avgLoss == 0) {
+            return avgGain == 0 ? 0 : 100;
+        }
+        return 100 - 100 / (1 + avgGain / avgLoss);
+    }
+
+    private static double trueRange(double[] high, double[] low, double[] close, int i) {
+        double range = Math.abs(high[i] - low[i]);
+        if (i == 0) {
+            return range;
+        }
+        double prevClose = close[i - 1];
+        return Math.max(range, Math.max(Math.abs(high[i] - prevClose), Math.abs(prevClose - low[i])));
+    }
+}
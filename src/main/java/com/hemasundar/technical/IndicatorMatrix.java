@@ -0,0 +1,122 @@
+package com.hemasundar.technical;
+
+import com.hemasundar.technical.TechnicalScreener.ScreeningResult;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Universe-wide, column-oriented view of screening results: one {@code double[]} per
+ * indicator variable ({@code RSI}, {@code SMA50}, {@code PRICE_DROP_FROM_HIGH_20D}, ...)
+ * across every symbol, {@code NaN} where a symbol has no value.
+ *
+ * <p>Columns are materialised on first use from
+ * {@link ScreeningResult#getIndicatorValue(String)} and then reused, so after the first
+ * run a {@link CompiledConditions} filter over a few thousand symbols is a handful of
+ * array passes producing a {@link BitSet} of the passing rows — cheap enough to re-run
+ * on every threshold change from the UI.
+ *
+ * <p>Instances are immutable apart from the column cache and safe to share between threads.
+ */
+public final class IndicatorMatrix {
+
+    private final ScreeningResult[] rows;
+    private final Map<String, double[]> columns = new ConcurrentHashMap<>();
+    private final long builtAtMs = System.currentTimeMillis();
+
+    private IndicatorMatrix(ScreeningResult[] rows) {
+        this.rows = rows;
+    }
+
+    /**
+     * Builds a matrix over {@code results} in iteration order; {@code null} entries are skipped.
+     */
+    public static IndicatorMatrix of(Collection<ScreeningResult> results) {
+        return new IndicatorMatrix(results.stream().filter(Objects::nonNull).toArray(ScreeningResult[]::new));
+    }
+
+    public int size() {
+        return rows.length;
+    }
+
+    public String symbol(int row) {
+        return rows[row].getSymbol();
+    }
+
+    public ScreeningResult row(int row) {
+        return rows[row];
+    }
+
+    public long getBuiltAtMs() {
+        return builtAtMs;
+    }
+
+    /**
+     * Returns the column of {@code variable} (case-insensitive), building it on first use.
+     * The array is shared; callers must not modify it.
+     */
+    public double[] column(String variable) {
+        return columns.computeIfAbsent(variable.trim().toUpperCase(), name -> {
+            double[] column = new double[rows.length];
+            for (int i = 0; i < rows.length; i++) {
+                Double value = rows[i].getIndicatorValue(name);
+                column[i] = value != null ? value : Double.NaN;
+            }
+            return column;
+        });
+    }
+
+    /**
+     * @return the rows passing every rule of {@code conditions}
+     */
+    public BitSet filter(CompiledConditions conditions) {
+        List<String> variables = conditions.variables();
+        double[][] frame = new double[variables.size()][];
+        for (int slot = 0; slot < frame.length; slot++) {
+            frame[slot] = column(variables.get(slot));
+        }
+        return conditions.test(frame, rows.length);
+    }
+
+    /**
+     * @return the rows of {@code symbols} (case-insensitive) that are in the matrix
+     */
+    public BitSet rowsOf(Collection<String> symbols) {
+        Set<String> wanted = new HashSet<>();
+        symbols.forEach(symbol -> wanted.add(symbol.trim().toUpperCase()));
+        BitSet selected = new BitSet(rows.length);
+        for (int row = 0; row < rows.length; row++) {
+            String symbol = rows[row].getSymbol();
+            if (symbol != null && wanted.contains(symbol.toUpperCase())) {
+                selected.set(row);
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * @return the results of the set rows, in matrix order
+     */
+    public List<ScreeningResult> rows(BitSet selected) {
+        List<ScreeningResult> selectedRows = new ArrayList<>(selected.cardinality());
+        for (int row = selected.nextSetBit(0); row >= 0 && row < rows.length; row = selected.nextSetBit(row + 1)) {
+            selectedRows.add(rows[row]);
+        }
+        return Collections.unmodifiableList(selectedRows);
+    }
+
+    /**
+     * @return the symbols of the set rows, in matrix order
+     */
+    public List<String> symbols(BitSet selected) {
+        return rows(selected).stream().map(ScreeningResult::getSymbol).toList();
+    }
+}
@@ -0,0 +1,301 @@
+package com.hemasundar.technical;
+
+import com.hemasundar.utils.VolatilityCalculator;
+import org.apache.commons.collections4.CollectionUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Deduplicated evaluation plan for every indicator value one screen needs per symbol.
+ *
+ * <p>Built once per screen from the configured {@link TechnicalIndicators} and every
+ * {@link MathExpression} variable ({@code SMA50}, {@code VOLUME_SMA20},
+ * {@code HIGH_20D}, {@code LOW_20D}, {@code ATR_DROP_FROM_HIGH_20D}, ...), the plan is a small DAG:
+ * <pre>
+ *   BB_LOWER(20,2) ──┬── SMA(20) ◄── BB_MIDDLE(20,2), SMA20 filter, "SMA20" expression
+ *   BB_UPPER(20,2) ──┴── STD_DEV(20)
+ *   HIGH(20) ◄── "HIGH_20D", "ATR_DROP_FROM_HIGH_20D", "PRICE_DROP_FROM_HIGH_20D"
+ * </pre>
+ * Identical nodes are merged, inputs are ordered before the nodes that read them, and
+ * {@link #evaluate} computes each node exactly once per symbol into a flat
+ * {@code double[]} ({@code NaN} = unavailable). Leaf values come from the symbol's
+ * streaming {@link IndicatorState} and its {@link CandleSeries}.
+ */
+public final class IndicatorPlan {
+
+    public enum Kind {
+        PRICE, VOLUME, HV_RANK, RSI, PREVIOUS_RSI, SMA, STD_DEV, EMA, ATR, VOLUME_SMA, HIGH, LOW,
+        BB_LOWER, BB_MIDDLE, BB_UPPER
+    }
+
+    /**
+     * One value to compute. {@code width} is the Bollinger standard-deviation multiplier
+     * (0 for every other kind).
+     */
+    public record Node(Kind kind, int period, double width) {
+
+        public static Node of(Kind kind) {
+            return new Node(kind, 0, 0);
+        }
+
+        public static Node of(Kind kind, int period) {
+            return new Node(kind, period, 0);
+        }
+
+        List<Node> inputs() {
+            return switch (kind) {
+                case BB_MIDDLE -> List.of(of(Kind.SMA, period));
+                case BB_LOWER, BB_UPPER -> List.of(of(Kind.SMA, period), of(Kind.STD_DEV, period));
+                default -> List.of();
+            };
+        }
+
+        @Override
+        public String toString() {
+            if (width != 0) {
+                return kind + "(" + period + "," + width + ")";
+            }
+            return period != 0 ? kind + "(" + period + ")" : kind.name();
+        }
+    }
+
+    /** Nodes in evaluation order, mapped to their slot in the value array. */
+    private final Map<Node, Integer> slots;
+    private final Node[] order;
+    /** Nodes asked for directly, as opposed to inputs planned only for other nodes. */
+    private final Set<Node> requested;
+
+    private IndicatorPlan(Map<Node, Integer> slots, Set<Node> requested) {
+        this.slots = slots;
+        this.order = slots.keySet().toArray(new Node[0]);
+        this.requested = requested;
+    }
+
+    /**
+     * Plans the values {@link TechnicalScreener#analyzeStock} produces for
+     * {@code indicators} and every variable referenced by {@code conditions}.
+     */
+    public static IndicatorPlan forScreen(TechnicalIndicators indicators, TechFilterConditions conditions) {
+        Builder builder = new Builder();
+        builder.add(Node.of(Kind.PRICE));
+        builder.add(Node.of(Kind.VOLUME));
+
+        Integer hvPeriod = conditions != null ? conditions.getHvPeriod() : 20;
+        if (hvPeriod != null && hvPeriod > 0) {
+            builder.add(Node.of(Kind.HV_RANK, hvPeriod));
+        }
+
+        if (indicators != null) {
+            if (indicators.getRsiFilter() != null) {
+                int period = indicators.getRsiFilter().getPeriod();
+                builder.add(Node.of(Kind.RSI, period));
+                builder.add(Node.of(Kind.PREVIOUS_RSI, period));
+            }
+            BollingerBandsFilter bb = indicators.getBollingerFilter();
+            if (bb != null) {
+                builder.add(new Node(Kind.BB_LOWER, bb.getPeriod(), bb.getStandardDeviations()));
+                builder.add(new Node(Kind.BB_MIDDLE, bb.getPeriod(), bb.getStandardDeviations()));
+                builder.add(new Node(Kind.BB_UPPER, bb.getPeriod(), bb.getStandardDeviations()));
+            }
+            if (indicators.getAtrFilter() != null) {
+                builder.add(Node.of(Kind.ATR, indicators.getAtrFilter().getPeriod()));
+            }
+            if (indicators.getMaFilters() != null) {
+                indicators.getMaFilters().keySet().forEach(p -> builder.add(Node.of(Kind.SMA, p)));
+            }
+            if (indicators.getEmaFilters() != null) {
+                indicators.getEmaFilters().keySet().forEach(p -> builder.add(Node.of(Kind.EMA, p)));
+            }
+        }
+
+        if (conditions != null && CollectionUtils.isNotEmpty(conditions.getFilterExpressions())) {
+            for (MathExpression expression : conditions.getFilterExpressions()) {
+                builder.add(nodeFor(expression.getLeftVariable()));
+                builder.add(nodeFor(expression.getRightVariable()));
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Merges {@code plans} into one plan holding every node of each, so several screens
+     * over the same symbol compute each shared value once. Each screen reads its own
+     * values back with {@link #project}.
+     */
+    public static IndicatorPlan union(List<IndicatorPlan> plans) {
+        Builder builder = new Builder();
+        for (IndicatorPlan plan : plans) {
+            for (Node node : plan.order) {
+                if (plan.requested.contains(node)) {
+                    builder.add(node);
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Reads this plan's values out of values evaluated by {@code source}, a plan that
+     * contains every node of this one (e.g. a {@link #union} including it).
+     *
+     * @return values indexed by this plan's {@link #slot(Node)}
+     */
+    public double[] project(IndicatorPlan source, double[] sourceValues) {
+        double[] values = new double[order.length];
+        for (int i = 0; i < order.length; i++) {
+            int slot = source.slot(order[i]);
+            values[i] = slot < 0 ? Double.NaN : sourceValues[slot];
+        }
+        return values;
+    }
+
+    /**
+     * Maps a period-carrying expression variable to the node it reads, e.g.
+     * {@code SMA50 -> SMA(50)}, {@code ATR_DROP_FROM_HIGH_20D -> HIGH(20)}, {@code LOW_20D -> LOW(20)}.
+     *
+     * @return the node, or {@code null} for constants and variables without a period
+     */
+    static Node nodeFor(String variable) {
+        if (variable == null) {
+            return null;
+        }
+        String key = variable.trim().toUpperCase();
+        if (key.startsWith("VOLUME_SMA")) {
+            Integer period = parsePeriod(key.substring(10));
+            return period != null ? Node.of(Kind.VOLUME_SMA, period) : null;
+        }
+        if (key.startsWith("SMA")) {
+            Integer period = parsePeriod(key.substring(3));
+            return period != null ? Node.of(Kind.SMA, period) : null;
+        }
+        if (key.endsWith("D")) {
+            for (String prefix : new String[]{"HIGH_", "ATR_DROP_FROM_HIGH_", "PRICE_DROP_FROM_HIGH_"}) {
+                if (key.startsWith(prefix)) {
+                    Integer period = parsePeriod(key.substring(prefix.length(), key.length() - 1));
+                    return period != null ? Node.of(Kind.HIGH, period) : null;
+                }
+            }
+            if (key.startsWith("LOW_")) {
+                Integer period = parsePeriod(key.substring(4, key.length() - 1));
+                return period != null ? Node.of(Kind.LOW, period) : null;
+            }
+        }
+        return null;
+    }
+
+    private static Integer parsePeriod(String suffix) {
+        try {
+            int period = Integer.parseInt(suffix);
+            return period > 0 ? period : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Computes every node once, inputs first.
+     *
+     * @return values indexed by {@link #slot(Node)}; {@code NaN} where a value is unavailable
+     */
+    public double[] evaluate(IndicatorState state, CandleSeries candles, VolatilityCalculator volatilityCalculator) {
+        double[] values = new double[order.length];
+        for (int i = 0; i < order.length; i++) {
+            Node node = order[i];
+            values[i] = switch (node.kind()) {
+                case PRICE -> candles.lastClose();
+                case VOLUME -> candles.lastVolume();
+                case HV_RANK -> {
+                    Double hvRank = volatilityCalculator != null
+                            ? volatilityCalculator.calculateHvRankFromCandles(candles, node.period()) : null;
+                    yield hvRank != null ? hvRank : Double.NaN;
+                }
+                case RSI -> state.rsi(node.period());
+                case PREVIOUS_RSI -> state.previousRsi(node.period());
+                case SMA -> state.sma(node.period());
+                case STD_DEV -> state.standardDeviation(node.period());
+                case EMA -> state.ema(node.period());
+                case ATR -> state.atr(node.period());
+                case VOLUME_SMA -> state.volumeSma(node.period());
+                case HIGH -> state.highestHigh(node.period());
+                case LOW -> state.lowestLow(node.period());
+                case BB_MIDDLE -> input(values, Kind.SMA, node);
+                case BB_LOWER -> input(values, Kind.SMA, node) - node.width() * input(values, Kind.STD_DEV, node);
+                case BB_UPPER -> input(values, Kind.SMA, node) + node.width() * input(values, Kind.STD_DEV, node);
+            };
+        }
+        return values;
+    }
+
+    private double input(double[] values, Kind kind, Node node) {
+        return values[slots.get(Node.of(kind, node.period()))];
+    }
+
+    /**
+     * @return the slot of {@code node}, or {@code -1} if it is not part of the plan
+     */
+    public int slot(Node node) {
+        Integer slot = slots.get(node);
+        return slot != null ? slot : -1;
+    }
+
+    /**
+     * @return the value of {@code node} in {@code values}, or {@code null} if it is not planned or unavailable
+     */
+    public Double get(double[] values, Node node) {
+        int slot = slot(node);
+        return slot < 0 || Double.isNaN(values[slot]) ? null : values[slot];
+    }
+
+    /**
+     * Periods of the requested nodes of {@code kind} (not those planned only as inputs), in planning order.
+     */
+    public List<Integer> periods(Kind kind) {
+        List<Integer> periods = new ArrayList<>();
+        for (Node node : order) {
+            if (node.kind() == kind && requested.contains(node)) {
+                periods.add(node.period());
+            }
+        }
+        return Collections.unmodifiableList(periods);
+    }
+
+    public int size() {
+        return order.length;
+    }
+
+    @Override
+    public String toString() {
+        return slots.keySet().stream().map(Node::toString).collect(Collectors.joining(", ", "[", "]"));
+    }
+
+    private static final class Builder {
+        private final Map<Node, Integer> slots = new LinkedHashMap<>();
+        private final Set<Node> requested = new HashSet<>();
+
+        void add(Node node) {
+            if (node != null) {
+                requested.add(node);
+                plan(node);
+            }
+        }
+
+        private void plan(Node node) {
+            if (slots.containsKey(node)) {
+                return;
+            }
+            node.inputs().forEach(this::plan);
+            slots.put(node, slots.size());
+        }
+
+        IndicatorPlan build() {
+            return new IndicatorPlan(slots, requested);
+        }
+    }
+}
@@ -0,0 +1,621 @@
+package com.hemasundar.technical;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Streaming indicator state for one symbol.
+ *
+ * <p>Every (indicator, period) pair keeps O(1) rolling state — Wilder averages for
+ * RSI and ATR, the running EMA, Welford moments over a ring buffer for SMA, Bollinger
+ * standard deviation and volume SMA, and monotonic deques for N-day highs and lows
+ * (see {@link RollingStatistics}). All bars but the last are <em>committed</em> into
+ * that state; the last bar (usually today's, still forming candle) is applied
+ * provisionally on every read, so it can change between refreshes without rewinding
+ * anything. {@link #sync} commits only the bars added
+ * since the previous sync, so a daily refresh costs O(new bars) instead of a full
+ * recomputation over the year.
+ *
+ * <p>Values follow ta4j's definitions (seeded with the first bar, population standard
+ * deviation, partial windows while the series is shorter than the period). Because the
+ * state carries history from before the one-year window, RSI/EMA/ATR can differ from a
+ * from-scratch ta4j recomputation over the window by the decayed weight of the dropped
+ * bars (below 1e-8 for a year of daily candles).
+ *
+ * <p>Instances are thread-safe; see {@link IndicatorEngine} for the per-symbol registry.
+ */
+public final class IndicatorState {
+
+    static final int MAGIC = 0x50484953; // "PHIS"
+    static final short FORMAT_VERSION = 2;
+
+    private static final long NONE = Long.MIN_VALUE;
+
+    enum Kind { RSI, EMA, ATR, CLOSE_WINDOW, VOLUME_WINDOW, HIGH, LOW }
+
+    private record Key(Kind kind, int period) {
+    }
+
+    private final String symbol;
+    private final Map<Key, Rolling> indicators = new LinkedHashMap<>();
+
+    /** Timestamp and close of the last committed bar, used to line up the next series. */
+    private long lastCommittedEpochMs = NONE;
+    private double lastCommittedClose = Double.NaN;
+    private long committedBars;
+
+    private CandleSeries series;
+    private boolean dirty;
+
+    public IndicatorState(String symbol) {
+        this.symbol = symbol;
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    /**
+     * Total number of bars folded into the state since it was created or last rebuilt.
+     */
+    public synchronized long getCommittedBars() {
+        return committedBars;
+    }
+
+    /**
+     * @return whether the state changed since it was last persisted
+     */
+    public synchronized boolean isDirty() {
+        return dirty;
+    }
+
+    synchronized void markPersisted() {
+        dirty = false;
+    }
+
+    /**
+     * Lines the state up with {@code candles}: commits every bar after the last committed
+     * one except the final bar, which is read provisionally. When the series does not
+     * continue the committed history (different data, gaps before the window, a split
+     * adjustment) the state is rebuilt from the series.
+     *
+     * @return the number of bars committed by this call
+     */
+    public synchronized int sync(CandleSeries candles) {
+        series = candles;
+        int last = candles.size() - 2;
+        int from = resumeIndex(candles, last);
+        if (from < 0) {
+            reset();
+            from = 0;
+        }
+        for (int i = from; i <= last; i++) {
+            commit(candles, i);
+        }
+        return Math.max(0, last - from + 1);
+    }
+
+    /**
+     * @return the index of the first bar to commit, or {@code -1} if the state must be rebuilt
+     */
+    private int resumeIndex(CandleSeries candles, int last) {
+        if (lastCommittedEpochMs == NONE) {
+            return 0;
+        }
+        long[] epochMs = candles.getEpochMs();
+        for (int i = last; i >= 0; i--) {
+            if (epochMs[i] == lastCommittedEpochMs) {
+                boolean sameBar = Double.compare(candles.getClose()[i], lastCommittedClose) == 0;
+                boolean unambiguous = i == 0 || epochMs[i - 1] < epochMs[i];
+                return sameBar && unambiguous ? i + 1 : -1;
+            }
+            if (epochMs[i] < lastCommittedEpochMs) {
+                break;
+            }
+        }
+        return -1;
+    }
+
+    private void reset() {
+        indicators.replaceAll((key, rolling) -> create(key));
+        lastCommittedEpochMs = NONE;
+        lastCommittedClose = Double.NaN;
+        committedBars = 0;
+        dirty = true;
+    }
+
+    private void commit(CandleSeries candles, int i) {
+        for (Rolling rolling : indicators.values()) {
+            rolling.push(candles, i);
+        }
+        lastCommittedEpochMs = candles.getEpochMs()[i];
+        lastCommittedClose = candles.getClose()[i];
+        committedBars++;
+        dirty = true;
+    }
+
+    // ── Reads ───────────────────────────────────────────────────────────────────
+
+    /**
+     * RSI including the last bar.
+     */
+    public synchronized double rsi(int period) {
+        return current(Kind.RSI, period);
+    }
+
+    /**
+     * RSI as of the bar before the last one (the current RSI if there is only one bar).
+     */
+    public synchronized double previousRsi(int period) {
+        if (series == null || series.size() < 2) {
+            return rsi(period);
+        }
+        return indicator(Kind.RSI, period).value(series, -1);
+    }
+
+    public synchronized double sma(int period) {
+        return current(Kind.CLOSE_WINDOW, period);
+    }
+
+    /**
+     * Population standard deviation of the close over the last {@code period} bars.
+     */
+    public synchronized double standardDeviation(int period) {
+        if (series == null || series.isEmpty()) {
+            return Double.NaN;
+        }
+        return ((RollingWindow) indicator(Kind.CLOSE_WINDOW, period)).standardDeviation(series, series.lastIndex());
+    }
+
+    public synchronized double ema(int period) {
+        return current(Kind.EMA, period);
+    }
+
+    public synchronized double atr(int period) {
+        return current(Kind.ATR, period);
+    }
+
+    public synchronized double volumeSma(int period) {
+        return current(Kind.VOLUME_WINDOW, period);
+    }
+
+    /**
+     * Highest high of the last {@code period} bars, including the last bar.
+     */
+    public synchronized double highestHigh(int period) {
+        return current(Kind.HIGH, period);
+    }
+
+    /**
+     * Lowest low of the last {@code period} bars, including the last bar.
+     */
+    public synchronized double lowestLow(int period) {
+        return current(Kind.LOW, period);
+    }
+
+    /**
+     * Close of the last bar of the synced series.
+     */
+    public synchronized double lastClose() {
+        return series == null || series.isEmpty() ? Double.NaN : series.lastClose();
+    }
+
+    private double current(Kind kind, int period) {
+        if (series == null || series.isEmpty()) {
+            return Double.NaN;
+        }
+        return indicator(kind, period).value(series, series.lastIndex());
+    }
+
+    /**
+     * Returns the state for (kind, period), creating it by folding the committed part
+     * of the current series the first time it is requested.
+     */
+    private Rolling indicator(Kind kind, int period) {
+        Key key = new Key(kind, Math.max(1, period));
+        Rolling rolling = indicators.get(key);
+        if (rolling == null) {
+            rolling = create(key);
+            for (int i = 0; i < series.size() - 1; i++) {
+                rolling.push(series, i);
+            }
+            indicators.put(key, rolling);
+            dirty = true;
+        }
+        return rolling;
+    }
+
+    private static Rolling create(Key key) {
+        return switch (key.kind()) {
+            case RSI -> new WilderRsi(key.period());
+            case EMA -> new Ema(key.period());
+            case ATR -> new WilderAtr(key.period());
+            case CLOSE_WINDOW -> new RollingWindow(key.period(), false);
+            case VOLUME_WINDOW -> new RollingWindow(key.period(), true);
+            case HIGH -> new RollingExtreme(key.period(), true);
+            case LOW -> new RollingExtreme(key.period(), false);
+        };
+    }
+
+    // ── Persistence ─────────────────────────────────────────────────────────────
+
+    /**
+     * Writes the committed state (not the provisional last bar).
+     */
+    public synchronized void writeTo(DataOutput out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeShort(FORMAT_VERSION);
+        out.writeLong(lastCommittedEpochMs);
+        out.writeDouble(lastCommittedClose);
+        out.writeLong(committedBars);
+        out.writeInt(indicators.size());
+        for (Map.Entry<Key, Rolling> entry : indicators.entrySet()) {
+            out.writeByte(entry.getKey().kind().ordinal());
+            out.writeInt(entry.getKey().period());
+            entry.getValue().writeTo(out);
+        }
+    }
+
+    /**
+     * Reads a state written by {@link #writeTo}.
+     *
+     * @throws IOException if the data is not a supported indicator state
+     */
+    public static IndicatorState readFrom(String symbol, DataInput in) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not an indicator state");
+        }
+        short version = in.readShort();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported indicator state version " + version);
+        }
+        IndicatorState state = new IndicatorState(symbol);
+        state.lastCommittedEpochMs = in.readLong();
+        state.lastCommittedClose = in.readDouble();
+        state.committedBars = in.readLong();
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            int ordinal = in.readUnsignedByte();
+            if (ordinal >= Kind.values().length) {
+                throw new IOException("Unknown indicator kind " + ordinal);
+            }
+            Key key = new Key(Kind.values()[ordinal], in.readInt());
+            Rolling rolling = create(key);
+            rolling.readFrom(in);
+            state.indicators.put(key, rolling);
+        }
+        return state;
+    }
+
+    // ── Kernels ─────────────────────────────────────────────────────────────────
+
+    /**
+     * O(1) rolling state for one indicator.
+     */
+    private abstract static class Rolling {
+
+        /** Folds bar {@code i} into the state. */
+        abstract void push(CandleSeries s, int i);
+
+        /**
+         * Value after the committed bars plus, provisionally, bar {@code pending}
+         * ({@code -1} for the committed value alone). Does not modify the state.
+         */
+        abstract double value(CandleSeries s, int pending);
+
+        abstract void writeTo(DataOutput out) throws IOException;
+
+        abstract void readFrom(DataInput in) throws IOException;
+    }
+
+    /**
+     * RSI with Wilder (modified moving average) smoothing of gains and losses,
+     * seeded with a zero gain/loss on the first bar as ta4j does.
+     */
+    private static final class WilderRsi extends Rolling {
+        private final int period;
+        private long count;
+        private double prevClose;
+        private double avgGain;
+        private double avgLoss;
+
+        WilderRsi(int period) {
+            this.period = period;
+        }
+
+        @Override
+        void push(CandleSeries s, int i) {
+            double close = s.getClose()[i];
+            avgGain = nextAverage(avgGain, count == 0 ? 0 : Math.max(close - prevClose, 0));
+            avgLoss = nextAverage(avgLoss, count == 0 ? 0 : Math.max(prevClose - close, 0));
+            prevClose = close;
+            count++;
+        }
+
+        private double nextAverage(double average, double x) {
+            return count == 0 ? x : average + (x - average) / period;
+        }
+
+        @Override
+        double value(CandleSeries s, int pending) {
+            double gain = avgGain;
+            double loss = avgLoss;
+            if (pending >= 0) {
+                double close = s.getClose()[pending];
+                gain = nextAverage(avgGain, count == 0 ? 0 : Math.max(close - prevClose, 0));
+                loss = nextAverage(avgLoss, count == 0 ? 0 : Math.max(prevClose - close, 0));
+            }
+            if (loss == 0) {
+                return gain == 0 ? 0 : 100;
+            }
+            return 100 - 100 / (1 + gain / loss);
+        }
+
+        @Override
+        void writeTo(DataOutput out) throws IOException {
+            out.writeLong(count);
+            out.writeDouble(prevClose);
+            out.writeDouble(avgGain);
+            out.writeDouble(avgLoss);
+        }
+
+        @Override
+        void readFrom(DataInput in) throws IOException {
+            count = in.readLong();
+            prevClose = in.readDouble();
+            avgGain = in.readDouble();
+            avgLoss = in.readDouble();
+        }
+    }
+
+    /**
+     * Exponential moving average of the close, multiplier {@code 2 / (period + 1)},
+     * seeded with the first close.
+     */
+    private static final class Ema extends Rolling {
+        private final double multiplier;
+        private long count;
+        private double ema;
+
+        Ema(int period) {
+            this.multiplier = 2.0 / (period + 1);
+        }
+
+        @Override
+        void push(CandleSeries s, int i) {
+            ema = next(s.getClose()[i]);
+            count++;
+        }
+
+        private double next(double close) {
+            return count == 0 ? close : ema + (close - ema) * multiplier;
+        }
+
+        @Override
+        double value(CandleSeries s, int pending) {
+            return pending >= 0 ? next(s.getClose()[pending]) : ema;
+        }
+
+        @Override
+        void writeTo(DataOutput out) throws IOException {
+            out.writeLong(count);
+            out.writeDouble(ema);
+        }
+
+        @Override
+        void readFrom(DataInput in) throws IOException {
+            count = in.readLong();
+            ema = in.readDouble();
+        }
+    }
+
+    /**
+     * Average true range with Wilder smoothing; the first bar's true range is its high-low range.
+     */
+    private static final class WilderAtr extends Rolling {
+        private final int period;
+        private long count;
+        private double prevClose;
+        private double atr;
+
+        WilderAtr(int period) {
+            this.period = period;
+        }
+
+        @Override
+        void push(CandleSeries s, int i) {
+            atr = next(s, i);
+            prevClose = s.getClose()[i];
+            count++;
+        }
+
+        private double next(CandleSeries s, int i) {
+            double high = s.getHigh()[i];
+            double low = s.getLow()[i];
+            double trueRange = Math.abs(high - low);
+            if (count > 0) {
+                trueRange = Math.max(trueRange, Math.max(Math.abs(high - prevClose), Math.abs(prevClose - low)));
+            }
+            return count == 0 ? trueRange : atr + (trueRange - atr) / period;
+        }
+
+        @Override
+        double value(CandleSeries s, int pending) {
+            return pending >= 0 ? next(s, pending) : atr;
+        }
+
+        @Override
+        void writeTo(DataOutput out) throws IOException {
+            out.writeLong(count);
+            out.writeDouble(prevClose);
+            out.writeDouble(atr);
+        }
+
+        @Override
+        void readFrom(DataInput in) throws IOException {
+            count = in.readLong();
+            prevClose = in.readDouble();
+            atr = in.readDouble();
+        }
+    }
+
+    /**
+     * Mean and population standard deviation of the close (or volume) over the last
+     * {@code period} bars: a Welford accumulator over a ring buffer, removing the value
+     * that leaves the window before adding the new one. The accumulator is rebuilt from
+     * the buffer each time it wraps, so add/remove rounding cannot accumulate
+     * (amortised O(1)).
+     */
+    private static final class RollingWindow extends Rolling {
+        private final boolean volume;
+        private final double[] ring;
+        private final RollingStatistics.Moments moments = new RollingStatistics.Moments();
+        private int filled;
+        private int head;
+
+        RollingWindow(int period, boolean volume) {
+            this.volume = volume;
+            this.ring = new double[period];
+        }
+
+        private double x(CandleSeries s, int i) {
+            return volume ? s.getVolume()[i] : s.getClose()[i];
+        }
+
+        @Override
+        void push(CandleSeries s, int i) {
+            double x = x(s, i);
+            if (filled == ring.length) {
+                moments.remove(ring[head]);
+            } else {
+                filled++;
+            }
+            ring[head] = x;
+            moments.add(x);
+            head = (head + 1) % ring.length;
+            if (head == 0) {
+                moments.reset();
+                for (int j = 0; j < filled; j++) {
+                    moments.add(ring[j]);
+                }
+            }
+        }
+
+        @Override
+        double value(CandleSeries s, int pending) {
+            return window(s, pending).mean();
+        }
+
+        double standardDeviation(CandleSeries s, int pending) {
+            RollingStatistics.Moments window = window(s, pending);
+            return window.count() == 0 ? Double.NaN : Math.sqrt(window.variance(false));
+        }
+
+        private RollingStatistics.Moments window(CandleSeries s, int pending) {
+            if (pending < 0) {
+                return moments;
+            }
+            RollingStatistics.Moments window = moments.copy();
+            if (filled == ring.length) {
+                window.remove(ring[head]);
+            }
+            window.add(x(s, pending));
+            return window;
+        }
+
+        @Override
+        void writeTo(DataOutput out) throws IOException {
+            out.writeInt(filled);
+            out.writeInt(head);
+            out.writeLong(moments.rawCount());
+            out.writeDouble(moments.rawMean());
+            out.writeDouble(moments.rawM2());
+            for (int j = 0; j < filled; j++) {
+                out.writeDouble(ring[j]);
+            }
+        }
+
+        @Override
+        void readFrom(DataInput in) throws IOException {
+            filled = in.readInt();
+            head = in.readInt();
+            if (filled < 0 || filled > ring.length || head < 0 || head >= ring.length) {
+                throw new IOException("Corrupt rolling window");
+            }
+            moments.restore(in.readLong(), in.readDouble(), in.readDouble());
+            for (int j = 0; j < filled; j++) {
+                ring[j] = in.readDouble();
+            }
+        }
+    }
+
+    /**
+     * Highest high (or lowest low) over the last {@code period} bars, from a monotonic
+     * deque of the committed bars. A read with a pending bar skips the deque entries that
+     * fall out of its window and compares the survivor with the pending value.
+     */
+    private static final class RollingExtreme extends Rolling {
+        private final int period;
+        private final boolean max;
+        private final RollingStatistics.MonotonicDeque deque;
+        private long pushed;
+
+        RollingExtreme(int period, boolean max) {
+            this.period = period;
+            this.max = max;
+            this.deque = new RollingStatistics.MonotonicDeque(period, max);
+        }
+
+        private double x(CandleSeries s, int i) {
+            return max ? s.getHigh()[i] : s.getLow()[i];
+        }
+
+        @Override
+        void push(CandleSeries s, int i) {
+            deque.push(pushed, x(s, i));
+            pushed++;
+            deque.evictBefore(pushed - period);
+        }
+
+        @Override
+        double value(CandleSeries s, int pending) {
+            if (pending < 0) {
+                return deque.best();
+            }
+            double x = x(s, pending);
+            long firstSeq = pushed - period + 1;
+            for (int j = 0; j < deque.size(); j++) {
+                if (deque.seqAt(j) >= firstSeq) {
+                    double committed = deque.valueAt(j);
+                    return max ? Math.max(committed, x) : Math.min(committed, x);
+                }
+            }
+            return x;
+        }
+
+        @Override
+        void writeTo(DataOutput out) throws IOException {
+            out.writeLong(pushed);
+            out.writeInt(deque.size());
+            for (int j = 0; j < deque.size(); j++) {
+                out.writeLong(deque.seqAt(j));
+                out.writeDouble(deque.valueAt(j));
+            }
+        }
+
+        @Override
+        void readFrom(DataInput in) throws IOException {
+            pushed = in.readLong();
+            int size = in.readInt();
+            if (size < 0 || size > period) {
+                throw new IOException("Corrupt rolling extreme");
+            }
+            for (int j = 0; j < size; j++) {
+                deque.push(in.readLong(), in.readDouble());
+            }
+        }
+    }
+}
@@ -28,6 +28,11 @@ import lombok.extern.log4j.Log4j2;
  *     return resolveValueFromScreeningResult(result, variableName);
  * });
  * </pre>
+ *
+ * <p>
+ * This interprets the rules on every call. Rules that are evaluated per symbol or per
+ * expiry are compiled once into {@link CompiledConditions} instead, which evaluates
+ * the same semantics over a slot-indexed {@code double[]} frame.
  */
 @Log4j2
 @UtilityClass
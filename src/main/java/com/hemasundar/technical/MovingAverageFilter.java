@@ -28,6 +28,20 @@ public class MovingAverageFilter implements TechnicalFilter {
         return sma.getValue(series.getEndIndex()).doubleValue();
     }
 
+    /**
+     * Current SMA computed directly over the close column, without building a BarSeries.
+     */
+    public double getCurrentSMA(CandleSeries candles) {
+        return IndicatorKernels.lastSma(candles.getClose(), period, candles.lastIndex());
+    }
+
+    /**
+     * Current SMA from the streaming state of {@code state}'s symbol (O(1)).
+     */
+    public double getCurrentSMA(IndicatorState state) {
+        return state.sma(period);
+    }
+
     /**
      * Gets the current close price.
      *
@@ -2,19 +2,29 @@ package com.hemasundar.technical;
 
 import com.hemasundar.apis.ThinkOrSwimAPIs;
 import com.hemasundar.cache.PriceHistoryCache;
-import com.hemasundar.pojos.PriceHistoryResponse;
+import com.hemasundar.cache.QuotesCache;
 import com.hemasundar.pojos.QuotesResponse;
 import com.hemasundar.utils.SchwabApiExecutor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
-import org.apache.commons.collections4.CollectionUtils;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.function.BiConsumer;
 
+/**
+ * Screens for price drops: intraday (quote {@code netPercentChange}), from the 52-week high
+ * (quote) and over {@code N} trading days (cached daily candles).
+ *
+ * <p>Every criterion of a {@link #screenDrops} call is evaluated in one pass over the
+ * symbols. The quotes it needs are fetched first in concurrent multi-symbol batches of
+ * {@code screener.quote-batch-size} through the shared {@link SchwabApiExecutor} — or read
+ * from {@link QuotesCache} when the screener pre-warm already has them fresh — and the
+ * candles come from {@link PriceHistoryCache}, so a scan costs a few round trips at most
+ * rather than one per batch of 50.
+ */
 @Log4j2
 @Component
 @lombok.RequiredArgsConstructor
@@ -23,6 +33,41 @@ public class PriceDropScreener {
     private final ThinkOrSwimAPIs ThinkOrSwimAPIs;
     private final SchwabApiExecutor schwabApiExecutor;
 
+    /** Symbols per multi-symbol quotes request. */
+    @Value("${screener.quote-batch-size:200}")
+    private int quoteBatchSize = 200;
+
+    /**
+     * One drop criterion: the drop measured from a reference price, tested against rules
+     * compiled once per scan.
+     *
+     * @param lookbackDays trading days back to the reference close; {@link #INTRADAY} for the
+     *                     previous close, {@link #HIGH_52W} for the 52-week high
+     */
+    public record DropScan(int lookbackDays, CompiledConditions rules) {
+
+        public static final int INTRADAY = 0;
+        public static final int HIGH_52W = -1;
+
+        public static DropScan of(int lookbackDays, List<com.hemasundar.technical.MathExpression> dropRules) {
+            return new DropScan(lookbackDays, CompiledConditions.compile(dropRules));
+        }
+
+        boolean usesQuote() {
+            return lookbackDays <= INTRADAY;
+        }
+
+        String dropType() {
+            return switch (lookbackDays) {
+                case INTRADAY -> "INTRADAY";
+                case HIGH_52W -> "52W_HIGH";
+                case 21 -> "1M";
+                case 63 -> "3M";
+                default -> lookbackDays + "D";
+            };
+        }
+    }
+
     /**
      * Screens stocks for price drops over a given number of trading days.
      * When lookbackDays is 0, uses intraday (daily) percent change from Quotes API.
@@ -36,11 +81,8 @@ public class PriceDropScreener {
     public List<TechnicalScreener.ScreeningResult> screenPriceDrop(
             List<String> symbols, List<com.hemasundar.technical.MathExpression> dropRules, int lookbackDays, BiConsumer<String, String> alertCallback) {
 
-        if (lookbackDays == 0) {
-            return screenIntradayDrop(symbols, dropRules, alertCallback);
-        } else {
-            return screenMultiDayDrop(symbols, dropRules, lookbackDays, alertCallback);
-        }
+        DropScan scan = DropScan.of(Math.max(DropScan.INTRADAY, lookbackDays), dropRules);
+        return screenDrops(symbols, List.of(scan), alertCallback).get(0);
     }
 
     /**
@@ -53,197 +95,121 @@ public class PriceDropScreener {
     public List<TechnicalScreener.ScreeningResult> screen52WeekHighDrop(
             List<String> symbols, List<com.hemasundar.technical.MathExpression> dropRules, BiConsumer<String, String> alertCallback) {
 
-        List<TechnicalScreener.ScreeningResult> results = new ArrayList<>();
-
-        log.info("Screening {} symbols for 52-week high drop rules", symbols.size());
-
-        // Fetch quotes in batches of 50 (API limit consideration)
-        for (int i = 0; i < symbols.size(); i += 50) {
-            List<String> batch = symbols.subList(i, Math.min(i + 50, symbols.size()));
-            try {
-                Map<String, QuotesResponse.QuoteData> quotes = ThinkOrSwimAPIs.getQuotes(batch);
-
-                for (Map.Entry<String, QuotesResponse.QuoteData> entry : quotes.entrySet()) {
-                    String symbol = entry.getKey();
-                    QuotesResponse.QuoteData quoteData = entry.getValue();
-
-                    if (quoteData == null || quoteData.getQuote() == null) {
-                        continue;
-                    }
-
-                    QuotesResponse.Quote quote = quoteData.getQuote();
-                    double currentPrice = quote.getLastPrice();
-                    double high52w = quote.getFiftyTwoWeekHigh();
+        DropScan scan = DropScan.of(DropScan.HIGH_52W, dropRules);
+        return screenDrops(symbols, List.of(scan), alertCallback).get(0);
+    }
 
-                    if (high52w <= 0 || currentPrice <= 0) {
-                        continue;
-                    }
+    /**
+     * Evaluates every scan in one pass over {@code symbols}, fetching the quotes and candles
+     * the scans need once up front.
+     *
+     * @return the matches of each scan, in the order of {@code scans}
+     */
+    public List<List<TechnicalScreener.ScreeningResult>> screenDrops(
+            List<String> symbols, List<DropScan> scans, BiConsumer<String, String> alertCallback) {
 
-                    double dropPct = ((high52w - currentPrice) / high52w) * 100.0;
-                    TechnicalScreener.ScreeningResult result = buildResult(symbol, currentPrice, quote.getTotalVolume(),
-                            dropPct, high52w, "52W_HIGH");
-                    boolean passes = evaluateDropRules(dropRules, result);
+        long t0 = System.currentTimeMillis();
+        List<String> universe = symbols.stream().distinct().toList();
+        log.info("Screening {} symbols for {} drop criteria", universe.size(), scans.size());
 
-                    if (passes) {
-                        results.add(buildResult(symbol, currentPrice, quote.getTotalVolume(),
-                                dropPct, high52w, "52W_HIGH"));
-                        log.info("[{}] Down {}% from 52W high (${} -> ${})",
-                                symbol, String.format("%.2f", dropPct),
-                                String.format("%.2f", high52w), String.format("%.2f", currentPrice));
-                    }
-                }
-            } catch (Exception e) {
-                log.warn("Error fetching quotes for batch starting at {}: {}", i, e.getMessage());
-                if (alertCallback != null) {
-                    alertCallback.accept("Batch " + i, e.getMessage());
+        if (scans.stream().anyMatch(DropScan::usesQuote)) {
+            QuotesCache.getInstance().prewarmBatched(universe, quoteBatchSize, schwabApiExecutor,
+                    ThinkOrSwimAPIs::getQuotes, alertCallback);
+        }
+        List<CandleSeries> candles = scans.stream().anyMatch(scan -> !scan.usesQuote())
+                ? schwabApiExecutor.executeParallel(universe, symbol -> {
+                    PriceHistoryCache.HistoricalData cachedData = PriceHistoryCache.getInstance().getHistoricalData(symbol, ThinkOrSwimAPIs);
+                    return cachedData != null ? cachedData.getCandleSeries() : null;
+                }, alertCallback)
+                : null;
+
+        List<List<TechnicalScreener.ScreeningResult>> results = new ArrayList<>(scans.size());
+        scans.forEach(scan -> results.add(new ArrayList<>()));
+        for (int i = 0; i < universe.size(); i++) {
+            String symbol = universe.get(i);
+            QuotesResponse.QuoteData quoteData = QuotesCache.getInstance().get(symbol);
+            QuotesResponse.Quote quote = quoteData != null ? quoteData.getQuote() : null;
+            CandleSeries series = candles != null ? candles.get(i) : null;
+
+            for (int s = 0; s < scans.size(); s++) {
+                DropScan scan = scans.get(s);
+                TechnicalScreener.ScreeningResult result = scan.usesQuote()
+                        ? quoteDrop(symbol, quote, scan)
+                        : candleDrop(symbol, series, scan);
+                if (result != null && evaluateDropRules(scan.rules(), result)) {
+                    results.get(s).add(result);
+                    log.info("[{}] Down {}% ({}: ${} -> ${})", symbol, String.format("%.2f", result.getDropPercent()),
+                            scan.dropType(), String.format("%.2f", result.getReferencePrice()),
+                            String.format("%.2f", result.getCurrentPrice()));
                 }
             }
         }
 
-        log.info("52-Week High Drop screening complete. Found {} stocks matching criteria.", results.size());
+        log.info("Drop screening complete in {}ms. Matches per criterion: {}", System.currentTimeMillis() - t0,
+                results.stream().map(List::size).toList());
         return results;
     }
 
     /**
-     * Screens for intraday price drops using Quotes API netPercentChange.
+     * Intraday or 52-week-high drop from a quote; {@code null} when the quote lacks the prices.
      */
-    private List<TechnicalScreener.ScreeningResult> screenIntradayDrop(
-            List<String> symbols, List<com.hemasundar.technical.MathExpression> dropRules, BiConsumer<String, String> alertCallback) {
-
-        List<TechnicalScreener.ScreeningResult> results = new ArrayList<>();
-
-        log.info("Screening {} symbols for intraday drop rules", symbols.size());
-
-        for (int i = 0; i < symbols.size(); i += 50) {
-            List<String> batch = symbols.subList(i, Math.min(i + 50, symbols.size()));
-            try {
-                Map<String, QuotesResponse.QuoteData> quotes = ThinkOrSwimAPIs.getQuotes(batch);
-
-                for (Map.Entry<String, QuotesResponse.QuoteData> entry : quotes.entrySet()) {
-                    String symbol = entry.getKey();
-                    QuotesResponse.QuoteData quoteData = entry.getValue();
-
-                    if (quoteData == null || quoteData.getQuote() == null) {
-                        continue;
-                    }
-
-                    QuotesResponse.Quote quote = quoteData.getQuote();
-                    double percentChange = quote.getNetPercentChange();
-                    double currentPrice = quote.getLastPrice();
-                    double closePrice = quote.getClosePrice();
-
-                    // netPercentChange is negative for drops
-                    double dropPct = Math.abs(percentChange);
-                    TechnicalScreener.ScreeningResult result = buildResult(symbol, currentPrice, quote.getTotalVolume(),
-                            dropPct, closePrice, "INTRADAY");
-                    boolean passes = evaluateDropRules(dropRules, result);
+    private TechnicalScreener.ScreeningResult quoteDrop(String symbol, QuotesResponse.Quote quote, DropScan scan) {
+        if (quote == null || quote.getLastPrice() == null) {
+            return null;
+        }
+        double currentPrice = quote.getLastPrice();
+        long volume = quote.getTotalVolume() != null ? quote.getTotalVolume() : 0L;
 
-                    if (passes) {
-                        results.add(result);
-                        log.info("[{}] Down {}% intraday (${} -> ${})",
-                                symbol, String.format("%.2f", dropPct),
-                                String.format("%.2f", closePrice), String.format("%.2f", currentPrice));
-                    }
-                }
-            } catch (Exception e) {
-                log.warn("Error fetching quotes for batch starting at {}: {}", i, e.getMessage());
-                if (alertCallback != null) {
-                    alertCallback.accept("Batch " + i, e.getMessage());
-                }
+        if (scan.lookbackDays() == DropScan.HIGH_52W) {
+            Double high52w = quote.getFiftyTwoWeekHigh();
+            if (high52w == null || high52w <= 0 || currentPrice <= 0) {
+                return null;
             }
+            double dropPct = ((high52w - currentPrice) / high52w) * 100.0;
+            return buildResult(symbol, currentPrice, volume, dropPct, high52w, scan.dropType());
         }
 
-        log.info("Intraday drop screening complete. Found {} stocks matching criteria.", results.size());
-        return results;
+        if (quote.getNetPercentChange() == null) {
+            return null;
+        }
+        // netPercentChange is negative for drops
+        double dropPct = Math.abs(quote.getNetPercentChange());
+        double closePrice = quote.getClosePrice() != null ? quote.getClosePrice() : 0.0;
+        return buildResult(symbol, currentPrice, volume, dropPct, closePrice, scan.dropType());
     }
 
     /**
-     * Screens for multi-day price drops using Price History API.
+     * Drop over {@code lookbackDays} daily closes; {@code null} when the history is too short.
      */
-    private List<TechnicalScreener.ScreeningResult> screenMultiDayDrop(
-            List<String> symbols, List<com.hemasundar.technical.MathExpression> dropRules, int lookbackDays, BiConsumer<String, String> alertCallback) {
-
-        log.info("Screening {} symbols for drop rules over {} days (parallel)",
-                symbols.size(), lookbackDays);
-
-        long screenT0 = System.currentTimeMillis();
-
-        // ── Parallel execution (Track B) ──
-        List<TechnicalScreener.ScreeningResult> parallelResults = schwabApiExecutor.executeParallel(
-                symbols, symbol -> {
-                    PriceHistoryCache.HistoricalData cachedData = PriceHistoryCache.getInstance().getHistoricalData(symbol, ThinkOrSwimAPIs);
-                    PriceHistoryResponse history = cachedData != null ? cachedData.getPriceHistory() : null;
-
-                    if (history == null || history.getCandles() == null
-                            || history.getCandles().isEmpty()) {
-                        return null;
-                    }
-
-                    List<PriceHistoryResponse.CandleData> candles = history.getCandles();
-                    int totalBars = candles.size();
-
-                    if (totalBars < lookbackDays + 1) {
-                        log.debug("[{}] Not enough price history ({} bars, need {})",
-                                symbol, totalBars, lookbackDays + 1);
-                        return null;
-                    }
-
-                    PriceHistoryResponse.CandleData currentCandle = candles.get(totalBars - 1);
-                    double currentPrice = currentCandle.getClose();
-                    long volume = currentCandle.getVolume();
-
-                    PriceHistoryResponse.CandleData referenceCandle = candles.get(totalBars - 1 - lookbackDays);
-                    double referencePrice = referenceCandle.getClose();
-
-                    if (referencePrice <= 0)
-                        return null;
-
-                    double dropPct = ((referencePrice - currentPrice) / referencePrice) * 100.0;
-
-                    String dropType;
-                    if (lookbackDays == 21) {
-                        dropType = "1M";
-                    } else if (lookbackDays == 63) {
-                        dropType = "3M";
-                    } else {
-                        dropType = lookbackDays + "D";
-                    }
-
-                    TechnicalScreener.ScreeningResult result = buildResult(symbol, currentPrice, volume, dropPct,
-                            referencePrice, dropType);
-                    boolean passes = evaluateDropRules(dropRules, result);
-
-                    if (passes) {
-                        log.info("[{}] Down {}% over {} days (${} -> ${})",
-                                symbol, String.format("%.2f", dropPct), lookbackDays,
-                                String.format("%.2f", referencePrice),
-                                String.format("%.2f", currentPrice));
-                        return result;
-                    }
-                    return null;
-                }, alertCallback);
-
-        // Collect non-null results
-        List<TechnicalScreener.ScreeningResult> results = new ArrayList<>();
-        for (TechnicalScreener.ScreeningResult r : parallelResults) {
-            if (r != null)
-                results.add(r);
+    private TechnicalScreener.ScreeningResult candleDrop(String symbol, CandleSeries candles, DropScan scan) {
+        if (candles == null || candles.isEmpty()) {
+            return null;
+        }
+        int lookbackDays = scan.lookbackDays();
+        int totalBars = candles.size();
+        if (totalBars < lookbackDays + 1) {
+            log.debug("[{}] Not enough price history ({} bars, need {})", symbol, totalBars, lookbackDays + 1);
+            return null;
         }
 
-        log.info("Multi-day drop screening complete. Found {} stocks matching criteria.", results.size());
-        return results;
+        double currentPrice = candles.lastClose();
+        double referencePrice = candles.getClose()[totalBars - 1 - lookbackDays];
+        if (!(referencePrice > 0)) {
+            return null;
+        }
+        double dropPct = ((referencePrice - currentPrice) / referencePrice) * 100.0;
+        return buildResult(symbol, currentPrice, candles.lastVolume(), dropPct, referencePrice, scan.dropType());
     }
 
     /**
-     * Evaluates drop rules against a built ScreeningResult using the centralized
-     * math expression evaluator.
+     * Evaluates drop rules, compiled once per screen, against a built ScreeningResult.
+     * No rules means no match.
      */
-    private boolean evaluateDropRules(List<com.hemasundar.technical.MathExpression> dropRules,
-            TechnicalScreener.ScreeningResult result) {
-        if (CollectionUtils.isEmpty(dropRules)) {
+    private boolean evaluateDropRules(CompiledConditions dropRules, TechnicalScreener.ScreeningResult result) {
+        if (dropRules.isEmpty()) {
             return false;
         }
-        return com.hemasundar.technical.MathExpressionEvaluator.evaluateAll(dropRules, result::getIndicatorValue);
+        return dropRules.evaluate(result::getIndicatorValue);
     }
 
     /**
@@ -270,7 +236,7 @@ public class PriceDropScreener {
                 .dropType(dropType);
 
         // Fetch Market Cap and Company Name from QuotesCache (populated during prewarm)
-        QuotesResponse.QuoteData quoteData = com.hemasundar.cache.QuotesCache.getInstance().get(symbol);
+        QuotesResponse.QuoteData quoteData = QuotesCache.getInstance().get(symbol);
         if (quoteData != null) {
             builder.marketCapB(quoteData.getMarketCapB());
             if (quoteData.getReference() != null) {
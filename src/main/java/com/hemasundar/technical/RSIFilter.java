@@ -107,6 +107,51 @@ public class RSIFilter implements TechnicalFilter {
         return previousRSI > overboughtThreshold && currentRSI <= overboughtThreshold;
     }
 
+    /**
+     * Current RSI computed directly over the close column, without building a BarSeries.
+     */
+    public double getCurrentRSI(CandleSeries candles) {
+        return IndicatorKernels.lastRsi(candles.getClose(), period, candles.lastIndex());
+    }
+
+    /**
+     * Previous day's RSI computed directly over the close column.
+     */
+    public double getPreviousRSI(CandleSeries candles) {
+        int lastIndex = candles.lastIndex();
+        return IndicatorKernels.lastRsi(candles.getClose(), period, Math.max(0, lastIndex - 1));
+    }
+
+    /**
+     * Current RSI from the streaming state of {@code state}'s symbol (O(1)).
+     */
+    public double getCurrentRSI(IndicatorState state) {
+        return state.rsi(period);
+    }
+
+    /**
+     * Previous day's RSI from the streaming state of {@code state}'s symbol (O(1)).
+     */
+    public double getPreviousRSI(IndicatorState state) {
+        return state.previousRsi(period);
+    }
+
+    public boolean isOversold(IndicatorState state) {
+        return getCurrentRSI(state) < oversoldThreshold;
+    }
+
+    public boolean isOverbought(IndicatorState state) {
+        return getCurrentRSI(state) > overboughtThreshold;
+    }
+
+    public boolean isBullishCrossover(IndicatorState state) {
+        return getPreviousRSI(state) < oversoldThreshold && getCurrentRSI(state) >= oversoldThreshold;
+    }
+
+    public boolean isBearishCrossover(IndicatorState state) {
+        return getPreviousRSI(state) > overboughtThreshold && getCurrentRSI(state) <= overboughtThreshold;
+    }
+
     @Override
     public boolean evaluate(BarSeries series) {
         // Returns true if either oversold or overbought
@@ -1,7 +1,5 @@
 package com.hemasundar.technical;
 
-import java.util.function.BiPredicate;
-
 public enum RelationalOperator {
     GREATER_THAN_OR_EQUAL(">=", (a, b) -> a >= b),
     LESS_THAN_OR_EQUAL("<=", (a, b) -> a <= b),
@@ -10,7 +8,7 @@ public enum RelationalOperator {
     LESS_THAN("<", (a, b) -> a < b);
 
     private final String symbol;
-    private final BiPredicate<Double, Double> evaluator;
+    private final Comparison evaluator;
 
     /**
      * Resolves a relational operator from its symbol (e.g. ">=", "<").
@@ -28,7 +26,7 @@ public enum RelationalOperator {
         throw new IllegalArgumentException("Unknown relational operator symbol: " + symbol);
     }
 
-    RelationalOperator(String symbol, BiPredicate<Double, Double> evaluator) {
+    RelationalOperator(String symbol, Comparison evaluator) {
         this.symbol = symbol;
         this.evaluator = evaluator;
     }
@@ -40,4 +38,10 @@ public enum RelationalOperator {
     public boolean evaluate(double actual, double target) {
         return evaluator.test(actual, target);
     }
+
+    /** Primitive comparison, so evaluating a rule does not box its operands. */
+    @FunctionalInterface
+    private interface Comparison {
+        boolean test(double actual, double target);
+    }
 }
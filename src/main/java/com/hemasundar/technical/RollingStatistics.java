@@ -0,0 +1,235 @@
+package com.hemasundar.technical;
+
+/**
+ * O(n) rolling mean / variance / min / max over primitive arrays, plus the two
+ * streaming building blocks behind them:
+ * <ul>
+ *   <li>{@link Moments} — Welford mean and sum of squared deviations with O(1)
+ *       add and remove, so a sliding window never re-walks its contents</li>
+ *   <li>{@link MonotonicDeque} — amortised O(1) sliding maximum or minimum</li>
+ * </ul>
+ * Used by {@link com.hemasundar.utils.VolatilityCalculator} (rolling HV), the Bollinger
+ * kernels in {@link IndicatorKernels} and the streaming {@link IndicatorState}
+ * (SMA/Bollinger/volume SMA windows, {@code HIGH_<N>D} / {@code LOW_<N>D}).
+ *
+ * <p>The array kernels use partial windows while fewer than {@code period} values exist,
+ * like ta4j; callers that need full windows read from index {@code period - 1} on.
+ */
+public final class RollingStatistics {
+
+    private RollingStatistics() {
+    }
+
+    /**
+     * Rolling mean of {@code x} into {@code out}.
+     */
+    public static void mean(double[] x, int period, double[] out) {
+        Moments moments = new Moments();
+        for (int i = 0; i < x.length; i++) {
+            moments.add(x[i]);
+            if (i >= period) {
+                moments.remove(x[i - period]);
+            }
+            out[i] = moments.mean();
+        }
+    }
+
+    /**
+     * Rolling standard deviation of {@code x} into {@code out}.
+     *
+     * @param sample {@code true} for the sample deviation (n - 1), {@code false} for the population one
+     */
+    public static void standardDeviation(double[] x, int period, boolean sample, double[] out) {
+        Moments moments = new Moments();
+        for (int i = 0; i < x.length; i++) {
+            moments.add(x[i]);
+            if (i >= period) {
+                moments.remove(x[i - period]);
+            }
+            out[i] = Math.sqrt(moments.variance(sample));
+        }
+    }
+
+    /**
+     * Rolling maximum of {@code x} into {@code out}; {@code NaN} values are skipped.
+     */
+    public static void max(double[] x, int period, double[] out) {
+        extreme(x, period, true, out);
+    }
+
+    /**
+     * Rolling minimum of {@code x} into {@code out}; {@code NaN} values are skipped.
+     */
+    public static void min(double[] x, int period, double[] out) {
+        extreme(x, period, false, out);
+    }
+
+    private static void extreme(double[] x, int period, boolean max, double[] out) {
+        MonotonicDeque deque = new MonotonicDeque(period, max);
+        for (int i = 0; i < x.length; i++) {
+            deque.push(i, x[i]);
+            deque.evictBefore(i - period + 1);
+            out[i] = deque.best();
+        }
+    }
+
+    /**
+     * Welford accumulator of count, mean and sum of squared deviations ({@code m2}).
+     * {@link #remove} undoes an earlier {@link #add}, which makes it a sliding window.
+     */
+    public static final class Moments {
+        private long count;
+        private double mean;
+        private double m2;
+
+        public void add(double x) {
+            count++;
+            double delta = x - mean;
+            mean += delta / count;
+            m2 += delta * (x - mean);
+        }
+
+        public void remove(double x) {
+            if (count <= 1) {
+                reset();
+                return;
+            }
+            count--;
+            double delta = x - mean;
+            mean -= delta / count;
+            m2 = Math.max(0, m2 - delta * (x - mean));
+        }
+
+        public void reset() {
+            count = 0;
+            mean = 0;
+            m2 = 0;
+        }
+
+        public long count() {
+            return count;
+        }
+
+        /**
+         * @return the mean, or {@code NaN} when empty
+         */
+        public double mean() {
+            return count == 0 ? Double.NaN : mean;
+        }
+
+        /**
+         * @param sample {@code true} for the sample variance (n - 1), {@code false} for the population one
+         * @return the variance; {@code 0} for fewer than two (sample) or one (population) values
+         */
+        public double variance(boolean sample) {
+            long n = sample ? count - 1 : count;
+            return n <= 0 ? 0 : m2 / n;
+        }
+
+        public Moments copy() {
+            Moments copy = new Moments();
+            copy.count = count;
+            copy.mean = mean;
+            copy.m2 = m2;
+            return copy;
+        }
+
+        long rawCount() {
+            return count;
+        }
+
+        double rawMean() {
+            return mean;
+        }
+
+        double rawM2() {
+            return m2;
+        }
+
+        void restore(long count, double mean, double m2) {
+            this.count = count;
+            this.mean = mean;
+            this.m2 = m2;
+        }
+    }
+
+    /**
+     * Sliding maximum (or minimum) over values tagged with increasing sequence numbers.
+     * Holds at most {@code capacity} entries — callers evict entries older than their
+     * window after every push, so the window must be at most {@code capacity} long.
+     */
+    public static final class MonotonicDeque {
+        private final boolean max;
+        private final long[] seqs;
+        private final double[] values;
+        private int head;
+        private int size;
+
+        public MonotonicDeque(int capacity, boolean max) {
+            this.max = max;
+            this.seqs = new long[Math.max(1, capacity)];
+            this.values = new double[seqs.length];
+        }
+
+        /**
+         * Adds {@code value} as the newest entry, dropping entries it dominates. {@code NaN} is ignored.
+         */
+        public void push(long seq, double value) {
+            if (Double.isNaN(value)) {
+                return;
+            }
+            while (size > 0 && !dominates(values[index(size - 1)], value)) {
+                size--;
+            }
+            if (size == seqs.length) {
+                // Window longer than the capacity: the oldest entry has to go
+                head = (head + 1) % seqs.length;
+                size--;
+            }
+            int tail = index(size);
+            seqs[tail] = seq;
+            values[tail] = value;
+            size++;
+        }
+
+        private boolean dominates(double kept, double incoming) {
+            return max ? kept > incoming : kept < incoming;
+        }
+
+        /**
+         * Drops entries with a sequence number below {@code firstSeq}.
+         */
+        public void evictBefore(long firstSeq) {
+            while (size > 0 && seqs[head] < firstSeq) {
+                head = (head + 1) % seqs.length;
+                size--;
+            }
+        }
+
+        /**
+         * @return the window maximum (minimum); {@code -Infinity} ({@code +Infinity}) when empty
+         */
+        public double best() {
+            if (size == 0) {
+                return max ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+            }
+            return values[head];
+        }
+
+        public int size() {
+            return size;
+        }
+
+        long seqAt(int i) {
+            return seqs[index(i)];
+        }
+
+        double valueAt(int i) {
+            return values[index(i)];
+        }
+
+        private int index(int i) {
+            return (head + i) % seqs.length;
+        }
+    }
+}
@@ -1,16 +1,19 @@
 package com.hemasundar.technical;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Container for technical filter conditions.
  *
  * <p>
  * All numeric comparisons are represented as {@link MathExpression} objects and
- * evaluated centrally by {@link MathExpressionEvaluator}. RSI and Bollinger
+ * evaluated centrally (compiled once, see {@link #getCompiledExpressions()}). RSI and Bollinger
  * Band conditions keep their enum representation in this object for display
  * purposes, but they are also converted to math expressions during loading.
  */
@@ -59,6 +62,23 @@ public class TechFilterConditions {
      */
     private final Integer lookbackDays;
 
+    /** {@link #filterExpressions} compiled on first use; the list is not modified after loading. */
+    @Getter(AccessLevel.NONE)
+    private final AtomicReference<CompiledConditions> compiledExpressions = new AtomicReference<>();
+
+    /**
+     * Returns {@link #filterExpressions} compiled into slot-indexed rules, compiling them once.
+     */
+    @JsonIgnore
+    public CompiledConditions getCompiledExpressions() {
+        CompiledConditions compiled = compiledExpressions.get();
+        if (compiled == null) {
+            compiled = CompiledConditions.compile(filterExpressions);
+            compiledExpressions.set(compiled);
+        }
+        return compiled;
+    }
+
     /**
      * Returns a readable summary of the conditions.
      */
@@ -25,6 +25,8 @@ import java.util.List;
 @UtilityClass
 public class TechnicalIndicatorUtils {
 
+    private static final ZoneId MARKET_ZONE = ZoneId.of("America/New_York");
+
     /**
      * Builds a BarSeries from price history response for use with ta4j indicators.
      *
@@ -33,27 +35,36 @@ public class TechnicalIndicatorUtils {
      * @return BarSeries ready for technical analysis
      */
     public static BarSeries buildBarSeries(String symbol, PriceHistoryResponse response) {
-        BarSeries series = new BaseBarSeriesBuilder().withName(symbol).build();
-
         if (response == null || CollectionUtils.isEmpty(response.getCandles())) {
+            return new BaseBarSeriesBuilder().withName(symbol).build();
+        }
+        return buildBarSeriesFromCandles(symbol, CandleSeries.from(response));
+    }
+
+    /**
+     * Builds a BarSeries from the shared columnar candle series.
+     *
+     * @param symbol  The stock symbol (used as series name)
+     * @param candles Columnar OHLCV data
+     * @return BarSeries ready for technical analysis
+     */
+    public static BarSeries buildBarSeriesFromCandles(String symbol, CandleSeries candles) {
+        BarSeries series = new BaseBarSeriesBuilder().withName(symbol).build();
+        if (candles == null || candles.isEmpty()) {
             return series;
         }
 
-        for (PriceHistoryResponse.CandleData candle : response.getCandles()) {
+        Duration day = Duration.ofDays(1);
+        long[] epochMs = candles.getEpochMs();
+        double[] open = candles.getOpen();
+        double[] high = candles.getHigh();
+        double[] low = candles.getLow();
+        double[] close = candles.getClose();
+        long[] volume = candles.getVolume();
+        for (int i = 0; i < candles.size(); i++) {
             // Convert milliseconds timestamp to ZonedDateTime
-            ZonedDateTime endTime = ZonedDateTime.ofInstant(
-                    Instant.ofEpochMilli(candle.getDatetime()),
-                    ZoneId.of("America/New_York"));
-
-            // Add bar using the addBar method with Duration
-            series.addBar(
-                    Duration.ofDays(1),
-                    endTime,
-                    candle.getOpen(),
-                    candle.getHigh(),
-                    candle.getLow(),
-                    candle.getClose(),
-                    candle.getVolume());
+            ZonedDateTime endTime = ZonedDateTime.ofInstant(Instant.ofEpochMilli(epochMs[i]), MARKET_ZONE);
+            series.addBar(day, endTime, open[i], high[i], low[i], close[i], volume[i]);
         }
 
         return series;
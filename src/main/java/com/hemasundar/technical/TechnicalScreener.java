@@ -2,7 +2,6 @@ package com.hemasundar.technical;
 
 import com.hemasundar.apis.ThinkOrSwimAPIs;
 import com.hemasundar.cache.QuotesCache;
-import com.hemasundar.pojos.PriceHistoryResponse;
 import com.hemasundar.pojos.QuotesResponse;
 import com.hemasundar.utils.SchwabApiExecutor;
 import com.hemasundar.utils.VolatilityCalculator;
@@ -12,15 +11,17 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.extern.log4j.Log4j2;
-import org.ta4j.core.BarSeries;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.Set;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 import java.util.concurrent.CopyOnWriteArrayList;
@@ -65,6 +66,8 @@ public class TechnicalScreener {
         @Builder.Default
         private Map<Integer, Double> highValues = new HashMap<>();
         @Builder.Default
+        private Map<Integer, Double> lowValues = new HashMap<>();
+        @Builder.Default
         private Map<Integer, Double> maValues = new HashMap<>();
         @Builder.Default
         private Map<Integer, Double> emaValues = new HashMap<>();
@@ -213,6 +216,7 @@ public class TechnicalScreener {
          *   <li>{@code SMA<N>} — simple moving average for period N</li>
          *   <li>{@code VOLUME_SMA<N>} — volume SMA for period N</li>
          *   <li>{@code HIGH_<N>D} — Highest high price of the last N days</li>
+         *   <li>{@code LOW_<N>D} — Lowest low price of the last N days</li>
          *   <li>{@code ATR_DROP_FROM_HIGH_<N>D} — Drop from N-day high measured in multiples of ATR</li>
          *   <li>{@code PRICE_DROP_FROM_HIGH_<N>D} — Dollar drop from N-day high</li>
          *   <li>{@code HV_RANK} — historical volatility rank</li>
@@ -265,6 +269,12 @@ public class TechnicalScreener {
                     return highValues.get(period);
                 }
             }
+            if (key.startsWith("LOW_") && key.endsWith("D")) {
+                Integer period = parsePeriod(key.substring(4, key.length() - 1));
+                if (period != null && lowValues != null) {
+                    return lowValues.get(period);
+                }
+            }
             if (key.startsWith("ATR_DROP_FROM_HIGH_") && key.endsWith("D")) {
                 Integer period = parsePeriod(key.substring(19, key.length() - 1));
                 if (period != null && highValues != null && atr != null && atr > 0) {
@@ -360,20 +370,17 @@ public class TechnicalScreener {
         log.info("Screening {} symbols in parallel", symbols.size());
         long screenT0 = System.currentTimeMillis();
 
+        IndicatorPlan plan = IndicatorPlan.forScreen(filterChain.getIndicators(), filterChain.getConditions());
+        log.debug("Indicator plan ({} values per symbol): {}", plan.size(), plan);
         List<ScreeningResult> parallelResults = schwabApiExecutor.executeParallel(symbols, symbol -> {
-            return analyzeStock(symbol, filterChain.getIndicators(), filterChain.getConditions());
+            return analyzeStock(symbol, filterChain.getIndicators(), filterChain.getConditions(), plan);
         }, alertCallback);
 
-        // Filter out nulls (errors) and apply all conditions on the calling thread
-        List<ScreeningResult> results = new ArrayList<>();
-        for (ScreeningResult result : parallelResults) {
-            if (result != null
-                    && meetsAllCriteria(result, filterChain.getConditions())
-                    && meetsFundamentalCriteria(result, fundamentalConditions)) {
-                results.add(result);
-                log.info("\n{}", result);
-            }
-        }
+        // Nulls (errors) are dropped; all conditions run as column passes over the screened universe
+        IndicatorMatrix matrix = IndicatorMatrix.of(parallelResults);
+        BitSet passing = matchingRows(matrix, filterChain.getConditions(), fundamentalConditions);
+        List<ScreeningResult> results = new ArrayList<>(matrix.rows(passing));
+        results.forEach(result -> log.info("\n{}", result));
 
         log.info("Screening complete. Found {} stocks matching criteria.", results.size());
         return results;
@@ -386,114 +393,259 @@ public class TechnicalScreener {
         return screenStocks(symbols, filterChain, null, alertCallback);
     }
 
+    /**
+     * One screen of a {@link #screenStocksFused} pass.
+     *
+     * @param fundamentalConditions optional fundamental conditions (may be null)
+     */
+    public record ScreenRequest(List<String> symbols, TechnicalFilterChain filterChain,
+                                FundamentalFilterConditions fundamentalConditions) {
+    }
+
+    /**
+     * Runs several screens in one pass over the union of their symbols. Each symbol's
+     * candles and quote are loaded once, the union of every screen's indicators
+     * ({@link IndicatorPlan#union}) is evaluated once, and every screen that includes the
+     * symbol builds its result from its own share of those values. Conditions then run per
+     * screen as column passes, so each screen gets the results {@link #screenStocks} would
+     * give it alone.
+     *
+     * @return the matches of each screen, in the order of {@code screens}
+     */
+    public List<List<ScreeningResult>> screenStocksFused(List<ScreenRequest> screens,
+            java.util.function.BiConsumer<String, String> alertCallback) {
+        long screenT0 = System.currentTimeMillis();
+        List<IndicatorPlan> plans = screens.stream()
+                .map(screen -> IndicatorPlan.forScreen(screen.filterChain().getIndicators(), screen.filterChain().getConditions()))
+                .toList();
+        IndicatorPlan union = IndicatorPlan.union(plans);
+        List<Set<String>> members = screens.stream().map(screen -> (Set<String>) new HashSet<>(screen.symbols())).toList();
+        List<String> universe = screens.stream().flatMap(screen -> screen.symbols().stream()).distinct().toList();
+        log.info("Fused screening of {} symbols for {} screeners ({} values per symbol)",
+                universe.size(), screens.size(), union.size());
+
+        List<ScreeningResult[]> rows = schwabApiExecutor.executeParallel(universe,
+                symbol -> analyzeStockFused(symbol, screens, plans, union, members), alertCallback);
+        Map<String, ScreeningResult[]> rowsBySymbol = new HashMap<>();
+        for (int i = 0; i < universe.size(); i++) {
+            if (rows.get(i) != null) {
+                rowsBySymbol.put(universe.get(i), rows.get(i));
+            }
+        }
+
+        List<List<ScreeningResult>> results = new ArrayList<>(screens.size());
+        for (int s = 0; s < screens.size(); s++) {
+            ScreenRequest screen = screens.get(s);
+            List<ScreeningResult> screened = new ArrayList<>();
+            for (String symbol : screen.symbols()) {
+                ScreeningResult[] row = rowsBySymbol.get(symbol);
+                if (row != null && row[s] != null) {
+                    screened.add(row[s]);
+                }
+            }
+            IndicatorMatrix matrix = IndicatorMatrix.of(screened);
+            BitSet passing = matchingRows(matrix, screen.filterChain().getConditions(), screen.fundamentalConditions());
+            List<ScreeningResult> matches = new ArrayList<>(matrix.rows(passing));
+            matches.forEach(result -> log.info("\n{}", result));
+            results.add(matches);
+        }
+
+        log.info("Fused screening complete in {}ms. Matches per screener: {}",
+                System.currentTimeMillis() - screenT0, results.stream().map(List::size).toList());
+        return results;
+    }
+
+    /**
+     * One symbol of a fused pass: its result for each screen that includes it, {@code null}
+     * for the others.
+     */
+    private ScreeningResult[] analyzeStockFused(String symbol, List<ScreenRequest> screens, List<IndicatorPlan> plans,
+            IndicatorPlan union, List<Set<String>> members) {
+        ScreeningResult[] row = new ScreeningResult[screens.size()];
+        ScreeningResult cachedResult = com.hemasundar.cache.TechnicalIndicatorCache.getInstance().get(symbol);
+        CandleSeries candles = null;
+        double[] values = null;
+        QuotesResponse.QuoteData quoteData = null;
+        if (cachedResult == null) {
+            candles = loadCandles(symbol);
+            if (candles == null) {
+                return row;
+            }
+            IndicatorEngine indicatorEngine = PriceHistoryCache.getInstance().getIndicatorEngine();
+            IndicatorState state = indicatorEngine.sync(symbol, candles);
+            values = union.evaluate(state, candles, volatilityCalculator);
+            indicatorEngine.persist(symbol);
+            quoteData = quoteFor(symbol);
+        }
+
+        for (int s = 0; s < screens.size(); s++) {
+            if (!members.get(s).contains(symbol)) {
+                continue;
+            }
+            TechnicalFilterChain chain = screens.get(s).filterChain();
+            row[s] = cachedResult != null
+                    ? fromCachedResult(cachedResult, chain.getIndicators())
+                    : buildResult(symbol, candles, chain.getIndicators(), chain.getConditions(), plans.get(s),
+                            plans.get(s).project(union, values), quoteData);
+        }
+        return row;
+    }
+
     /**
      * Analyzes a single stock and calculates all technical values.
      */
     public ScreeningResult analyzeStock(String symbol, TechnicalIndicators indicators, TechFilterConditions conditions) {
+        return analyzeStock(symbol, indicators, conditions, IndicatorPlan.forScreen(indicators, conditions));
+    }
+
+    /**
+     * Analyzes a single stock with a plan built once for the whole screen
+     * (see {@link IndicatorPlan#forScreen}).
+     */
+    public ScreeningResult analyzeStock(String symbol, TechnicalIndicators indicators, TechFilterConditions conditions,
+            IndicatorPlan plan) {
         // If a fully populated result is already in cache, use it immediately
         ScreeningResult cachedResult = com.hemasundar.cache.TechnicalIndicatorCache.getInstance().get(symbol);
         if (cachedResult != null) {
-            ScreeningResult.ScreeningResultBuilder builder = cachedResult.toBuilder();
-            builder.allTechnicalIndicatorsSummary(cachedResult.getFormattedSummary());
-            
-            // Filter RSI
-            if (indicators.getRsiFilter() == null) {
-                builder.rsi(0.0).previousRsi(0.0).rsiOversold(false).rsiOverbought(false)
-                       .rsiBullishCrossover(false).rsiBearishCrossover(false);
-            }
-            
-            // Filter Bollinger
-            if (indicators.getBollingerFilter() == null) {
-                builder.bollingerLower(0.0).bollingerMiddle(0.0).bollingerUpper(0.0)
-                       .priceTouchingLowerBand(false).priceTouchingUpperBand(false);
-            }
-            
-            // Filter MAs
-            if (indicators.getMaFilters() != null) {
-                java.util.Map<Integer, Double> filteredMa = new java.util.HashMap<>();
-                for (Integer p : indicators.getMaFilters().keySet()) {
-                    if (cachedResult.getMaValues() != null && cachedResult.getMaValues().containsKey(p)) {
-                        filteredMa.put(p, cachedResult.getMaValues().get(p));
-                    }
+            return fromCachedResult(cachedResult, indicators);
+        }
+
+        CandleSeries candles = loadCandles(symbol);
+        if (candles == null) {
+            return null;
+        }
+
+        // Rolling indicator state: only bars added since the last sync are folded in
+        IndicatorEngine indicatorEngine = PriceHistoryCache.getInstance().getIndicatorEngine();
+        IndicatorState state = indicatorEngine.sync(symbol, candles);
+
+        // Every planned value is computed exactly once for this symbol
+        double[] values = plan.evaluate(state, candles, volatilityCalculator);
+        indicatorEngine.persist(symbol);
+
+        return buildResult(symbol, candles, indicators, conditions, plan, values, quoteFor(symbol));
+    }
+
+    /**
+     * The cached full result of a symbol, trimmed to the indicators this screen configures.
+     */
+    private ScreeningResult fromCachedResult(ScreeningResult cachedResult, TechnicalIndicators indicators) {
+        ScreeningResult.ScreeningResultBuilder builder = cachedResult.toBuilder();
+        builder.allTechnicalIndicatorsSummary(cachedResult.getFormattedSummary());
+        
+        // Filter RSI
+        if (indicators.getRsiFilter() == null) {
+            builder.rsi(0.0).previousRsi(0.0).rsiOversold(false).rsiOverbought(false)
+                   .rsiBullishCrossover(false).rsiBearishCrossover(false);
+        }
+        
+        // Filter Bollinger
+        if (indicators.getBollingerFilter() == null) {
+            builder.bollingerLower(0.0).bollingerMiddle(0.0).bollingerUpper(0.0)
+                   .priceTouchingLowerBand(false).priceTouchingUpperBand(false);
+        }
+        
+        // Filter MAs
+        if (indicators.getMaFilters() != null) {
+            java.util.Map<Integer, Double> filteredMa = new java.util.HashMap<>();
+            for (Integer p : indicators.getMaFilters().keySet()) {
+                if (cachedResult.getMaValues() != null && cachedResult.getMaValues().containsKey(p)) {
+                    filteredMa.put(p, cachedResult.getMaValues().get(p));
                 }
-                builder.maValues(filteredMa.isEmpty() ? null : filteredMa);
-            } else {
-                builder.maValues(null);
-            }
-            
-            // Filter EMAs
-            if (indicators.getEmaFilters() != null) {
-                java.util.Map<Integer, Double> filteredEma = new java.util.HashMap<>();
-                for (Integer p : indicators.getEmaFilters().keySet()) {
-                    if (cachedResult.getEmaValues() != null && cachedResult.getEmaValues().containsKey(p)) {
-                        filteredEma.put(p, cachedResult.getEmaValues().get(p));
-                    }
+            }
+            builder.maValues(filteredMa.isEmpty() ? null : filteredMa);
+        } else {
+            builder.maValues(null);
+        }
+        
+        // Filter EMAs
+        if (indicators.getEmaFilters() != null) {
+            java.util.Map<Integer, Double> filteredEma = new java.util.HashMap<>();
+            for (Integer p : indicators.getEmaFilters().keySet()) {
+                if (cachedResult.getEmaValues() != null && cachedResult.getEmaValues().containsKey(p)) {
+                    filteredEma.put(p, cachedResult.getEmaValues().get(p));
                 }
-                builder.emaValues(filteredEma.isEmpty() ? null : filteredEma);
-            } else {
-                builder.emaValues(null);
             }
-            
-            return builder.build();
+            builder.emaValues(filteredEma.isEmpty() ? null : filteredEma);
+        } else {
+            builder.emaValues(null);
         }
+        
+        return builder.build();
+    }
 
-        Integer hvPeriod = conditions != null ? conditions.getHvPeriod() : 20;
+    /**
+     * @return the symbol's cached daily candles, or {@code null} when there is no history
+     */
+    private CandleSeries loadCandles(String symbol) {
         PriceHistoryCache.HistoricalData cachedData = PriceHistoryCache.getInstance().getHistoricalData(symbol, ThinkOrSwimAPIs);
-        PriceHistoryResponse priceHistory = cachedData != null ? cachedData.getPriceHistory() : null;
-        
-        if (priceHistory == null) {
+        if (cachedData == null || cachedData.getPriceHistory() == null) {
             return null;
         }
-
-        Double hvRank = null;
-        if (hvPeriod != null && hvPeriod > 0) {
-            hvRank = volatilityCalculator.calculateHvRank(priceHistory, hvPeriod);
-        }
-
-        BarSeries series = TechnicalIndicatorUtils.buildBarSeries(symbol, priceHistory);
-        if (series.getBarCount() == 0) {
+        CandleSeries candles = cachedData.getCandleSeries();
+        if (candles.isEmpty()) {
             log.warn("[{}] No price history available", symbol);
             return null;
         }
+        return candles;
+    }
 
-        double currentPrice = series.getBar(series.getEndIndex()).getClosePrice().doubleValue();
+    /**
+     * Builds a symbol's result from {@code values} evaluated by {@code plan}.
+     */
+    private ScreeningResult buildResult(String symbol, CandleSeries candles, TechnicalIndicators indicators,
+            TechFilterConditions conditions, IndicatorPlan plan, double[] values, QuotesResponse.QuoteData quoteData) {
+        double currentPrice = candles.lastClose();
+        Integer hvPeriod = conditions != null ? conditions.getHvPeriod() : 20;
+        Double hvRank = hvPeriod != null && hvPeriod > 0
+                ? plan.get(values, IndicatorPlan.Node.of(IndicatorPlan.Kind.HV_RANK, hvPeriod)) : null;
 
         ScreeningResult.ScreeningResultBuilder builder = ScreeningResult.builder()
                 .symbol(symbol)
                 .currentPrice(currentPrice)
-                .historicalVolatilityRank(hvRank);
+                .historicalVolatilityRank(hvRank)
+                .volume(candles.lastVolume());
 
         // RSI
         if (indicators.getRsiFilter() != null) {
-            RSIFilter rsi = indicators.getRsiFilter();
-            builder.rsi(rsi.getCurrentRSI(series))
-                    .previousRsi(rsi.getPreviousRSI(series))
-                    .rsiOversold(rsi.isOversold(series))
-                    .rsiOverbought(rsi.isOverbought(series))
-                    .rsiBullishCrossover(rsi.isBullishCrossover(series))
-                    .rsiBearishCrossover(rsi.isBearishCrossover(series));
+            RSIFilter rsiFilter = indicators.getRsiFilter();
+            int period = rsiFilter.getPeriod();
+            double rsi = values[plan.slot(IndicatorPlan.Node.of(IndicatorPlan.Kind.RSI, period))];
+            double previousRsi = values[plan.slot(IndicatorPlan.Node.of(IndicatorPlan.Kind.PREVIOUS_RSI, period))];
+            double oversold = rsiFilter.getOversoldThreshold();
+            double overbought = rsiFilter.getOverboughtThreshold();
+            builder.rsi(rsi)
+                    .previousRsi(previousRsi)
+                    .rsiOversold(rsi < oversold)
+                    .rsiOverbought(rsi > overbought)
+                    .rsiBullishCrossover(previousRsi < oversold && rsi >= oversold)
+                    .rsiBearishCrossover(previousRsi > overbought && rsi <= overbought);
         }
 
         // Bollinger Bands
         if (indicators.getBollingerFilter() != null) {
             BollingerBandsFilter bb = indicators.getBollingerFilter();
-            builder.bollingerLower(bb.getLowerBand(series))
-                    .bollingerMiddle(bb.getMiddleBand(series))
-                    .bollingerUpper(bb.getUpperBand(series))
-                    .priceTouchingLowerBand(bb.isPriceTouchingLowerBand(series))
-                    .priceTouchingUpperBand(bb.isPriceTouchingUpperBand(series));
+            double lower = values[plan.slot(new IndicatorPlan.Node(IndicatorPlan.Kind.BB_LOWER, bb.getPeriod(), bb.getStandardDeviations()))];
+            double middle = values[plan.slot(new IndicatorPlan.Node(IndicatorPlan.Kind.BB_MIDDLE, bb.getPeriod(), bb.getStandardDeviations()))];
+            double upper = values[plan.slot(new IndicatorPlan.Node(IndicatorPlan.Kind.BB_UPPER, bb.getPeriod(), bb.getStandardDeviations()))];
+            builder.bollingerLower(lower)
+                    .bollingerMiddle(middle)
+                    .bollingerUpper(upper)
+                    .priceTouchingLowerBand(currentPrice <= lower)
+                    .priceTouchingUpperBand(currentPrice >= upper);
         }
 
         // ATR
         if (indicators.getAtrFilter() != null) {
-            builder.atr(indicators.getAtrFilter().getCurrentATR(series));
+            builder.atr(values[plan.slot(IndicatorPlan.Node.of(IndicatorPlan.Kind.ATR, indicators.getAtrFilter().getPeriod()))]);
         }
 
-        // Moving Averages
-        if (indicators.getMaFilters() != null) {
+        // Moving Averages (configured filters and SMA<N> expression variables)
+        List<Integer> smaPeriods = plan.periods(IndicatorPlan.Kind.SMA);
+        if (indicators.getMaFilters() != null || !smaPeriods.isEmpty()) {
             Map<Integer, Double> maValues = new HashMap<>();
-            for (Map.Entry<Integer, MovingAverageFilter> entry : indicators.getMaFilters().entrySet()) {
-                maValues.put(entry.getKey(), entry.getValue().getCurrentSMA(series));
+            for (Integer period : smaPeriods) {
+                maValues.put(period, values[plan.slot(IndicatorPlan.Node.of(IndicatorPlan.Kind.SMA, period))]);
             }
             builder.maValues(maValues);
         }
@@ -501,88 +653,50 @@ public class TechnicalScreener {
         // Exponential Moving Averages
         if (indicators.getEmaFilters() != null) {
             Map<Integer, Double> emaValues = new HashMap<>();
-            for (Map.Entry<Integer, ExponentialMovingAverageFilter> entry : indicators.getEmaFilters().entrySet()) {
-                emaValues.put(entry.getKey(), entry.getValue().getCurrentEMA(series));
+            for (Integer period : plan.periods(IndicatorPlan.Kind.EMA)) {
+                emaValues.put(period, values[plan.slot(IndicatorPlan.Node.of(IndicatorPlan.Kind.EMA, period))]);
             }
             builder.emaValues(emaValues);
         }
 
-        // Volume
-        if (indicators.getVolumeFilter() != null) {
-            VolumeFilter volumeFilter = indicators.getVolumeFilter();
-            builder.volume(volumeFilter.getCurrentVolume(series));
-        } else {
-            // Default: get volume directly from series
-            builder.volume(series.getBar(series.getEndIndex()).getVolume().longValue());
-        }
-
-        // Volume SMA calculation when any VOLUME_SMA<N> expression is configured
-        if (conditions != null && conditions.getFilterExpressions() != null) {
-            java.util.Set<Integer> volumeSmaPeriods = new java.util.LinkedHashSet<>();
-            for (MathExpression expr : conditions.getFilterExpressions()) {
-                Integer p = extractVolumeSmaPeriod(expr.getLeftVariable());
-                if (p != null) {
-                    volumeSmaPeriods.add(p);
+        // Volume SMA when any VOLUME_SMA<N> expression is configured
+        List<Integer> volumeSmaPeriods = plan.periods(IndicatorPlan.Kind.VOLUME_SMA);
+        if (!volumeSmaPeriods.isEmpty()) {
+            Map<Integer, Double> volumeMaValues = new HashMap<>();
+            for (Integer period : volumeSmaPeriods) {
+                double value = values[plan.slot(IndicatorPlan.Node.of(IndicatorPlan.Kind.VOLUME_SMA, period))];
+                volumeMaValues.put(period, value);
+                if (period <= 20) {
+                    builder.volumeSmaShort(value);
                 }
-                p = extractVolumeSmaPeriod(expr.getRightVariable());
-                if (p != null) {
-                    volumeSmaPeriods.add(p);
+                if (period >= 50) {
+                    builder.volumeSmaLong(value);
                 }
             }
-            if (!volumeSmaPeriods.isEmpty()) {
-                org.ta4j.core.indicators.helpers.VolumeIndicator volumeInd = new org.ta4j.core.indicators.helpers.VolumeIndicator(series);
-                Map<Integer, Double> volumeMaValues = new HashMap<>();
-                for (Integer period : volumeSmaPeriods) {
-                    org.ta4j.core.indicators.SMAIndicator sma = new org.ta4j.core.indicators.SMAIndicator(volumeInd, period);
-                    double value = sma.getValue(series.getEndIndex()).doubleValue();
-                    volumeMaValues.put(period, value);
-                    if (period <= 20) {
-                        builder.volumeSmaShort(value);
-                    }
-                    if (period >= 50) {
-                        builder.volumeSmaLong(value);
-                    }
-                }
-                builder.volumeMaValues(volumeMaValues);
-            }
+            builder.volumeMaValues(volumeMaValues);
+        }
 
-            java.util.Set<Integer> highPeriods = new java.util.LinkedHashSet<>();
-            for (MathExpression expr : conditions.getFilterExpressions()) {
-                Integer p = extractHighPeriod(expr.getLeftVariable());
-                if (p != null) {
-                    highPeriods.add(p);
-                }
-                p = extractHighPeriod(expr.getRightVariable());
-                if (p != null) {
-                    highPeriods.add(p);
-                }
-            }
-            if (!highPeriods.isEmpty()) {
-                org.ta4j.core.indicators.helpers.HighPriceIndicator highPrice = new org.ta4j.core.indicators.helpers.HighPriceIndicator(series);
-                Map<Integer, Double> highValuesMap = new HashMap<>();
-                for (Integer period : highPeriods) {
-                    org.ta4j.core.indicators.helpers.HighestValueIndicator highest = new org.ta4j.core.indicators.helpers.HighestValueIndicator(highPrice, period);
-                    double value = highest.getValue(series.getEndIndex()).doubleValue();
-                    highValuesMap.put(period, value);
-                }
-                builder.highValues(highValuesMap);
+        // N-day highs behind HIGH_<N>D, ATR_DROP_FROM_HIGH_<N>D and PRICE_DROP_FROM_HIGH_<N>D
+        List<Integer> highPeriods = plan.periods(IndicatorPlan.Kind.HIGH);
+        if (!highPeriods.isEmpty()) {
+            Map<Integer, Double> highValuesMap = new HashMap<>();
+            for (Integer period : highPeriods) {
+                highValuesMap.put(period, values[plan.slot(IndicatorPlan.Node.of(IndicatorPlan.Kind.HIGH, period))]);
             }
+            builder.highValues(highValuesMap);
         }
 
-        // Market Cap
-        QuotesResponse.QuoteData quoteData = QuotesCache.getInstance().get(symbol);
-        if (quoteData == null && ThinkOrSwimAPIs != null) {
-            try {
-                log.info("Symbol {}: quoteData missing in cache, fetching on-demand", symbol);
-                quoteData = ThinkOrSwimAPIs.getQuote(symbol, null);
-                if (quoteData != null) {
-                    QuotesCache.getInstance().put(symbol, quoteData);
-                }
-            } catch (Exception e) {
-                log.warn("Symbol {}: On-demand quote fetch failed: {}", symbol, e.getMessage());
+        // N-day lows behind LOW_<N>D
+        List<Integer> lowPeriods = plan.periods(IndicatorPlan.Kind.LOW);
+        if (!lowPeriods.isEmpty()) {
+            Map<Integer, Double> lowValuesMap = new HashMap<>();
+            for (Integer period : lowPeriods) {
+                lowValuesMap.put(period, values[plan.slot(IndicatorPlan.Node.of(IndicatorPlan.Kind.LOW, period))]);
             }
+            builder.lowValues(lowValuesMap);
         }
 
+        // Market Cap
         if (quoteData != null) {
             Double mcap = quoteData.getMarketCapB();
             if (mcap != null) {
@@ -601,59 +715,37 @@ public class TechnicalScreener {
         return builder.build();
     }
 
-    private static Integer extractVolumeSmaPeriod(String variable) {
-        if (variable == null) {
-            return null;
-        }
-        String key = variable.trim().toUpperCase();
-        if (key.startsWith("VOLUME_SMA")) {
+    /**
+     * The symbol's quote from {@link QuotesCache}, fetched on demand when missing.
+     */
+    private QuotesResponse.QuoteData quoteFor(String symbol) {
+        QuotesResponse.QuoteData quoteData = null;
+        if (ThinkOrSwimAPIs != null) {
             try {
-                return Integer.parseInt(key.substring(10));
-            } catch (NumberFormatException e) {
-                return null;
-            }
-        }
-        return null;
-    }
-
-    private static Integer extractHighPeriod(String variable) {
-        if (variable == null) {
-            return null;
-        }
-        String key = variable.trim().toUpperCase();
-        try {
-            if (key.startsWith("HIGH_") && key.endsWith("D")) {
-                return Integer.parseInt(key.substring(5, key.length() - 1));
-            }
-            if (key.startsWith("ATR_DROP_FROM_HIGH_") && key.endsWith("D")) {
-                return Integer.parseInt(key.substring(19, key.length() - 1));
-            }
-            if (key.startsWith("PRICE_DROP_FROM_HIGH_") && key.endsWith("D")) {
-                return Integer.parseInt(key.substring(21, key.length() - 1));
+                // Stale quotes are served immediately and refreshed in the background
+                quoteData = QuotesCache.getInstance().getOrFetch(symbol, s -> {
+                    log.info("Symbol {}: quoteData missing in cache, fetching on-demand", s);
+                    return ThinkOrSwimAPIs.getQuote(s, null);
+                });
+            } catch (Exception e) {
+                log.warn("Symbol {}: On-demand quote fetch failed: {}", symbol, e.getMessage());
             }
-        } catch (NumberFormatException e) {
-            return null;
+        } else {
+            quoteData = QuotesCache.getInstance().get(symbol);
         }
-        return null;
-    }
-
-    /**
-     * Checks if the screening result meets all technical filter conditions.
-     */
-    private boolean meetsAllCriteria(ScreeningResult result, TechFilterConditions conditions) {
-        return MathExpressionEvaluator.evaluateAll(conditions.getFilterExpressions(), result::getIndicatorValue);
+        return quoteData;
     }
 
     /**
-     * Checks if the screening result meets all fundamental filter conditions
-     * (e.g. Market Cap). Returns true if {@code fundamentalConditions} is null
-     * or has no expressions.
+     * Rows of {@code matrix} meeting all technical and fundamental filter conditions
+     * (e.g. Market Cap). Missing condition objects impose no constraint.
      */
-    private boolean meetsFundamentalCriteria(ScreeningResult result, FundamentalFilterConditions fundamentalConditions) {
-        if (fundamentalConditions == null) {
-            return true;
+    static BitSet matchingRows(IndicatorMatrix matrix, TechFilterConditions conditions,
+            FundamentalFilterConditions fundamentalConditions) {
+        BitSet passing = matrix.filter(conditions != null ? conditions.getCompiledExpressions() : CompiledConditions.EMPTY);
+        if (fundamentalConditions != null) {
+            passing.and(matrix.filter(fundamentalConditions.getCompiledExpressions()));
         }
-        return MathExpressionEvaluator.evaluateAll(
-                fundamentalConditions.getFilterExpressions(), result::getIndicatorValue);
+        return passing;
     }
 }
@@ -87,6 +87,15 @@ public class FilterParser {
         applyIfPresent(filterMap, "topTradesCount", v -> filter.setTopTradesCount(toInt(v)));
         applyIfPresent(filterMap, "minIVRank", v -> filter.setMinIVRank(toDouble(v)));
         applyIfPresent(filterMap, "maxIVRank", v -> filter.setMaxIVRank(toDouble(v)));
+        applyIfPresent(filterMap, "minUnderlyingPrice", v -> filter.setMinUnderlyingPrice(toDouble(v)));
+        applyIfPresent(filterMap, "maxUnderlyingPrice", v -> filter.setMaxUnderlyingPrice(toDouble(v)));
+        applyIfPresent(filterMap, "minUnderlyingVolume", v -> filter.setMinUnderlyingVolume(toLong(v)));
+        applyIfPresent(filterMap, "minUnderlyingChangePercent", v -> filter.setMinUnderlyingChangePercent(toDouble(v)));
+        applyIfPresent(filterMap, "maxUnderlyingChangePercent", v -> filter.setMaxUnderlyingChangePercent(toDouble(v)));
+        applyIfPresent(filterMap, "maxCandidatesPerSymbol", v -> filter.setMaxCandidatesPerSymbol(toInt(v)));
+        applyIfPresent(filterMap, "maxSearchMillisPerSymbol", v -> filter.setMaxSearchMillisPerSymbol(toLong(v)));
+        applyIfPresent(filterMap, "maxCandidatesPerStrategy", v -> filter.setMaxCandidatesPerStrategy(toInt(v)));
+        applyIfPresent(filterMap, "maxSearchMillisPerStrategy", v -> filter.setMaxSearchMillisPerStrategy(toLong(v)));
 
         // ── Strategy-specific fields ──
         if (filter instanceof CreditSpreadFilter csFilter) {
@@ -169,4 +178,8 @@ public class FilterParser {
     private static double toDouble(Object value) {
         return value instanceof Number ? ((Number) value).doubleValue() : Double.parseDouble(value.toString());
     }
+
+    private static long toLong(Object value) {
+        return value instanceof Number ? ((Number) value).longValue() : Long.parseLong(value.toString());
+    }
 }
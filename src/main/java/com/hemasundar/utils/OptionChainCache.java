@@ -19,35 +19,100 @@ import com.hemasundar.cache.AbstractApiCache;
  * Subsequent requests for the same symbol return the cached response.
  * This minimizes API calls when multiple strategies use overlapping symbols.
  * <p>
+ * When an {@link OptionChainSnapshotStore} is supplied, a fresh on-disk snapshot
+ * is used before falling back to the API, and every fetched chain is written
+ * back as a new snapshot.
+ * <p>
+ * The cache can be bounded with {@link #setMemoryBudget(long)}; entries are then
+ * weighed with {@link OptionChainSizeEstimator}. Callers register which symbols
+ * pending strategies still need ({@link #registerPendingUses}) so chains nobody
+ * needs any more are evicted first; evicted chains are transparently reloaded
+ * from a snapshot or refetched on the next {@link #get(String)}.
+ * <p>
  * Note: This is NOT a Spring bean — it is created per-execution by
  * StrategyExecutionService.
  */
 @Log4j2
-@lombok.RequiredArgsConstructor
 public class OptionChainCache extends AbstractApiCache<OptionChainResponse> {
 
     private final ThinkOrSwimAPIs schwabApi;
+    private final OptionChainSnapshotStore snapshotStore;
+
+    @Getter
+    private final AtomicInteger snapshotLoads = new AtomicInteger(0);
+
+    /** Number of queued strategies that still need each symbol. */
+    private final Map<String, Integer> pendingUses = new ConcurrentHashMap<>();
+
+    public OptionChainCache(ThinkOrSwimAPIs schwabApi) {
+        this(schwabApi, null);
+    }
+
+    public OptionChainCache(ThinkOrSwimAPIs schwabApi, OptionChainSnapshotStore snapshotStore) {
+        this.schwabApi = schwabApi;
+        this.snapshotStore = snapshotStore;
+    }
 
     /**
      * Gets the OptionChainResponse for a symbol.
-     * If not in cache, fetches from API and caches the result.
+     * If not in cache, loads a fresh snapshot or fetches from API and caches the result.
      *
      * @param symbol The stock symbol
      * @return OptionChainResponse for the symbol
      */
     public OptionChainResponse get(String symbol) {
-        if (cache.containsKey(symbol)) {
-            return cache.get(symbol);
+        OptionChainResponse cached = super.get(symbol);
+        if (cached != null) {
+            return cached;
+        }
+
+        OptionChainResponse snapshot = loadSnapshot(symbol);
+        if (snapshot != null) {
+            put(symbol, snapshot);
+            return snapshot;
         }
 
         // cache miss — time the actual Schwab API call
         apiCallCounter.incrementAndGet();
         log.debug("Fetching from API: {} (API call #{})", symbol, apiCallCounter.get());
-        OptionChainResponse response = schwabApi.getOptionChain(symbol);
-        cache.put(symbol, response);
+        OptionChainResponse response = fetchAndSnapshot(symbol);
+        put(symbol, response);
         return response;
     }
 
+    /**
+     * Bounds the cache to {@code maxBytes} of estimated retained chain size.
+     *
+     * @param maxBytes budget in bytes; {@code <= 0} leaves the cache unbounded
+     */
+    public void setMemoryBudget(long maxBytes) {
+        setMemoryBudget(maxBytes, OptionChainSizeEstimator::estimate);
+    }
+
+    /**
+     * Records that one more queued strategy will read each of {@code symbols}.
+     */
+    public void registerPendingUses(List<String> symbols) {
+        if (symbols != null) {
+            symbols.stream().distinct().forEach(s -> pendingUses.merge(s, 1, Integer::sum));
+        }
+    }
+
+    /**
+     * Releases one pending use per symbol once a strategy is done with them.
+     */
+    public void releasePendingUses(List<String> symbols) {
+        if (symbols != null) {
+            symbols.stream().distinct()
+                    .forEach(s -> pendingUses.computeIfPresent(s, (k, n) -> n > 1 ? n - 1 : null));
+        }
+    }
+
+    @Override
+    protected boolean isStillNeeded(String symbol) {
+        return pendingUses.containsKey(symbol);
+    }
+
     /**
      * Pre-warms the cache by fetching all {@code symbols} in parallel via
      * the supplied {@link SchwabApiExecutor}.
@@ -56,7 +121,67 @@ public class OptionChainCache extends AbstractApiCache<OptionChainResponse> {
      * @param executor shared parallel executor
      */
     public void prewarm(List<String> symbols, SchwabApiExecutor executor) {
-        super.prewarm(symbols, executor, schwabApi::getOptionChain, null);
+        if (snapshotStore != null && symbols != null) {
+            symbols.stream()
+                    .distinct()
+                    .filter(s -> !isFresh(s))
+                    .forEach(s -> {
+                        OptionChainResponse snapshot = loadSnapshot(s);
+                        if (snapshot != null) {
+                            put(s, snapshot);
+                        }
+                    });
+        }
+        if (isMemoryBounded()) {
+            prewarmBounded(symbols, executor);
+        } else {
+            super.prewarm(symbols, executor, this::fetchAndSnapshot, null);
+        }
+    }
+
+    /**
+     * Budget-aware pre-warm: each worker stores its chain as soon as it arrives so
+     * eviction can keep up, instead of holding every response until the batch ends.
+     */
+    private void prewarmBounded(List<String> symbols, SchwabApiExecutor executor) {
+        List<String> uncached = symbols == null ? List.of() : symbols.stream()
+                .distinct()
+                .filter(s -> !isFresh(s))
+                .toList();
+        if (uncached.isEmpty()) {
+            return;
+        }
+
+        long t0 = System.currentTimeMillis();
+        List<Boolean> stored = executor.executeParallel(uncached, symbol -> {
+            apiCallCounter.incrementAndGet();
+            OptionChainResponse response = fetchAndSnapshot(symbol);
+            put(symbol, response);
+            return response != null;
+        }, null);
+        long fetched = stored.stream().filter(Boolean.TRUE::equals).count();
+        log.info("Cache pre-warm (bounded) complete: {}/{} symbols fetched in {}ms, {} evictions so far",
+                fetched, uncached.size(), System.currentTimeMillis() - t0, evictions.get());
+    }
+
+    private OptionChainResponse loadSnapshot(String symbol) {
+        if (snapshotStore == null) {
+            return null;
+        }
+        OptionChainResponse snapshot = snapshotStore.loadFresh(symbol);
+        if (snapshot != null) {
+            snapshotLoads.incrementAndGet();
+            log.debug("Loaded {} from on-disk snapshot", symbol);
+        }
+        return snapshot;
+    }
+
+    private OptionChainResponse fetchAndSnapshot(String symbol) {
+        OptionChainResponse response = schwabApi.getOptionChain(symbol);
+        if (snapshotStore != null && response != null) {
+            snapshotStore.save(symbol, response);
+        }
+        return response;
     }
 
     /**
@@ -78,12 +203,11 @@ public class OptionChainCache extends AbstractApiCache<OptionChainResponse> {
         return responses;
     }
 
-
-
     /**
      * Prints cache statistics.
      */
     public void printStats() {
-        log.info("Cache Stats - Total API calls: {} | Cached symbols: {}", apiCallCounter.get(), cache.size());
+        log.info("Cache Stats - Total API calls: {} | Snapshot loads: {} | {}",
+                apiCallCounter.get(), snapshotLoads.get(), getStats());
     }
 }
@@ -0,0 +1,70 @@
+package com.hemasundar.utils;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonIncludeProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hemasundar.options.models.OptionChainResponse;
+import com.hemasundar.options.models.OptionChainResponse.OptionData;
+import com.hemasundar.serializers.SymbolTableModule;
+import lombok.experimental.UtilityClass;
+
+/**
+ * Parses option chain JSON into a projected {@link OptionChainResponse}: every
+ * {@link OptionData} keeps only the fields that strategies, {@code LegFilter}s,
+ * IV collection and the trade-detail panel read. All other contract fields
+ * (exchange name, settlement/exercise metadata, sizes, trade times, ...) and the nested {@code optionDeliverablesList} are skipped
+ * by the parser and never allocated, so they are left at their Java defaults.
+ *
+ * <p>Chain-level fields (symbol, underlying price, expiry maps, ...) are parsed as usual.
+ * {@link #parseFull} keeps every field. Both mappers canonicalize the expiry and strike
+ * keys through {@link SymbolTableModule}.
+ */
+@UtilityClass
+public class OptionChainProjection {
+
+    private static final ObjectMapper PROJECTED_MAPPER = new ObjectMapper()
+            .registerModule(new SymbolTableModule())
+            .addMixIn(OptionData.class, ProjectedOptionData.class);
+
+    private static final ObjectMapper FULL_MAPPER = new ObjectMapper()
+            .registerModule(new SymbolTableModule());
+
+    /**
+     * Parses a Schwab {@code /chains} response, keeping only the projected {@link OptionData} fields.
+     */
+    public static OptionChainResponse parse(String json) {
+        try {
+            return PROJECTED_MAPPER.readValue(json, OptionChainResponse.class);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to convert JSON to POJO: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Parses a Schwab {@code /chains} response with every {@link OptionData} field.
+     */
+    public static OptionChainResponse parseFull(String json) {
+        try {
+            return FULL_MAPPER.readValue(json, OptionChainResponse.class);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to convert JSON to POJO: " + e.getMessage(), e);
+        }
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    @JsonIncludeProperties({
+            // identity & expiry
+            "putCall", "symbol", "description", "strikePrice", "expirationDate", "daysToExpiration",
+            // pricing
+            "bid", "ask", "last", "mark", "percentChange", "quoteTimeInLong",
+            "intrinsicValue", "extrinsicValue", "timeValue", "theoreticalOptionValue", "inTheMoney",
+            // greeks & IV
+            "delta", "gamma", "theta", "vega", "rho", "volatility",
+            // liquidity
+            "totalVolume", "openInterest", "bidAskSize",
+            // 52-week range (trade-detail panel)
+            "high52Week", "low52Week"
+    })
+    private abstract static class ProjectedOptionData {
+    }
+}
@@ -0,0 +1,100 @@
+package com.hemasundar.utils;
+
+import com.hemasundar.options.models.OptionChainResponse;
+import com.hemasundar.options.models.OptionChainResponse.ExpirationDateKey;
+import com.hemasundar.options.models.OptionChainResponse.OptionData;
+import com.hemasundar.options.models.OptionChainResponse.OptionDeliverable;
+import lombok.experimental.UtilityClass;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rough retained-heap estimate for a decoded {@link OptionChainResponse}, used to
+ * weigh entries in a memory-bounded {@link OptionChainCache}.
+ *
+ * <p>Figures assume a 64-bit JVM with compressed oops (12-byte object headers,
+ * 4-byte references, 8-byte alignment). The estimate only needs to be
+ * proportional to the real footprint, not exact.
+ */
+@UtilityClass
+public class OptionChainSizeEstimator {
+
+    /** OptionData: header + 23 doubles + 9 ints + 4 longs + 5 booleans + 14 references. */
+    private static final long OPTION_DATA_BYTES = align(12 + 23 * 8 + 9 * 4 + 4 * 8 + 5 + 14 * 4);
+    private static final long DELIVERABLE_BYTES = align(12 + 4 + 3 * 4);
+    private static final long CHAIN_BYTES = align(12 + 5 * 8 + 3 * 4 + 4 + 9 * 4);
+    /** HashMap node + table slot, ExpirationDateKey / String key, ArrayList with backing array. */
+    private static final long MAP_ENTRY_BYTES = 32 + 4;
+    private static final long EXPIRY_KEY_BYTES = align(12 + 4 + 4);
+    private static final long LIST_BYTES = align(12 + 4 + 4 + 4) + align(16);
+
+    public static long estimate(OptionChainResponse chain) {
+        if (chain == null) {
+            return 0L;
+        }
+        return CHAIN_BYTES
+                + stringBytes(chain.getSymbol())
+                + expDateMapBytes(chain.getCallExpDateMap())
+                + expDateMapBytes(chain.getPutExpDateMap());
+    }
+
+    private static long expDateMapBytes(Map<ExpirationDateKey, Map<String, List<OptionData>>> expDateMap) {
+        if (expDateMap == null) {
+            return 0L;
+        }
+        long bytes = 48;
+        for (Map.Entry<ExpirationDateKey, Map<String, List<OptionData>>> expiry : expDateMap.entrySet()) {
+            bytes += MAP_ENTRY_BYTES + EXPIRY_KEY_BYTES + stringBytes(expiry.getKey().getDate());
+            Map<String, List<OptionData>> strikes = expiry.getValue();
+            if (strikes == null) {
+                continue;
+            }
+            bytes += 48;
+            for (Map.Entry<String, List<OptionData>> strike : strikes.entrySet()) {
+                bytes += MAP_ENTRY_BYTES + stringBytes(strike.getKey()) + LIST_BYTES;
+                if (strike.getValue() != null) {
+                    for (OptionData option : strike.getValue()) {
+                        bytes += 4 + optionBytes(option);
+                    }
+                }
+            }
+        }
+        return bytes;
+    }
+
+    private static long optionBytes(OptionData o) {
+        long bytes = OPTION_DATA_BYTES
+                + stringBytes(o.getPutCall())
+                + stringBytes(o.getSymbol())
+                + stringBytes(o.getDescription())
+                + stringBytes(o.getExchangeName())
+                + stringBytes(o.getBidAskSize())
+                + stringBytes(o.getExpirationDate())
+                + stringBytes(o.getExpirationType())
+                + stringBytes(o.getSettlementType())
+                + stringBytes(o.getDeliverableNote())
+                + stringBytes(o.getOptionRoot())
+                + stringBytes(o.getExerciseType());
+        List<OptionDeliverable> deliverables = o.getOptionDeliverablesList();
+        if (deliverables != null) {
+            bytes += LIST_BYTES;
+            for (OptionDeliverable d : deliverables) {
+                bytes += 4 + DELIVERABLE_BYTES
+                        + stringBytes(d.getSymbol())
+                        + stringBytes(d.getAssetType())
+                        + stringBytes(d.getCurrencyType());
+            }
+        }
+        return bytes;
+    }
+
+    /** String object (24 bytes) plus its Latin-1 byte array. */
+    private static long stringBytes(String s) {
+        return s == null ? 0L : 24 + align(16 + s.length());
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+}
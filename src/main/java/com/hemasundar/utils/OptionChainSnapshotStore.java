@@ -0,0 +1,561 @@
+package com.hemasundar.utils;
+
+import com.hemasundar.options.models.OptionChainResponse;
+import com.hemasundar.options.models.OptionChainResponse.ExpirationDateKey;
+import com.hemasundar.options.models.OptionChainResponse.OptionData;
+import com.hemasundar.options.models.OptionChainResponse.OptionDeliverable;
+import lombok.Getter;
+import lombok.extern.log4j.Log4j2;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * On-disk snapshot store for decoded {@link OptionChainResponse} objects.
+ *
+ * <p>Every chain fetched from Schwab is written to
+ * {@code <dir>/<SYMBOL>/<fetchedAtEpochMs>.ocs} in a compact, versioned binary
+ * format. A later run (e.g. after a Cloud Run restart, or outside market hours)
+ * reads the newest snapshot through a memory-mapped buffer instead of refetching,
+ * as long as it satisfies the freshness policy. Older snapshots are kept (up to
+ * {@code retain-per-symbol}) so they can be replayed offline via
+ * {@link #listSnapshots(String)} and {@link #load(String, long)}.
+ *
+ * <h3>Freshness policy</h3>
+ * A snapshot is fresh when it is younger than {@code max-age-minutes}, or when the
+ * market is currently closed and the snapshot was taken after the most recent
+ * regular-session close (16:00 America/New_York, weekends skipped).
+ *
+ * <h3>Binary layout (big-endian, version 1)</h3>
+ * <pre>
+ *   int    magic "OCSN"
+ *   short  format version
+ *   long   fetchedAt (epoch ms)
+ *   int    string table size, then each string as int length + UTF-8 bytes
+ *   chain  header scalars, then CALL and PUT expiry maps
+ * </pre>
+ * Strings (symbols, exchange names, expiry dates, strike keys …) are written once
+ * into the string table and referenced by index everywhere else.
+ *
+ * <h3>Configuration</h3>
+ * <pre>
+ *   cache.option-chain.snapshot.enabled=true
+ *   cache.option-chain.snapshot.dir=                 # defaults to ${tradingbot.cache.dir}/option-chains
+ *   cache.option-chain.snapshot.max-age-minutes=15
+ *   cache.option-chain.snapshot.retain-per-symbol=5
+ * </pre>
+ * I/O failures are logged and never propagated — a broken snapshot simply means
+ * the chain is fetched from the API again.
+ */
+@Log4j2
+@Component
+public class OptionChainSnapshotStore {
+
+    static final int MAGIC = 0x4F43534E; // "OCSN"
+    static final short FORMAT_VERSION = 1;
+    static final String FILE_EXTENSION = ".ocs";
+
+    private static final int NULL_REF = -1;
+    private static final ZoneId MARKET_ZONE = ZoneId.of("America/New_York");
+    private static final LocalTime MARKET_OPEN = LocalTime.of(9, 30);
+    private static final LocalTime MARKET_CLOSE = LocalTime.of(16, 0);
+
+    @Getter
+    private final boolean enabled;
+    @Getter
+    private final Path directory;
+    private final long maxAgeMinutes;
+    private final int retainPerSymbol;
+
+    public OptionChainSnapshotStore(
+            @Value("${cache.option-chain.snapshot.enabled:true}") boolean enabled,
+            @Value("${cache.option-chain.snapshot.dir:}") String directory,
+            @Value("${cache.option-chain.snapshot.max-age-minutes:15}") long maxAgeMinutes,
+            @Value("${cache.option-chain.snapshot.retain-per-symbol:5}") int retainPerSymbol) {
+        this.enabled = enabled;
+        this.directory = resolveDirectory(directory);
+        this.maxAgeMinutes = maxAgeMinutes;
+        this.retainPerSymbol = Math.max(1, retainPerSymbol);
+        log.info("OptionChainSnapshotStore initialised (enabled={}, dir={}, maxAge={}m, retain={})",
+                enabled, this.directory, maxAgeMinutes, this.retainPerSymbol);
+    }
+
+    private static Path resolveDirectory(String configured) {
+        if (StringUtils.isNotBlank(configured)) {
+            return Paths.get(configured);
+        }
+        String customDir = System.getProperty("tradingbot.cache.dir");
+        if (StringUtils.isNotBlank(customDir)) {
+            return Paths.get(customDir, "option-chains");
+        }
+        return Paths.get(System.getProperty("user.home"), ".trading-bot", "option-chains");
+    }
+
+    // ── Public API ──────────────────────────────────────────────────────────────
+
+    /**
+     * Returns the newest snapshot for {@code symbol} if it satisfies the freshness
+     * policy, otherwise {@code null}.
+     */
+    public OptionChainResponse loadFresh(String symbol) {
+        if (!enabled || StringUtils.isBlank(symbol)) {
+            return null;
+        }
+        List<Long> timestamps = listSnapshots(symbol);
+        if (timestamps.isEmpty()) {
+            return null;
+        }
+        long newest = timestamps.get(timestamps.size() - 1);
+        if (!isFresh(Instant.ofEpochMilli(newest), Instant.now())) {
+            log.debug("[{}] Newest chain snapshot ({}) is stale", symbol, Instant.ofEpochMilli(newest));
+            return null;
+        }
+        return load(symbol, newest);
+    }
+
+    /**
+     * Writes {@code chain} as a new snapshot stamped with the current time and prunes
+     * older snapshots beyond the retention limit.
+     */
+    public void save(String symbol, OptionChainResponse chain) {
+        save(symbol, chain, Instant.now());
+    }
+
+    void save(String symbol, OptionChainResponse chain, Instant fetchedAt) {
+        if (!enabled || StringUtils.isBlank(symbol) || chain == null) {
+            return;
+        }
+        Path symbolDir = symbolDirectory(symbol);
+        Path target = symbolDir.resolve(fetchedAt.toEpochMilli() + FILE_EXTENSION);
+        try {
+            Files.createDirectories(symbolDir);
+            Path tmp = Files.createTempFile(symbolDir, "snapshot", ".tmp");
+            Files.write(tmp, encode(chain, fetchedAt.toEpochMilli()));
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.debug("[{}] Saved chain snapshot {}", symbol, target.getFileName());
+        } catch (IOException e) {
+            log.warn("[{}] Failed to save option chain snapshot: {}", symbol, e.getMessage());
+            return;
+        }
+        prune(symbol);
+    }
+
+    /**
+     * Lists the fetch timestamps (epoch ms, ascending) of every snapshot stored
+     * for {@code symbol}. Useful for offline replay.
+     */
+    public List<Long> listSnapshots(String symbol) {
+        Path symbolDir = symbolDirectory(symbol);
+        if (!Files.isDirectory(symbolDir)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(symbolDir)) {
+            return files.map(p -> p.getFileName().toString())
+                    .filter(name -> name.endsWith(FILE_EXTENSION))
+                    .map(name -> name.substring(0, name.length() - FILE_EXTENSION.length()))
+                    .filter(StringUtils::isNumeric)
+                    .map(Long::parseLong)
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            log.warn("[{}] Failed to list option chain snapshots: {}", symbol, e.getMessage());
+            return List.of();
+        }
+    }
+
+    /**
+     * Loads the snapshot taken at {@code fetchedAtEpochMs} regardless of freshness.
+     *
+     * @return the decoded chain, or {@code null} if missing or unreadable
+     */
+    public OptionChainResponse load(String symbol, long fetchedAtEpochMs) {
+        Path file = symbolDirectory(symbol).resolve(fetchedAtEpochMs + FILE_EXTENSION);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return decode(buffer);
+        } catch (IOException | RuntimeException e) {
+            log.warn("[{}] Failed to read option chain snapshot {}: {}", symbol, file.getFileName(), e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Freshness policy — see class Javadoc.
+     */
+    boolean isFresh(Instant fetchedAt, Instant now) {
+        if (fetchedAt.isAfter(now)) {
+            return false;
+        }
+        if (Duration.between(fetchedAt, now).toMinutes() < maxAgeMinutes) {
+            return true;
+        }
+        ZonedDateTime marketNow = now.atZone(MARKET_ZONE);
+        if (isRegularSession(marketNow)) {
+            return false;
+        }
+        return !fetchedAt.isBefore(lastSessionClose(marketNow).toInstant());
+    }
+
+    private static boolean isRegularSession(ZonedDateTime marketNow) {
+        if (isWeekend(marketNow.getDayOfWeek())) {
+            return false;
+        }
+        LocalTime time = marketNow.toLocalTime();
+        return !time.isBefore(MARKET_OPEN) && time.isBefore(MARKET_CLOSE);
+    }
+
+    private static ZonedDateTime lastSessionClose(ZonedDateTime marketNow) {
+        ZonedDateTime close = marketNow.toLocalDate().atTime(MARKET_CLOSE).atZone(MARKET_ZONE);
+        if (close.isAfter(marketNow)) {
+            close = close.minusDays(1);
+        }
+        while (isWeekend(close.getDayOfWeek())) {
+            close = close.minusDays(1);
+        }
+        return close;
+    }
+
+    private static boolean isWeekend(DayOfWeek day) {
+        return day == DayOfWeek.SATURDAY || day == DayOfWeek.SUNDAY;
+    }
+
+    private Path symbolDirectory(String symbol) {
+        return directory.resolve(symbol.replaceAll("[^A-Za-z0-9._-]", "_"));
+    }
+
+    private void prune(String symbol) {
+        List<Long> timestamps = listSnapshots(symbol);
+        int excess = timestamps.size() - retainPerSymbol;
+        for (int i = 0; i < excess; i++) {
+            Path old = symbolDirectory(symbol).resolve(timestamps.get(i) + FILE_EXTENSION);
+            try {
+                Files.deleteIfExists(old);
+            } catch (IOException e) {
+                log.warn("[{}] Failed to prune snapshot {}: {}", symbol, old.getFileName(), e.getMessage());
+            }
+        }
+    }
+
+    // ── Encoding ────────────────────────────────────────────────────────────────
+
+    /**
+     * Serialises {@code chain} into the version-1 snapshot format.
+     */
+    static byte[] encode(OptionChainResponse chain, long fetchedAtEpochMs) throws IOException {
+        Map<String, Integer> strings = new LinkedHashMap<>();
+        ByteArrayOutputStream bodyBytes = new ByteArrayOutputStream(64 * 1024);
+        DataOutputStream body = new DataOutputStream(bodyBytes);
+
+        writeRef(body, strings, chain.getSymbol());
+        writeRef(body, strings, chain.getStatus());
+        writeRef(body, strings, chain.getStrategy());
+        body.writeInt(chain.getInterval());
+        body.writeBoolean(chain.isDelayed());
+        body.writeBoolean(chain.isIndex());
+        body.writeDouble(chain.getInterestRate());
+        body.writeDouble(chain.getUnderlyingPrice());
+        body.writeDouble(chain.getVolatility());
+        body.writeInt(chain.getDaysToExpiration());
+        body.writeDouble(chain.getDividendYield());
+        body.writeInt(chain.getNumberOfContracts());
+        writeRef(body, strings, chain.getAssetMainType());
+        writeRef(body, strings, chain.getAssetSubType());
+        body.writeBoolean(chain.isChainTruncated());
+        writeExpDateMap(body, strings, chain.getCallExpDateMap());
+        writeExpDateMap(body, strings, chain.getPutExpDateMap());
+        body.flush();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bodyBytes.size() + strings.size() * 16 + 32);
+        DataOutputStream header = new DataOutputStream(out);
+        header.writeInt(MAGIC);
+        header.writeShort(FORMAT_VERSION);
+        header.writeLong(fetchedAtEpochMs);
+        header.writeInt(strings.size());
+        for (String s : strings.keySet()) {
+            byte[] utf8 = s.getBytes(StandardCharsets.UTF_8);
+            header.writeInt(utf8.length);
+            header.write(utf8);
+        }
+        bodyBytes.writeTo(header);
+        header.flush();
+        return out.toByteArray();
+    }
+
+    private static void writeRef(DataOutputStream out, Map<String, Integer> strings, String value) throws IOException {
+        out.writeInt(value == null ? NULL_REF : strings.computeIfAbsent(value, k -> strings.size()));
+    }
+
+    private static void writeExpDateMap(DataOutputStream out, Map<String, Integer> strings,
+            Map<ExpirationDateKey, Map<String, List<OptionData>>> expDateMap) throws IOException {
+        if (expDateMap == null) {
+            out.writeInt(NULL_REF);
+            return;
+        }
+        out.writeInt(expDateMap.size());
+        for (Map.Entry<ExpirationDateKey, Map<String, List<OptionData>>> expiry : expDateMap.entrySet()) {
+            writeRef(out, strings, expiry.getKey().getDate());
+            out.writeInt(expiry.getKey().getDaysToExpiry());
+            Map<String, List<OptionData>> strikeMap = expiry.getValue();
+            if (strikeMap == null) {
+                out.writeInt(NULL_REF);
+                continue;
+            }
+            out.writeInt(strikeMap.size());
+            for (Map.Entry<String, List<OptionData>> strike : strikeMap.entrySet()) {
+                writeRef(out, strings, strike.getKey());
+                List<OptionData> options = strike.getValue();
+                if (options == null) {
+                    out.writeInt(NULL_REF);
+                    continue;
+                }
+                out.writeInt(options.size());
+                for (OptionData option : options) {
+                    writeOption(out, strings, option);
+                }
+            }
+        }
+    }
+
+    private static void writeOption(DataOutputStream out, Map<String, Integer> strings, OptionData o) throws IOException {
+        writeRef(out, strings, o.getPutCall());
+        writeRef(out, strings, o.getSymbol());
+        writeRef(out, strings, o.getDescription());
+        writeRef(out, strings, o.getExchangeName());
+        out.writeDouble(o.getBid());
+        out.writeDouble(o.getAsk());
+        out.writeDouble(o.getLast());
+        out.writeDouble(o.getMark());
+        out.writeInt(o.getBidSize());
+        out.writeInt(o.getAskSize());
+        writeRef(out, strings, o.getBidAskSize());
+        out.writeDouble(o.getLastSize());
+        out.writeDouble(o.getHighPrice());
+        out.writeDouble(o.getLowPrice());
+        out.writeDouble(o.getOpenPrice());
+        out.writeDouble(o.getClosePrice());
+        out.writeInt(o.getTotalVolume());
+        out.writeLong(o.getTradeTimeInLong());
+        out.writeLong(o.getQuoteTimeInLong());
+        out.writeDouble(o.getNetChange());
+        out.writeDouble(o.getVolatility());
+        out.writeDouble(o.getDelta());
+        out.writeDouble(o.getGamma());
+        out.writeDouble(o.getTheta());
+        out.writeDouble(o.getVega());
+        out.writeDouble(o.getRho());
+        out.writeInt(o.getOpenInterest());
+        out.writeDouble(o.getTimeValue());
+        out.writeDouble(o.getTheoreticalOptionValue());
+        out.writeDouble(o.getTheoreticalVolatility());
+        List<OptionDeliverable> deliverables = o.getOptionDeliverablesList();
+        if (deliverables == null) {
+            out.writeInt(NULL_REF);
+        } else {
+            out.writeInt(deliverables.size());
+            for (OptionDeliverable d : deliverables) {
+                writeRef(out, strings, d.getSymbol());
+                writeRef(out, strings, d.getAssetType());
+                out.writeInt(d.getDeliverableUnits());
+                writeRef(out, strings, d.getCurrencyType());
+            }
+        }
+        out.writeDouble(o.getStrikePrice());
+        writeRef(out, strings, o.getExpirationDate());
+        out.writeInt(o.getDaysToExpiration());
+        writeRef(out, strings, o.getExpirationType());
+        out.writeLong(o.getLastTradingDay());
+        out.writeInt(o.getMultiplier());
+        writeRef(out, strings, o.getSettlementType());
+        writeRef(out, strings, o.getDeliverableNote());
+        out.writeDouble(o.getPercentChange());
+        out.writeDouble(o.getMarkChange());
+        out.writeDouble(o.getMarkPercentChange());
+        out.writeDouble(o.getIntrinsicValue());
+        out.writeDouble(o.getExtrinsicValue());
+        writeRef(out, strings, o.getOptionRoot());
+        writeRef(out, strings, o.getExerciseType());
+        out.writeDouble(o.getHigh52Week());
+        out.writeDouble(o.getLow52Week());
+        out.writeBoolean(o.isPennyPilot());
+        out.writeBoolean(o.isInTheMoney());
+        out.writeBoolean(o.isMini());
+        out.writeBoolean(o.isNonStandard());
+    }
+
+    // ── Decoding ────────────────────────────────────────────────────────────────
+
+    /**
+     * Decodes a version-1 snapshot. Throws {@link IllegalStateException} on a bad
+     * magic number or an unsupported format version.
+     */
+    static OptionChainResponse decode(ByteBuffer buf) {
+        if (buf.getInt() != MAGIC) {
+            throw new IllegalStateException("Not an option chain snapshot");
+        }
+        short version = buf.getShort();
+        if (version != FORMAT_VERSION) {
+            throw new IllegalStateException("Unsupported snapshot version " + version);
+        }
+        buf.getLong(); // fetchedAt — encoded in the file name as well
+
+        String[] strings = new String[buf.getInt()];
+        for (int i = 0; i < strings.length; i++) {
+            byte[] utf8 = new byte[buf.getInt()];
+            buf.get(utf8);
+            strings[i] = new String(utf8, StandardCharsets.UTF_8);
+        }
+
+        OptionChainResponse chain = new OptionChainResponse();
+        chain.setSymbol(SymbolTable.intern(readRef(buf, strings)));
+        chain.setStatus(readRef(buf, strings));
+        chain.setStrategy(readRef(buf, strings));
+        chain.setInterval(buf.getInt());
+        chain.setDelayed(readBoolean(buf));
+        chain.setIndex(readBoolean(buf));
+        chain.setInterestRate(buf.getDouble());
+        chain.setUnderlyingPrice(buf.getDouble());
+        chain.setVolatility(buf.getDouble());
+        chain.setDaysToExpiration(buf.getInt());
+        chain.setDividendYield(buf.getDouble());
+        chain.setNumberOfContracts(buf.getInt());
+        chain.setAssetMainType(readRef(buf, strings));
+        chain.setAssetSubType(readRef(buf, strings));
+        chain.setChainTruncated(readBoolean(buf));
+        chain.setCallExpDateMap(readExpDateMap(buf, strings));
+        chain.setPutExpDateMap(readExpDateMap(buf, strings));
+        return chain;
+    }
+
+    private static String readRef(ByteBuffer buf, String[] strings) {
+        int ref = buf.getInt();
+        return ref == NULL_REF ? null : strings[ref];
+    }
+
+    private static boolean readBoolean(ByteBuffer buf) {
+        return buf.get() != 0;
+    }
+
+    private static Map<ExpirationDateKey, Map<String, List<OptionData>>> readExpDateMap(ByteBuffer buf, String[] strings) {
+        int expiries = buf.getInt();
+        if (expiries == NULL_REF) {
+            return null;
+        }
+        Map<ExpirationDateKey, Map<String, List<OptionData>>> expDateMap = new LinkedHashMap<>();
+        for (int e = 0; e < expiries; e++) {
+            ExpirationDateKey key = SymbolTable.expiryKey(readRef(buf, strings), buf.getInt());
+            int strikes = buf.getInt();
+            if (strikes == NULL_REF) {
+                expDateMap.put(key, null);
+                continue;
+            }
+            Map<String, List<OptionData>> strikeMap = new LinkedHashMap<>();
+            for (int s = 0; s < strikes; s++) {
+                String strike = SymbolTable.intern(readRef(buf, strings));
+                int count = buf.getInt();
+                if (count == NULL_REF) {
+                    strikeMap.put(strike, null);
+                    continue;
+                }
+                List<OptionData> options = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    options.add(readOption(buf, strings));
+                }
+                strikeMap.put(strike, options);
+            }
+            expDateMap.put(key, strikeMap);
+        }
+        return expDateMap;
+    }
+
+    private static OptionData readOption(ByteBuffer buf, String[] strings) {
+        OptionData o = new OptionData();
+        o.setPutCall(SymbolTable.intern(readRef(buf, strings)));
+        o.setSymbol(readRef(buf, strings));
+        o.setDescription(readRef(buf, strings));
+        o.setExchangeName(readRef(buf, strings));
+        o.setBid(buf.getDouble());
+        o.setAsk(buf.getDouble());
+        o.setLast(buf.getDouble());
+        o.setMark(buf.getDouble());
+        o.setBidSize(buf.getInt());
+        o.setAskSize(buf.getInt());
+        o.setBidAskSize(readRef(buf, strings));
+        o.setLastSize(buf.getDouble());
+        o.setHighPrice(buf.getDouble());
+        o.setLowPrice(buf.getDouble());
+        o.setOpenPrice(buf.getDouble());
+        o.setClosePrice(buf.getDouble());
+        o.setTotalVolume(buf.getInt());
+        o.setTradeTimeInLong(buf.getLong());
+        o.setQuoteTimeInLong(buf.getLong());
+        o.setNetChange(buf.getDouble());
+        o.setVolatility(buf.getDouble());
+        o.setDelta(buf.getDouble());
+        o.setGamma(buf.getDouble());
+        o.setTheta(buf.getDouble());
+        o.setVega(buf.getDouble());
+        o.setRho(buf.getDouble());
+        o.setOpenInterest(buf.getInt());
+        o.setTimeValue(buf.getDouble());
+        o.setTheoreticalOptionValue(buf.getDouble());
+        o.setTheoreticalVolatility(buf.getDouble());
+        int deliverables = buf.getInt();
+        if (deliverables != NULL_REF) {
+            List<OptionDeliverable> list = new ArrayList<>(deliverables);
+            for (int i = 0; i < deliverables; i++) {
+                list.add(new OptionDeliverable(readRef(buf, strings), readRef(buf, strings),
+                        buf.getInt(), readRef(buf, strings)));
+            }
+            o.setOptionDeliverablesList(list);
+        }
+        o.setStrikePrice(buf.getDouble());
+        o.setExpirationDate(SymbolTable.intern(readRef(buf, strings)));
+        o.setDaysToExpiration(buf.getInt());
+        o.setExpirationType(readRef(buf, strings));
+        o.setLastTradingDay(buf.getLong());
+        o.setMultiplier(buf.getInt());
+        o.setSettlementType(readRef(buf, strings));
+        o.setDeliverableNote(readRef(buf, strings));
+        o.setPercentChange(buf.getDouble());
+        o.setMarkChange(buf.getDouble());
+        o.setMarkPercentChange(buf.getDouble());
+        o.setIntrinsicValue(buf.getDouble());
+        o.setExtrinsicValue(buf.getDouble());
+        o.setOptionRoot(readRef(buf, strings));
+        o.setExerciseType(readRef(buf, strings));
+        o.setHigh52Week(buf.getDouble());
+        o.setLow52Week(buf.getDouble());
+        o.setPennyPilot(readBoolean(buf));
+        o.setInTheMoney(readBoolean(buf));
+        o.setMini(readBoolean(buf));
+        o.setNonStandard(readBoolean(buf));
+        return o;
+    }
+}
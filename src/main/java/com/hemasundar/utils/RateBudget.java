@@ -0,0 +1,63 @@
+package com.hemasundar.utils;
+
+import lombok.Getter;
+
+/**
+ * Paces calls to an upstream API for background work: at most
+ * {@code requestsPerMinute} calls, evenly spaced, and optionally at most
+ * {@code maxRequests} calls in total.
+ *
+ * <p>{@link #tryAcquire()} blocks until the next slot is due and returns
+ * {@code false} once the total budget is spent or the thread is interrupted.
+ */
+public class RateBudget {
+
+    private final long intervalNanos;
+    private final int maxRequests;
+    private long nextSlotNanos;
+
+    @Getter
+    private int used;
+
+    /**
+     * @param requestsPerMinute pacing rate; {@code <= 0} means unpaced
+     * @param maxRequests       total calls allowed; {@code <= 0} means unlimited
+     */
+    public RateBudget(int requestsPerMinute, int maxRequests) {
+        this.intervalNanos = requestsPerMinute > 0 ? 60_000_000_000L / requestsPerMinute : 0L;
+        this.maxRequests = maxRequests;
+        this.nextSlotNanos = System.nanoTime();
+    }
+
+    /**
+     * Waits for the next slot and consumes it.
+     *
+     * @return {@code false} if the budget is exhausted or the wait was interrupted
+     */
+    public boolean tryAcquire() {
+        long waitNanos;
+        synchronized (this) {
+            if (isExhausted()) {
+                return false;
+            }
+            long now = System.nanoTime();
+            long slot = Math.max(now, nextSlotNanos);
+            nextSlotNanos = slot + intervalNanos;
+            used++;
+            waitNanos = slot - now;
+        }
+        if (waitNanos > 0) {
+            try {
+                Thread.sleep(waitNanos / 1_000_000L, (int) (waitNanos % 1_000_000L));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public synchronized boolean isExhausted() {
+        return maxRequests > 0 && used >= maxRequests;
+    }
+}
@@ -0,0 +1,96 @@
+package com.hemasundar.utils;
+
+import com.hemasundar.options.models.OptionChainResponse.ExpirationDateKey;
+import lombok.experimental.UtilityClass;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide canonical instances for identifiers that repeat across decoded
+ * chains, quotes, price histories, cache keys and result DTOs: ticker symbols,
+ * {@code PUT}/{@code CALL}, expiry date strings, strike keys and
+ * {@link ExpirationDateKey}s.
+ *
+ * <p>Identical values share one instance, so the same few hundred identifiers
+ * are not duplicated thousands of times on the heap, and {@code equals} on them
+ * short-circuits on identity. Canonicalization happens at decode time (see
+ * {@link com.hemasundar.serializers.SymbolTableModule} and the binary snapshot
+ * stores), not on every lookup.
+ *
+ * <p>Each pool is capped at {@link #MAX_ENTRIES}; once full, values are returned
+ * as-is rather than pooled. {@link ExpirationDateKey}s are immutable and pooled by
+ * date: the days-to-expiry part changes daily, so a key of a new day replaces the
+ * previous day's key of the same date instead of adding an entry.
+ */
+@UtilityClass
+public class SymbolTable {
+
+    static final int MAX_ENTRIES = 100_000;
+
+    private static final Map<String, String> STRINGS = new ConcurrentHashMap<>();
+    /** Expiry date → its key for the current days-to-expiry. */
+    private static final Map<String, ExpirationDateKey> EXPIRY_KEYS = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the canonical instance equal to {@code value}.
+     *
+     * @return the pooled instance, {@code value} itself if the pool is full, or {@code null}
+     */
+    public static String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        String canonical = STRINGS.get(value);
+        if (canonical != null) {
+            return canonical;
+        }
+        if (STRINGS.size() >= MAX_ENTRIES) {
+            return value;
+        }
+        canonical = STRINGS.putIfAbsent(value, value);
+        return canonical != null ? canonical : value;
+    }
+
+    /**
+     * Returns the canonical {@link ExpirationDateKey} for a Schwab expiry map key
+     * such as {@code "2026-01-16:30"}.
+     */
+    public static ExpirationDateKey expiryKey(String rawKey) {
+        if (rawKey == null) {
+            return new ExpirationDateKey(null, 0);
+        }
+        ExpirationDateKey parsed = new ExpirationDateKey(rawKey);
+        return expiryKey(parsed.getDate(), parsed.getDaysToExpiry());
+    }
+
+    /**
+     * Returns the canonical {@link ExpirationDateKey} for {@code date} and {@code daysToExpiry}.
+     */
+    public static ExpirationDateKey expiryKey(String date, int daysToExpiry) {
+        if (date == null) {
+            return new ExpirationDateKey(null, daysToExpiry);
+        }
+        ExpirationDateKey pooled = EXPIRY_KEYS.get(date);
+        if (pooled != null && pooled.getDaysToExpiry() == daysToExpiry) {
+            return pooled;
+        }
+        ExpirationDateKey key = new ExpirationDateKey(intern(date), daysToExpiry);
+        if (pooled == null && EXPIRY_KEYS.size() >= MAX_ENTRIES) {
+            return key;
+        }
+        EXPIRY_KEYS.put(key.getDate(), key);
+        return key;
+    }
+
+    /** Number of pooled strings and expiry keys. */
+    public static int size() {
+        return STRINGS.size() + EXPIRY_KEYS.size();
+    }
+
+    /** Drops all pooled instances (values already handed out stay valid). */
+    public static void clear() {
+        STRINGS.clear();
+        EXPIRY_KEYS.clear();
+    }
+}
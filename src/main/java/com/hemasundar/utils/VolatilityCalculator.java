@@ -1,13 +1,9 @@
 package com.hemasundar.utils;
 
 import com.hemasundar.pojos.PriceHistoryResponse;
-import lombok.AccessLevel;
-import lombok.NoArgsConstructor;
+import com.hemasundar.technical.CandleSeries;
+import com.hemasundar.technical.RollingStatistics;
 import lombok.extern.log4j.Log4j2;
-
-import java.util.List;
-
-import org.apache.commons.collections4.CollectionUtils;
 import org.springframework.stereotype.Component;
 
 /**
@@ -26,7 +22,7 @@ public class VolatilityCalculator {
      * Formula:
      * 1. Calculate daily log returns for the entire available history.
      * 2. For each day (from index `period` to end), calculate the standard deviation
-     *    of the preceding `period` log returns.
+     *    of the preceding `period` log returns (sliding Welford window, O(n) overall).
      * 3. Annualize each standard deviation: stdDev × √252
      * 4. Calculate the Min-Max rank: (Current - Low) / (High - Low) * 100
      *
@@ -35,28 +31,42 @@ public class VolatilityCalculator {
      * @return HV Rank (0.0 to 100.0), or null if calculation fails
      */
     public Double calculateHvRank(PriceHistoryResponse priceHistory, int period) {
-        if (priceHistory == null || CollectionUtils.isEmpty(priceHistory.getCandles())) {
+        return calculateHvRankFromCandles(priceHistory == null ? null : CandleSeries.from(priceHistory), period);
+    }
+
+    /**
+     * Calculates the Historical Volatility Rank from a shared columnar candle series.
+     *
+     * @see #calculateHvRank(PriceHistoryResponse, int)
+     */
+    public Double calculateHvRankFromCandles(CandleSeries series, int period) {
+        if (series == null || series.isEmpty()) {
             log.warn("Cannot calculate volatility rank: price history is null or empty");
             return null;
         }
 
-        List<PriceHistoryResponse.CandleData> candles = priceHistory.getCandles();
+        if (period < 1) {
+            log.warn("Cannot calculate volatility rank for {}: period must be positive ({})", series.getSymbol(), period);
+            return null;
+        }
+        double[] closes = series.getClose();
 
         // Need at least period + 1 data points to calculate returns and 1 rolling HV
-        if (candles.size() <= period) {
+        if (closes.length <= period) {
             log.warn("Cannot calculate volatility rank for {}: insufficient data ({} candles, period {})",
-                    priceHistory.getSymbol(), candles.size(), period);
+                    series.getSymbol(), closes.length, period);
             return null;
         }
 
         // Calculate log returns
-        double[] logReturns = new double[candles.size() - 1];
-        for (int i = 1; i < candles.size(); i++) {
-            double currentPrice = candles.get(i).getClose();
-            double previousPrice = candles.get(i - 1).getClose();
-
-            if (previousPrice <= 0 || currentPrice <= 0) {
-                log.warn("Invalid price data for {}: price <= 0", priceHistory.getSymbol());
+        double[] logReturns = new double[closes.length - 1];
+        for (int i = 1; i < closes.length; i++) {
+            double currentPrice = closes[i];
+            double previousPrice = closes[i - 1];
+
+            // Negated comparison so missing (NaN) prices are rejected as well
+            if (!(previousPrice > 0) || !(currentPrice > 0)) {
+                log.warn("Invalid price data for {}: price <= 0", series.getSymbol());
                 return null;
             }
 
@@ -68,10 +78,13 @@ public class VolatilityCalculator {
             return null; // Not enough historical HVs to compute a rank
         }
 
+        // One O(n) Welford pass; window i ends at log return i + period - 1
+        double[] rollingStdDevs = new double[logReturns.length];
+        RollingStatistics.standardDeviation(logReturns, period, true, rollingStdDevs);
+        double annualize = Math.sqrt(TRADING_DAYS_PER_YEAR) * 100.0;
         double[] rollingHvs = new double[numHvs];
         for (int i = 0; i < numHvs; i++) {
-            double stdDev = calculateStdDev(logReturns, i, period);
-            rollingHvs[i] = stdDev * Math.sqrt(TRADING_DAYS_PER_YEAR) * 100.0;
+            rollingHvs[i] = rollingStdDevs[i + period - 1] * annualize;
         }
 
         double currentHv = rollingHvs[numHvs - 1];
@@ -93,36 +106,8 @@ public class VolatilityCalculator {
         }
 
         log.debug("Calculated HV Rank for {}: {} (current HV: {}%, period: {}, data points: {})",
-                priceHistory.getSymbol(), rank, currentHv, period, numHvs);
+                series.getSymbol(), rank, currentHv, period, numHvs);
 
         return rank;
     }
-
-    /**
-     * Calculates sample standard deviation of a subset of an array.
-     * Uses Bessel's correction (N-1) for unbiased estimation.
-     *
-     * @param values Array of values
-     * @param offset Start index
-     * @param length Number of elements
-     * @return Sample standard deviation
-     */
-    private double calculateStdDev(double[] values, int offset, int length) {
-        if (length <= 1) return 0.0;
-
-        double sum = 0.0;
-        for (int i = 0; i < length; i++) {
-            sum += values[offset + i];
-        }
-        double mean = sum / length;
-
-        double varianceSum = 0.0;
-        for (int i = 0; i < length; i++) {
-            double diff = values[offset + i] - mean;
-            varianceSum += diff * diff;
-        }
-
-        double variance = varianceSum / (length - 1);
-        return Math.sqrt(variance);
-    }
 }
@@ -460,6 +460,33 @@ async function checkCustomScreenerExecutionStatus() {
     } catch (e) { /* ignore */ }
 }
 
+/**
+ * Re-runs comma-separated conditions over the cached indicator matrix
+ * (POST /api/screeners/filter) and lists the matching symbols. Nothing is fetched,
+ * so thresholds can be tweaked and re-applied instantly.
+ */
+async function quickFilterUniverse() {
+    const input = document.getElementById('screener-quick-filter-input');
+    const container = document.getElementById('screener-quick-filter-results');
+    const conditions = (input ? input.value : '').split(',').map(c => c.trim()).filter(c => c);
+    if (conditions.length === 0) { showToast('Enter at least one condition', 'error'); return; }
+
+    const payload = {
+        conditions,
+        securitiesFile: document.getElementById('screener-securities-file-input').value.trim() || null,
+        securities: document.getElementById('screener-securities-input').value.trim() || null
+    };
+    Object.keys(payload).forEach(k => { if (payload[k] === null) delete payload[k]; });
+
+    try {
+        const res = await API.post('/api/screeners/filter', payload);
+        const symbols = (res.symbols || []).map(s => `<span class="card-badge">${escapeHtmlContent(s)}</span>`).join(' ');
+        container.innerHTML = `<p class="progress-text">${res.matchedCount} of ${res.universeSize} cached symbols match (${res.filterMicros}µs)</p>${symbols}`;
+    } catch (e) {
+        showToast(e.message, 'error');
+    }
+}
+
 function setCustomScreenerBusy(busy) {
     const progress = document.getElementById('screener-custom-progress');
     if (progress) progress.style.display = busy ? 'block' : 'none';
@@ -488,6 +515,7 @@ if (typeof module !== 'undefined' && module.exports) {
         getTechnicalFiltersFromDOM,
         loadCustomScreenerResults,
         checkCustomScreenerExecutionStatus,
+        quickFilterUniverse,
         setCustomScreenerBusy
     };
 }
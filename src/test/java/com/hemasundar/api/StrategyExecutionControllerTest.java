@@ -2,14 +2,22 @@ package com.hemasundar.api;
 
 import com.hemasundar.options.strategies.StrategyType;
 import com.hemasundar.pojos.MarketHoursResponse;
+import com.hemasundar.services.ExecutionContext;
 import com.hemasundar.services.StrategyExecutionService;
 import com.hemasundar.config.properties.SupabaseConfig;
 import com.hemasundar.dto.ExecuteRequest;
 import com.hemasundar.dto.ExecutionAlert;
 import com.hemasundar.dto.CustomExecuteRequest;
 import com.hemasundar.dto.CustomScreenerRequest;
+import com.hemasundar.dto.SweepReport;
+import com.hemasundar.dto.SweepRequest;
+import com.hemasundar.dto.SweepResult;
+import com.hemasundar.options.models.CreditSpreadFilter;
+import com.hemasundar.options.models.OptionsStrategyFilter;
 import com.hemasundar.services.supabase.IVDataRepository;
+import com.hemasundar.technical.TechnicalFilterChain;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
@@ -22,9 +30,17 @@ import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.doThrow;
@@ -33,6 +49,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.testng.Assert.assertEquals;
 
 public class StrategyExecutionControllerTest {
 
@@ -65,6 +82,9 @@ public class StrategyExecutionControllerTest {
     @Mock
     private com.hemasundar.utils.WikipediaSecuritiesFetcher wikipediaFetcher;
 
+    @Mock
+    private com.hemasundar.services.UniverseFilterService universeFilterService;
+
     private StrategyExecutionController strategyController;
     private AuthConfigController authConfigController;
     private ScreenerController screenerController;
@@ -77,9 +97,10 @@ public class StrategyExecutionControllerTest {
     @BeforeMethod
     public void setup() {
         MockitoAnnotations.openMocks(this);
+        when(executionService.submitExecution(anyString(), any(Runnable.class))).thenReturn(true);
         strategyController = new StrategyExecutionController(executionService, screenerExecutionService, securitiesResolver, ThinkOrSwimAPIs, strategiesConfigLoader, authErrorUtils, java.util.Optional.empty(), wikipediaFetcher);
         authConfigController = new AuthConfigController(supabaseConfig);
-        screenerController = new ScreenerController(screenerExecutionService, executionService, supabaseService, securitiesResolver, strategiesConfigLoader, wikipediaFetcher);
+        screenerController = new ScreenerController(screenerExecutionService, executionService, supabaseService, securitiesResolver, strategiesConfigLoader, wikipediaFetcher, universeFilterService);
         securitiesController = new SecuritiesController(securitiesResolver);
         configController = new ConfigController();
         logController = new LogController(executionService);
@@ -157,7 +178,22 @@ public class StrategyExecutionControllerTest {
         ExecuteRequest request = ExecuteRequest.builder()
                 .strategyIndices(Arrays.asList(0))
                 .build();
-        when(executionService.isExecutionRunning()).thenReturn(true);
+        when(executionService.canStartExecution()).thenReturn(false);
+
+        mockMvc.perform(post("/api/execute")
+                .content(objectMapper.writeValueAsString(request))
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("An execution is already running"));
+    }
+
+    @Test
+    public void testExecuteStrategy_NotAdmitted() throws Exception {
+        ExecuteRequest request = ExecuteRequest.builder()
+                .strategyIndices(Arrays.asList(0))
+                .build();
+        when(executionService.canStartExecution()).thenReturn(true);
+        when(executionService.submitExecution(anyString(), any(Runnable.class))).thenReturn(false);
 
         mockMvc.perform(post("/api/execute")
                 .content(objectMapper.writeValueAsString(request))
@@ -172,7 +208,7 @@ public class StrategyExecutionControllerTest {
                 .strategyIndices(Arrays.asList(0))
                 .screenerIndices(Arrays.asList(1))
                 .build();
-        when(executionService.isExecutionRunning()).thenReturn(false);
+        when(executionService.canStartExecution()).thenReturn(true);
 
         mockMvc.perform(post("/api/execute")
                 .content(objectMapper.writeValueAsString(request))
@@ -186,7 +222,7 @@ public class StrategyExecutionControllerTest {
         CustomExecuteRequest request = CustomExecuteRequest.builder()
                 .strategyType("PUT_CREDIT_SPREAD")
                 .build();
-        when(executionService.isExecutionRunning()).thenReturn(true);
+        when(executionService.canStartExecution()).thenReturn(false);
 
         mockMvc.perform(post("/api/execute/custom")
                 .content(objectMapper.writeValueAsString(request))
@@ -199,7 +235,7 @@ public class StrategyExecutionControllerTest {
         CustomExecuteRequest request = CustomExecuteRequest.builder()
                 .strategyType("PUT_CREDIT_SPREAD")
                 .build();
-        when(executionService.isExecutionRunning()).thenReturn(false);
+        when(executionService.canStartExecution()).thenReturn(true);
 
         mockMvc.perform(post("/api/execute/custom")
                 .content(objectMapper.writeValueAsString(request))
@@ -214,7 +250,7 @@ public class StrategyExecutionControllerTest {
                 .strategyType("INVALID_TYPE")
                 .securities("AAPL")
                 .build();
-        when(executionService.isExecutionRunning()).thenReturn(false);
+        when(executionService.canStartExecution()).thenReturn(true);
 
         mockMvc.perform(post("/api/execute/custom")
                 .content(objectMapper.writeValueAsString(request))
@@ -222,13 +258,113 @@ public class StrategyExecutionControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testExecuteSweep_MergesVariantsOverBaseFilter() throws Exception {
+        SweepRequest request = SweepRequest.builder()
+                .strategyType("PUT_CREDIT_SPREAD")
+                .securities("aapl, MSFT")
+                .filter(Map.of("targetDTE", 45, "shortLeg", Map.of("minDelta", 0.15, "maxDelta", 0.25)))
+                .variants(List.of(Map.of("shortLeg", Map.of("maxDelta", 0.30)), Map.of("minTotalCredit", 80.0)))
+                .build();
+        when(executionService.canStartExecution()).thenReturn(true);
+        when(executionService.executeSweep(any(), anyString(), anyList(), anyList(), anyInt(), any()))
+                .thenReturn(SweepReport.builder().symbols(2).results(List.of(
+                        SweepResult.builder().variantIndex(0).tradesFound(3).topTrades(List.of()).build(),
+                        SweepResult.builder().variantIndex(1).tradesFound(1).topTrades(List.of()).build())).build());
+
+        mockMvc.perform(post("/api/execute/sweep")
+                .content(objectMapper.writeValueAsString(request))
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("started"));
+
+        // The sweep runs in the background; its report is kept for GET /results/sweep
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        verify(executionService).submitExecution(eq("Parameter sweep: Put Credit Spread"), task.capture());
+        task.getValue().run();
+
+        ArgumentCaptor<SweepReport> report = ArgumentCaptor.forClass(SweepReport.class);
+        verify(executionService).setLatestSweep(report.capture());
+        assertEquals(report.getValue().getResults().get(0).getTradesFound(), 3);
+        assertEquals(report.getValue().getResults().get(1).getOverrides(), Map.of("minTotalCredit", 80.0));
+
+        ArgumentCaptor<List<OptionsStrategyFilter>> variants = ArgumentCaptor.forClass(List.class);
+        verify(executionService).executeSweep(any(), eq("Put Credit Spread"), eq(List.of("AAPL", "MSFT")),
+                variants.capture(), eq(10), eq(null));
+        CreditSpreadFilter first = (CreditSpreadFilter) variants.getValue().get(0);
+        CreditSpreadFilter second = (CreditSpreadFilter) variants.getValue().get(1);
+        assertEquals(first.getShortLeg().getMinDelta(), 0.15);
+        assertEquals(first.getShortLeg().getMaxDelta(), 0.30);
+        assertEquals(first.getTargetDTE(), Integer.valueOf(45));
+        assertEquals(second.getShortLeg().getMaxDelta(), 0.25);
+        assertEquals(second.getMinTotalCredit(), 80.0);
+    }
+
+    @Test
+    public void testExecuteSweep_TechnicalFiltersOnlyOnBaseFilter() throws Exception {
+        SweepRequest request = SweepRequest.builder()
+                .strategyType("PUT_CREDIT_SPREAD")
+                .securities("AAPL")
+                .variants(List.of(Map.of("technicalFilters", Map.of("RSI", Map.of("condition", "OVERSOLD")))))
+                .build();
+        when(executionService.canStartExecution()).thenReturn(true);
+
+        mockMvc.perform(post("/api/execute/sweep")
+                .content(objectMapper.writeValueAsString(request))
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Technical filters can only be set on the base filter"));
+        verify(executionService, never()).submitExecution(anyString(), any(Runnable.class));
+    }
+
+    @Test
+    public void testExecuteSweep_RunsBaseTechnicalFilter() throws Exception {
+        Map<String, Object> technicalFilters = Map.of("RSI", Map.of("condition", "OVERSOLD"));
+        SweepRequest request = SweepRequest.builder()
+                .strategyType("PUT_CREDIT_SPREAD")
+                .securities("AAPL")
+                .filter(Map.of("targetDTE", 30, "technicalFilters", technicalFilters))
+                .variants(List.of(Map.of("minTotalCredit", 50.0)))
+                .build();
+        TechnicalFilterChain chain = mock(TechnicalFilterChain.class);
+        when(executionService.canStartExecution()).thenReturn(true);
+        when(strategiesConfigLoader.parseTechnicalFilters(technicalFilters)).thenReturn(chain);
+        when(executionService.executeSweep(any(), anyString(), anyList(), anyList(), anyInt(), any()))
+                .thenReturn(SweepReport.builder().results(List.of(SweepResult.builder().build())).build());
+
+        mockMvc.perform(post("/api/execute/sweep")
+                .content(objectMapper.writeValueAsString(request))
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        verify(executionService).submitExecution(anyString(), task.capture());
+        task.getValue().run();
+        verify(executionService).executeSweep(any(), anyString(), eq(List.of("AAPL")), anyList(), eq(10), eq(chain));
+    }
+
+    @Test
+    public void testGetLatestSweep() throws Exception {
+        when(executionService.getLatestSweep()).thenReturn(java.util.Optional.empty());
+        mockMvc.perform(get("/api/results/sweep"))
+                .andExpect(status().isNotFound());
+
+        when(executionService.getLatestSweep()).thenReturn(Optional.of(
+                SweepReport.builder().name("PCS").symbols(5).screenedSymbols(2).results(List.of()).build()));
+        mockMvc.perform(get("/api/results/sweep"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("PCS"))
+                .andExpect(jsonPath("$.screenedSymbols").value(2));
+    }
+
     @Test
     public void testExecuteCustomStrategy_WithSecuritiesFile() throws Exception {
         CustomExecuteRequest request = CustomExecuteRequest.builder()
                 .strategyType("PUT_CREDIT_SPREAD")
                 .securitiesFile("portfolio")
                 .build();
-        when(executionService.isExecutionRunning()).thenReturn(false);
+        when(executionService.canStartExecution()).thenReturn(true);
         
         Map<String, List<String>> securities = new HashMap<>();
         securities.put("portfolio", Arrays.asList("AAPL", "MSFT"));
@@ -250,7 +386,7 @@ public class StrategyExecutionControllerTest {
                         "maxLossLimit", 500.0,
                         "shortLeg", Map.of("minDelta", 0.15)))
                 .build();
-        when(executionService.isExecutionRunning()).thenReturn(false);
+        when(executionService.canStartExecution()).thenReturn(true);
 
         mockMvc.perform(post("/api/execute/custom")
                 .content(objectMapper.writeValueAsString(request))
@@ -266,7 +402,7 @@ public class StrategyExecutionControllerTest {
                 .filter(Map.of("sortPriority", "delta,premium"))
                 .build();
         
-        when(executionService.isExecutionRunning()).thenReturn(false);
+        when(executionService.canStartExecution()).thenReturn(true);
 
         mockMvc.perform(post("/api/execute/custom")
                 .content(objectMapper.writeValueAsString(request))
@@ -290,6 +426,41 @@ public class StrategyExecutionControllerTest {
                 .andExpect(jsonPath("$.cancelled").value(true));
     }
 
+    @Test
+    public void testCancelExecution_ById() throws Exception {
+        when(executionService.isExecutionRunning()).thenReturn(true);
+        when(executionService.cancelExecution("run_1")).thenReturn(true);
+        mockMvc.perform(post("/api/cancel").param("executionId", "run_1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.cancelled").value(true));
+        verify(executionService).cancelExecution("run_1");
+    }
+
+    @Test
+    public void testCancelExecution_UnknownId() throws Exception {
+        when(executionService.isExecutionRunning()).thenReturn(true);
+        when(executionService.cancelExecution("run_404")).thenReturn(false);
+        mockMvc.perform(post("/api/cancel").param("executionId", "run_404"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Execution run_404 is not running"));
+    }
+
+    @Test
+    public void testGetStatus_ListsConcurrentExecutions() throws Exception {
+        ExecutionContext first = new ExecutionContext("Custom: PCS");
+        ExecutionContext second = new ExecutionContext("Custom Screener: RSI");
+        when(executionService.isExecutionRunning()).thenReturn(true);
+        when(executionService.getExecutionStartTimeMs()).thenReturn(first.getStartTimeMs());
+        when(executionService.getCurrentExecutionTask()).thenReturn(first.getCurrentTask());
+        when(executionService.getActiveExecutions()).thenReturn(List.of(first, second));
+
+        mockMvc.perform(get("/api/status"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.executions.length()").value(2))
+                .andExpect(jsonPath("$.executions[0].executionId").value(first.getExecutionId()))
+                .andExpect(jsonPath("$.executions[1].currentTask").value("Custom Screener: RSI"));
+    }
+
     @Test
     public void testGetStatus() throws Exception {
         when(executionService.isExecutionRunning()).thenReturn(true);
@@ -391,12 +562,67 @@ public class StrategyExecutionControllerTest {
                 .andExpect(status().isInternalServerError());
     }
 
+    @Test
+    public void testFilterUniverse_Success() throws Exception {
+        com.hemasundar.dto.UniverseFilterRequest request = com.hemasundar.dto.UniverseFilterRequest.builder()
+                .conditions(List.of("RSI <= 30"))
+                .securities("aapl, msft")
+                .build();
+        when(universeFilterService.filter(eq(List.of("RSI <= 30")), eq(new LinkedHashSet<>(List.of("AAPL", "MSFT")))))
+                .thenReturn(com.hemasundar.dto.UniverseFilterResult.builder()
+                        .universeSize(2).matchedCount(1).symbols(List.of("AAPL")).build());
+
+        mockMvc.perform(post("/api/screeners/filter")
+                .content(objectMapper.writeValueAsString(request))
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.matchedCount").value(1))
+                .andExpect(jsonPath("$.symbols[0]").value("AAPL"));
+    }
+
+    @Test
+    public void testFilterUniverse_UnresolvedSymbolsRejected() throws Exception {
+        com.hemasundar.dto.UniverseFilterRequest request = com.hemasundar.dto.UniverseFilterRequest.builder()
+                .conditions(List.of("RSI <= 30"))
+                .securitiesFile("missing")
+                .securities(" , ")
+                .build();
+        when(securitiesResolver.loadSecuritiesMaps()).thenReturn(Map.of("portfolio", List.of("AAPL")));
+
+        mockMvc.perform(post("/api/screeners/filter")
+                .content(objectMapper.writeValueAsString(request))
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("The requested securities files and tickers resolve to no symbols"));
+        verify(universeFilterService, never()).filter(any(), any());
+    }
+
+    @Test
+    public void testFilterUniverse_InvalidCondition() throws Exception {
+        com.hemasundar.dto.UniverseFilterRequest request = com.hemasundar.dto.UniverseFilterRequest.builder()
+                .conditions(List.of("RSI <<< 30"))
+                .build();
+        when(universeFilterService.filter(any(), any()))
+                .thenThrow(new IllegalArgumentException("Invalid expression: RSI <<< 30"));
+
+        mockMvc.perform(post("/api/screeners/filter")
+                .content(objectMapper.writeValueAsString(request))
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Invalid expression: RSI <<< 30"));
+
+        mockMvc.perform(post("/api/screeners/filter")
+                .content("{}")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     public void testExecuteCustomScreener_AlreadyRunning() throws Exception {
         CustomScreenerRequest request = CustomScreenerRequest.builder()
                 .screenerType("RSI_OVERSOLD")
                 .build();
-        when(executionService.isExecutionRunning()).thenReturn(true);
+        when(executionService.canStartExecution()).thenReturn(false);
 
         mockMvc.perform(post("/api/execute/custom-screener")
                 .content(objectMapper.writeValueAsString(request))
@@ -410,7 +636,7 @@ public class StrategyExecutionControllerTest {
         CustomScreenerRequest request = CustomScreenerRequest.builder()
                 .screenerType("INVALID_TYPE")
                 .build();
-        when(executionService.isExecutionRunning()).thenReturn(false);
+        when(executionService.canStartExecution()).thenReturn(true);
 
         mockMvc.perform(post("/api/execute/custom-screener")
                 .content(objectMapper.writeValueAsString(request))
@@ -424,7 +650,7 @@ public class StrategyExecutionControllerTest {
         CustomScreenerRequest request = CustomScreenerRequest.builder()
                 .screenerType("RSI_OVERSOLD")
                 .build();
-        when(executionService.isExecutionRunning()).thenReturn(false);
+        when(executionService.canStartExecution()).thenReturn(true);
 
         mockMvc.perform(post("/api/execute/custom-screener")
                 .content(objectMapper.writeValueAsString(request))
@@ -454,7 +680,7 @@ public class StrategyExecutionControllerTest {
                 .technicalFilters(techFilters)
                 .build();
 
-        when(executionService.isExecutionRunning()).thenReturn(false);
+        when(executionService.canStartExecution()).thenReturn(true);
 
         mockMvc.perform(post("/api/execute/custom-screener")
                 .content(objectMapper.writeValueAsString(request))
@@ -470,7 +696,7 @@ public class StrategyExecutionControllerTest {
                 .securitiesFile("portfolio")
                 .build();
 
-        when(executionService.isExecutionRunning()).thenReturn(false);
+        when(executionService.canStartExecution()).thenReturn(true);
         when(securitiesResolver.loadSecuritiesMaps()).thenReturn(Map.of("portfolio", List.of("AAPL")));
 
         mockMvc.perform(post("/api/execute/custom-screener")
@@ -516,6 +742,14 @@ public class StrategyExecutionControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    public void testGetFilterLogs_ByExecutionId() throws Exception {
+        when(executionService.getFilterLogs("run_1")).thenReturn(Collections.emptyList());
+        mockMvc.perform(get("/api/filter-logs").param("executionId", "run_1"))
+                .andExpect(status().isOk());
+        verify(executionService).getFilterLogs("run_1");
+    }
+
     @Test
     public void testClearFilterLogs() throws Exception {
         mockMvc.perform(post("/api/filter-logs/clear"))
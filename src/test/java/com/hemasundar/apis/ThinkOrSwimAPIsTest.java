@@ -2,6 +2,7 @@ package com.hemasundar.apis;
 
 import com.hemasundar.options.models.ExpirationChainResponse;
 import com.hemasundar.options.models.OptionChainResponse;
+import com.hemasundar.options.models.OptionType;
 import com.hemasundar.pojos.PriceHistoryResponse;
 import com.hemasundar.pojos.QuotesResponse;
 import io.restassured.RestAssured;
@@ -10,6 +11,7 @@ import io.restassured.specification.AuthenticationSpecification;
 import io.restassured.specification.PreemptiveAuthSpec;
 import io.restassured.specification.RequestSpecification;
 import org.mockito.MockedStatic;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
@@ -39,6 +41,11 @@ public class ThinkOrSwimAPIsTest {
 
     private ThinkOrSwimAPIs apis;
 
+    private static final String PUT_CHAIN_JSON = "{\"symbol\": \"AAPL\", \"underlyingPrice\": 180.0, "
+            + "\"putExpDateMap\": {\"2026-01-16:30\": {\"150.0\": [{\"putCall\": \"PUT\", \"delta\": -0.25, "
+            + "\"description\": \"AAPL 01/16/2026 150.00 P\", \"exchangeName\": \"OPR\", "
+            + "\"optionDeliverablesList\": [{\"symbol\": \"AAPL\", \"deliverableUnits\": 100}]}]}}}";
+
     @BeforeMethod
     public void setUp() {
         MockitoAnnotations.openMocks(this);
@@ -153,6 +160,36 @@ public class ThinkOrSwimAPIsTest {
         assertEquals(chain.getSymbol(), "AAPL");
     }
 
+    @Test
+    public void testGetOptionChain_ProjectsOptionData() {
+        Response mockResponse = mock(Response.class);
+        when(sharedMockRequest.get(anyString())).thenReturn(mockResponse);
+        when(mockResponse.statusCode()).thenReturn(200);
+        when(mockResponse.asString()).thenReturn(PUT_CHAIN_JSON);
+
+        OptionChainResponse.OptionData put = apis.getOptionChain("AAPL")
+                .getOptionDataForASpecificExpiryDate(OptionType.PUT, "2026-01-16").get("150.0").get(0);
+        assertEquals(put.getDelta(), -0.25);
+        assertEquals(put.getDescription(), "AAPL 01/16/2026 150.00 P");
+        assertNull(put.getExchangeName());
+        assertNull(put.getOptionDeliverablesList());
+    }
+
+    @Test
+    public void testGetOptionChain_ProjectionDisabled() {
+        ReflectionTestUtils.setField(apis, "optionChainProjectionEnabled", false);
+        Response mockResponse = mock(Response.class);
+        when(sharedMockRequest.get(anyString())).thenReturn(mockResponse);
+        when(mockResponse.statusCode()).thenReturn(200);
+        when(mockResponse.asString()).thenReturn(PUT_CHAIN_JSON);
+
+        OptionChainResponse.OptionData put = apis.getOptionChain("AAPL")
+                .getOptionDataForASpecificExpiryDate(OptionType.PUT, "2026-01-16").get("150.0").get(0);
+        assertEquals(put.getDelta(), -0.25);
+        assertEquals(put.getDescription(), "AAPL 01/16/2026 150.00 P");
+        assertEquals(put.getOptionDeliverablesList().size(), 1);
+    }
+
     @Test
     public void testGetOptionChain_SplitSucceeds() {
         Response mockResponse502 = mock(Response.class);
@@ -0,0 +1,145 @@
+package com.hemasundar.cache;
+
+import com.hemasundar.utils.SchwabApiExecutor;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.testng.Assert.*;
+
+public class AbstractApiCacheTest {
+
+    private static final CachePolicy ONE_MINUTE = CachePolicy.ttl(Duration.ofMinutes(1), Duration.ofMinutes(5));
+
+    private Path tempDir;
+    private AbstractApiCache<String> cache;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        tempDir = Files.createTempDirectory("api-cache");
+        cache = new AbstractApiCache<>() {
+        };
+    }
+
+    @AfterMethod
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(tempDir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    private static long minutesAgo(int minutes) {
+        return System.currentTimeMillis() - Duration.ofMinutes(minutes).toMillis();
+    }
+
+    @Test
+    public void testNoPolicy_EntriesNeverExpire() {
+        cache.put("AAPL", "old", 0L);
+
+        assertEquals(cache.get("AAPL"), "old");
+        assertTrue(cache.isFresh("AAPL"));
+    }
+
+    @Test
+    public void testExpiredEntry_IsAMiss() {
+        cache.setPolicy(ONE_MINUTE);
+        cache.put("AAPL", "old", minutesAgo(10));
+
+        assertFalse(cache.isCached("AAPL"));
+        assertNull(cache.get("AAPL"));
+        assertEquals(cache.size(), 0);
+        assertEquals(cache.getMisses().get(), 1);
+    }
+
+    @Test
+    public void testGetOrFetch_StaleServedThenRevalidated() {
+        cache.setPolicy(ONE_MINUTE);
+        List<Runnable> scheduled = new ArrayList<>();
+        cache.setRevalidationExecutor(scheduled::add);
+        cache.put("AAPL", "stale", minutesAgo(3));
+        AtomicInteger fetches = new AtomicInteger();
+
+        assertEquals(cache.getOrFetch("AAPL", s -> "fresh-" + fetches.incrementAndGet()), "stale");
+        assertEquals(cache.getOrFetch("AAPL", s -> "fresh-" + fetches.incrementAndGet()), "stale");
+        assertEquals(scheduled.size(), 1, "Only one background refresh per symbol");
+        assertEquals(cache.getStaleHits().get(), 2);
+
+        scheduled.get(0).run();
+
+        assertEquals(cache.get("AAPL"), "fresh-1");
+        assertTrue(cache.isFresh("AAPL"));
+        assertEquals(cache.getRevalidations().get(), 1);
+        assertEquals(cache.getApiCallCounter().get(), 1);
+    }
+
+    @Test
+    public void testGetOrFetch_MissFetchesSynchronously() {
+        cache.setPolicy(ONE_MINUTE);
+
+        assertEquals(cache.getOrFetch("AAPL", s -> "fetched"), "fetched");
+        assertEquals(cache.getOrFetch("AAPL", s -> "again"), "fetched");
+        assertEquals(cache.getApiCallCounter().get(), 1);
+    }
+
+    @Test
+    public void testEviction_SpillsToDiskAndReloadsWithOriginalTimestamp() {
+        cache.setPolicy(ONE_MINUTE);
+        cache.setSpillStore(new JsonSpillStore<>(tempDir, String.class));
+        cache.setMemoryBudget(10, s -> 10);
+        long writtenAt = minutesAgo(2);
+        cache.put("AAPL", "aapl", writtenAt);
+        cache.put("MSFT", "msft");
+
+        assertEquals(cache.size(), 1);
+        assertEquals(cache.getSpillWrites().get(), 1);
+
+        assertEquals(cache.get("AAPL"), "aapl");
+        assertEquals(cache.getSpillLoads().get(), 1);
+        assertFalse(cache.isFresh("AAPL"), "Reloaded entry keeps its original fetch time");
+        assertEquals(cache.getStaleHits().get(), 1);
+    }
+
+    @Test
+    public void testExpiredSpillEntry_IsDropped() {
+        JsonSpillStore<String> store = new JsonSpillStore<>(tempDir, String.class);
+        store.write("AAPL", "ancient", minutesAgo(60));
+        cache.setPolicy(ONE_MINUTE);
+        cache.setSpillStore(store);
+
+        assertNull(cache.get("AAPL"));
+        assertNull(store.read("AAPL"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testPrewarm_RefetchesOnlyStaleAndMissing() {
+        cache.setPolicy(ONE_MINUTE);
+        cache.put("FRESH", "fresh");
+        cache.put("STALE", "stale", minutesAgo(3));
+        SchwabApiExecutor executor = mock(SchwabApiExecutor.class);
+        when(executor.executeParallel(anyList(), any(), any())).thenAnswer(inv -> {
+            List<String> symbols = inv.getArgument(0);
+            java.util.function.Function<String, Object> func = inv.getArgument(1);
+            return symbols.stream().map(func).toList();
+        });
+
+        cache.prewarm(List.of("FRESH", "STALE", "NEW"), executor, s -> s.toLowerCase() + "-fetched", null);
+
+        verify(executor).executeParallel(eq(List.of("STALE", "NEW")), any(), any());
+        assertEquals(cache.get("FRESH"), "fresh");
+        assertEquals(cache.get("STALE"), "stale-fetched");
+        assertTrue(cache.isFresh("STALE"));
+    }
+}
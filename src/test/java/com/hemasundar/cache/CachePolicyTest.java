@@ -0,0 +1,48 @@
+package com.hemasundar.cache;
+
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+import static org.testng.Assert.*;
+
+public class CachePolicyTest {
+
+    private static final ZoneId NEW_YORK = ZoneId.of("America/New_York");
+
+    @Test
+    public void testTtl_FreshStaleExpired() {
+        CachePolicy policy = CachePolicy.ttl(Duration.ofSeconds(60), Duration.ofSeconds(30));
+        long written = 1_000_000L;
+
+        assertEquals(policy.freshness(written, written + 59_999), CachePolicy.Freshness.FRESH);
+        assertEquals(policy.freshness(written, written + 60_000), CachePolicy.Freshness.STALE);
+        assertEquals(policy.freshness(written, written + 89_999), CachePolicy.Freshness.STALE);
+        assertEquals(policy.freshness(written, written + 90_000), CachePolicy.Freshness.EXPIRED);
+    }
+
+    @Test
+    public void testUntilEndOfDay_ExpiresAtMidnightInZone() {
+        CachePolicy policy = CachePolicy.untilEndOfDay(NEW_YORK, Duration.ofHours(6));
+        long written = ZonedDateTime.of(2026, 3, 10, 15, 30, 0, 0, NEW_YORK).toInstant().toEpochMilli();
+        long midnight = ZonedDateTime.of(2026, 3, 11, 0, 0, 0, 0, NEW_YORK).toInstant().toEpochMilli();
+
+        assertEquals(policy.freshUntil(written), midnight);
+        assertEquals(policy.freshness(written, midnight - 1), CachePolicy.Freshness.FRESH);
+        assertEquals(policy.freshness(written, midnight + Duration.ofHours(5).toMillis()), CachePolicy.Freshness.STALE);
+        assertEquals(policy.freshness(written, midnight + Duration.ofHours(6).toMillis()), CachePolicy.Freshness.EXPIRED);
+    }
+
+    @Test
+    public void testNeverExpires() {
+        assertEquals(CachePolicy.NEVER_EXPIRES.freshness(0L, Long.MAX_VALUE - 1), CachePolicy.Freshness.FRESH);
+        assertEquals(CachePolicy.NEVER_EXPIRES.usableUntil(0L), Long.MAX_VALUE);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testTtl_RejectsNonPositive() {
+        CachePolicy.ttl(Duration.ZERO, Duration.ZERO);
+    }
+}
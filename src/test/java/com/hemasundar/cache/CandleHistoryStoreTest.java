@@ -0,0 +1,99 @@
+package com.hemasundar.cache;
+
+import com.hemasundar.pojos.PriceHistoryResponse;
+import com.hemasundar.pojos.PriceHistoryResponse.CandleData;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.testng.Assert.*;
+
+public class CandleHistoryStoreTest {
+
+    private Path tempDir;
+    private CandleHistoryStore store;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        tempDir = Files.createTempDirectory("candle-store");
+        store = new CandleHistoryStore(tempDir);
+    }
+
+    @AfterMethod
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(tempDir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    static CandleData candle(long datetime, double close) {
+        return new CandleData(close - 1, close + 1, close - 2, close, 1_000L, datetime);
+    }
+
+    @Test
+    public void testWriteAllAndLoad_RoundTrip() {
+        List<CandleData> candles = new ArrayList<>(List.of(candle(1_000L, 100.0), candle(2_000L, 101.0)));
+        candles.add(new CandleData(null, 102.0, null, 101.5, null, 3_000L));
+        store.writeAll("AAPL", new PriceHistoryResponse("AAPL", false, 99.5, 500L, candles));
+
+        PriceHistoryResponse loaded = store.load("AAPL");
+
+        assertNotNull(loaded);
+        assertEquals(loaded.getSymbol(), "AAPL");
+        assertEquals(loaded.getPreviousClose(), 99.5);
+        assertEquals(loaded.getPreviousCloseDate(), Long.valueOf(500L));
+        assertEquals(loaded.getCandles(), candles);
+    }
+
+    @Test
+    public void testWriteTail_ReplacesOnlyTrailingRows() throws IOException {
+        store.writeAll("AAPL", new PriceHistoryResponse("AAPL", false, null, null,
+                List.of(candle(1_000L, 100.0), candle(2_000L, 101.0), candle(3_000L, 102.0))));
+        long sizeBefore = Files.size(tempDir.resolve("AAPL.candles"));
+
+        store.writeTail("AAPL", 2, List.of(candle(3_000L, 102.5), candle(4_000L, 103.0)), 102.0, 3_000L);
+
+        PriceHistoryResponse loaded = store.load("AAPL");
+        assertEquals(loaded.getPreviousClose(), 102.0);
+        assertEquals(loaded.getPreviousCloseDate(), Long.valueOf(3_000L));
+        List<CandleData> candles = loaded.getCandles();
+        assertEquals(candles.size(), 4);
+        assertEquals(candles.get(1).getClose(), 101.0);
+        assertEquals(candles.get(2).getClose(), 102.5);
+        assertEquals(candles.get(3).getDatetime(), Long.valueOf(4_000L));
+        assertEquals(Files.size(tempDir.resolve("AAPL.candles")), sizeBefore + CandleHistoryStore.ROW_BYTES);
+    }
+
+    @Test
+    public void testLastWriteMillis_StampedByWriteAllAndWriteTail() throws IOException {
+        assertEquals(store.lastWriteMillis("AAPL"), -1L);
+        long before = System.currentTimeMillis();
+        store.writeAll("AAPL", new PriceHistoryResponse("AAPL", false, null, null, List.of(candle(1_000L, 100.0))));
+        long afterWriteAll = store.lastWriteMillis("AAPL");
+        assertTrue(afterWriteAll >= before);
+
+        try (java.io.RandomAccessFile raf = new java.io.RandomAccessFile(tempDir.resolve("AAPL.candles").toFile(), "rw")) {
+            raf.seek(8);
+            raf.writeLong(42L);
+        }
+        assertEquals(store.lastWriteMillis("AAPL"), 42L);
+        store.writeTail("AAPL", 1, List.of(candle(2_000L, 101.0)), null, null);
+        assertTrue(store.lastWriteMillis("AAPL") >= afterWriteAll);
+    }
+
+    @Test
+    public void testLoad_MissingOrCorrupt() throws IOException {
+        assertNull(store.load("MSFT"));
+
+        Files.write(tempDir.resolve("MSFT.candles"), new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+        assertNull(store.load("MSFT"));
+    }
+}
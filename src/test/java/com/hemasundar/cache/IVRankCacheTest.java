@@ -0,0 +1,54 @@
+package com.hemasundar.cache;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+
+import static org.testng.Assert.*;
+
+public class IVRankCacheTest {
+
+    @AfterMethod
+    public void tearDown() {
+        IVRankCache.enableSharedTier(null);
+        IVRankCache.clearSharedTier();
+    }
+
+    @Test
+    public void testRunsAreIsolatedByDefault() {
+        IVRankCache first = new IVRankCache();
+        first.put("AAPL", 42.0);
+
+        IVRankCache second = new IVRankCache();
+        assertTrue(first.isCached("AAPL"));
+        assertFalse(second.isCached("AAPL"));
+        assertNull(second.get("AAPL"));
+    }
+
+    @Test
+    public void testSharedTier_ServesLaterRuns() {
+        IVRankCache.enableSharedTier(CachePolicy.ttl(Duration.ofHours(1), Duration.ZERO));
+        IVRankCache first = new IVRankCache();
+        first.put("AAPL", 42.0);
+        first.put("MSFT", null);
+
+        IVRankCache second = new IVRankCache();
+        assertEquals(second.get("AAPL").orElse(null), 42.0);
+        assertTrue(second.isCached("MSFT"), "An insufficient-data result is shared too");
+        assertTrue(second.get("MSFT").isEmpty());
+        assertEquals(IVRankCache.getSharedHits(), 2);
+
+        second.clear();
+        assertTrue(new IVRankCache().isCached("AAPL"), "Clearing a run leaves the shared tier intact");
+    }
+
+    @Test
+    public void testSharedTier_Disabled() {
+        IVRankCache.enableSharedTier(CachePolicy.ttl(Duration.ofHours(1), Duration.ZERO));
+        new IVRankCache().put("AAPL", 42.0);
+        IVRankCache.enableSharedTier(null);
+
+        assertFalse(new IVRankCache().isCached("AAPL"));
+    }
+}
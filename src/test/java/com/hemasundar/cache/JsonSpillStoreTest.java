@@ -0,0 +1,62 @@
+package com.hemasundar.cache;
+
+import com.hemasundar.pojos.QuotesResponse;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import static org.testng.Assert.*;
+
+public class JsonSpillStoreTest {
+
+    private Path tempDir;
+    private JsonSpillStore<QuotesResponse.QuoteData> store;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        tempDir = Files.createTempDirectory("spill");
+        store = new JsonSpillStore<>(tempDir, QuotesResponse.QuoteData.class);
+    }
+
+    @AfterMethod
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(tempDir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    @Test
+    public void testRoundTrip_KeepsValueAndTimestamp() {
+        QuotesResponse.QuoteData quote = new QuotesResponse.QuoteData();
+        quote.setSymbol("BRK/B");
+        store.write("BRK/B", quote, 1_234_567L);
+
+        SpillStore.Entry<QuotesResponse.QuoteData> entry = store.read("BRK/B");
+
+        assertNotNull(entry);
+        assertEquals(entry.value().getSymbol(), "BRK/B");
+        assertEquals(entry.writtenAtMs(), 1_234_567L);
+    }
+
+    @Test
+    public void testReadMissingOrCorrupt_ReturnsNull() throws IOException {
+        assertNull(store.read("AAPL"));
+
+        Files.writeString(tempDir.resolve("AAPL" + JsonSpillStore.FILE_EXTENSION), "not gzip");
+        assertNull(store.read("AAPL"));
+    }
+
+    @Test
+    public void testDelete() {
+        store.write("AAPL", new QuotesResponse.QuoteData(), 1L);
+        store.delete("AAPL");
+
+        assertNull(store.read("AAPL"));
+    }
+}
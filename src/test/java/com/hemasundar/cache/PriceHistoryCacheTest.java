@@ -0,0 +1,181 @@
+package com.hemasundar.cache;
+
+import com.hemasundar.apis.ThinkOrSwimAPIs;
+import com.hemasundar.pojos.PriceHistoryResponse;
+import com.hemasundar.pojos.PriceHistoryResponse.CandleData;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static com.hemasundar.cache.CandleHistoryStoreTest.candle;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.testng.Assert.*;
+
+public class PriceHistoryCacheTest {
+
+    private static final long DAY_MS = 24L * 60 * 60 * 1000;
+
+    private Path tempDir;
+    private CandleHistoryStore store;
+    private PriceHistoryCache cache;
+    private ThinkOrSwimAPIs api;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        tempDir = Files.createTempDirectory("price-history");
+        store = new CandleHistoryStore(tempDir);
+        cache = new PriceHistoryCache(store);
+        api = mock(ThinkOrSwimAPIs.class);
+    }
+
+    @AfterMethod
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(tempDir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    private static List<CandleData> dailyCandles(long start, int count) {
+        List<CandleData> candles = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            candles.add(candle(start + i * DAY_MS, 100.0 + i));
+        }
+        return candles;
+    }
+
+    @Test
+    public void testColdStore_FullFetchPersisted() {
+        long start = System.currentTimeMillis() - 10 * DAY_MS;
+        PriceHistoryResponse full = new PriceHistoryResponse("AAPL", false, null, null, dailyCandles(start, 10));
+        when(api.getYearlyPriceHistory("AAPL", 1)).thenReturn(full);
+
+        PriceHistoryCache.HistoricalData data = cache.getHistoricalData("AAPL", api);
+
+        assertSame(data.getPriceHistory(), full);
+        assertEquals(store.load("AAPL").getCandles().size(), 10);
+        assertEquals(cache.getApiCallCounter().get(), 1);
+        verify(api, never()).getPriceHistory(anyString(), anyString(), anyInt(), anyString(), anyInt(),
+                any(), any(), anyBoolean(), anyBoolean());
+    }
+
+    @Test
+    public void testWarmStore_FetchesOnlyTail() {
+        long start = System.currentTimeMillis() - 10 * DAY_MS;
+        List<CandleData> stored = dailyCandles(start, 10);
+        store.writeAll("AAPL", new PriceHistoryResponse("AAPL", false, 99.0, start - DAY_MS, stored));
+        long lastStored = stored.get(9).getDatetime();
+
+        List<CandleData> tail = List.of(candle(lastStored, 250.0), candle(lastStored + DAY_MS, 251.0));
+        when(api.getPriceHistory(eq("AAPL"), anyString(), anyInt(), anyString(), anyInt(),
+                eq(lastStored), any(), anyBoolean(), anyBoolean()))
+                .thenReturn(new PriceHistoryResponse("AAPL", false, 250.0, lastStored, tail));
+
+        PriceHistoryResponse refreshed = cache.getHistoricalData("AAPL", api).getPriceHistory();
+        List<CandleData> candles = refreshed.getCandles();
+
+        assertEquals(candles.size(), 11);
+        assertEquals(candles.get(8).getClose(), 108.0);
+        assertEquals(candles.get(9).getClose(), 250.0);
+        assertEquals(candles.get(10).getClose(), 251.0);
+        assertEquals(store.load("AAPL").getCandles(), candles);
+        assertEquals(refreshed.getPreviousClose(), 250.0, "the tail's previous close replaces the stored one");
+        assertEquals(refreshed.getPreviousCloseDate(), Long.valueOf(lastStored));
+        assertEquals(store.load("AAPL").getPreviousClose(), 250.0);
+        assertEquals(store.load("AAPL").getPreviousCloseDate(), Long.valueOf(lastStored));
+        assertEquals(cache.getIncrementalRefreshes().get(), 1);
+        assertEquals(cache.getApiCallCounter().get(), 1);
+        verify(api, never()).getYearlyPriceHistory(anyString(), anyInt());
+    }
+
+    @Test
+    public void testWarmStore_TailWithoutPreviousCloseKeepsStoredOne() {
+        long start = System.currentTimeMillis() - 10 * DAY_MS;
+        List<CandleData> stored = dailyCandles(start, 10);
+        store.writeAll("AAPL", new PriceHistoryResponse("AAPL", false, 99.0, start - DAY_MS, stored));
+        long lastStored = stored.get(9).getDatetime();
+        when(api.getPriceHistory(eq("AAPL"), anyString(), anyInt(), anyString(), anyInt(),
+                eq(lastStored), any(), anyBoolean(), anyBoolean()))
+                .thenReturn(new PriceHistoryResponse("AAPL", false, null, null, List.of(candle(lastStored, 250.0))));
+
+        PriceHistoryResponse refreshed = cache.getHistoricalData("AAPL", api).getPriceHistory();
+
+        assertEquals(refreshed.getPreviousClose(), 99.0);
+        assertEquals(refreshed.getPreviousCloseDate(), Long.valueOf(start - DAY_MS));
+        assertEquals(store.load("AAPL").getPreviousClose(), 99.0);
+    }
+
+    @Test
+    public void testWarmStore_CompactsCandlesOutsideWindow() {
+        long start = System.currentTimeMillis() - 450 * DAY_MS;
+        List<CandleData> stored = dailyCandles(start, 445);
+        store.writeAll("AAPL", new PriceHistoryResponse("AAPL", false, null, null, stored));
+        when(api.getPriceHistory(eq("AAPL"), anyString(), anyInt(), anyString(), anyInt(),
+                any(), any(), anyBoolean(), anyBoolean()))
+                .thenReturn(new PriceHistoryResponse("AAPL", true, null, null, List.of()));
+
+        List<CandleData> candles = cache.getHistoricalData("AAPL", api).getPriceHistory().getCandles();
+
+        long windowStart = System.currentTimeMillis() - 365 * DAY_MS;
+        assertTrue(candles.stream().allMatch(c -> c.getDatetime() >= windowStart));
+        assertEquals(store.load("AAPL").getCandles().size(), candles.size());
+    }
+
+    @Test
+    public void testStaleStore_FallsBackToFullFetch() {
+        long start = System.currentTimeMillis() - 500 * DAY_MS;
+        store.writeAll("AAPL", new PriceHistoryResponse("AAPL", false, null, null, dailyCandles(start, 5)));
+        PriceHistoryResponse full = new PriceHistoryResponse("AAPL", false, null, null,
+                dailyCandles(System.currentTimeMillis() - 3 * DAY_MS, 3));
+        when(api.getYearlyPriceHistory("AAPL", 1)).thenReturn(full);
+
+        assertSame(cache.getHistoricalData("AAPL", api).getPriceHistory(), full);
+        assertEquals(store.load("AAPL").getCandles().size(), 3);
+    }
+
+    @Test
+    public void testTailFailure_FallsBackToFullFetch() {
+        long start = System.currentTimeMillis() - 5 * DAY_MS;
+        store.writeAll("AAPL", new PriceHistoryResponse("AAPL", false, null, null, dailyCandles(start, 5)));
+        PriceHistoryResponse full = new PriceHistoryResponse("AAPL", false, null, null, dailyCandles(start, 6));
+        when(api.getYearlyPriceHistory("AAPL", 1)).thenReturn(full);
+
+        assertSame(cache.getHistoricalData("AAPL", api).getPriceHistory(), full);
+    }
+
+    @Test
+    public void testDailyPolicy_FreshStoreNeedsNoApiCall() {
+        cache.setPolicy(CachePolicy.untilEndOfDay(ZoneId.of("America/New_York"), Duration.ZERO));
+        long start = System.currentTimeMillis() - 5 * DAY_MS;
+        store.writeAll("AAPL", new PriceHistoryResponse("AAPL", false, null, null, dailyCandles(start, 5)));
+
+        List<CandleData> candles = cache.getHistoricalData("AAPL", api).getPriceHistory().getCandles();
+
+        assertEquals(candles.size(), 5);
+        assertEquals(cache.getStoreLoads().get(), 1);
+        assertEquals(cache.getApiCallCounter().get(), 0);
+        verifyNoInteractions(api);
+    }
+
+    @Test
+    public void testDailyPolicy_ExpiredEntryIsReloaded() {
+        cache.setPolicy(CachePolicy.untilEndOfDay(ZoneId.of("America/New_York"), Duration.ZERO));
+        PriceHistoryResponse yesterday = new PriceHistoryResponse("AAPL", false, null, null, List.of());
+        cache.put("AAPL", new PriceHistoryCache.HistoricalData(yesterday), System.currentTimeMillis() - 2 * DAY_MS);
+        PriceHistoryResponse full = new PriceHistoryResponse("AAPL", false, null, null,
+                dailyCandles(System.currentTimeMillis() - 3 * DAY_MS, 3));
+        when(api.getYearlyPriceHistory("AAPL", 1)).thenReturn(full);
+
+        assertSame(cache.getHistoricalData("AAPL", api).getPriceHistory(), full);
+    }
+}
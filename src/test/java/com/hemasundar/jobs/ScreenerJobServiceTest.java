@@ -1,6 +1,7 @@
 package com.hemasundar.jobs;
 
 import com.hemasundar.options.models.OptionsConfig;
+import com.hemasundar.services.PrewarmPlanner;
 import com.hemasundar.services.ScreenerExecutionService;
 import com.hemasundar.services.StrategyExecutionService;
 import com.hemasundar.technical.ScreenerConfig;
@@ -13,6 +14,8 @@ import java.util.Collections;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 public class ScreenerJobServiceTest {
@@ -23,12 +26,15 @@ public class ScreenerJobServiceTest {
     @Mock
     private ScreenerExecutionService screenerExecutionService;
 
+    @Mock
+    private PrewarmPlanner prewarmPlanner;
+
     private ScreenerJobService screenerJobService;
 
     @BeforeMethod
     public void setup() {
         MockitoAnnotations.openMocks(this);
-        screenerJobService = new ScreenerJobService(strategyExecutionService, screenerExecutionService);
+        screenerJobService = new ScreenerJobService(strategyExecutionService, screenerExecutionService, prewarmPlanner);
     }
 
     @Test
@@ -41,10 +47,27 @@ public class ScreenerJobServiceTest {
         ScreenerConfig screener = ScreenerConfig.builder().build();
         when(screenerExecutionService.getEnabledScreeners()).thenReturn(List.of(screener));
 
+        PrewarmPlanner.PrewarmPlan plan = new PrewarmPlanner.PrewarmPlan(List.of(), 0);
+        when(prewarmPlanner.plan(anyList(), anyList())).thenReturn(plan);
+
+        screenerJobService.runScheduledScreeners();
+
+        // One shared pre-warm ahead of both phases, which then skip their own
+        verify(prewarmPlanner).execute(eq(plan), any());
+        verify(strategyExecutionService).executeStrategies(anySet(), eq(true));
+        verify(screenerExecutionService).executeScreeners(anySet(), anyList(), eq(true));
+    }
+
+    @Test
+    public void testRunScheduledScreeners_PhasesPrewarmThemselvesWhenPlannerFails() throws Exception {
+        when(strategyExecutionService.getEnabledStrategies()).thenReturn(List.of(OptionsConfig.builder().build()));
+        when(screenerExecutionService.getEnabledScreeners()).thenReturn(List.of(ScreenerConfig.builder().build()));
+        when(prewarmPlanner.plan(anyList(), anyList())).thenThrow(new RuntimeException("config error"));
+
         screenerJobService.runScheduledScreeners();
 
-        verify(strategyExecutionService).executeStrategies(anySet());
-        verify(screenerExecutionService).executeScreeners(anySet(), anyList());
+        verify(strategyExecutionService).executeStrategies(anySet(), eq(false));
+        verify(screenerExecutionService).executeScreeners(anySet(), anyList(), eq(false));
     }
 
     @Test
@@ -54,8 +77,9 @@ public class ScreenerJobServiceTest {
 
         screenerJobService.runScheduledScreeners();
 
-        verify(strategyExecutionService, never()).executeStrategies(anySet());
-        verify(screenerExecutionService, never()).executeScreeners(anySet(), anyList());
+        verify(prewarmPlanner, never()).plan(anyList(), anyList());
+        verify(strategyExecutionService, never()).executeStrategies(anySet(), anyBoolean());
+        verify(screenerExecutionService, never()).executeScreeners(anySet(), anyList(), anyBoolean());
     }
 
     @Test(expectedExceptions = RuntimeException.class)
@@ -3,6 +3,7 @@ package com.hemasundar.options.strategies;
 import com.hemasundar.options.models.BrokenWingButterflyFilter;
 import com.hemasundar.options.models.OptionChainResponse;
 import com.hemasundar.options.models.TradeSetup;
+import com.hemasundar.services.ExecutionContext;
 import com.hemasundar.utils.StrategyTestUtils;
 import org.testng.annotations.Test;
 
@@ -153,4 +154,94 @@ public class BrokenWingButterflyStrategyTest {
         trades = strategy.findTrades(chain, filter);
         assertFalse(trades.isEmpty());
     }
+
+    private static OptionChainResponse wideChain() {
+        OptionChainResponse chain = StrategyTestUtils.createMockChain("SPX", 150.0);
+        addWideExpiry(chain, "2026-01-02", 30);
+        return chain;
+    }
+
+    private static void addWideExpiry(OptionChainResponse chain, String expiry, int dte) {
+        for (double strike = 100.0; strike <= 200.0; strike += 5.0) {
+            double value = Math.max(0, 150.0 - strike) + 5.0 * Math.exp(-Math.abs(strike - 150.0) / 20.0);
+            double delta = 1.0 / (1.0 + Math.exp((strike - 150.0) / 10.0));
+            StrategyTestUtils.addOption(chain, expiry, dte, strike, value - 0.05, value + 0.05, delta, false);
+        }
+    }
+
+    private static List<String> combos(List<TradeSetup> trades) {
+        return trades.stream()
+                .map(t -> (com.hemasundar.options.models.BrokenWingButterfly) t)
+                .map(b -> b.getLeg1LongCall().getStrikePrice() + "/" + b.getLeg2ShortCalls().getStrikePrice()
+                        + "/" + b.getLeg3LongCall().getStrikePrice())
+                .sorted()
+                .toList();
+    }
+
+    @Test
+    public void testSearchBudget_GenerousBudgetMatchesExhaustiveSearch() {
+        BrokenWingButterflyFilter filter = new BrokenWingButterflyFilter();
+        filter.setTargetDTE(30);
+        List<String> exhaustive = combos(strategy.findTrades(wideChain(), filter));
+        assertFalse(exhaustive.isEmpty());
+
+        filter.setMaxCandidatesPerSymbol(1_000_000);
+        assertEquals(combos(strategy.findTrades(wideChain(), filter)), exhaustive);
+    }
+
+    @Test
+    public void testSearchBudget_TruncatesPromisingFirstAndLogs() {
+        BrokenWingButterflyFilter filter = new BrokenWingButterflyFilter();
+        filter.setTargetDTE(30);
+        List<String> exhaustive = combos(strategy.findTrades(wideChain(), filter));
+
+        filter.setMaxCandidatesPerSymbol(20);
+        ExecutionContext context = new ExecutionContext("test");
+        context.bind();
+        try {
+            List<String> budgeted = combos(strategy.findTrades(wideChain(), filter));
+
+            assertFalse(budgeted.isEmpty(), "nearest-the-money shorts are searched first");
+            assertTrue(exhaustive.containsAll(budgeted));
+            assertTrue(budgeted.size() < exhaustive.size());
+            assertTrue(context.getFilterLogStore().getEntries().stream()
+                    .anyMatch(e -> FilterStage.SEARCH_BUDGET.displayName().equals(e.getFilterStage())
+                            && e.getTradesOut() == 20));
+        } finally {
+            context.unbind();
+        }
+    }
+
+    @Test
+    public void testSearchBudget_SharedSearchLogsUnderEachFilterWithExpiriesLeft() {
+        OptionChainResponse chain = wideChain();
+        addWideExpiry(chain, "2026-01-30", 58);
+        List<BrokenWingButterflyFilter> filters = List.of(
+                budgetedFilter("near and far", 20, 70),
+                budgetedFilter("near only", 20, 40));
+
+        ExecutionContext context = new ExecutionContext("test");
+        context.bind();
+        try {
+            strategy.findTradesForFilters(chain, filters);
+
+            List<String> budgetEntries = context.getFilterLogStore().getEntries().stream()
+                    .filter(e -> FilterStage.SEARCH_BUDGET.displayName().equals(e.getFilterStage()) && e.getExpiry() == null)
+                    .map(e -> e.getStrategyName() + " " + e.getTradesIn() + " " + e.getTradesOut())
+                    .toList();
+            assertEquals(budgetEntries, List.of("near and far 2 1"),
+                    "only the filter with an unsearched expiry logs the budget, under its own name");
+        } finally {
+            context.unbind();
+        }
+    }
+
+    private static BrokenWingButterflyFilter budgetedFilter(String strategyId, int minDTE, int maxDTE) {
+        BrokenWingButterflyFilter filter = new BrokenWingButterflyFilter();
+        filter.setStrategyId(strategyId);
+        filter.setMinDTE(minDTE);
+        filter.setMaxDTE(maxDTE);
+        filter.setMaxCandidatesPerSymbol(20);
+        return filter;
+    }
 }
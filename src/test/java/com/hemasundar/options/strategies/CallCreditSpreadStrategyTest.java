@@ -1,8 +1,10 @@
 package com.hemasundar.options.strategies;
 
 import com.hemasundar.options.models.CreditSpreadFilter;
+import com.hemasundar.options.models.LegFilter;
 import com.hemasundar.options.models.OptionChainResponse;
 import com.hemasundar.options.models.TradeSetup;
+import com.hemasundar.services.ExecutionContext;
 import com.hemasundar.utils.StrategyTestUtils;
 import org.testng.annotations.Test;
 import java.util.List;
@@ -48,4 +50,59 @@ public class CallCreditSpreadStrategyTest {
         assertEquals(trade.getNetCredit(), 140.0, 0.01);
         assertEquals(trade.getMaxLoss(), 360.0, 0.01); // (160-155)*100 - 140 = 500 - 140 = 360
     }
+
+    @Test
+    public void testSharedCandidates_LogSameFunnelAsSeparateSearches() {
+        OptionChainResponse chain = StrategyTestUtils.createMockChain("AAPL", 150.0);
+        StrategyTestUtils.addOption(chain, "2026-01-02", 30, 148.0, 3.50, 3.60, 0.55, false); // in the money: never a short
+        StrategyTestUtils.addOption(chain, "2026-01-02", 30, 155.0, 2.00, 2.10, 0.35, false);
+        StrategyTestUtils.addOption(chain, "2026-01-02", 30, 158.0, 0.80, 0.90, 0.30, false); // above the 160 call: no credit
+        StrategyTestUtils.addOption(chain, "2026-01-02", 30, 160.0, 1.00, 1.10, 0.25, false);
+        StrategyTestUtils.addOption(chain, "2026-01-02", 30, 165.0, 0.40, 0.50, 0.12, false);
+        List<CreditSpreadFilter> filters = List.of(
+                spreadFilter("first", 0.20, 0.40, 50.0),
+                spreadFilter("second", 0.10, 0.30, 20.0));
+        filters.get(1).getShortLeg().setMinPremium(0.5);
+
+        List<String> separate = funnel(() -> filters.forEach(filter -> strategy.findTrades(chain, filter)), null);
+        List<String> shared = funnel(() -> strategy.findTradesForFilters(chain, filters), null);
+        List<String> memoized = funnel(() -> filters.forEach(filter -> strategy.findTrades(chain, filter)), new CandidateMemo(10));
+
+        assertTrue(separate.stream().anyMatch(line -> line.contains("Positive Credit") && !line.matches(".* (\\d+) \\1")),
+                "the chain has spreads without a credit: " + separate);
+        assertEquals(shared, separate);
+        assertEquals(memoized, separate);
+    }
+
+    /**
+     * Filter log entries written by {@code search}, as sorted "strategy expiry stage in out" lines.
+     */
+    private static List<String> funnel(Runnable search, CandidateMemo memo) {
+        ExecutionContext context = new ExecutionContext("test");
+        context.setCandidateMemo(memo);
+        context.bind();
+        try {
+            search.run();
+        } finally {
+            context.unbind();
+        }
+        return context.getFilterLogStore().getEntries().stream()
+                .map(e -> e.getStrategyName() + " " + e.getExpiry() + " " + e.getFilterStage() + " "
+                        + e.getTradesIn() + " " + e.getTradesOut())
+                .sorted()
+                .toList();
+    }
+
+    private static CreditSpreadFilter spreadFilter(String strategyId, double minDelta, double maxDelta, double minCredit) {
+        CreditSpreadFilter filter = new CreditSpreadFilter();
+        filter.setStrategyId(strategyId);
+        filter.setMinDTE(20);
+        filter.setMaxDTE(40);
+        filter.setMinTotalCredit(minCredit);
+        LegFilter shortLeg = new LegFilter();
+        shortLeg.setMinDelta(minDelta);
+        shortLeg.setMaxDelta(maxDelta);
+        filter.setShortLeg(shortLeg);
+        return filter;
+    }
 }
@@ -0,0 +1,65 @@
+package com.hemasundar.options.strategies;
+
+import com.hemasundar.options.models.OptionChainResponse;
+import com.hemasundar.utils.StrategyTestUtils;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.*;
+
+public class CandidateMemoTest {
+
+    @Test
+    public void testComputeIfAbsent_ConcurrentCallersGenerateOnce() throws Exception {
+        CandidateMemo memo = new CandidateMemo(10);
+        OptionChainResponse chain = StrategyTestUtils.createMockChain("AAPL", 150.0);
+        AtomicInteger generated = new AtomicInteger();
+        CountDownLatch generating = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<List<String>> first = CompletableFuture.supplyAsync(() ->
+                memo.computeIfAbsent("PUT_CREDIT_SPREAD", chain, "2026-01-02", "legs", () -> {
+                    generated.incrementAndGet();
+                    generating.countDown();
+                    await(release);
+                    return List.of("145/140");
+                }));
+        assertTrue(generating.await(5, TimeUnit.SECONDS));
+        CompletableFuture<List<String>> second = CompletableFuture.supplyAsync(() ->
+                memo.computeIfAbsent("PUT_CREDIT_SPREAD", chain, "2026-01-02", "legs", () -> {
+                    generated.incrementAndGet();
+                    return List.of("other");
+                }));
+        release.countDown();
+
+        assertEquals(first.get(5, TimeUnit.SECONDS), List.of("145/140"));
+        assertSame(second.get(5, TimeUnit.SECONDS), first.get());
+        assertEquals(generated.get(), 1);
+        assertEquals(memo.getMisses(), 1);
+        assertEquals(memo.getHits(), 1);
+    }
+
+    @Test
+    public void testComputeIfAbsent_FailedGenerationIsRetried() {
+        CandidateMemo memo = new CandidateMemo(10);
+        OptionChainResponse chain = StrategyTestUtils.createMockChain("AAPL", 150.0);
+
+        assertThrows(IllegalStateException.class, () -> memo.computeIfAbsent("PUT_CREDIT_SPREAD", chain, "2026-01-02", "legs",
+                () -> { throw new IllegalStateException("bad chain"); }));
+        assertEquals(memo.size(), 0);
+        assertEquals(memo.<String>computeIfAbsent("PUT_CREDIT_SPREAD", chain, "2026-01-02", "legs", () -> "ok"), "ok");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.hemasundar.options.strategies;
+
+import com.hemasundar.dto.ExecutionLogEntry;
+import com.hemasundar.services.ExecutionContext;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static org.testng.Assert.*;
+
+public class FilterPipelineTest {
+
+    private final StageOrderOptimizer optimizer = StageOrderOptimizer.getInstance();
+    private ExecutionContext context;
+
+    @BeforeMethod
+    public void setUp() {
+        optimizer.reset();
+        optimizer.setMinSamples(50);
+        optimizer.setExactCounts(true);
+        context = new ExecutionContext("test");
+        context.bind();
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        optimizer.setEnabled(false);
+        optimizer.reset();
+        context.unbind();
+    }
+
+    private static List<Integer> numbers(int n) {
+        return IntStream.range(0, n).boxed().toList();
+    }
+
+    private List<ExecutionLogEntry> runLogged(Supplier<FilterPipeline<Integer>> pipeline, List<Integer> input, List<Integer> survivors) {
+        context.getFilterLogStore().clear();
+        survivors.addAll(pipeline.get().run(input));
+        return context.getFilterLogStore().getEntries();
+    }
+
+    private static void train(Supplier<FilterPipeline<Integer>> pipeline, List<Integer> input) {
+        for (int run = 0; run < 3; run++) {
+            pipeline.get().run(input);
+        }
+    }
+
+    @Test
+    public void testSelectiveStageMovesFirst() {
+        AtomicInteger keepAllCalls = new AtomicInteger();
+        Supplier<FilterPipeline<Integer>> pipeline = () -> FilterPipeline.<Integer>forContext("Test", "SYM", null)
+                .step("Keep all", x -> keepAllCalls.incrementAndGet() > 0)
+                .step("Keep tenth", x -> x % 10 == 0);
+        List<Integer> input = numbers(1000);
+
+        optimizer.setEnabled(true);
+        optimizer.setExactCounts(false);
+        train(pipeline, input);
+        keepAllCalls.set(0);
+        List<Integer> survivors = pipeline.get().run(input);
+
+        assertEquals(keepAllCalls.get(), 100, "The non-rejecting stage should only see the survivors of the selective one");
+        assertEquals(survivors, input.stream().filter(x -> x % 10 == 0).toList());
+    }
+
+    @Test
+    public void testDeclaredOrderUntilEnoughSamples() {
+        AtomicInteger keepAllCalls = new AtomicInteger();
+        Supplier<FilterPipeline<Integer>> pipeline = () -> FilterPipeline.<Integer>forContext("Test", "SYM", null)
+                .step("Keep all", x -> keepAllCalls.incrementAndGet() > 0)
+                .step("Keep tenth", x -> x % 10 == 0);
+        optimizer.setEnabled(true);
+        optimizer.setMinSamples(10_000);
+
+        train(pipeline, numbers(1000));
+        keepAllCalls.set(0);
+        pipeline.get().run(numbers(1000));
+
+        assertEquals(keepAllCalls.get(), 1000);
+    }
+
+    @Test
+    public void testFixedStepIsNotCrossed() {
+        AtomicInteger keepAllCalls = new AtomicInteger();
+        Supplier<FilterPipeline<Integer>> pipeline = () -> FilterPipeline.<Integer>forContext("Test", "SYM", null)
+                .step("Keep all", x -> keepAllCalls.incrementAndGet() > 0)
+                .fixedStep("Barrier", x -> true)
+                .step("Keep tenth", x -> x % 10 == 0);
+        List<Integer> input = numbers(1000);
+
+        optimizer.setEnabled(true);
+        optimizer.setExactCounts(false);
+        train(pipeline, input);
+        keepAllCalls.set(0);
+        pipeline.get().run(input);
+
+        assertEquals(keepAllCalls.get(), 1000);
+    }
+
+    @Test
+    public void testSurvivorsAndFunnelEndpointsMatchDeclaredOrder() {
+        Random random = new Random(42);
+        List<Integer> input = IntStream.range(0, 2000).map(i -> random.nextInt(10_000)).boxed().toList();
+        Supplier<FilterPipeline<Integer>> pipeline = () -> FilterPipeline.<Integer>forContext("Test", "SYM", "2026-01-16")
+                .step("Even", x -> x % 2 == 0)
+                .step("Below 9000", x -> x < 9000)
+                .step("Multiple of 3", x -> x % 3 == 0)
+                .step("Above 100", x -> x > 100);
+
+        List<Integer> declared = new ArrayList<>();
+        List<ExecutionLogEntry> declaredLog = runLogged(pipeline, input, declared);
+
+        optimizer.setEnabled(true);
+        train(pipeline, input);
+        List<Integer> adaptive = new ArrayList<>();
+        List<ExecutionLogEntry> adaptiveLog = runLogged(pipeline, input, adaptive);
+
+        assertEquals(adaptive, declared, "Survivors and their order must not depend on the stage order");
+        assertEquals(adaptiveLog.stream().map(ExecutionLogEntry::getFilterStage).toList(),
+                List.of("Even", "Below 9000", "Multiple of 3", "Above 100"));
+        assertEquals(adaptiveLog.get(0).getTradesIn(), input.size());
+        assertEquals(adaptiveLog.get(3).getTradesOut(), declared.size());
+        for (int k = 1; k < adaptiveLog.size(); k++) {
+            assertEquals(adaptiveLog.get(k).getTradesIn(), adaptiveLog.get(k - 1).getTradesOut());
+        }
+        for (int k = 0; k < adaptiveLog.size(); k++) {
+            assertEquals(adaptiveLog.get(k).getTradesOut(), declaredLog.get(k).getTradesOut());
+        }
+        assertEquals(declaredLog.get(3).getTradesOut(), declared.size());
+    }
+
+    @Test
+    public void testPerStageCountsMatchDeclaredOrderWhenRejectionsOverlap() {
+        // Candidates ending in 5 fail both stages; reordering must not move their rejection to the selective one
+        List<Integer> input = numbers(1000);
+        Supplier<FilterPipeline<Integer>> pipeline = () -> FilterPipeline.<Integer>forContext("Test", "SYM", null)
+                .step("Not 5 mod 10", x -> x % 10 != 5)
+                .step("Keep tenth", x -> x % 10 == 0);
+
+        List<ExecutionLogEntry> declaredLog = runLogged(pipeline, input, new ArrayList<>());
+        optimizer.setEnabled(true);
+        train(pipeline, input);
+        List<ExecutionLogEntry> adaptiveLog = runLogged(pipeline, input, new ArrayList<>());
+
+        assertEquals(optimizer.order("Test|Not 5 mod 10|Keep tenth", new boolean[]{true, true}), new int[]{1, 0},
+                "The selective stage should have been moved first");
+        assertEquals(declaredLog.get(0).getTradesOut(), 900);
+        assertEquals(adaptiveLog.size(), declaredLog.size());
+        for (int k = 0; k < declaredLog.size(); k++) {
+            assertEquals(adaptiveLog.get(k).getFilterStage(), declaredLog.get(k).getFilterStage());
+            assertEquals(adaptiveLog.get(k).getTradesIn(), declaredLog.get(k).getTradesIn());
+            assertEquals(adaptiveLog.get(k).getTradesOut(), declaredLog.get(k).getTradesOut());
+        }
+    }
+
+    @Test
+    public void testFunnelUnchangedWhenRejectionsAreDisjoint() {
+        // Each candidate fails at most one stage, so every rejection has exactly one owner
+        List<Integer> input = numbers(1000);
+        Supplier<FilterPipeline<Integer>> pipeline = () -> FilterPipeline.<Integer>forContext("Test", "SYM", null)
+                .step("Not 1 mod 50", x -> x % 50 != 1)
+                .step("Not 2 mod 10", x -> x % 10 != 2)
+                .step("Not multiple of 5", x -> x % 5 != 0);
+
+        List<ExecutionLogEntry> declaredLog = runLogged(pipeline, input, new ArrayList<>());
+        optimizer.setEnabled(true);
+        train(pipeline, input);
+        List<ExecutionLogEntry> adaptiveLog = runLogged(pipeline, input, new ArrayList<>());
+
+        assertEquals(adaptiveLog.size(), declaredLog.size());
+        for (int k = 0; k < declaredLog.size(); k++) {
+            assertEquals(adaptiveLog.get(k).getFilterStage(), declaredLog.get(k).getFilterStage());
+            assertEquals(adaptiveLog.get(k).getTradesIn(), declaredLog.get(k).getTradesIn());
+            assertEquals(adaptiveLog.get(k).getTradesOut(), declaredLog.get(k).getTradesOut());
+        }
+    }
+
+    @Test
+    public void testPrunedCandidatesAreLoggedAtTheirRejectingStep() {
+        List<Integer> input = numbers(1000);
+        List<Integer> prunedInput = input.stream().filter(x -> x % 2 == 0).toList();
+        Supplier<FilterPipeline<Integer>> full = () -> FilterPipeline.<Integer>forContext("Test", "SYM", null)
+                .step(FilterStage.DELTA_FILTER, x -> x % 2 == 0)
+                .step(FilterStage.LEG_PREMIUM_FILTER, x -> x % 3 != 0);
+        Supplier<FilterPipeline<Integer>> pruned = () -> FilterPipeline.<Integer>forContext("Test", "SYM", null)
+                .step(FilterStage.DELTA_FILTER, x -> x % 2 == 0, input.size() - prunedInput.size())
+                .step(FilterStage.LEG_PREMIUM_FILTER, x -> x % 3 != 0, 0);
+
+        List<Integer> expectedSurvivors = new ArrayList<>();
+        List<ExecutionLogEntry> expected = runLogged(full, input, expectedSurvivors);
+        for (boolean adaptive : new boolean[]{false, true}) {
+            optimizer.setEnabled(adaptive);
+            List<Integer> survivors = new ArrayList<>();
+            List<ExecutionLogEntry> logged = runLogged(pruned, prunedInput, survivors);
+
+            assertEquals(survivors, expectedSurvivors);
+            assertEquals(logged.size(), expected.size());
+            for (int k = 0; k < expected.size(); k++) {
+                assertEquals(logged.get(k).getTradesIn(), expected.get(k).getTradesIn(), "adaptive=" + adaptive);
+                assertEquals(logged.get(k).getTradesOut(), expected.get(k).getTradesOut(), "adaptive=" + adaptive);
+            }
+        }
+    }
+}
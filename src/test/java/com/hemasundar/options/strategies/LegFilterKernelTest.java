@@ -0,0 +1,115 @@
+package com.hemasundar.options.strategies;
+
+import com.hemasundar.options.models.LegFilter;
+import com.hemasundar.options.models.OptionChainResponse.OptionData;
+import org.testng.SkipException;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.testng.Assert.*;
+
+public class LegFilterKernelTest {
+
+    private static final LegFilter FILTER = LegFilter.builder()
+            .minDelta(0.15).maxDelta(0.35)
+            .minPremium(0.50)
+            .minVolume(10)
+            .minOpenInterest(100)
+            .minVolatility(20.0).maxVolatility(60.0)
+            .build();
+
+    static List<OptionData> randomLegs(int n, long seed) {
+        Random random = new Random(seed);
+        List<OptionData> legs = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            OptionData leg = new OptionData();
+            leg.setStrikePrice(50 + i);
+            leg.setDelta(-random.nextDouble() * 0.6);
+            leg.setMark(random.nextDouble() * 3);
+            leg.setTotalVolume(random.nextInt(40));
+            leg.setOpenInterest(random.nextInt(400));
+            leg.setVolatility(i % 11 == 0 ? Double.NaN : 10 + random.nextDouble() * 70);
+            if (i % 17 == 0) {
+                leg.setDelta(-0.15); // exactly on the bound
+            }
+            legs.add(leg);
+        }
+        return legs;
+    }
+
+    private static LegColumns columns(List<OptionData> legs) {
+        return LegColumns.of(legs.stream().map(List::of).toList());
+    }
+
+    @Test
+    public void testMasksMatchPerLegChecks() {
+        for (int n : new int[]{0, 1, 7, 63, 64, 65, 130, 517}) {
+            List<OptionData> legs = randomLegs(n, n);
+            LegFilterKernel.Masks masks = LegFilterKernel.evaluate(FILTER, columns(legs), false);
+
+            for (int i = 0; i < n; i++) {
+                OptionData leg = legs.get(i);
+                assertEquals(masks.passesDelta(i), FILTER.passesDelta(leg), "delta " + n + "/" + i);
+                assertEquals(masks.passesPremium(i), FILTER.passesPremium(leg), "premium " + n + "/" + i);
+                assertEquals(masks.passesVolume(i), FILTER.passesVolume(leg), "volume " + n + "/" + i);
+                assertEquals(masks.passesOpenInterest(i), FILTER.passesOpenInterest(leg), "oi " + n + "/" + i);
+                assertEquals(masks.passesVolatility(i), FILTER.passesVolatility(leg), "volatility " + n + "/" + i);
+                assertEquals(masks.eligible().get(i), FILTER.passes(leg), "eligible " + n + "/" + i);
+            }
+            assertTrue(masks.eligible().length() <= n);
+        }
+    }
+
+    @Test
+    public void testVectorAndScalarMasksAreIdentical() {
+        if (!LegFilterKernel.vectorized()) {
+            throw new SkipException("jdk.incubator.vector not on the module path: only the scalar kernel exists");
+        }
+        for (int n : new int[]{1, 3, 8, 63, 64, 65, 127, 1000}) {
+            LegColumns legs = columns(randomLegs(n, 31L * n));
+            LegFilterKernel.Masks scalar = LegFilterKernel.evaluate(FILTER, legs, false);
+            LegFilterKernel.Masks vector = LegFilterKernel.evaluate(FILTER, legs, true);
+
+            for (int i = 0; i < n; i++) {
+                assertEquals(vector.passesDelta(i), scalar.passesDelta(i));
+                assertEquals(vector.passesPremium(i), scalar.passesPremium(i));
+                assertEquals(vector.passesVolume(i), scalar.passesVolume(i));
+                assertEquals(vector.passesOpenInterest(i), scalar.passesOpenInterest(i));
+                assertEquals(vector.passesVolatility(i), scalar.passesVolatility(i));
+            }
+            assertEquals(vector.eligible(), scalar.eligible());
+        }
+    }
+
+    @Test
+    public void testNullFilterPassesEveryLeg() {
+        LegFilterKernel.Masks masks = LegFilterKernel.evaluate(null, columns(randomLegs(70, 1)));
+
+        BitSet expected = new BitSet();
+        expected.set(0, 70);
+        assertEquals(masks.eligible(), expected);
+        assertEquals(masks.size(), 70);
+    }
+
+    @Test
+    public void testByStrikeSortsAndSkipsEmptyStrikes() {
+        List<OptionData> legs = randomLegs(3, 5);
+        Map<String, List<OptionData>> strikeMap = new LinkedHashMap<>();
+        strikeMap.put("52.0", List.of(legs.get(2)));
+        strikeMap.put("50.0", List.of(legs.get(0)));
+        strikeMap.put("51.0", List.of());
+
+        LegColumns columns = LegColumns.byStrike(strikeMap);
+
+        assertEquals(columns.size(), 2);
+        assertSame(columns.option(0), legs.get(0));
+        assertEquals(columns.strike(1), 52.0);
+        assertEquals(columns.options(), List.of(legs.get(0), legs.get(2)));
+    }
+}
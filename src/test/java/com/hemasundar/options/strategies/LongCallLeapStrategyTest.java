@@ -1,6 +1,7 @@
 package com.hemasundar.options.strategies;
 
 import com.hemasundar.options.models.*;
+import com.hemasundar.services.ExecutionContext;
 import com.hemasundar.utils.StrategyTestUtils;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
@@ -9,6 +10,11 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.testng.Assert.*;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
@@ -89,6 +95,75 @@ public class LongCallLeapStrategyTest {
         assertEquals(trades.size(), 2);
     }
 
+    @Test
+    public void testFindTrades_RelaxationLevelsFromSingleScan() {
+        // Strict: none (savings). Level 1 (savings relaxed): 150 strike at 6.7% of price.
+        // Level 2 (price relaxed too): 140 strike at 13.3% of price.
+        OptionChainResponse chain = spy(mockChain);
+        LongCallLeapFilter filter = LongCallLeapFilter.builder()
+                .minDTE(300)
+                .maxDTE(500)
+                .topTradesCount(1)
+                .minCostSavingsPercent(99.0)
+                .maxOptionPricePercent(10.0)
+                .relaxationPriority(Arrays.asList("minCostSavingsPercent", "maxOptionPricePercent"))
+                .build();
+
+        List<TradeSetup> trades = strategy.findTrades(chain, filter);
+        assertEquals(trades.size(), 1);
+        assertEquals(((LongCallLeap) trades.get(0)).getLongCall().getStrikePrice(), 150.0);
+
+        filter.setTopTradesCount(2);
+        trades = strategy.findTrades(chain, filter);
+        assertEquals(trades.size(), 2);
+
+        // Each call scanned the expiry once, whatever the number of levels
+        verify(chain, times(2)).getOptionDataForASpecificExpiryDate(any(), anyString());
+    }
+
+    @Test
+    public void testFindTrades_DeferredFiltersAreLeftOutOfTheFunnel() {
+        LongCallLeapFilter filter = LongCallLeapFilter.builder()
+                .minDTE(300)
+                .maxDTE(500)
+                .topTradesCount(1)
+                .minCostSavingsPercent(99.0)
+                .maxOptionPricePercent(10.0)
+                .relaxationPriority(Arrays.asList("minCostSavingsPercent", "maxOptionPricePercent"))
+                .build();
+
+        ExecutionContext context = new ExecutionContext("test");
+        context.bind();
+        try {
+            strategy.findTrades(mockChain, filter);
+        } finally {
+            context.unbind();
+        }
+
+        List<String> stages = context.getFilterLogStore().getEntries().stream()
+                .map(e -> e.getFilterStage())
+                .toList();
+        assertFalse(stages.contains(FilterStage.COST_SAVINGS_FILTER.displayName()), "deferred: " + stages);
+        assertFalse(stages.contains(FilterStage.PREMIUM_LIMIT_FILTER.displayName()), "deferred: " + stages);
+        assertTrue(stages.contains(FilterStage.CAGR_FILTER.displayName()), "not relaxable here: " + stages);
+    }
+
+    @Test
+    public void testFindTrades_RelaxationKeepsHardFilters() {
+        // minCostEfficiencyPercent is not in relaxationPriority, so it still applies
+        LongCallLeapFilter filter = LongCallLeapFilter.builder()
+                .minDTE(300)
+                .maxDTE(500)
+                .topTradesCount(2)
+                .minCostSavingsPercent(99.0)
+                .minCostEfficiencyPercent(0.0)
+                .relaxationPriority(Collections.singletonList("minCostSavingsPercent"))
+                .build();
+
+        List<TradeSetup> trades = strategy.findTrades(mockChain, filter);
+        assertEquals(trades.size(), 0);
+    }
+
     @Test
     public void testFindTrades_NoRelaxationConfigured() {
         LongCallLeapFilter filter = LongCallLeapFilter.builder()
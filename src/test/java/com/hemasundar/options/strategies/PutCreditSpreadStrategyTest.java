@@ -4,6 +4,7 @@ import com.hemasundar.options.models.CreditSpreadFilter;
 import com.hemasundar.options.models.LegFilter;
 import com.hemasundar.options.models.OptionChainResponse;
 import com.hemasundar.options.models.TradeSetup;
+import com.hemasundar.services.ExecutionContext;
 import com.hemasundar.utils.StrategyTestUtils;
 import org.testng.annotations.Test;
 import java.util.List;
@@ -72,4 +73,128 @@ public class PutCreditSpreadStrategyTest {
         List<TradeSetup> trades = strategy.findTrades(chain, filter);
         assertEquals(trades.size(), 0);
     }
+
+    @Test
+    public void testFindTradesForFilters_MatchesPerFilterResults() {
+        OptionChainResponse chain = StrategyTestUtils.createMockChain("AAPL", 150.0);
+        for (String expiry : List.of("2026-01-02", "2026-01-30")) {
+            int dte = expiry.equals("2026-01-02") ? 30 : 58;
+            StrategyTestUtils.addOption(chain, expiry, dte, 145.0, 2.50, 2.60, 0.35, true);
+            StrategyTestUtils.addOption(chain, expiry, dte, 140.0, 1.60, 1.70, 0.25, true);
+            StrategyTestUtils.addOption(chain, expiry, dte, 135.0, 0.90, 1.00, 0.15, true);
+            StrategyTestUtils.addOption(chain, expiry, dte, 130.0, 0.40, 0.50, 0.08, true);
+        }
+
+        List<CreditSpreadFilter> filters = List.of(
+                spreadFilter(20, 40, 0.20, 0.40, 50.0),
+                spreadFilter(20, 70, 0.10, 0.30, 30.0),
+                spreadFilter(50, 70, 0.30, 0.40, 120.0));
+
+        List<List<TradeSetup>> shared = strategy.findTradesForFilters(chain, filters);
+
+        assertEquals(shared.size(), filters.size());
+        for (int i = 0; i < filters.size(); i++) {
+            List<String> expected = signatures(strategy.findTrades(chain, filters.get(i)));
+            assertFalse(expected.isEmpty(), "filter " + i + " should find trades");
+            assertEquals(signatures(shared.get(i)), expected, "filter " + i);
+        }
+    }
+
+    @Test
+    public void testCandidateMemo_RerunWithNewThresholdReusesCandidates() {
+        OptionChainResponse chain = StrategyTestUtils.createMockChain("AAPL", 150.0);
+        StrategyTestUtils.addOption(chain, "2026-01-02", 30, 145.0, 2.50, 2.60, 0.35, true);
+        StrategyTestUtils.addOption(chain, "2026-01-02", 30, 140.0, 1.60, 1.70, 0.25, true);
+        StrategyTestUtils.addOption(chain, "2026-01-02", 30, 135.0, 0.90, 1.00, 0.15, true);
+        CreditSpreadFilter loose = spreadFilter(20, 40, 0.20, 0.40, 50.0);
+        CreditSpreadFilter strict = spreadFilter(20, 40, 0.20, 0.40, 120.0);
+        List<String> expectedLoose = signatures(strategy.findTrades(chain, loose));
+        List<String> expectedStrict = signatures(strategy.findTrades(chain, strict));
+
+        CandidateMemo memo = new CandidateMemo(10);
+        ExecutionContext context = new ExecutionContext("test");
+        context.setCandidateMemo(memo);
+        context.bind();
+        try {
+            assertEquals(signatures(strategy.findTrades(chain, loose)), expectedLoose);
+            assertEquals(signatures(strategy.findTrades(chain, strict)), expectedStrict);
+            assertEquals(memo.getMisses(), 1);
+            assertEquals(memo.getHits(), 1, "only the credit threshold changed");
+
+            strict.getShortLeg().setMaxDelta(0.30);
+            strategy.findTrades(chain, strict);
+            assertEquals(memo.getMisses(), 2, "a leg filter change regenerates the candidates");
+
+            assertEquals(memo.evictOlderThan(0), 0, "entries of a live chain are kept until they age out");
+            assertEquals(memo.evictOlderThan(System.currentTimeMillis() + 1), 2);
+            assertEquals(memo.size(), 0);
+        } finally {
+            context.unbind();
+        }
+    }
+
+    @Test
+    public void testSharedCandidates_LogSameFunnelAsSeparateSearches() {
+        OptionChainResponse chain = StrategyTestUtils.createMockChain("AAPL", 150.0);
+        StrategyTestUtils.addOption(chain, "2026-01-02", 30, 145.0, 2.50, 2.60, 0.35, true);
+        StrategyTestUtils.addOption(chain, "2026-01-02", 30, 142.0, 0.80, 0.90, 0.30, true); // below the 140 put: no credit
+        StrategyTestUtils.addOption(chain, "2026-01-02", 30, 140.0, 1.60, 1.70, 0.25, true);
+        StrategyTestUtils.addOption(chain, "2026-01-02", 30, 135.0, 0.90, 1.00, 0.15, true);
+        StrategyTestUtils.addOption(chain, "2026-01-02", 30, 130.0, 0.40, 0.50, 0.08, true);
+        List<CreditSpreadFilter> filters = List.of(
+                spreadFilter(20, 40, 0.20, 0.40, 50.0),
+                spreadFilter(20, 40, 0.10, 0.30, 30.0));
+        filters.get(0).setStrategyId("first");
+        filters.get(1).setStrategyId("second");
+        filters.get(1).getShortLeg().setMinPremium(1.0);
+
+        List<String> separate = funnel(() -> filters.forEach(filter -> strategy.findTrades(chain, filter)), null);
+        List<String> shared = funnel(() -> strategy.findTradesForFilters(chain, filters), null);
+        List<String> memoized = funnel(() -> filters.forEach(filter -> strategy.findTrades(chain, filter)), new CandidateMemo(10));
+
+        assertTrue(separate.stream().anyMatch(line -> line.contains("Positive Credit") && !line.matches(".* (\\d+) \\1")),
+                "the chain has spreads without a credit: " + separate);
+        assertEquals(shared, separate);
+        assertEquals(memoized, separate);
+    }
+
+    /**
+     * Filter log entries written by {@code search}, as sorted "strategy expiry stage in out" lines.
+     */
+    private static List<String> funnel(Runnable search, CandidateMemo memo) {
+        ExecutionContext context = new ExecutionContext("test");
+        context.setCandidateMemo(memo);
+        context.bind();
+        try {
+            search.run();
+        } finally {
+            context.unbind();
+        }
+        return context.getFilterLogStore().getEntries().stream()
+                .map(e -> e.getStrategyName() + " " + e.getExpiry() + " " + e.getFilterStage() + " "
+                        + e.getTradesIn() + " " + e.getTradesOut())
+                .sorted()
+                .toList();
+    }
+
+    private static CreditSpreadFilter spreadFilter(int minDTE, int maxDTE, double minDelta, double maxDelta,
+                                                   double minCredit) {
+        CreditSpreadFilter filter = new CreditSpreadFilter();
+        filter.setMinDTE(minDTE);
+        filter.setMaxDTE(maxDTE);
+        filter.setMinTotalCredit(minCredit);
+        LegFilter shortLeg = new LegFilter();
+        shortLeg.setMinDelta(minDelta);
+        shortLeg.setMaxDelta(maxDelta);
+        filter.setShortLeg(shortLeg);
+        return filter;
+    }
+
+    private static List<String> signatures(List<TradeSetup> trades) {
+        return trades.stream()
+                .map(t -> t.getExpiryDate() + " " + t.getLegs().stream().map(l -> String.valueOf(l.getStrike())).toList()
+                        + " " + t.getNetCredit())
+                .sorted()
+                .toList();
+    }
 }
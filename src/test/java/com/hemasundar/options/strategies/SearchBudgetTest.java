@@ -0,0 +1,80 @@
+package com.hemasundar.options.strategies;
+
+import com.hemasundar.options.models.OptionsStrategyFilter;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+import static org.testng.Assert.*;
+
+public class SearchBudgetTest {
+
+    @Test
+    public void testUnlimitedByDefault() {
+        SearchBudget budget = SearchBudget.forSymbol(new OptionsStrategyFilter(), SearchBudget.forStrategy(null));
+
+        assertFalse(budget.isLimited());
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(budget.tryConsume());
+        }
+        assertFalse(budget.isExhausted());
+    }
+
+    @Test
+    public void testSymbolBudgetDrawsFromStrategyBudget() {
+        OptionsStrategyFilter filter = new OptionsStrategyFilter();
+        filter.setMaxCandidatesPerSymbol(3);
+        filter.setMaxCandidatesPerStrategy(5);
+        SearchBudget strategyBudget = SearchBudget.forStrategy(filter);
+
+        SearchBudget first = SearchBudget.forSymbol(filter, strategyBudget);
+        assertTrue(first.tryConsume());
+        assertTrue(first.tryConsume());
+        assertTrue(first.tryConsume());
+        assertFalse(first.tryConsume(), "symbol limit");
+        assertTrue(first.isExhausted());
+
+        SearchBudget second = SearchBudget.forSymbol(filter, strategyBudget);
+        assertTrue(second.tryConsume());
+        assertTrue(second.tryConsume());
+        assertFalse(second.tryConsume(), "strategy limit");
+        assertTrue(strategyBudget.isExhausted());
+        assertEquals(strategyBudget.used(), 5);
+    }
+
+    @Test
+    public void testSharedBudgetIsLoosestOfFilters() {
+        OptionsStrategyFilter tight = new OptionsStrategyFilter();
+        tight.setMaxCandidatesPerSymbol(2);
+        OptionsStrategyFilter loose = new OptionsStrategyFilter();
+        loose.setMaxCandidatesPerSymbol(4);
+
+        SearchBudget shared = SearchBudget.forSymbol(List.of(tight, loose), null);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(shared.tryConsume());
+        }
+        assertFalse(shared.tryConsume());
+
+        // An unlimited filter makes the shared search unlimited
+        assertFalse(SearchBudget.forSymbol(List.of(tight, new OptionsStrategyFilter()), null).isLimited());
+        assertTrue(SearchBudget.forSymbol(List.of(tight, new OptionsStrategyFilter()),
+                SearchBudget.forStrategy(List.of(), new SearchBudget.Defaults(3, 0, 0, 0))).isLimited());
+    }
+
+    @Test
+    public void testDefaultsAndFilterOverride() throws InterruptedException {
+        SearchBudget.Defaults defaults = new SearchBudget.Defaults(0, 1, 0, 0);
+        SearchBudget strategyBudget = SearchBudget.forStrategy(new OptionsStrategyFilter(), defaults);
+        assertFalse(strategyBudget.isLimited());
+        SearchBudget timed = SearchBudget.forSymbol(new OptionsStrategyFilter(), strategyBudget);
+        assertTrue(timed.isLimited());
+        Thread.sleep(5);
+        assertTrue(timed.isExhausted());
+        assertFalse(timed.tryConsume());
+
+        OptionsStrategyFilter unlimited = new OptionsStrategyFilter();
+        unlimited.setMaxSearchMillisPerSymbol(0L);
+        assertFalse(SearchBudget.forSymbol(unlimited, strategyBudget).isLimited());
+        assertFalse(SearchBudget.forSymbol(new OptionsStrategyFilter(), null).isLimited(), "no defaults without a strategy budget");
+    }
+}
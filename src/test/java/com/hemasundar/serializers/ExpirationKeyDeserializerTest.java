@@ -24,6 +24,15 @@ public class ExpirationKeyDeserializerTest {
         Assert.assertEquals(result.getDaysToExpiry(), 0);
     }
 
+    @Test
+    public void testDeserializeKey_ReturnsPooledInstance() {
+        ExpirationKeyDeserializer deserializer = new ExpirationKeyDeserializer();
+        OptionChainResponse.ExpirationDateKey first = deserializer.deserializeKey(new String("2024-06-21:36"), null);
+        OptionChainResponse.ExpirationDateKey second = deserializer.deserializeKey(new String("2024-06-21:36"), null);
+
+        Assert.assertSame(first, second);
+    }
+
     @Test
     public void testDeserializeKey_Null() {
         ExpirationKeyDeserializer deserializer = new ExpirationKeyDeserializer();
@@ -0,0 +1,170 @@
+package com.hemasundar.services;
+
+import com.hemasundar.apis.FinnHubAPIs;
+import com.hemasundar.apis.ThinkOrSwimAPIs;
+import com.hemasundar.cache.CachePolicy;
+import com.hemasundar.cache.IVRankCache;
+import com.hemasundar.cache.PriceHistoryCache;
+import com.hemasundar.config.StrategiesConfigLoader;
+import com.hemasundar.options.models.OptionsConfig;
+import com.hemasundar.pojos.EarningsCalendarResponse;
+import com.hemasundar.pojos.PriceHistoryResponse;
+import com.hemasundar.utils.EarningsCacheManager;
+import com.hemasundar.utils.SecuritiesResolver;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.testng.Assert.*;
+
+public class CacheWarmingServiceTest {
+
+    @Mock
+    private StrategiesConfigLoader strategiesConfigLoader;
+    @Mock
+    private SecuritiesResolver securitiesResolver;
+    @Mock
+    private ThinkOrSwimAPIs thinkOrSwimAPIs;
+    @Mock
+    private FinnHubAPIs finnHubAPIs;
+    @Mock
+    private SupabaseService supabaseService;
+    @Mock
+    private StrategyExecutionService strategyExecutionService;
+    @Mock
+    private ScanFunnelService scanFunnelService;
+
+    private MockedStatic<EarningsCacheManager> mockedEarningsCache;
+    private CacheWarmingService service;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        service = new CacheWarmingService(strategiesConfigLoader, securitiesResolver, thinkOrSwimAPIs,
+                finnHubAPIs, Optional.of(supabaseService), strategyExecutionService, scanFunnelService);
+        ReflectionTestUtils.setField(service, "stopAt", "23:59:59.999");
+
+        when(securitiesResolver.loadSecuritiesMaps()).thenReturn(Collections.emptyMap());
+        when(strategiesConfigLoader.load(anyString(), anyMap())).thenReturn(List.of(
+                OptionsConfig.builder().securities(List.of("WARM_A", "WARM_B")).build()));
+        when(strategiesConfigLoader.loadScreeners(anyString(), anyMap())).thenReturn(Collections.emptyList());
+        when(thinkOrSwimAPIs.getYearlyPriceHistory(anyString(), anyInt()))
+                .thenAnswer(inv -> new PriceHistoryResponse(inv.getArgument(0), true, null, null, List.of()));
+        when(supabaseService.getIVRank(anyString())).thenReturn(35.0);
+
+        mockedEarningsCache = Mockito.mockStatic(EarningsCacheManager.class);
+        mockedEarningsCache.when(() -> EarningsCacheManager.getEarningsFromCache(eq("WARM_A"), any()))
+                .thenReturn(List.of(new EarningsCalendarResponse.EarningCalendar()));
+        mockedEarningsCache.when(() -> EarningsCacheManager.getEarningsFromCache(eq("WARM_B"), any()))
+                .thenReturn(null);
+        PriceHistoryCache.getInstance().clear();
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        mockedEarningsCache.close();
+        PriceHistoryCache.getInstance().clear();
+        IVRankCache.enableSharedTier(null);
+        IVRankCache.clearSharedTier();
+    }
+
+    @Test
+    public void testWarm_LoadsOnlyMissingData() throws Exception {
+        IVRankCache.enableSharedTier(CachePolicy.ttl(Duration.ofHours(1), Duration.ZERO));
+
+        CacheWarmingService.WarmingReport report = service.warm();
+
+        assertEquals(report.getSymbols(), 2);
+        assertEquals(report.getPriceHistoryLoaded(), 2);
+        assertEquals(report.getEarningsLoaded(), 1);
+        assertEquals(report.getIvRanksLoaded(), 2);
+        assertNull(report.getStoppedReason());
+        assertTrue(PriceHistoryCache.getInstance().isFresh("WARM_A"));
+        verify(finnHubAPIs, never()).getEarningsByTicker(eq("WARM_A"), any());
+        verify(finnHubAPIs).getEarningsByTicker(eq("WARM_B"), any());
+        assertEquals(new IVRankCache().get("WARM_B").orElse(null), 35.0);
+    }
+
+    @Test
+    public void testWarm_SkipsFreshPriceHistory() {
+        PriceHistoryCache.getInstance().put("WARM_A",
+                new PriceHistoryCache.HistoricalData(new PriceHistoryResponse("WARM_A", true, null, null, List.of())));
+
+        CacheWarmingService.WarmingReport report = service.warm();
+
+        assertEquals(report.getAlreadyFresh(), 1);
+        assertEquals(report.getPriceHistoryLoaded(), 1);
+        verify(thinkOrSwimAPIs, never()).getYearlyPriceHistory(eq("WARM_A"), anyInt());
+    }
+
+    @Test
+    public void testWarm_LoadsExpirationsWhenTierEnabled() {
+        when(scanFunnelService.isExpirationTierEnabled()).thenReturn(true);
+        when(scanFunnelService.hasExpirations("WARM_A")).thenReturn(true);
+        when(scanFunnelService.loadExpirations("WARM_B")).thenReturn(true);
+
+        CacheWarmingService.WarmingReport report = service.warm();
+
+        assertEquals(report.getExpirationsLoaded(), 1);
+        verify(scanFunnelService, never()).loadExpirations("WARM_A");
+    }
+
+    @Test
+    public void testWarm_ExpirationsSkippedWithoutTier() {
+        CacheWarmingService.WarmingReport report = service.warm();
+
+        assertEquals(report.getExpirationsLoaded(), 0);
+        verify(scanFunnelService, never()).loadExpirations(anyString());
+    }
+
+    @Test
+    public void testWarm_IVRankSkippedWithoutSharedTier() throws Exception {
+        CacheWarmingService.WarmingReport report = service.warm();
+
+        assertEquals(report.getIvRanksLoaded(), 0);
+        verify(supabaseService, never()).getIVRank(anyString());
+    }
+
+    @Test
+    public void testWarm_StopsWhenExecutionRunning() {
+        when(strategyExecutionService.isExecutionRunning()).thenReturn(true);
+
+        CacheWarmingService.WarmingReport report = service.warm();
+
+        assertEquals(report.getStoppedReason(), "an execution started");
+        verifyNoInteractions(thinkOrSwimAPIs, finnHubAPIs);
+    }
+
+    @Test
+    public void testWarm_StopsWhenBudgetSpent() {
+        ReflectionTestUtils.setField(service, "maxRequests", 1);
+
+        CacheWarmingService.WarmingReport report = service.warm();
+
+        assertEquals(report.getPriceHistoryLoaded(), 1);
+        assertEquals(report.getEarningsLoaded(), 1);
+        verify(thinkOrSwimAPIs, never()).getYearlyPriceHistory(eq("WARM_B"), anyInt());
+    }
+
+    @Test
+    public void testWarm_StopsAtDeadline() {
+        ReflectionTestUtils.setField(service, "stopAt", "00:00");
+
+        CacheWarmingService.WarmingReport report = service.warm();
+
+        assertEquals(report.getStoppedReason(), "reached stop time 00:00");
+        verifyNoInteractions(thinkOrSwimAPIs);
+    }
+}
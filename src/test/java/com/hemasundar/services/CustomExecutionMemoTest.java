@@ -0,0 +1,89 @@
+package com.hemasundar.services;
+
+import com.hemasundar.technical.TechnicalScreener;
+import com.hemasundar.utils.OptionChainCache;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.Mockito.mock;
+import static org.testng.Assert.*;
+
+public class CustomExecutionMemoTest {
+
+    @Test
+    public void testChains_ReusedWhileFresh() {
+        CustomExecutionMemo memo = new CustomExecutionMemo(10, 100);
+        AtomicInteger created = new AtomicInteger();
+
+        OptionChainCache first = memo.chains(List.of("AAPL"), "PUT_CREDIT_SPREAD", () -> {
+            created.incrementAndGet();
+            return mock(OptionChainCache.class);
+        });
+        OptionChainCache second = memo.chains(List.of("AAPL"), "PUT_CREDIT_SPREAD", () -> {
+            created.incrementAndGet();
+            return mock(OptionChainCache.class);
+        });
+
+        assertSame(second, first);
+        assertEquals(created.get(), 1);
+    }
+
+    @Test
+    public void testChains_OnlyReusedBySameSecuritiesAndStrategyType() {
+        CustomExecutionMemo memo = new CustomExecutionMemo(10, 100);
+        OptionChainCache first = memo.chains(List.of("AAPL"), "PUT_CREDIT_SPREAD", () -> mock(OptionChainCache.class));
+
+        assertNotSame(memo.chains(List.of("AAPL", "MSFT"), "PUT_CREDIT_SPREAD", () -> mock(OptionChainCache.class)), first);
+        OptionChainCache otherType = memo.chains(List.of("AAPL", "MSFT"), "IRON_CONDOR", () -> mock(OptionChainCache.class));
+        assertNotSame(otherType, first);
+        assertSame(memo.chains(List.of("AAPL", "MSFT"), "IRON_CONDOR", () -> mock(OptionChainCache.class)), otherType);
+    }
+
+    @Test
+    public void testEvictOlderThan_DropsEveryStageWithoutAnotherRun() {
+        CustomExecutionMemo memo = new CustomExecutionMemo(10, 100);
+        AtomicInteger screens = new AtomicInteger();
+        Map<String, Object> rsi = Map.of("conditions", List.of("RSI <= 30"));
+        OptionChainCache first = memo.chains(List.of("AAPL"), "PUT_CREDIT_SPREAD", () -> mock(OptionChainCache.class));
+        memo.screen(List.of("AAPL"), rsi, () -> { screens.incrementAndGet(); return List.of(); });
+
+        memo.evictExpired();
+        assertSame(memo.chains(List.of("AAPL"), "PUT_CREDIT_SPREAD", () -> mock(OptionChainCache.class)), first,
+                "fresh outputs survive the sweep");
+
+        memo.evictOlderThan(System.currentTimeMillis() + 1);
+        assertNotSame(memo.chains(List.of("AAPL"), "PUT_CREDIT_SPREAD", () -> mock(OptionChainCache.class)), first);
+        memo.screen(List.of("AAPL"), rsi, () -> { screens.incrementAndGet(); return List.of(); });
+        assertEquals(screens.get(), 2, "the expired screen runs again");
+    }
+
+    @Test
+    public void testScreen_KeyedBySecuritiesAndTechnicalFilters() {
+        CustomExecutionMemo memo = new CustomExecutionMemo(10, 100);
+        AtomicInteger screens = new AtomicInteger();
+        List<TechnicalScreener.ScreeningResult> survivors = List.of(TechnicalScreener.ScreeningResult.builder().symbol("AAPL").build());
+        Map<String, Object> rsi = Map.of("conditions", List.of("RSI <= 30"));
+
+        memo.screen(List.of("AAPL", "MSFT"), rsi, () -> { screens.incrementAndGet(); return survivors; });
+        List<TechnicalScreener.ScreeningResult> again =
+                memo.screen(List.of("AAPL", "MSFT"), Map.of("conditions", List.of("RSI <= 30")),
+                        () -> { screens.incrementAndGet(); return survivors; });
+        assertEquals(screens.get(), 1);
+        assertEquals(again.get(0).getSymbol(), "AAPL");
+
+        memo.screen(List.of("AAPL", "MSFT"), Map.of("conditions", List.of("RSI <= 40")),
+                () -> { screens.incrementAndGet(); return survivors; });
+        memo.screen(List.of("AAPL"), rsi, () -> { screens.incrementAndGet(); return survivors; });
+        memo.screen(List.of("AAPL"), null, () -> { screens.incrementAndGet(); return survivors; });
+        assertEquals(screens.get(), 4, "changed filters, changed securities and unkeyed screens run again");
+    }
+
+    @Test
+    public void testDisabledWithZeroTtl() {
+        assertFalse(new CustomExecutionMemo(0, 100).isEnabled());
+        assertTrue(new CustomExecutionMemo(1, 100).isEnabled());
+    }
+}
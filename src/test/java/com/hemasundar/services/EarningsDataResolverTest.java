@@ -2,6 +2,8 @@ package com.hemasundar.services;
 
 import com.hemasundar.apis.FinnHubAPIs;
 import com.hemasundar.pojos.EarningsCalendarResponse;
+import com.hemasundar.technical.CompiledConditions;
+import com.hemasundar.utils.MathExpressionParser;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -14,6 +16,7 @@ import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
@@ -118,4 +121,21 @@ class EarningsDataResolverTest {
         // But no earnings BEFORE or ON DTE
         assertEquals(EarningsDataResolver.NO_EARNINGS_BEFORE_DTE, variables.get("EARNINGS_NEAREST_TO_DTE"));
     }
+
+    @Test
+    void testResolveFrame_FillsOnlyReferencedSlots() {
+        EarningsCalendarResponse.EarningCalendar e1 = new EarningsCalendarResponse.EarningCalendar();
+        e1.setDate(today.plusDays(12));
+        when(finnHubAPIs.getEarningsByTicker(eq(SYMBOL), any(LocalDate.class)))
+                .thenReturn(new EarningsCalendarResponse(new ArrayList<>(List.of(e1))));
+        CompiledConditions conditions = CompiledConditions.compile(
+                MathExpressionParser.parseRules(List.of("DAYS_TO_NEXT_EARNINGS >= DTE")));
+
+        double[] frame = EarningsDataResolver.resolveFrame(SYMBOL, today.plusDays(30).toString(), finnHubAPIs, conditions);
+
+        assertEquals(2, frame.length);
+        assertEquals(12.0, frame[conditions.slot("DAYS_TO_NEXT_EARNINGS")]);
+        assertEquals(30.0, frame[conditions.slot("DTE")]);
+        assertFalse(conditions.test(frame));
+    }
 }
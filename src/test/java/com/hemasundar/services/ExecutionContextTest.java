@@ -0,0 +1,95 @@
+package com.hemasundar.services;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+public class ExecutionContextTest {
+
+    @AfterMethod
+    public void tearDown() {
+        ExecutionContext bound = ExecutionContext.bound();
+        if (bound != null) {
+            bound.unbind();
+        }
+    }
+
+    @Test
+    public void testNewContextState() {
+        ExecutionContext context = new ExecutionContext(null);
+        Assert.assertTrue(context.getExecutionId().startsWith("run_"));
+        Assert.assertTrue(context.getStartTimeMs() > 0);
+        Assert.assertEquals(context.getCurrentTask(), "");
+        Assert.assertFalse(context.isCancellationRequested());
+        Assert.assertFalse(context.isAuthFailed());
+        Assert.assertNotNull(context.getFilterLogStore());
+        Assert.assertNotNull(context.getIvRankCache());
+    }
+
+    @Test
+    public void testExecutionIdsAreUnique() {
+        Assert.assertNotEquals(new ExecutionContext("a").getExecutionId(), new ExecutionContext("b").getExecutionId());
+    }
+
+    @Test
+    public void testCurrentFallsBackToDetachedContext() {
+        Assert.assertNull(ExecutionContext.bound());
+        ExecutionContext detached = ExecutionContext.current();
+        Assert.assertNotNull(detached);
+        Assert.assertSame(ExecutionContext.current(), detached);
+    }
+
+    @Test
+    public void testBindAndUnbind() {
+        ExecutionContext context = new ExecutionContext("Task");
+        context.bind();
+        Assert.assertSame(ExecutionContext.current(), context);
+
+        new ExecutionContext("Other").unbind();
+        Assert.assertSame(ExecutionContext.current(), context, "Unbinding another context must not clear this one");
+
+        context.unbind();
+        Assert.assertNull(ExecutionContext.bound());
+    }
+
+    @Test
+    public void testWrapCarriesContextToOtherThread() throws Exception {
+        ExecutionContext context = new ExecutionContext("Task");
+        context.bind();
+
+        ExecutionContext seen = CompletableFuture.supplyAsync(context.wrap(ExecutionContext::current)).get();
+        ExecutionContext unwrapped = CompletableFuture.supplyAsync(ExecutionContext::current).get();
+
+        Assert.assertSame(seen, context);
+        Assert.assertNotSame(unwrapped, context);
+    }
+
+    @Test
+    public void testWrapRestoresPreviousBinding() {
+        ExecutionContext outer = new ExecutionContext("Outer");
+        ExecutionContext inner = new ExecutionContext("Inner");
+        outer.bind();
+
+        Assert.assertSame(inner.wrap(ExecutionContext::current).get(), inner);
+        Assert.assertSame(ExecutionContext.current(), outer);
+    }
+
+    @Test
+    public void testFlagsAndFilterLogsAreIsolated() {
+        ExecutionContext first = new ExecutionContext("First");
+        ExecutionContext second = new ExecutionContext("Second");
+
+        first.requestCancellation();
+        first.setAuthFailed(true);
+        first.getFilterLogStore().logFilter("Strategy", "AAPL", "Delta", 10, 2);
+
+        Assert.assertTrue(first.isCancellationRequested());
+        Assert.assertTrue(first.isAuthFailed());
+        Assert.assertEquals(first.getFilterLogStore().getEntries().size(), 1);
+        Assert.assertFalse(second.isCancellationRequested());
+        Assert.assertFalse(second.isAuthFailed());
+        Assert.assertTrue(second.getFilterLogStore().getEntries().isEmpty());
+    }
+}
@@ -0,0 +1,121 @@
+package com.hemasundar.services;
+
+import com.hemasundar.apis.ThinkOrSwimAPIs;
+import com.hemasundar.cache.PriceHistoryCache;
+import com.hemasundar.cache.QuotesCache;
+import com.hemasundar.options.models.OptionsConfig;
+import com.hemasundar.pojos.PriceHistoryResponse;
+import com.hemasundar.pojos.QuotesResponse;
+import com.hemasundar.services.PrewarmPlanner.DataType;
+import com.hemasundar.technical.ScreenerConfig;
+import com.hemasundar.utils.SchwabApiExecutor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.testng.Assert.*;
+
+public class PrewarmPlannerTest {
+
+    @Mock
+    private ThinkOrSwimAPIs thinkOrSwimAPIs;
+
+    @Mock
+    private TechnicalIndicatorPreCalculationService technicalIndicatorPreCalculationService;
+
+    private SchwabApiExecutor executor;
+    private PrewarmPlanner planner;
+
+    @BeforeMethod
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        executor = new SchwabApiExecutor(2, 0);
+        planner = new PrewarmPlanner(thinkOrSwimAPIs, executor, technicalIndicatorPreCalculationService);
+        QuotesCache.getInstance().clear();
+        PriceHistoryCache.getInstance().clear();
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        QuotesCache.getInstance().clear();
+        PriceHistoryCache.getInstance().clear();
+        executor.shutdown();
+    }
+
+    private static OptionsConfig strategy(String... symbols) {
+        return OptionsConfig.builder().securities(List.of(symbols)).build();
+    }
+
+    private static ScreenerConfig screener(String... symbols) {
+        return ScreenerConfig.builder().securities(List.of(symbols)).build();
+    }
+
+    private static QuotesResponse.QuoteData quote() {
+        QuotesResponse.QuoteData data = new QuotesResponse.QuoteData();
+        data.setQuote(new QuotesResponse.Quote());
+        return data;
+    }
+
+    private static PriceHistoryResponse history() {
+        List<PriceHistoryResponse.CandleData> candles = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            PriceHistoryResponse.CandleData candle = new PriceHistoryResponse.CandleData();
+            candle.setClose(100.0 + i);
+            candle.setDatetime(1_700_000_000_000L + i * 86_400_000L);
+            candles.add(candle);
+        }
+        PriceHistoryResponse response = new PriceHistoryResponse();
+        response.setCandles(candles);
+        return response;
+    }
+
+    @Test
+    public void testPlan_DeduplicatesAcrossConfigsAndOrdersByDemand() {
+        PrewarmPlanner.PrewarmPlan plan = planner.plan(
+                List.of(strategy("AAPL", "MSFT")),
+                List.of(screener("NVDA", "MSFT"), screener("MSFT")));
+
+        assertEquals(plan.requested(), 15, "5 symbol references for each of 3 data types");
+        assertEquals(plan.fetches().size(), 9);
+        assertEquals(plan.fetches().get(0).type(), DataType.PRICE_HISTORY);
+        assertEquals(plan.fetches().get(0).symbol(), "MSFT");
+        assertEquals(plan.fetches().get(0).demand(), 3);
+        assertEquals(plan.symbols(DataType.QUOTE), List.of("MSFT", "AAPL", "NVDA"));
+        assertEquals(plan.fetches().get(8).type(), DataType.INDICATORS);
+    }
+
+    @Test
+    public void testExecute_FetchesEachStaleEntryOnce() {
+        QuotesCache.getInstance().put("AAPL", quote());
+        when(thinkOrSwimAPIs.getYearlyPriceHistory(anyString(), anyInt())).thenReturn(history());
+        when(thinkOrSwimAPIs.getQuotes(anyList())).thenAnswer(inv -> {
+            Map<String, QuotesResponse.QuoteData> quotes = new HashMap<>();
+            List<String> symbols = inv.getArgument(0);
+            symbols.forEach(s -> quotes.put(s, quote()));
+            return quotes;
+        });
+        PrewarmPlanner.PrewarmPlan plan = planner.plan(List.of(strategy("AAPL", "MSFT")), List.of(screener("MSFT")));
+
+        PrewarmPlanner.PrewarmReport report = planner.execute(plan, null);
+
+        // 2 price histories + 1 quotes batch for MSFT; AAPL's quote was already fresh
+        assertEquals(report.getUpstreamRequests(), 3);
+        assertEquals(report.getAlreadyFresh(), 1);
+        verify(thinkOrSwimAPIs, times(2)).getYearlyPriceHistory(anyString(), anyInt());
+        verify(thinkOrSwimAPIs).getQuotes(List.of("MSFT"));
+        verify(technicalIndicatorPreCalculationService).preCalculateAll(eq(List.of("MSFT", "AAPL")), any());
+
+        PrewarmPlanner.PrewarmReport again = planner.execute(plan, null);
+        assertEquals(again.getUpstreamRequests(), 0);
+        assertEquals(again.getAlreadyFresh(), 4);
+    }
+}
@@ -0,0 +1,227 @@
+package com.hemasundar.services;
+
+import com.hemasundar.apis.ThinkOrSwimAPIs;
+import com.hemasundar.cache.QuotesCache;
+import com.hemasundar.dto.ExecutionLogEntry;
+import com.hemasundar.options.models.ExpirationChainResponse;
+import com.hemasundar.options.models.OptionChainResponse;
+import com.hemasundar.options.models.OptionsStrategyFilter;
+import com.hemasundar.options.strategies.AbstractTradingStrategy;
+import com.hemasundar.options.strategies.FilterStage;
+import com.hemasundar.pojos.QuotesResponse;
+import com.hemasundar.utils.OptionChainCache;
+import com.hemasundar.utils.SchwabApiExecutor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.testng.Assert.*;
+
+public class ScanFunnelServiceTest {
+
+    @Mock
+    private ThinkOrSwimAPIs thinkOrSwimAPIs;
+
+    private SchwabApiExecutor executor;
+    private ScanFunnelService service;
+    private ExecutionContext context;
+
+    @BeforeMethod
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        executor = new SchwabApiExecutor(2, 0);
+        service = new ScanFunnelService(thinkOrSwimAPIs, executor);
+        ReflectionTestUtils.setField(service, "quoteBatchSize", 2);
+        QuotesCache.getInstance().clear();
+        context = new ExecutionContext("test");
+        context.bind();
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        context.unbind();
+        QuotesCache.getInstance().clear();
+        executor.shutdown();
+    }
+
+    private static QuotesResponse.QuoteData quote(String symbol, double price, long volume, double changePercent) {
+        QuotesResponse.Quote quote = new QuotesResponse.Quote();
+        quote.setLastPrice(price);
+        quote.setTotalVolume(volume);
+        quote.setNetPercentChange(changePercent);
+        QuotesResponse.QuoteData data = new QuotesResponse.QuoteData();
+        data.setSymbol(symbol);
+        data.setQuote(quote);
+        return data;
+    }
+
+    private static ExpirationChainResponse expirations(int... daysToExpiration) {
+        ExpirationChainResponse response = new ExpirationChainResponse();
+        response.setExpirationList(Arrays.stream(daysToExpiration)
+                .mapToObj(dte -> new ExpirationChainResponse.ExpirationDate("2026-01-01", dte, "W", "P", "", true))
+                .toList());
+        return response;
+    }
+
+    private ExecutionLogEntry tier(FilterStage stage) {
+        return context.getFilterLogStore().getEntries().stream()
+                .filter(e -> stage.displayName().equals(e.getFilterStage()))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    @Test
+    public void testQuoteTierBatchesRequestsAndAppliesBounds() {
+        Map<String, QuotesResponse.QuoteData> all = new HashMap<>();
+        all.put("CHEAP", quote("CHEAP", 4.0, 5_000_000, 1.0));
+        all.put("THIN", quote("THIN", 50.0, 10_000, 1.0));
+        all.put("CRASH", quote("CRASH", 50.0, 5_000_000, -12.0));
+        all.put("GOOD", quote("GOOD", 50.0, 5_000_000, -2.0));
+        when(thinkOrSwimAPIs.getQuotes(anyList())).thenAnswer(inv -> {
+            Map<String, QuotesResponse.QuoteData> batch = new HashMap<>();
+            for (String symbol : inv.<List<String>>getArgument(0)) {
+                if (all.containsKey(symbol)) {
+                    batch.put(symbol, all.get(symbol));
+                }
+            }
+            return batch;
+        });
+        OptionsStrategyFilter filter = OptionsStrategyFilter.builder()
+                .minUnderlyingPrice(10.0)
+                .minUnderlyingVolume(1_000_000L)
+                .minUnderlyingChangePercent(-5.0)
+                .build();
+
+        List<String> passed = service.quoteTier("Test", filter, List.of("CHEAP", "THIN", "CRASH", "GOOD", "NOQUOTE"), null);
+
+        assertEquals(passed, List.of("GOOD", "NOQUOTE"), "Symbols without a quote are kept (fail-open)");
+        verify(thinkOrSwimAPIs, times(3)).getQuotes(anyList());
+        verify(thinkOrSwimAPIs, never()).getQuote(anyString(), any());
+        ExecutionLogEntry entry = tier(FilterStage.QUOTE_TIER);
+        assertNull(entry.getSymbol());
+        assertEquals(entry.getTradesIn(), 5);
+        assertEquals(entry.getTradesOut(), 2);
+        assertEquals(entry.getApiRequests(), Integer.valueOf(3));
+    }
+
+    @Test
+    public void testQuoteTierReusesFreshQuotes() {
+        QuotesCache.getInstance().put("GOOD", quote("GOOD", 50.0, 5_000_000, 0.0));
+
+        List<String> passed = service.quoteTier("Test", new OptionsStrategyFilter(), List.of("GOOD"), null);
+
+        assertEquals(passed, List.of("GOOD"));
+        verify(thinkOrSwimAPIs, never()).getQuotes(anyList());
+        assertEquals(tier(FilterStage.QUOTE_TIER).getApiRequests(), Integer.valueOf(0));
+    }
+
+    @Test
+    public void testExpirationTierDropsSymbolsWithoutExpiryInWindow() {
+        when(thinkOrSwimAPIs.getExpirationChain("WEEKLY")).thenReturn(expirations(3, 10, 31, 45));
+        when(thinkOrSwimAPIs.getExpirationChain("MONTHLY")).thenReturn(expirations(17, 80));
+        when(thinkOrSwimAPIs.getExpirationChain("UNKNOWN")).thenReturn(null);
+        OptionChainCache chains = new OptionChainCache(thinkOrSwimAPIs);
+        chains.put("CACHED", new OptionChainResponse());
+        OptionsStrategyFilter filter = OptionsStrategyFilter.builder().minDTE(30).maxDTE(60).build();
+
+        List<String> passed = service.expirationTier("Test", filter, List.of("WEEKLY", "MONTHLY", "UNKNOWN", "CACHED"), chains, null);
+
+        assertEquals(passed, List.of("WEEKLY", "UNKNOWN", "CACHED"));
+        verify(thinkOrSwimAPIs, never()).getExpirationChain("CACHED");
+        ExecutionLogEntry entry = tier(FilterStage.EXPIRATION_TIER);
+        assertEquals(entry.getTradesOut(), 3);
+        assertEquals(entry.getApiRequests(), Integer.valueOf(3));
+
+        // Expirations are reused for the rest of the day
+        service.expirationTier("Test", filter, List.of("WEEKLY", "MONTHLY"), chains, null);
+        verify(thinkOrSwimAPIs, times(1)).getExpirationChain("WEEKLY");
+    }
+
+    @Test
+    public void testLoadedExpirationsAreUsedByTier() {
+        when(thinkOrSwimAPIs.getExpirationChain("MONTHLY")).thenReturn(expirations(17, 80));
+
+        assertFalse(service.hasExpirations("MONTHLY"));
+        assertTrue(service.loadExpirations("MONTHLY"));
+        assertTrue(service.hasExpirations("MONTHLY"));
+
+        OptionsStrategyFilter filter = OptionsStrategyFilter.builder().minDTE(30).maxDTE(60).build();
+        List<String> passed = service.expirationTier("Test", filter, List.of("MONTHLY"),
+                new OptionChainCache(thinkOrSwimAPIs), null);
+
+        assertTrue(passed.isEmpty());
+        assertEquals(tier(FilterStage.EXPIRATION_TIER).getApiRequests(), Integer.valueOf(0));
+        verify(thinkOrSwimAPIs, times(1)).getExpirationChain("MONTHLY");
+    }
+
+    @Test
+    public void testStaleExpirationsArePruned() {
+        when(thinkOrSwimAPIs.getExpirationChain("MONTHLY")).thenReturn(expirations(17, 80));
+        service.loadExpirations("MONTHLY");
+
+        service.pruneExpirations(LocalDate.now().plusDays(1));
+
+        Map<?, ?> stored = (Map<?, ?>) ReflectionTestUtils.getField(service, "expirations");
+        assertTrue(stored.isEmpty());
+        assertFalse(service.hasExpirations("MONTHLY"));
+    }
+
+    @Test
+    public void testIvRankTierRunsOnApiPoolWithCallerContext() {
+        AbstractTradingStrategy strategy = mock(AbstractTradingStrategy.class);
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        Set<ExecutionContext> contexts = ConcurrentHashMap.newKeySet();
+        when(strategy.resolveIVRank(anyString())).thenAnswer(invocation -> {
+            threads.add(Thread.currentThread().getName());
+            contexts.add(ExecutionContext.current());
+            return "HIGH".equals(invocation.getArgument(0)) ? 60.0 : 10.0;
+        });
+        OptionsStrategyFilter filter = OptionsStrategyFilter.builder().minIVRank(30.0).build();
+
+        List<String> passed = service.ivRankTier("Test", strategy, filter, List.of("LOW", "HIGH"));
+
+        assertEquals(passed, List.of("HIGH"));
+        assertEquals(threads, Set.of("schwab-api-pool"));
+        assertEquals(contexts, Set.of(context));
+        assertEquals(tier(FilterStage.IV_RANK_TIER).getTradesOut(), 1);
+    }
+
+    @Test
+    public void testExpirationTierSkippedForTargetDte() {
+        OptionsStrategyFilter filter = OptionsStrategyFilter.builder().targetDTE(30).minDTE(20).maxDTE(40).build();
+
+        List<String> passed = service.expirationTier("Test", filter, List.of("AAPL"), new OptionChainCache(thinkOrSwimAPIs), null);
+
+        assertEquals(passed, List.of("AAPL"));
+        verify(thinkOrSwimAPIs, never()).getExpirationChain(anyString());
+        assertTrue(context.getFilterLogStore().getEntries().isEmpty());
+    }
+
+    @Test
+    public void testPassesUnderlyingQuoteIsFailOpen() {
+        OptionsStrategyFilter filter = OptionsStrategyFilter.builder()
+                .maxUnderlyingPrice(100.0)
+                .maxUnderlyingChangePercent(3.0)
+                .build();
+
+        assertTrue(filter.hasUnderlyingQuoteFilter());
+        assertTrue(filter.passesUnderlyingQuote(null, null, null));
+        assertTrue(filter.passesUnderlyingQuote(99.0, 0L, 3.0));
+        assertFalse(filter.passesUnderlyingQuote(101.0, 0L, 0.0));
+        assertFalse(filter.passesUnderlyingQuote(50.0, 0L, 3.5));
+        assertFalse(new OptionsStrategyFilter().hasUnderlyingQuoteFilter());
+    }
+}
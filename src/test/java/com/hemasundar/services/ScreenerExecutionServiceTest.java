@@ -107,6 +107,28 @@ public class ScreenerExecutionServiceTest {
         verify(telegramUtils, times(1)).sendTechnicalScreenerAlert(anyString(), anyList());
     }
 
+    @Test
+    public void testExecuteScreeners_PrewarmedRunStillRefreshesStaleQuotes() throws IOException {
+        com.hemasundar.cache.QuotesCache.getInstance().clear();
+        ScreenerConfig config = ScreenerConfig.builder()
+                .alias("Prewarmed Test")
+                .screenerType(ScreenerType.PRICE_DROP)
+                .securities(List.of("AAPL", "MSFT"))
+                .filterChain(com.hemasundar.technical.TechnicalFilterChain.of(com.hemasundar.technical.TechnicalIndicators.builder().build(), com.hemasundar.technical.TechFilterConditions.builder().build()))
+                .build();
+        when(ThinkOrSwimAPIs.getQuotes(anyList())).thenReturn(Map.of());
+
+        try {
+            screenerExecutionService.executeScreeners(Set.of(0), List.of(config), true);
+
+            verify(ThinkOrSwimAPIs, times(1)).getQuotes(List.of("AAPL", "MSFT"));
+            verify(ThinkOrSwimAPIs, never()).getYearlyPriceHistory(anyString(), anyInt());
+            verify(technicalIndicatorPreCalculationService, never()).preCalculateAll(anyList(), any());
+        } finally {
+            com.hemasundar.cache.QuotesCache.getInstance().clear();
+        }
+    }
+
     @Test
     public void testExecuteScreeners_High52WDrop() throws IOException {
         ScreenerConfig config = ScreenerConfig.builder()
@@ -124,6 +146,27 @@ public class ScreenerExecutionServiceTest {
         verify(supabaseService, times(1)).saveScreenerResult(any(ScreenerExecutionResult.class));
     }
 
+    @Test
+    public void testExecuteScreeners_FusedPassScreensAllTechnicalScreenersOnce() throws IOException {
+        org.springframework.test.util.ReflectionTestUtils.setField(screenerExecutionService, "fusedEnabled", true);
+        TechnicalFilterChain chain = TechnicalFilterChain.of(TechnicalIndicators.builder().build(), TechFilterConditions.builder().build());
+        ScreenerConfig first = ScreenerConfig.builder().alias("First").screenerType(ScreenerType.RSI_OVERSOLD)
+                .securities(List.of("AAPL")).filterChain(chain).build();
+        ScreenerConfig second = ScreenerConfig.builder().alias("Second").screenerType(ScreenerType.RSI_OVERSOLD)
+                .securities(List.of("MSFT")).filterChain(chain).build();
+
+        when(technicalScreener.screenStocksFused(anyList(), any())).thenReturn(List.of(
+                List.of(TechnicalScreener.ScreeningResult.builder().symbol("AAPL").build()),
+                List.of()));
+
+        screenerExecutionService.executeScreeners(Set.of(0, 1), List.of(first, second));
+
+        verify(technicalScreener, times(1)).screenStocksFused(anyList(), any());
+        verify(technicalScreener, never()).screenStocks(anyList(), any(), any(), any());
+        verify(supabaseService, times(2)).saveScreenerResult(any(ScreenerExecutionResult.class));
+        verify(telegramUtils, times(1)).sendTechnicalScreenerAlert(anyString(), anyList());
+    }
+
     @Test
     public void testExecuteScreeners_EmptySelection() throws IOException {
         screenerExecutionService.executeScreeners(Collections.emptySet(), List.of(ScreenerConfig.builder().screenerType(ScreenerType.PRICE_DROP).build()));
@@ -3,10 +3,15 @@ package com.hemasundar.services;
 import com.hemasundar.apis.FinnHubAPIs;
 import com.hemasundar.apis.ThinkOrSwimAPIs;
 import com.hemasundar.config.StrategiesConfigLoader;
+import com.hemasundar.dto.ExecutionAlert;
 import com.hemasundar.dto.ExecutionResult;
+import com.hemasundar.dto.StrategyResult;
+import com.hemasundar.options.models.CreditSpreadFilter;
 import com.hemasundar.options.models.OptionChainResponse;
 import com.hemasundar.options.models.OptionsConfig;
+import com.hemasundar.options.models.TradeSetup;
 import com.hemasundar.options.strategies.AbstractTradingStrategy;
+import com.hemasundar.options.strategies.StrategyType;
 import com.hemasundar.pojos.Securities;
 import com.hemasundar.technical.TechnicalScreener;
 import com.hemasundar.utils.FilePaths;
@@ -18,12 +23,16 @@ import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -67,6 +76,12 @@ public class StrategyExecutionServiceTest {
     @Mock
     private org.springframework.context.ApplicationEventPublisher eventPublisher;
 
+    @Mock
+    private com.hemasundar.utils.OptionChainSnapshotStore optionChainSnapshotStore;
+
+    @Mock
+    private ScanFunnelService scanFunnelService;
+
     private MockedStatic<FilePaths> mockedFilePaths;
     private MockedStatic<JavaUtils> mockedJavaUtils;
 
@@ -85,7 +100,9 @@ public class StrategyExecutionServiceTest {
                 strategiesConfigLoader,
                 schwabApiExecutor,
                 technicalIndicatorPreCalculationService,
-                eventPublisher
+                eventPublisher,
+                optionChainSnapshotStore,
+                scanFunnelService
         );
         when(schwabApiExecutor.executeParallel(anyList(), any(), any())).thenAnswer(inv -> {
             List<String> symbols = inv.getArgument(0);
@@ -120,6 +137,7 @@ public class StrategyExecutionServiceTest {
     public void tearDown() {
         if (mockedFilePaths != null) mockedFilePaths.close();
         if (mockedJavaUtils != null) mockedJavaUtils.close();
+        strategyExecutionService.finishGlobalExecution();
     }
 
     @Test
@@ -220,6 +238,48 @@ public class StrategyExecutionServiceTest {
 
 
 
+    @Test
+    public void testSameTypeStrategiesShareTheirSymbolSearches() throws IOException {
+        AbstractTradingStrategy strategy = mock(AbstractTradingStrategy.class);
+        when(strategy.getStrategyName()).thenReturn("PCS");
+        when(strategy.getStrategyType()).thenReturn(StrategyType.PUT_CREDIT_SPREAD);
+        TradeSetup setup = mock(TradeSetup.class);
+        when(setup.getLegs()).thenReturn(Collections.emptyList());
+        when(setup.getExpiryDate()).thenReturn("2026-11-20");
+        when(setup.getReturnOnRisk()).thenReturn(1.0);
+        List<Integer> filtersPerSearch = new ArrayList<>();
+        when(strategy.findTradesForFilters(any(), anyList())).thenAnswer(inv -> {
+            List<?> filters = inv.getArgument(1);
+            filtersPerSearch.add(filters.size());
+            List<List<TradeSetup>> trades = new ArrayList<>();
+            filters.forEach(f -> trades.add(new ArrayList<>(List.of(setup))));
+            return trades;
+        });
+        OptionsConfig tight = OptionsConfig.builder().alias("Tight").strategy(strategy).filter(new CreditSpreadFilter())
+                .securities(List.of("AAPL", "MSFT")).maxTradesToSend(5).build();
+        OptionsConfig wide = OptionsConfig.builder().alias("Wide").strategy(strategy).filter(new CreditSpreadFilter())
+                .securities(List.of("MSFT", "TSLA")).maxTradesToSend(5).build();
+        when(strategiesConfigLoader.load(anyString(), anyMap())).thenReturn(List.of(tight, wide));
+
+        strategyExecutionService.startGlobalExecution("Test");
+        ExecutionResult result = strategyExecutionService.executeStrategies(new LinkedHashSet<>(List.of(0, 1)));
+
+        // AAPL and TSLA are searched for one config each, MSFT once for both
+        assertEquals(filtersPerSearch, List.of(1, 2, 1));
+        verify(strategy, never()).findTrades(any(), any());
+        assertEquals(result.getResults().stream().map(StrategyResult::getStrategyName).toList(), List.of("Tight", "Wide"));
+        assertEquals(result.getResults().get(0).getTradesFound(), 2);
+        assertEquals(result.getResults().get(1).getTradesFound(), 2);
+        assertEquals(tight.getFilter().getStrategyId(), "Tight");
+
+        // Disabled, each config searches its own symbols
+        ReflectionTestUtils.setField(strategyExecutionService, "groupSameType", false);
+        when(strategy.findTrades(any(), any())).thenAnswer(inv -> new ArrayList<>(List.of(setup)));
+        ExecutionResult separate = strategyExecutionService.executeStrategies(new LinkedHashSet<>(List.of(0, 1)));
+        verify(strategy, times(4)).findTrades(any(), any());
+        assertEquals(separate.getTotalTradesFound(), 4);
+    }
+
     @Test
     public void testExecuteCustomStrategy() throws IOException {
         OptionsConfig config = mock(OptionsConfig.class);
@@ -304,6 +364,98 @@ public class StrategyExecutionServiceTest {
         assertFalse(strategyExecutionService.isCancellationRequested());
     }
 
+    @Test
+    public void testConcurrentExecutions_IsolatedState() throws Exception {
+        ExecutionContext first = CompletableFuture.supplyAsync(() -> {
+            ExecutionContext context = strategyExecutionService.startGlobalExecution("First");
+            context.getFilterLogStore().logFilter("Strategy A", "AAPL", "Delta", 10, 3);
+            return context;
+        }).get();
+        ExecutionContext second = CompletableFuture.supplyAsync(() -> {
+            ExecutionContext context = strategyExecutionService.startGlobalExecution("Second");
+            context.getFilterLogStore().logFilter("Strategy B", "MSFT", "Volume", 5, 1);
+            return context;
+        }).get();
+
+        assertEquals(strategyExecutionService.getActiveExecutions(), List.of(first, second));
+        assertTrue(strategyExecutionService.cancelExecution(first.getExecutionId()));
+        assertTrue(first.isCancellationRequested());
+        assertFalse(second.isCancellationRequested());
+        assertFalse(strategyExecutionService.cancelExecution("run_unknown"));
+
+        assertEquals(strategyExecutionService.getFilterLogs(first.getExecutionId()).size(), 1);
+        assertEquals(strategyExecutionService.getFilterLogs(first.getExecutionId()).get(0).getSymbol(), "AAPL");
+        assertEquals(strategyExecutionService.getFilterLogs(second.getExecutionId()).get(0).getSymbol(), "MSFT");
+        assertEquals(strategyExecutionService.getFilterLogs().get(0).getSymbol(), "MSFT");
+        assertTrue(strategyExecutionService.getFilterLogs("run_unknown").isEmpty());
+    }
+
+    @Test
+    public void testCanStartExecution_RespectsLimit() throws Exception {
+        ReflectionTestUtils.setField(strategyExecutionService, "maxConcurrentExecutions", 2);
+        assertTrue(strategyExecutionService.canStartExecution());
+
+        strategyExecutionService.startGlobalExecution("First");
+        CompletableFuture.runAsync(() -> strategyExecutionService.startGlobalExecution("Second")).get();
+
+        assertFalse(strategyExecutionService.canStartExecution());
+        strategyExecutionService.finishGlobalExecution();
+        assertTrue(strategyExecutionService.canStartExecution());
+        assertTrue(strategyExecutionService.isExecutionRunning());
+        assertEquals(strategyExecutionService.getCurrentExecutionTask(), "Second");
+    }
+
+    @Test
+    public void testSubmitExecution_AdmitsAtomicallyUpToLimit() throws Exception {
+        ReflectionTestUtils.setField(strategyExecutionService, "maxConcurrentExecutions", 1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+
+        assertTrue(strategyExecutionService.submitExecution("First", () -> {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        // The slot is taken as soon as submitExecution returns, before the task even runs
+        assertFalse(strategyExecutionService.submitExecution("Second", () -> fail("must not run")));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertEquals(strategyExecutionService.getActiveExecutions().size(), 1);
+
+        release.countDown();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (strategyExecutionService.isExecutionRunning() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertFalse(strategyExecutionService.isExecutionRunning());
+        CountDownLatch third = new CountDownLatch(1);
+        assertTrue(strategyExecutionService.submitExecution("Third", third::countDown));
+        assertTrue(third.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testAlerts_ScopedPerExecution() throws Exception {
+        strategyExecutionService.startGlobalExecution("First");
+        strategyExecutionService.addAlert(ExecutionAlert.Severity.ERROR, "AAPL", "First failed");
+        CompletableFuture.runAsync(() -> {
+            strategyExecutionService.startGlobalExecution("Second");
+            strategyExecutionService.addAlert(ExecutionAlert.Severity.WARNING, "MSFT", "Second warned");
+            strategyExecutionService.finishGlobalExecution();
+        }).get();
+
+        List<ExecutionAlert> own = strategyExecutionService.getAlerts();
+        assertEquals(own.size(), 1);
+        assertEquals(own.get(0).getMessage(), "First failed");
+
+        strategyExecutionService.finishGlobalExecution();
+        List<String> visible = strategyExecutionService.getAlerts().stream().map(ExecutionAlert::getMessage).toList();
+        assertEquals(visible, List.of("Second warned"));
+        strategyExecutionService.clearAlerts();
+        assertTrue(strategyExecutionService.getAlerts().isEmpty());
+    }
+
     @Test
     public void testResultRetrievalMethods() throws IOException {
         when(supabaseService.getRecentCustomExecutions(anyInt())).thenReturn(Collections.emptyList());
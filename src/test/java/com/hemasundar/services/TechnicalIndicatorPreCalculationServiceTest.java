@@ -141,11 +141,11 @@ public class TechnicalIndicatorPreCalculationServiceTest {
                 .currentPrice(150.0)
                 .build();
 
-        when(technicalScreener.analyzeStock(eq("AAPL"), any(), any())).thenReturn(screeningResult);
+        when(technicalScreener.analyzeStock(eq("AAPL"), any(), any(), any())).thenReturn(screeningResult);
 
         preCalculationService.preCalculateAll(List.of("AAPL"), null);
 
-        verify(technicalScreener, times(1)).analyzeStock(eq("AAPL"), any(), any());
+        verify(technicalScreener, times(1)).analyzeStock(eq("AAPL"), any(), any(), any());
     }
 
     @Test
@@ -154,7 +154,7 @@ public class TechnicalIndicatorPreCalculationServiceTest {
         when(strategiesConfigLoader.loadScreeners(any(), any())).thenReturn(Collections.emptyList());
         when(strategiesConfigLoader.load(any(), any())).thenReturn(Collections.emptyList());
 
-        when(technicalScreener.analyzeStock(eq("FAIL_SYM"), any(), any()))
+        when(technicalScreener.analyzeStock(eq("FAIL_SYM"), any(), any(), any()))
                 .thenThrow(new RuntimeException("API error"));
 
         BiConsumer<String, String> alertCallback = mock(BiConsumer.class);
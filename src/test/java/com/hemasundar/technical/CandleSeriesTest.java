@@ -0,0 +1,89 @@
+package com.hemasundar.technical;
+
+import com.hemasundar.pojos.PriceHistoryResponse;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.indicators.SMAIndicator;
+import org.ta4j.core.indicators.helpers.HighPriceIndicator;
+import org.ta4j.core.indicators.helpers.HighestValueIndicator;
+import org.ta4j.core.indicators.helpers.VolumeIndicator;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.testng.Assert.*;
+
+public class CandleSeriesTest {
+
+    private static final long DAY_MS = 24L * 60 * 60 * 1000;
+
+    private static PriceHistoryResponse buildHistory(int bars) {
+        List<PriceHistoryResponse.CandleData> candles = new ArrayList<>();
+        long start = 1_700_000_000_000L;
+        for (int i = 0; i < bars; i++) {
+            double close = 100 + 10 * Math.sin(i / 5.0);
+            candles.add(new PriceHistoryResponse.CandleData(close - 0.5, close + 1.0 + (i % 3), close - 1.5, close,
+                    1_000_000L + i * 1_337L, start + i * DAY_MS));
+        }
+        PriceHistoryResponse response = new PriceHistoryResponse();
+        response.setSymbol("AAPL");
+        response.setCandles(candles);
+        return response;
+    }
+
+    @Test
+    public void testFrom_NullAndEmpty() {
+        assertTrue(CandleSeries.from(null).isEmpty());
+
+        PriceHistoryResponse empty = new PriceHistoryResponse();
+        empty.setSymbol("TSLA");
+        empty.setCandles(new ArrayList<>());
+        CandleSeries series = CandleSeries.from(empty);
+        assertTrue(series.isEmpty());
+        assertEquals(series.getSymbol(), "TSLA");
+    }
+
+    @Test
+    public void testFrom_CopiesColumnsAndMapsNulls() {
+        PriceHistoryResponse response = buildHistory(3);
+        response.getCandles().add(new PriceHistoryResponse.CandleData());
+
+        CandleSeries series = CandleSeries.from(response);
+
+        assertEquals(series.size(), 4);
+        assertEquals(series.getClose()[1], response.getCandles().get(1).getClose());
+        assertEquals(series.getEpochMs()[2], response.getCandles().get(2).getDatetime().longValue());
+        assertTrue(Double.isNaN(series.lastClose()));
+        assertEquals(series.lastVolume(), 0L);
+    }
+
+    @Test
+    public void testHighestHighAndAverageVolume_MatchTa4j() {
+        PriceHistoryResponse response = buildHistory(60);
+        CandleSeries series = CandleSeries.from(response);
+        BarSeries bars = TechnicalIndicatorUtils.buildBarSeriesFromCandles("AAPL", series);
+        int end = bars.getEndIndex();
+
+        for (int period : new int[]{1, 5, 20, 52, 100}) {
+            double ta4jHigh = new HighestValueIndicator(new HighPriceIndicator(bars), period).getValue(end).doubleValue();
+            double ta4jVolSma = new SMAIndicator(new VolumeIndicator(bars), period).getValue(end).doubleValue();
+            assertEquals(series.highestHigh(period), ta4jHigh, "HIGH period " + period);
+            assertEquals(series.averageVolume(period), ta4jVolSma, 1e-6, "VOLUME_SMA period " + period);
+        }
+    }
+
+    @Test
+    public void testBuildBarSeries_FromColumnsMatchesPojoPath() {
+        PriceHistoryResponse response = buildHistory(10);
+
+        BarSeries fromPojo = TechnicalIndicatorUtils.buildBarSeries("AAPL", response);
+        BarSeries fromColumns = TechnicalIndicatorUtils.buildBarSeriesFromCandles("AAPL", CandleSeries.from(response));
+
+        assertEquals(fromColumns.getBarCount(), fromPojo.getBarCount());
+        for (int i = 0; i < fromPojo.getBarCount(); i++) {
+            assertEquals(fromColumns.getBar(i).getClosePrice(), fromPojo.getBar(i).getClosePrice());
+            assertEquals(fromColumns.getBar(i).getVolume(), fromPojo.getBar(i).getVolume());
+            assertEquals(fromColumns.getBar(i).getEndTime(), fromPojo.getBar(i).getEndTime());
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.hemasundar.technical;
+
+import com.hemasundar.utils.MathExpressionParser;
+import org.testng.annotations.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.testng.Assert.*;
+
+public class CompiledConditionsTest {
+
+    private static final List<MathExpression> RULES = MathExpressionParser.parseRules(List.of(
+            "RSI >= 30",
+            "price > sma50",
+            "VOLUME_SMA20 >= VOLUME_SMA50 * 90%",
+            "SMA50 >= SMA200",
+            "HV_RANK == 25"));
+
+    @Test
+    public void testSharedVariablesGetOneSlot() {
+        CompiledConditions compiled = CompiledConditions.compile(RULES);
+
+        assertEquals(compiled.size(), 5);
+        assertEquals(compiled.variables(), List.of("RSI", "PRICE", "SMA50", "VOLUME_SMA20", "VOLUME_SMA50", "SMA200", "HV_RANK"));
+        assertEquals(compiled.slot(" sma50 "), 2);
+        assertEquals(compiled.slot("ATR"), -1);
+    }
+
+    @Test
+    public void testMatchesInterpretedEvaluation() {
+        CompiledConditions compiled = CompiledConditions.compile(RULES);
+        Map<String, Double> values = new HashMap<>(Map.of(
+                "RSI", 35.0, "PRICE", 110.0, "SMA50", 100.0, "SMA200", 95.0,
+                "VOLUME_SMA20", 900.0, "VOLUME_SMA50", 1000.0, "HV_RANK", 25.00001));
+
+        for (String variable : List.copyOf(values.keySet())) {
+            for (Double value : new Double[]{null, 0.0, 25.0, 99.0, 1000.0, Double.NaN}) {
+                Map<String, Double> probe = new HashMap<>(values);
+                probe.put(variable, value);
+                assertEquals(compiled.evaluate(probe::get), MathExpressionEvaluator.evaluateAll(RULES, probe::get),
+                        variable + "=" + value);
+            }
+        }
+        assertTrue(compiled.evaluate(values::get));
+    }
+
+    @Test
+    public void testFrameEvaluation() {
+        CompiledConditions compiled = CompiledConditions.compile(
+                MathExpressionParser.parseRules(List.of("DAYS_TO_NEXT_EARNINGS >= DTE * 2", "DTE < 45")));
+        double[] frame = compiled.newFrame();
+
+        assertFalse(compiled.test(frame), "Missing values fail");
+        frame[compiled.slot("DTE")] = 30;
+        frame[compiled.slot("DAYS_TO_NEXT_EARNINGS")] = 60;
+        assertTrue(compiled.test(frame));
+        frame[compiled.slot("DAYS_TO_NEXT_EARNINGS")] = 59;
+        assertFalse(compiled.test(frame));
+    }
+
+    @Test
+    public void testEmptyAndInvalidRules() {
+        assertTrue(CompiledConditions.compile(null).evaluate(variable -> null));
+        assertTrue(CompiledConditions.EMPTY.test(new double[0]));
+        assertTrue(CompiledConditions.EMPTY.isEmpty());
+
+        MathExpression incomplete = MathExpression.builder().leftVariable("RSI").rightVariable("30").build();
+        assertFalse(CompiledConditions.compile(List.of(incomplete)).evaluate(variable -> 50.0));
+    }
+}
@@ -0,0 +1,94 @@
+package com.hemasundar.technical;
+
+import com.hemasundar.cache.IndicatorStateStore;
+import com.hemasundar.pojos.PriceHistoryResponse;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.testng.Assert.*;
+
+public class IndicatorEngineTest {
+
+    private static final long DAY_MS = 24L * 60 * 60 * 1000;
+
+    private Path tempDir;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        tempDir = Files.createTempDirectory("indicator-state");
+    }
+
+    @AfterMethod
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(tempDir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    private static CandleSeries buildSeries(int bars) {
+        List<PriceHistoryResponse.CandleData> candles = new ArrayList<>();
+        for (int i = 0; i < bars; i++) {
+            double close = 50 + 5 * Math.sin(i / 4.0);
+            candles.add(new PriceHistoryResponse.CandleData(close, close + 1, close - 1, close, 10_000L,
+                    1_700_000_000_000L + i * DAY_MS));
+        }
+        PriceHistoryResponse response = new PriceHistoryResponse();
+        response.setCandles(candles);
+        return CandleSeries.from(response);
+    }
+
+    @Test
+    public void testPersistedState_IsResumedAfterRestart() {
+        IndicatorEngine engine = new IndicatorEngine(new IndicatorStateStore(tempDir));
+        double rsi = engine.sync("MSFT", buildSeries(100)).rsi(14);
+        engine.persist("MSFT");
+        assertTrue(Files.exists(tempDir.resolve("MSFT.indicators")));
+
+        IndicatorEngine restarted = new IndicatorEngine(new IndicatorStateStore(tempDir));
+        IndicatorState state = restarted.sync("MSFT", buildSeries(102));
+
+        assertEquals(restarted.getStateLoads().get(), 1);
+        assertEquals(restarted.getBarsCommitted().get(), 2L, "Only the two new bars are folded in");
+        assertNotEquals(state.rsi(14), rsi);
+
+        IndicatorState fresh = new IndicatorState("MSFT");
+        fresh.sync(buildSeries(102));
+        assertEquals(state.rsi(14), fresh.rsi(14), 1e-9);
+    }
+
+    @Test
+    public void testPersist_SkipsUnchangedState() throws IOException {
+        IndicatorEngine engine = new IndicatorEngine(new IndicatorStateStore(tempDir));
+        engine.sync("MSFT", buildSeries(30)).sma(20);
+        engine.persist("MSFT");
+        Path file = tempDir.resolve("MSFT.indicators");
+        Files.delete(file);
+
+        engine.sync("MSFT", buildSeries(30)).sma(20);
+        engine.persist("MSFT");
+        assertFalse(Files.exists(file), "Nothing changed, so nothing is rewritten");
+    }
+
+    @Test
+    public void testInvalidate_DropsMemoryAndDiskState() {
+        IndicatorEngine engine = new IndicatorEngine(new IndicatorStateStore(tempDir));
+        engine.sync("MSFT", buildSeries(30)).ema(10);
+        engine.persist("MSFT");
+
+        engine.invalidate("MSFT");
+
+        assertFalse(Files.exists(tempDir.resolve("MSFT.indicators")));
+        IndicatorEngine restarted = new IndicatorEngine(new IndicatorStateStore(tempDir));
+        restarted.sync("MSFT", buildSeries(30));
+        assertEquals(restarted.getStateLoads().get(), 0);
+    }
+}
@@ -0,0 +1,134 @@
+package com.hemasundar.technical;
+
+import com.hemasundar.pojos.PriceHistoryResponse;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.Indicator;
+import org.ta4j.core.indicators.ATRIndicator;
+import org.ta4j.core.indicators.EMAIndicator;
+import org.ta4j.core.indicators.RSIIndicator;
+import org.ta4j.core.indicators.SMAIndicator;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.indicators.statistics.StandardDeviationIndicator;
+import org.ta4j.core.num.Num;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.testng.Assert.*;
+
+public class IndicatorKernelsTest {
+
+    private static final long DAY_MS = 24L * 60 * 60 * 1000;
+    private static final double EPSILON = 1e-6;
+
+    private static CandleSeries buildSeries(int bars) {
+        List<PriceHistoryResponse.CandleData> candles = new ArrayList<>();
+        long start = 1_700_000_000_000L;
+        for (int i = 0; i < bars; i++) {
+            double close = 80 + 12 * Math.sin(i / 6.0) + 2 * Math.cos(i * 1.7);
+            candles.add(new PriceHistoryResponse.CandleData(close + 0.3, close + 1.2 + (i % 4) * 0.3,
+                    close - 0.8 - (i % 3) * 0.4, close, 500_000L + i, start + i * DAY_MS));
+        }
+        PriceHistoryResponse response = new PriceHistoryResponse();
+        response.setSymbol("NVDA");
+        response.setCandles(candles);
+        return CandleSeries.from(response);
+    }
+
+    private static void assertSeriesEquals(double[] actual, Indicator<Num> expected) {
+        for (int i = 0; i < actual.length; i++) {
+            assertEquals(actual[i], expected.getValue(i).doubleValue(), EPSILON, "index " + i);
+        }
+    }
+
+    @Test
+    public void testFullSeriesKernels_MatchTa4jAtEveryIndex() {
+        CandleSeries candles = buildSeries(260);
+        BarSeries series = TechnicalIndicatorUtils.buildBarSeriesFromCandles("NVDA", candles);
+        ClosePriceIndicator close = new ClosePriceIndicator(series);
+        double[] out = new double[candles.size()];
+
+        IndicatorKernels.sma(candles.getClose(), 20, out);
+        assertSeriesEquals(out, new SMAIndicator(close, 20));
+
+        IndicatorKernels.standardDeviation(candles.getClose(), 20, out);
+        assertSeriesEquals(out, new StandardDeviationIndicator(close, 20));
+
+        IndicatorKernels.ema(candles.getClose(), 12, out);
+        assertSeriesEquals(out, new EMAIndicator(close, 12));
+
+        IndicatorKernels.rsi(candles.getClose(), 14, out);
+        assertSeriesEquals(out, new RSIIndicator(close, 14));
+
+        IndicatorKernels.atr(candles.getHigh(), candles.getLow(), candles.getClose(), 14, out);
+        assertSeriesEquals(out, new ATRIndicator(series, 14));
+    }
+
+    @Test
+    public void testBollinger_MatchesFilter() {
+        CandleSeries candles = buildSeries(120);
+        BarSeries series = TechnicalIndicatorUtils.buildBarSeriesFromCandles("NVDA", candles);
+        BollingerBandsFilter filter = BollingerBandsFilter.builder().period(20).standardDeviations(2.5).build();
+        int n = candles.size();
+        double[] lower = new double[n];
+        double[] middle = new double[n];
+        double[] upper = new double[n];
+
+        IndicatorKernels.bollinger(candles.getClose(), 20, 2.5, lower, middle, upper);
+
+        assertEquals(lower[n - 1], filter.getLowerBand(series), EPSILON);
+        assertEquals(middle[n - 1], filter.getMiddleBand(series), EPSILON);
+        assertEquals(upper[n - 1], filter.getUpperBand(series), EPSILON);
+    }
+
+    @Test
+    public void testLastValueKernels_MatchFullSeries() {
+        CandleSeries candles = buildSeries(90);
+        double[] close = candles.getClose();
+        double[] out = new double[close.length];
+        for (int end : new int[]{0, 1, 5, 19, 20, 89}) {
+            IndicatorKernels.sma(close, 20, out);
+            assertEquals(IndicatorKernels.lastSma(close, 20, end), out[end], EPSILON);
+            IndicatorKernels.standardDeviation(close, 20, out);
+            assertEquals(IndicatorKernels.lastStandardDeviation(close, 20, end), out[end], EPSILON);
+            IndicatorKernels.ema(close, 20, out);
+            assertEquals(IndicatorKernels.lastEma(close, 20, end), out[end], EPSILON);
+            IndicatorKernels.rsi(close, 14, out);
+            assertEquals(IndicatorKernels.lastRsi(close, 14, end), out[end], EPSILON);
+            IndicatorKernels.atr(candles.getHigh(), candles.getLow(), close, 14, out);
+            assertEquals(IndicatorKernels.lastAtr(candles.getHigh(), candles.getLow(), close, 14, end), out[end], EPSILON);
+        }
+    }
+
+    @Test
+    public void testFilterCandleSeriesOverloads_MatchBarSeries() {
+        CandleSeries candles = buildSeries(250);
+        BarSeries series = TechnicalIndicatorUtils.buildBarSeriesFromCandles("NVDA", candles);
+        RSIFilter rsi = RSIFilter.builder().build();
+        BollingerBandsFilter bb = BollingerBandsFilter.builder().build();
+
+        assertEquals(rsi.getCurrentRSI(candles), rsi.getCurrentRSI(series), EPSILON);
+        assertEquals(rsi.getPreviousRSI(candles), rsi.getPreviousRSI(series), EPSILON);
+        assertEquals(bb.getUpperBand(candles), bb.getUpperBand(series), EPSILON);
+        assertEquals(bb.getLowerBand(candles), bb.getLowerBand(series), EPSILON);
+        assertEquals(MovingAverageFilter.builder().period(50).build().getCurrentSMA(candles),
+                MovingAverageFilter.builder().period(50).build().getCurrentSMA(series), EPSILON);
+        assertEquals(ExponentialMovingAverageFilter.builder().period(9).build().getCurrentEMA(candles),
+                ExponentialMovingAverageFilter.builder().period(9).build().getCurrentEMA(series), EPSILON);
+        assertEquals(AverageTrueRangeFilter.builder().period(14).build().getCurrentATR(candles),
+                AverageTrueRangeFilter.builder().period(14).build().getCurrentATR(series), EPSILON);
+    }
+
+    @Test
+    public void testFlatSeries_ZeroDeviation() {
+        double[] flat = new double[30];
+        java.util.Arrays.fill(flat, 50.37);
+        double[] out = new double[flat.length];
+        IndicatorKernels.standardDeviation(flat, 20, out);
+        for (double v : out) {
+            assertEquals(v, 0.0);
+        }
+        assertEquals(IndicatorKernels.lastRsi(flat, 14, flat.length - 1), 0.0);
+    }
+}
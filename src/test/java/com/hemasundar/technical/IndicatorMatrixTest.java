@@ -0,0 +1,78 @@
+package com.hemasundar.technical;
+
+import com.hemasundar.technical.TechnicalScreener.ScreeningResult;
+import com.hemasundar.utils.MathExpressionParser;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.testng.Assert.*;
+
+public class IndicatorMatrixTest {
+
+    private static List<ScreeningResult> universe(int size) {
+        Random random = new Random(7);
+        List<ScreeningResult> results = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            Map<Integer, Double> ma = new HashMap<>();
+            ma.put(50, 90 + random.nextDouble() * 20);
+            if (i % 5 != 0) {
+                ma.put(200, 90 + random.nextDouble() * 20); // every fifth symbol lacks SMA200
+            }
+            results.add(ScreeningResult.builder()
+                    .symbol("SYM" + i)
+                    .currentPrice(90 + random.nextDouble() * 20)
+                    .rsi(random.nextDouble() * 100)
+                    .maValues(ma)
+                    .build());
+        }
+        return results;
+    }
+
+    @Test
+    public void testFilterMatchesPerRowEvaluation() {
+        List<ScreeningResult> results = universe(150);
+        IndicatorMatrix matrix = IndicatorMatrix.of(results);
+        CompiledConditions conditions = CompiledConditions.compile(MathExpressionParser.parseRules(List.of(
+                "RSI <= 60", "PRICE > SMA50", "SMA50 >= SMA200 * 98%")));
+
+        BitSet passing = matrix.filter(conditions);
+
+        assertEquals(matrix.size(), 150);
+        assertTrue(passing.cardinality() > 0);
+        for (int row = 0; row < results.size(); row++) {
+            ScreeningResult result = results.get(row);
+            assertEquals(passing.get(row), conditions.evaluate(result::getIndicatorValue), result.getSymbol());
+        }
+        assertEquals(matrix.rows(passing).size(), passing.cardinality());
+        assertTrue(matrix.symbols(passing).stream().noneMatch(s -> Integer.parseInt(s.substring(3)) % 5 == 0));
+    }
+
+    @Test
+    public void testEmptyConditionsPassEveryRow() {
+        IndicatorMatrix matrix = IndicatorMatrix.of(universe(70));
+
+        BitSet passing = matrix.filter(CompiledConditions.EMPTY);
+
+        assertEquals(passing.cardinality(), 70);
+        assertEquals(passing.length(), 70);
+    }
+
+    @Test
+    public void testRowsOfAndColumns() {
+        List<ScreeningResult> results = new ArrayList<>(universe(3));
+        results.add(1, null);
+        IndicatorMatrix matrix = IndicatorMatrix.of(results);
+
+        assertEquals(matrix.size(), 3);
+        assertEquals(matrix.rowsOf(List.of("sym2 ", "MISSING")), BitSet.valueOf(new long[]{0b100}));
+        assertSame(matrix.column("rsi"), matrix.column("RSI"));
+        assertTrue(Double.isNaN(matrix.column("SMA200")[0]));
+        assertEquals(matrix.column("PRICE")[1], results.get(2).getCurrentPrice());
+    }
+}
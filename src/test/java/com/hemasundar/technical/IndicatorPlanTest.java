@@ -0,0 +1,139 @@
+package com.hemasundar.technical;
+
+import com.hemasundar.pojos.PriceHistoryResponse;
+import com.hemasundar.technical.IndicatorPlan.Kind;
+import com.hemasundar.technical.IndicatorPlan.Node;
+import com.hemasundar.utils.VolatilityCalculator;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.testng.Assert.*;
+
+public class IndicatorPlanTest {
+
+    private static final long DAY_MS = 24L * 60 * 60 * 1000;
+
+    private static MathExpression expression(String left, String right) {
+        return MathExpression.builder().leftVariable(left).operator(RelationalOperator.GREATER_THAN).rightVariable(right).build();
+    }
+
+    private static TechnicalIndicators indicators() {
+        return TechnicalIndicators.builder()
+                .rsiFilter(RSIFilter.builder().period(14).build())
+                .bollingerFilter(BollingerBandsFilter.builder().period(20).standardDeviations(2.0).build())
+                .maFilters(new HashMap<>(Map.of(20, MovingAverageFilter.builder().period(20).build())))
+                .build();
+    }
+
+    private static TechFilterConditions conditions() {
+        return TechFilterConditions.builder()
+                .filterExpressions(List.of(
+                        expression("PRICE", "SMA20"),
+                        expression("SMA50", "sma200"),
+                        expression("HIGH_20D", "100"),
+                        expression("ATR_DROP_FROM_HIGH_20D", "2"),
+                        expression("PRICE_DROP_FROM_HIGH_20D", "5"),
+                        expression("VOLUME_SMA20", "VOLUME_SMA50")))
+                .build();
+    }
+
+    private static CandleSeries buildSeries(int bars) {
+        List<PriceHistoryResponse.CandleData> candles = new ArrayList<>();
+        for (int i = 0; i < bars; i++) {
+            double close = 100 + 8 * Math.sin(i / 7.0);
+            candles.add(new PriceHistoryResponse.CandleData(close, close + 2, close - 2, close, 10_000L + i * 10L,
+                    1_700_000_000_000L + i * DAY_MS));
+        }
+        PriceHistoryResponse response = new PriceHistoryResponse();
+        response.setCandles(candles);
+        return CandleSeries.from(response);
+    }
+
+    @Test
+    public void testSharedNodesArePlannedOnce() {
+        IndicatorPlan plan = IndicatorPlan.forScreen(indicators(), conditions());
+
+        // PRICE, VOLUME, HV_RANK(20), RSI, PREVIOUS_RSI, SMA(20), STD_DEV(20), 3 bands,
+        // SMA(50), SMA(200), HIGH(20), VOLUME_SMA(20), VOLUME_SMA(50)
+        assertEquals(plan.size(), 15);
+        assertEquals(plan.periods(Kind.HIGH), List.of(20));
+        assertEquals(plan.periods(Kind.SMA), List.of(20, 50, 200));
+        assertEquals(plan.periods(Kind.VOLUME_SMA), List.of(20, 50));
+    }
+
+    @Test
+    public void testUnion_EvaluatesSharedNodesOnceAndProjectsEachPlan() {
+        TechnicalIndicators bollingerOnly = TechnicalIndicators.builder()
+                .bollingerFilter(BollingerBandsFilter.builder().period(20).standardDeviations(2.0).build())
+                .build();
+        IndicatorPlan full = IndicatorPlan.forScreen(indicators(), conditions());
+        IndicatorPlan bands = IndicatorPlan.forScreen(bollingerOnly, null);
+        IndicatorPlan union = IndicatorPlan.union(List.of(full, bands));
+
+        assertEquals(union.size(), full.size(), "The bands plan adds no new node");
+        assertEquals(union.periods(Kind.SMA), List.of(20, 50, 200));
+
+        CandleSeries candles = buildSeries(260);
+        IndicatorState state = new IndicatorState("UNION");
+        state.sync(candles);
+        double[] unionValues = union.evaluate(state, candles, new VolatilityCalculator());
+
+        double[] projected = bands.project(union, unionValues);
+        double[] direct = bands.evaluate(state, candles, new VolatilityCalculator());
+        assertEquals(projected.length, bands.size());
+        for (int i = 0; i < direct.length; i++) {
+            assertEquals(projected[i], direct[i], 1e-12);
+        }
+        assertTrue(bands.periods(Kind.SMA).isEmpty(), "Projection keeps each plan's own requested nodes");
+    }
+
+    @Test
+    public void testInputsPrecedeDependentsAndAreNotRequested() {
+        TechnicalIndicators bollingerOnly = TechnicalIndicators.builder()
+                .bollingerFilter(BollingerBandsFilter.builder().period(20).standardDeviations(2.0).build())
+                .build();
+        IndicatorPlan plan = IndicatorPlan.forScreen(bollingerOnly, null);
+
+        int sma = plan.slot(Node.of(Kind.SMA, 20));
+        int stdDev = plan.slot(Node.of(Kind.STD_DEV, 20));
+        int lower = plan.slot(new Node(Kind.BB_LOWER, 20, 2.0));
+        assertTrue(sma >= 0 && stdDev >= 0 && lower >= 0);
+        assertTrue(sma < lower && stdDev < lower);
+        assertTrue(plan.periods(Kind.SMA).isEmpty(), "SMA(20) is only an input of the bands");
+    }
+
+    @Test
+    public void testNodeFor() {
+        assertEquals(IndicatorPlan.nodeFor(" sma50 "), Node.of(Kind.SMA, 50));
+        assertEquals(IndicatorPlan.nodeFor("VOLUME_SMA20"), Node.of(Kind.VOLUME_SMA, 20));
+        assertEquals(IndicatorPlan.nodeFor("ATR_DROP_FROM_HIGH_10D"), Node.of(Kind.HIGH, 10));
+        assertEquals(IndicatorPlan.nodeFor("low_5d"), Node.of(Kind.LOW, 5));
+        assertNull(IndicatorPlan.nodeFor("RSI"));
+        assertNull(IndicatorPlan.nodeFor("SMAX"));
+        assertNull(IndicatorPlan.nodeFor("1000000"));
+        assertNull(IndicatorPlan.nodeFor(null));
+    }
+
+    @Test
+    public void testEvaluate_MatchesDirectReads() {
+        CandleSeries candles = buildSeries(120);
+        IndicatorState state = new IndicatorState("PLAN");
+        state.sync(candles);
+        IndicatorPlan plan = IndicatorPlan.forScreen(indicators(), conditions());
+
+        double[] values = plan.evaluate(state, candles, new VolatilityCalculator());
+
+        assertEquals(plan.get(values, Node.of(Kind.PRICE)), candles.lastClose());
+        assertEquals(plan.get(values, Node.of(Kind.RSI, 14)), state.rsi(14));
+        assertEquals(plan.get(values, Node.of(Kind.SMA, 50)), state.sma(50));
+        assertEquals(plan.get(values, Node.of(Kind.HIGH, 20)), candles.highestHigh(20));
+        assertEquals(plan.get(values, Node.of(Kind.VOLUME_SMA, 50)), candles.averageVolume(50), 1e-9);
+        assertEquals(plan.get(values, new Node(Kind.BB_UPPER, 20, 2.0)), state.sma(20) + 2 * state.standardDeviation(20), 1e-9);
+        assertNotNull(plan.get(values, Node.of(Kind.HV_RANK, 20)));
+        assertNull(plan.get(values, Node.of(Kind.EMA, 9)), "Unplanned nodes have no value");
+    }
+}
@@ -0,0 +1,160 @@
+package com.hemasundar.technical;
+
+import com.hemasundar.pojos.PriceHistoryResponse;
+import org.ta4j.core.BarSeries;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.testng.Assert.*;
+
+public class IndicatorStateTest {
+
+    private static final long DAY_MS = 24L * 60 * 60 * 1000;
+    private static final double EPSILON = 1e-6;
+
+    private static CandleSeries buildSeries(int bars) {
+        return buildSeries(bars, 0.0);
+    }
+
+    private static CandleSeries buildSeries(int bars, double lastCloseDelta) {
+        List<PriceHistoryResponse.CandleData> candles = new ArrayList<>();
+        long start = 1_700_000_000_000L;
+        for (int i = 0; i < bars; i++) {
+            double close = 100 + 10 * Math.sin(i / 5.0) + 3 * Math.cos(i / 2.3);
+            if (i == bars - 1) {
+                close += lastCloseDelta;
+            }
+            candles.add(new PriceHistoryResponse.CandleData(close - 0.5, close + 1.0 + (i % 3), close - 1.5 - (i % 2),
+                    close, 1_000_000L + (i % 7) * 13_337L, start + i * DAY_MS));
+        }
+        PriceHistoryResponse response = new PriceHistoryResponse();
+        response.setSymbol("AAPL");
+        response.setCandles(candles);
+        return CandleSeries.from(response);
+    }
+
+    private static void assertMatchesTa4j(IndicatorState state, CandleSeries candles) {
+        BarSeries series = TechnicalIndicatorUtils.buildBarSeriesFromCandles("AAPL", candles);
+        RSIFilter rsi = RSIFilter.builder().period(14).build();
+        BollingerBandsFilter bb = BollingerBandsFilter.builder().period(20).standardDeviations(2.0).build();
+        MovingAverageFilter sma = MovingAverageFilter.builder().period(50).build();
+        ExponentialMovingAverageFilter ema = ExponentialMovingAverageFilter.builder().period(21).build();
+        AverageTrueRangeFilter atr = AverageTrueRangeFilter.builder().period(14).build();
+
+        assertEquals(rsi.getCurrentRSI(state), rsi.getCurrentRSI(series), EPSILON);
+        assertEquals(rsi.getPreviousRSI(state), rsi.getPreviousRSI(series), EPSILON);
+        assertEquals(bb.getUpperBand(state), bb.getUpperBand(series), EPSILON);
+        assertEquals(bb.getMiddleBand(state), bb.getMiddleBand(series), EPSILON);
+        assertEquals(bb.getLowerBand(state), bb.getLowerBand(series), EPSILON);
+        assertEquals(sma.getCurrentSMA(state), sma.getCurrentSMA(series), EPSILON);
+        assertEquals(ema.getCurrentEMA(state), ema.getCurrentEMA(series), EPSILON);
+        assertEquals(atr.getCurrentATR(state), atr.getCurrentATR(series), EPSILON);
+        assertEquals(state.volumeSma(20), candles.averageVolume(20), EPSILON);
+        assertEquals(state.highestHigh(20), candles.highestHigh(20));
+        assertEquals(state.lowestLow(10), lowestLow(candles, 10));
+    }
+
+    private static double lowestLow(CandleSeries candles, int period) {
+        double min = Double.POSITIVE_INFINITY;
+        for (int i = Math.max(0, candles.size() - period); i < candles.size(); i++) {
+            min = Math.min(min, candles.getLow()[i]);
+        }
+        return min;
+    }
+
+    @Test
+    public void testMatchesTa4j_FullAndShortSeries() {
+        for (int bars : new int[]{1, 2, 10, 60, 260}) {
+            CandleSeries candles = buildSeries(bars);
+            IndicatorState state = new IndicatorState("AAPL");
+            state.sync(candles);
+            assertMatchesTa4j(state, candles);
+        }
+    }
+
+    @Test
+    public void testIncrementalSync_CommitsOnlyNewBarsAndMatchesTa4j() {
+        IndicatorState state = new IndicatorState("AAPL");
+        state.sync(buildSeries(200));
+        state.rsi(14);
+        state.ema(21);
+
+        CandleSeries extended = buildSeries(203);
+        assertEquals(state.sync(extended), 3);
+        assertEquals(state.getCommittedBars(), 202);
+        assertMatchesTa4j(state, extended);
+
+        assertEquals(state.sync(extended), 0, "Re-syncing the same series commits nothing");
+    }
+
+    @Test
+    public void testFormingLastBar_IsReadProvisionally() {
+        IndicatorState state = new IndicatorState("AAPL");
+        state.sync(buildSeries(100));
+        double before = state.rsi(14);
+
+        CandleSeries revised = buildSeries(100, 5.0);
+        assertEquals(state.sync(revised), 0);
+        assertNotEquals(state.rsi(14), before);
+        assertMatchesTa4j(state, revised);
+    }
+
+    @Test
+    public void testUnrelatedSeries_RebuildsState() {
+        IndicatorState state = new IndicatorState("AAPL");
+        state.sync(buildSeries(120));
+        state.sma(20);
+
+        CandleSeries shorter = buildSeries(40);
+        state.sync(shorter);
+        assertEquals(state.getCommittedBars(), 39);
+        assertMatchesTa4j(state, shorter);
+    }
+
+    @Test
+    public void testFlatSeries_HasZeroDeviation() {
+        List<PriceHistoryResponse.CandleData> candles = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            candles.add(new PriceHistoryResponse.CandleData(50.37, 50.37, 50.37, 50.37, 1_000L, 1_000L + i));
+        }
+        PriceHistoryResponse response = new PriceHistoryResponse();
+        response.setCandles(candles);
+        IndicatorState state = new IndicatorState("FLAT");
+        state.sync(CandleSeries.from(response));
+
+        BollingerBandsFilter bb = BollingerBandsFilter.builder().build();
+        assertEquals(state.standardDeviation(20), 0.0);
+        assertTrue(bb.isPriceTouchingLowerBand(state));
+        assertTrue(bb.isPriceTouchingUpperBand(state));
+    }
+
+    @Test
+    public void testWriteAndRead_ResumesIncrementally() throws IOException {
+        IndicatorState state = new IndicatorState("AAPL");
+        state.sync(buildSeries(150));
+        assertMatchesTa4j(state, buildSeries(150));
+        assertTrue(state.isDirty());
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        state.writeTo(new DataOutputStream(bytes));
+        IndicatorState restored = IndicatorState.readFrom("AAPL",
+                new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        CandleSeries extended = buildSeries(155);
+        assertEquals(restored.sync(extended), 5);
+        assertEquals(restored.getCommittedBars(), 154);
+        assertMatchesTa4j(restored, extended);
+    }
+
+    @Test(expectedExceptions = IOException.class)
+    public void testReadFrom_RejectsForeignData() throws IOException {
+        IndicatorState.readFrom("AAPL", new DataInputStream(new ByteArrayInputStream(new byte[]{1, 2, 3, 4, 5, 6})));
+    }
+}
@@ -7,7 +7,9 @@ import com.hemasundar.technical.MathExpression;
 import com.hemasundar.technical.RelationalOperator;
 import com.hemasundar.utils.SchwabApiExecutor;
 import com.hemasundar.cache.PriceHistoryCache;
+import com.hemasundar.cache.QuotesCache;
 import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
@@ -44,6 +46,89 @@ public class PriceDropScreenerTest {
         });
         priceDropScreener = new PriceDropScreener(ThinkOrSwimAPIs, schwabApiExecutor);
         PriceHistoryCache.getInstance().clear();
+        QuotesCache.getInstance().clear();
+    }
+
+    private static QuotesResponse.QuoteData quoteData(double last, double close, double netPercentChange, double high52w) {
+        QuotesResponse.Quote quote = new QuotesResponse.Quote();
+        quote.setLastPrice(last);
+        quote.setClosePrice(close);
+        quote.setNetPercentChange(netPercentChange);
+        quote.setFiftyTwoWeekHigh(high52w);
+        quote.setTotalVolume(1000L);
+        QuotesResponse.QuoteData data = new QuotesResponse.QuoteData();
+        data.setQuote(quote);
+        return data;
+    }
+
+    private static MathExpression dropAtLeast(String pct) {
+        return MathExpression.builder().leftVariable("DROP_PCT").operator(RelationalOperator.GREATER_THAN_OR_EQUAL).rightVariable(pct).build();
+    }
+
+    @Test
+    public void testQuotesFetchedInConcurrentBatchesOfConfiguredSize() {
+        ReflectionTestUtils.setField(priceDropScreener, "quoteBatchSize", 200);
+        List<String> symbols = new ArrayList<>();
+        for (int i = 0; i < 450; i++) {
+            symbols.add("S" + i);
+        }
+        List<Integer> batchSizes = java.util.Collections.synchronizedList(new ArrayList<>());
+        Mockito.when(ThinkOrSwimAPIs.getQuotes(anyList())).thenAnswer(inv -> {
+            List<String> batch = inv.getArgument(0);
+            batchSizes.add(batch.size());
+            Map<String, QuotesResponse.QuoteData> quotes = new HashMap<>();
+            batch.forEach(s -> quotes.put(s, quoteData(95.0, 100.0, -5.0, 120.0)));
+            return quotes;
+        });
+
+        List<TechnicalScreener.ScreeningResult> results = priceDropScreener.screenPriceDrop(
+                symbols, List.of(dropAtLeast("3.0")), 0, null);
+
+        assertEquals(results.size(), 450);
+        assertEquals(batchSizes, List.of(200, 200, 50));
+        // Batches go through the shared executor rather than a sequential loop
+        Mockito.verify(schwabApiExecutor).executeParallel(Mockito.eq(List.of("S0", "S200", "S400")), any(), any());
+    }
+
+    @Test
+    public void testFreshCachedQuotesAreNotRefetched() {
+        QuotesCache.getInstance().put("AAPL", quoteData(95.0, 100.0, -5.0, 120.0));
+
+        List<TechnicalScreener.ScreeningResult> results = priceDropScreener.screen52WeekHighDrop(
+                List.of("AAPL"), List.of(dropAtLeast("15.0")), null);
+
+        assertEquals(results.size(), 1);
+        assertEquals(results.get(0).getDropPercent(), 20.83, 0.01);
+        Mockito.verify(ThinkOrSwimAPIs, Mockito.never()).getQuotes(anyList());
+    }
+
+    @Test
+    public void testScreenDrops_AllCriteriaFromOneFetch() {
+        Map<String, QuotesResponse.QuoteData> quotes = new HashMap<>();
+        quotes.put("AAPL", quoteData(90.0, 100.0, -10.0, 100.0));
+        quotes.put("MSFT", quoteData(99.0, 100.0, -1.0, 200.0));
+        Mockito.when(ThinkOrSwimAPIs.getQuotes(anyList())).thenReturn(quotes);
+
+        PriceHistoryResponse history = new PriceHistoryResponse();
+        List<PriceHistoryResponse.CandleData> candles = new ArrayList<>();
+        for (double close : new double[]{100.0, 100.0, 80.0}) {
+            PriceHistoryResponse.CandleData candle = new PriceHistoryResponse.CandleData();
+            candle.setClose(close);
+            candles.add(candle);
+        }
+        history.setCandles(candles);
+        Mockito.when(ThinkOrSwimAPIs.getYearlyPriceHistory(anyString(), anyInt())).thenReturn(history);
+
+        List<List<TechnicalScreener.ScreeningResult>> results = priceDropScreener.screenDrops(List.of("AAPL", "MSFT"), List.of(
+                PriceDropScreener.DropScan.of(PriceDropScreener.DropScan.INTRADAY, List.of(dropAtLeast("5.0"))),
+                PriceDropScreener.DropScan.of(PriceDropScreener.DropScan.HIGH_52W, List.of(dropAtLeast("30.0"))),
+                PriceDropScreener.DropScan.of(2, List.of(dropAtLeast("15.0")))), null);
+
+        assertEquals(results.get(0).stream().map(TechnicalScreener.ScreeningResult::getSymbol).toList(), List.of("AAPL"));
+        assertEquals(results.get(1).stream().map(TechnicalScreener.ScreeningResult::getSymbol).toList(), List.of("MSFT"));
+        assertEquals(results.get(2).size(), 2);
+        assertEquals(results.get(2).get(0).getDropType(), "2D");
+        Mockito.verify(ThinkOrSwimAPIs, Mockito.times(1)).getQuotes(anyList());
     }
 
     @Test
@@ -0,0 +1,114 @@
+package com.hemasundar.technical;
+
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+
+import static org.testng.Assert.*;
+
+public class RollingStatisticsTest {
+
+    private static final double EPSILON = 1e-9;
+
+    private static double[] series(int n) {
+        double[] x = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = 250 + 40 * Math.sin(i / 4.0) + 7 * Math.cos(i * 2.1) + (i % 5) * 0.01;
+        }
+        return x;
+    }
+
+    private static double naiveStdDev(double[] x, int from, int to, boolean sample) {
+        double mean = 0;
+        for (int i = from; i <= to; i++) {
+            mean += x[i];
+        }
+        mean /= to - from + 1;
+        double sumSquares = 0;
+        for (int i = from; i <= to; i++) {
+            sumSquares += (x[i] - mean) * (x[i] - mean);
+        }
+        int n = sample ? to - from : to - from + 1;
+        return n <= 0 ? 0 : Math.sqrt(sumSquares / n);
+    }
+
+    @Test
+    public void testMeanAndStandardDeviation_MatchNaiveWindows() {
+        double[] x = series(300);
+        double[] mean = new double[x.length];
+        double[] population = new double[x.length];
+        double[] sample = new double[x.length];
+        int period = 20;
+
+        RollingStatistics.mean(x, period, mean);
+        RollingStatistics.standardDeviation(x, period, false, population);
+        RollingStatistics.standardDeviation(x, period, true, sample);
+
+        for (int i = 0; i < x.length; i++) {
+            int from = Math.max(0, i - period + 1);
+            assertEquals(mean[i], IndicatorKernels.lastSma(x, period, i), EPSILON, "mean " + i);
+            assertEquals(population[i], naiveStdDev(x, from, i, false), EPSILON, "population " + i);
+            assertEquals(sample[i], naiveStdDev(x, from, i, true), EPSILON, "sample " + i);
+        }
+    }
+
+    @Test
+    public void testMaxAndMin_MatchNaiveWindowsAndSkipNaN() {
+        double[] x = series(120);
+        x[30] = Double.NaN;
+        double[] max = new double[x.length];
+        double[] min = new double[x.length];
+        int period = 7;
+
+        RollingStatistics.max(x, period, max);
+        RollingStatistics.min(x, period, min);
+
+        for (int i = 0; i < x.length; i++) {
+            double expectedMax = Double.NEGATIVE_INFINITY;
+            double expectedMin = Double.POSITIVE_INFINITY;
+            for (int j = Math.max(0, i - period + 1); j <= i; j++) {
+                if (!Double.isNaN(x[j])) {
+                    expectedMax = Math.max(expectedMax, x[j]);
+                    expectedMin = Math.min(expectedMin, x[j]);
+                }
+            }
+            assertEquals(max[i], expectedMax, "max " + i);
+            assertEquals(min[i], expectedMin, "min " + i);
+        }
+    }
+
+    @Test
+    public void testMoments_FlatSeriesAndRemoveToEmpty() {
+        double[] flat = new double[40];
+        Arrays.fill(flat, 187.31);
+        double[] out = new double[flat.length];
+        RollingStatistics.standardDeviation(flat, 10, true, out);
+        for (double v : out) {
+            assertEquals(v, 0.0);
+        }
+
+        RollingStatistics.Moments moments = new RollingStatistics.Moments();
+        moments.add(3);
+        moments.add(5);
+        assertEquals(moments.mean(), 4.0);
+        assertEquals(moments.variance(true), 2.0);
+        moments.remove(3);
+        moments.remove(5);
+        assertEquals(moments.count(), 0);
+        assertTrue(Double.isNaN(moments.mean()));
+        assertEquals(moments.variance(false), 0.0);
+    }
+
+    @Test
+    public void testMonotonicDeque_EvictsByWindow() {
+        RollingStatistics.MonotonicDeque deque = new RollingStatistics.MonotonicDeque(3, true);
+        assertEquals(deque.best(), Double.NEGATIVE_INFINITY);
+        double[] values = {5, 1, 3, 2, 0, 0};
+        double[] expected = {5, 5, 5, 3, 3, 2};
+        for (int i = 0; i < values.length; i++) {
+            deque.push(i, values[i]);
+            deque.evictBefore(i - 2);
+            assertEquals(deque.best(), expected[i], "seq " + i);
+        }
+    }
+}
@@ -305,6 +305,41 @@ public class TechnicalScreenerTest {
         assertTrue(summary.contains("INSIDE"));
     }
 
+    @Test
+    public void testScreenStocksFused_MatchesIndividualScreens() {
+        Mockito.when(ThinkOrSwimAPIs.getYearlyPriceHistory(anyString(), anyInt()))
+                .thenReturn(createMockResponse(50.0, 60));
+
+        TechnicalFilterChain rsiChain = TechnicalFilterChain.of(
+                TechnicalIndicators.builder().rsiFilter(RSIFilter.builder().build()).build(),
+                TechFilterConditions.builder().filterExpressions(List.of(MathExpression.builder()
+                        .leftVariable("VOLUME").operator(RelationalOperator.GREATER_THAN_OR_EQUAL).rightVariable("500").build()))
+                        .build());
+        TechnicalFilterChain smaChain = TechnicalFilterChain.of(
+                TechnicalIndicators.builder().build(),
+                TechFilterConditions.builder().filterExpressions(List.of(MathExpression.builder()
+                        .leftVariable("PRICE").operator(RelationalOperator.GREATER_THAN).rightVariable("SMA20").build()))
+                        .build());
+
+        List<List<TechnicalScreener.ScreeningResult>> fused = technicalScreener.screenStocksFused(List.of(
+                new TechnicalScreener.ScreenRequest(List.of("GOOGL", "MSFT"), rsiChain, null),
+                new TechnicalScreener.ScreenRequest(List.of("MSFT", "NVDA"), smaChain, null)), null);
+        List<TechnicalScreener.ScreeningResult> rsiAlone = technicalScreener.screenStocks(List.of("GOOGL", "MSFT"), rsiChain, null);
+        List<TechnicalScreener.ScreeningResult> smaAlone = technicalScreener.screenStocks(List.of("MSFT", "NVDA"), smaChain, null);
+
+        assertEquals(fused.size(), 2);
+        assertEquals(fused.get(0).stream().map(TechnicalScreener.ScreeningResult::getSymbol).toList(), List.of("GOOGL", "MSFT"));
+        assertEquals(fused.get(1).stream().map(TechnicalScreener.ScreeningResult::getSymbol).toList(), List.of("MSFT", "NVDA"));
+        for (int i = 0; i < 2; i++) {
+            assertEquals(fused.get(0).get(i).getRsi(), rsiAlone.get(i).getRsi(), 1e-9);
+            assertEquals(fused.get(1).get(i).getMaValues(), smaAlone.get(i).getMaValues());
+        }
+        // Each screen keeps only its own indicators from the shared evaluation
+        assertTrue(fused.get(0).get(1).getMaValues().isEmpty());
+        assertEquals(fused.get(1).get(0).getRsi(), 0.0);
+        assertEquals(fused.get(1).get(0).getMaValues().keySet(), java.util.Set.of(20));
+    }
+
     private PriceHistoryResponse createMockResponse(double price, int candleCount) {
         PriceHistoryResponse response = new PriceHistoryResponse();
         List<PriceHistoryResponse.CandleData> candles = new ArrayList<>();
@@ -141,4 +141,139 @@ public class OptionChainCacheTest {
     public void testPrintStats() {
         cache.printStats();
     }
+
+    @Test
+    public void testGet_UsesFreshSnapshotBeforeApi() {
+        OptionChainSnapshotStore store = mock(OptionChainSnapshotStore.class);
+        OptionChainResponse snapshot = new OptionChainResponse();
+        when(store.loadFresh("AAPL")).thenReturn(snapshot);
+        OptionChainCache snapshotCache = new OptionChainCache(ThinkOrSwimAPIs, store);
+
+        assertSame(snapshotCache.get("AAPL"), snapshot);
+        assertEquals(snapshotCache.getSnapshotLoads().get(), 1);
+        assertEquals(snapshotCache.getApiCallCounter().get(), 0);
+        verify(ThinkOrSwimAPIs, never()).getOptionChain(anyString());
+    }
+
+    @Test
+    public void testGet_SavesSnapshotAfterApiFetch() {
+        OptionChainSnapshotStore store = mock(OptionChainSnapshotStore.class);
+        OptionChainResponse response = new OptionChainResponse();
+        when(ThinkOrSwimAPIs.getOptionChain("AAPL")).thenReturn(response);
+        OptionChainCache snapshotCache = new OptionChainCache(ThinkOrSwimAPIs, store);
+
+        snapshotCache.get("AAPL");
+
+        verify(store).save("AAPL", response);
+    }
+
+    @Test
+    public void testPrewarm_SkipsSymbolsServedFromSnapshot() {
+        OptionChainSnapshotStore store = mock(OptionChainSnapshotStore.class);
+        when(store.loadFresh("AAPL")).thenReturn(new OptionChainResponse());
+        OptionChainCache snapshotCache = new OptionChainCache(ThinkOrSwimAPIs, store);
+        SchwabApiExecutor executor = mock(SchwabApiExecutor.class);
+        when(executor.executeParallel(anyList(), any(), any())).thenReturn(List.of(new OptionChainResponse()));
+
+        snapshotCache.prewarm(List.of("AAPL", "MSFT"), executor);
+
+        verify(executor).executeParallel(eq(List.of("MSFT")), any(), any());
+        assertTrue(snapshotCache.isCached("AAPL"));
+        assertTrue(snapshotCache.isCached("MSFT"));
+    }
+
+    private static OptionChainResponse chainWeighing(int bytes) {
+        OptionChainResponse chain = new OptionChainResponse();
+        chain.setNumberOfContracts(bytes);
+        return chain;
+    }
+
+    @Test
+    public void testMemoryBudget_EvictsLargestColdestFirst() {
+        cache.setMemoryBudget(100, OptionChainResponse::getNumberOfContracts);
+
+        cache.put("AAPL", chainWeighing(40));
+        cache.put("MSFT", chainWeighing(30));
+        cache.put("TSLA", chainWeighing(20));
+        cache.get("AAPL"); // AAPL becomes the most recently used
+        cache.put("NVDA", chainWeighing(30));
+
+        assertFalse(cache.isCached("MSFT"), "largest idle entry should be evicted");
+        assertTrue(cache.isCached("AAPL"));
+        assertTrue(cache.isCached("NVDA"));
+        assertEquals(cache.getEvictions().get(), 1);
+        assertEquals(cache.getRetainedBytes().get(), 90L);
+        assertEquals(cache.getPeakRetainedBytes().get(), 120L);
+    }
+
+    @Test
+    public void testMemoryBudget_PrefersChainsNoLongerNeeded() {
+        cache.setMemoryBudget(100, OptionChainResponse::getNumberOfContracts);
+        cache.registerPendingUses(List.of("AAPL", "MSFT"));
+
+        cache.put("AAPL", chainWeighing(50));
+        cache.put("TSLA", chainWeighing(10));
+        cache.put("MSFT", chainWeighing(50));
+
+        assertFalse(cache.isCached("TSLA"), "chain without pending uses goes first even if small");
+        assertTrue(cache.isCached("AAPL"));
+        assertTrue(cache.isCached("MSFT"));
+
+        cache.releasePendingUses(List.of("AAPL"));
+        cache.put("NVDA", chainWeighing(10));
+        assertFalse(cache.isCached("AAPL"));
+        assertTrue(cache.isCached("MSFT"));
+    }
+
+    @Test
+    public void testMemoryBudget_PinnedNeverEvicted() {
+        cache.setMemoryBudget(50, OptionChainResponse::getNumberOfContracts);
+        cache.pin("AAPL");
+
+        cache.put("AAPL", chainWeighing(40));
+        cache.put("MSFT", chainWeighing(40));
+
+        assertTrue(cache.isCached("AAPL"));
+        assertFalse(cache.isCached("MSFT"));
+
+        cache.put("TSLA", chainWeighing(40));
+        assertTrue(cache.isCached("AAPL"));
+        cache.unpin("AAPL");
+        cache.put("NVDA", chainWeighing(20));
+        assertFalse(cache.isCached("AAPL"));
+    }
+
+    @Test
+    public void testMemoryBudget_EvictedChainRefetchedOnGet() {
+        cache.setMemoryBudget(50, OptionChainResponse::getNumberOfContracts);
+        when(ThinkOrSwimAPIs.getOptionChain("AAPL")).thenReturn(chainWeighing(40));
+        when(ThinkOrSwimAPIs.getOptionChain("MSFT")).thenReturn(chainWeighing(40));
+
+        cache.get("AAPL");
+        cache.get("MSFT");
+        cache.get("AAPL");
+
+        verify(ThinkOrSwimAPIs, times(2)).getOptionChain("AAPL");
+        assertEquals(cache.getApiCallCounter().get(), 3);
+        assertTrue(cache.getStats().contains("Evictions: 2"));
+    }
+
+    @Test
+    public void testMemoryBudget_BoundedPrewarmStoresEachResult() {
+        cache.setMemoryBudget(1_000_000);
+        when(ThinkOrSwimAPIs.getOptionChain(anyString())).thenReturn(new OptionChainResponse());
+        SchwabApiExecutor executor = mock(SchwabApiExecutor.class);
+        when(executor.executeParallel(anyList(), any(), any())).thenAnswer(inv -> {
+            List<String> symbols = inv.getArgument(0);
+            java.util.function.Function<String, Object> func = inv.getArgument(1);
+            return symbols.stream().map(func).toList();
+        });
+
+        cache.prewarm(List.of("AAPL", "MSFT"), executor);
+
+        assertTrue(cache.isCached("AAPL"));
+        assertTrue(cache.isCached("MSFT"));
+        assertEquals(cache.getApiCallCounter().get(), 2);
+        assertTrue(cache.getRetainedBytes().get() > 0);
+    }
 }
@@ -0,0 +1,141 @@
+package com.hemasundar.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hemasundar.options.models.OptionChainResponse;
+import com.hemasundar.options.models.OptionChainResponse.OptionData;
+import com.hemasundar.options.models.OptionType;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.testng.Assert.*;
+
+public class OptionChainProjectionTest {
+
+    private static final String CONTRACT = """
+            {
+              "putCall": "PUT", "symbol": "AAPL  260116P00150000",
+              "description": "AAPL 01/16/2026 150.00 P", "exchangeName": "OPR",
+              "bid": 1.2, "ask": 1.3, "last": 1.25, "mark": 1.25,
+              "bidSize": 10, "askSize": 12, "bidAskSize": "10X12", "lastSize": 1.0,
+              "highPrice": 1.4, "lowPrice": 1.1, "openPrice": 1.2, "closePrice": 1.22,
+              "totalVolume": 500, "tradeTimeInLong": 1735000000000, "quoteTimeInLong": 1735000001000,
+              "netChange": 0.03, "volatility": 28.5, "delta": -0.25, "gamma": 0.02,
+              "theta": -0.04, "vega": 0.11, "rho": -0.01, "openInterest": 1200,
+              "timeValue": 1.25, "theoreticalOptionValue": 1.24, "theoreticalVolatility": 29.0,
+              "optionDeliverablesList": [
+                {"symbol": "AAPL", "assetType": "STOCK", "deliverableUnits": 100, "currencyType": "USD"}
+              ],
+              "strikePrice": 150.0, "expirationDate": "2026-01-16T21:00:00.000+00:00",
+              "daysToExpiration": 30, "expirationType": "S", "lastTradingDay": 1768597200000,
+              "multiplier": 100, "settlementType": "P", "deliverableNote": "100 AAPL",
+              "percentChange": 2.4, "markChange": 0.03, "markPercentChange": 2.4,
+              "intrinsicValue": 0.0, "extrinsicValue": 1.25, "optionRoot": "AAPL",
+              "exerciseType": "A", "high52Week": 9.5, "low52Week": 0.8,
+              "pennyPilot": true, "inTheMoney": false, "mini": false, "nonStandard": false
+            }""";
+
+    private static final String CHAIN = """
+            {"symbol": "AAPL", "status": "SUCCESS", "underlyingPrice": 180.5,
+             "putExpDateMap": {"2026-01-16:30": {"150.0": [%s]}},
+             "callExpDateMap": {}}""".formatted(CONTRACT);
+
+    @Test
+    public void testParse_KeepsProjectedFields() {
+        OptionChainResponse chain = OptionChainProjection.parse(CHAIN);
+
+        assertEquals(chain.getSymbol(), "AAPL");
+        assertEquals(chain.getUnderlyingPrice(), 180.5);
+        OptionData put = onlyPut(chain);
+        assertEquals(put.getPutCall(), "PUT");
+        assertEquals(put.getSymbol(), "AAPL  260116P00150000");
+        assertEquals(put.getStrikePrice(), 150.0);
+        assertEquals(put.getExpirationDate(), "2026-01-16T21:00:00.000+00:00");
+        assertEquals(put.getDaysToExpiration(), 30);
+        assertEquals(put.getBid(), 1.2);
+        assertEquals(put.getAsk(), 1.3);
+        assertEquals(put.getMark(), 1.25);
+        assertEquals(put.getDelta(), -0.25);
+        assertEquals(put.getTheta(), -0.04);
+        assertEquals(put.getVolatility(), 28.5);
+        assertEquals(put.getTotalVolume(), 500);
+        assertEquals(put.getOpenInterest(), 1200);
+        assertEquals(put.getExtrinsicValue(), 1.25);
+        assertEquals(put.getQuoteTimeInLong(), 1735000001000L);
+    }
+
+    @Test
+    public void testParse_SkipsUnusedFieldsAndDeliverables() {
+        OptionData put = onlyPut(OptionChainProjection.parse(CHAIN));
+
+        assertNull(put.getExchangeName());
+        assertNull(put.getSettlementType());
+        assertNull(put.getOptionRoot());
+        assertNull(put.getOptionDeliverablesList());
+        assertEquals(put.getTradeTimeInLong(), 0L);
+        assertEquals(put.getBidSize(), 0);
+        assertEquals(put.getMultiplier(), 0);
+        assertFalse(put.isPennyPilot());
+    }
+
+    /**
+     * Fields of the persisted leg option data that dashboard.js renderOptionDataTable shows.
+     */
+    private static final List<String> TRADE_DETAIL_PANEL_FIELDS = List.of(
+            "symbol", "description", "bid", "ask", "mark", "last", "bidAskSize", "totalVolume", "openInterest",
+            "volatility", "delta", "gamma", "theta", "vega", "rho", "intrinsicValue", "extrinsicValue",
+            "timeValue", "theoreticalOptionValue", "percentChange", "inTheMoney", "daysToExpiration",
+            "expirationDate", "strikePrice", "high52Week", "low52Week");
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testParse_KeepsEveryTradeDetailPanelField() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        Map<String, Object> full = mapper.readValue(
+                mapper.writeValueAsString(onlyPut(JavaUtils.convertJsonToPojo(CHAIN, OptionChainResponse.class))), Map.class);
+        // Round-trip the projected leg the way TradeLegDTO.optionData is persisted and read back
+        Map<String, Object> projected = mapper.readValue(
+                mapper.writeValueAsString(onlyPut(OptionChainProjection.parse(CHAIN))), Map.class);
+
+        for (String field : TRADE_DETAIL_PANEL_FIELDS) {
+            assertNotNull(full.get(field), field);
+            assertEquals(projected.get(field), full.get(field), field);
+        }
+    }
+
+    @Test
+    public void testParse_ShrinksRetainedSize() {
+        String strikes = IntStream.range(0, 50)
+                .mapToObj(i -> "\"" + (100.0 + i) + "\": [" + CONTRACT + "]")
+                .collect(Collectors.joining(","));
+        String json = "{\"symbol\": \"AAPL\", \"putExpDateMap\": {\"2026-01-16:30\": {" + strikes + "}}}";
+
+        long full = OptionChainSizeEstimator.estimate(JavaUtils.convertJsonToPojo(json, OptionChainResponse.class));
+        long projected = OptionChainSizeEstimator.estimate(OptionChainProjection.parse(json));
+
+        assertTrue(projected * 10 < full * 6,
+                "Projected chain should retain at least 40% less than the full chain: " + projected + " vs " + full);
+    }
+
+    @Test
+    public void testParse_DoesNotAffectDefaultMapper() {
+        OptionChainProjection.parse(CHAIN);
+
+        OptionData put = onlyPut(JavaUtils.convertJsonToPojo(CHAIN, OptionChainResponse.class));
+        assertEquals(put.getDescription(), "AAPL 01/16/2026 150.00 P");
+        assertEquals(put.getHigh52Week(), 9.5);
+    }
+
+    @Test(expectedExceptions = RuntimeException.class)
+    public void testParse_InvalidJson() {
+        OptionChainProjection.parse("{not json");
+    }
+
+    private static OptionData onlyPut(OptionChainResponse chain) {
+        Map<String, List<OptionData>> strikes = chain.getOptionDataForASpecificExpiryDate(OptionType.PUT, "2026-01-16");
+        return strikes.get("150.0").get(0);
+    }
+}
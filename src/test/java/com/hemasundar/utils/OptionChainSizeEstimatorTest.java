@@ -0,0 +1,48 @@
+package com.hemasundar.utils;
+
+import com.hemasundar.options.models.OptionChainResponse;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.testng.Assert.*;
+
+public class OptionChainSizeEstimatorTest {
+
+    private static OptionChainResponse chainWithStrikes(int strikes) {
+        Map<String, List<OptionChainResponse.OptionData>> strikeMap = new LinkedHashMap<>();
+        for (int i = 0; i < strikes; i++) {
+            OptionChainResponse.OptionData option = new OptionChainResponse.OptionData();
+            option.setSymbol("AAPL  260116P00" + (100 + i) + "000");
+            option.setDescription("AAPL 01/16/2026 " + (100 + i) + " Put");
+            option.setOptionDeliverablesList(List.of(new OptionChainResponse.OptionDeliverable("AAPL", "STOCK", 100, "USD")));
+            strikeMap.put((100 + i) + ".0", new ArrayList<>(List.of(option)));
+        }
+        Map<OptionChainResponse.ExpirationDateKey, Map<String, List<OptionChainResponse.OptionData>>> putMap = new LinkedHashMap<>();
+        putMap.put(new OptionChainResponse.ExpirationDateKey("2026-01-16", 30), strikeMap);
+        OptionChainResponse chain = new OptionChainResponse();
+        chain.setSymbol("AAPL");
+        chain.setPutExpDateMap(putMap);
+        return chain;
+    }
+
+    @Test
+    public void testEstimate_NullAndEmpty() {
+        assertEquals(OptionChainSizeEstimator.estimate(null), 0L);
+        assertTrue(OptionChainSizeEstimator.estimate(new OptionChainResponse()) > 0);
+    }
+
+    @Test
+    public void testEstimate_GrowsLinearlyWithContracts() {
+        long ten = OptionChainSizeEstimator.estimate(chainWithStrikes(10));
+        long hundred = OptionChainSizeEstimator.estimate(chainWithStrikes(100));
+
+        assertTrue(hundred > 9 * ten, "estimate should scale with contract count");
+        // One contract with its strings and deliverable is several hundred bytes on a 64-bit JVM
+        long perContract = (hundred - ten) / 90;
+        assertTrue(perContract > 400 && perContract < 2000, "per-contract estimate: " + perContract);
+    }
+}
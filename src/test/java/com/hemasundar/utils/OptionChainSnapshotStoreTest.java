@@ -0,0 +1,190 @@
+package com.hemasundar.utils;
+
+import com.hemasundar.options.models.OptionChainResponse;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.testng.Assert.*;
+
+public class OptionChainSnapshotStoreTest {
+
+    private static final ZoneId NY = ZoneId.of("America/New_York");
+
+    private Path tempDir;
+    private OptionChainSnapshotStore store;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        tempDir = Files.createTempDirectory("chain-snapshots");
+        store = new OptionChainSnapshotStore(true, tempDir.toString(), 15, 3);
+    }
+
+    @AfterMethod
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(tempDir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    private static OptionChainResponse buildChain() {
+        OptionChainResponse.OptionData put = new OptionChainResponse.OptionData();
+        put.setPutCall("PUT");
+        put.setSymbol("AAPL  260116P00180000");
+        put.setBid(1.25);
+        put.setAsk(1.35);
+        put.setMark(1.30);
+        put.setDelta(-0.21);
+        put.setTotalVolume(420);
+        put.setOpenInterest(1500);
+        put.setVolatility(28.5);
+        put.setStrikePrice(180.0);
+        put.setExpirationDate("2026-01-16");
+        put.setDaysToExpiration(30);
+        put.setQuoteTimeInLong(1_766_000_000_000L);
+        put.setInTheMoney(true);
+        put.setOptionDeliverablesList(List.of(new OptionChainResponse.OptionDeliverable("AAPL", "STOCK", 100, null)));
+
+        Map<String, List<OptionChainResponse.OptionData>> strikes = new LinkedHashMap<>();
+        strikes.put("180.0", new ArrayList<>(List.of(put)));
+        strikes.put("185.0", null);
+        Map<OptionChainResponse.ExpirationDateKey, Map<String, List<OptionChainResponse.OptionData>>> putMap = new LinkedHashMap<>();
+        putMap.put(new OptionChainResponse.ExpirationDateKey("2026-01-16", 30), strikes);
+
+        OptionChainResponse chain = new OptionChainResponse();
+        chain.setSymbol("AAPL");
+        chain.setStatus("SUCCESS");
+        chain.setUnderlyingPrice(195.42);
+        chain.setDelayed(true);
+        chain.setNumberOfContracts(1);
+        chain.setPutExpDateMap(putMap);
+        chain.setCallExpDateMap(new LinkedHashMap<>());
+        return chain;
+    }
+
+    @Test
+    public void testEncodeDecode_RoundTrip() throws IOException {
+        OptionChainResponse original = buildChain();
+
+        byte[] bytes = OptionChainSnapshotStore.encode(original, 123L);
+        OptionChainResponse decoded = OptionChainSnapshotStore.decode(ByteBuffer.wrap(bytes));
+
+        assertEquals(decoded.getSymbol(), "AAPL");
+        assertEquals(decoded.getStatus(), "SUCCESS");
+        assertEquals(decoded.getUnderlyingPrice(), 195.42);
+        assertTrue(decoded.isDelayed());
+        assertTrue(decoded.getCallExpDateMap().isEmpty());
+        assertEquals(decoded.getPutExpDateMap(), original.getPutExpDateMap());
+        assertEquals(decoded.getExpiryDateBasedOnDTE(30), "2026-01-16");
+    }
+
+    @Test
+    public void testDecode_CanonicalizesIdentifiers() throws IOException {
+        byte[] bytes = OptionChainSnapshotStore.encode(buildChain(), 123L);
+
+        OptionChainResponse first = OptionChainSnapshotStore.decode(ByteBuffer.wrap(bytes));
+        OptionChainResponse second = OptionChainSnapshotStore.decode(ByteBuffer.wrap(bytes));
+
+        assertSame(first.getSymbol(), second.getSymbol());
+        OptionChainResponse.ExpirationDateKey key = first.getPutExpDateMap().keySet().iterator().next();
+        assertSame(second.getPutExpDateMap().keySet().iterator().next(), key);
+        assertSame(key, SymbolTable.expiryKey("2026-01-16", 30));
+        assertSame(first.getPutExpDateMap().get(key).keySet().iterator().next(),
+                second.getPutExpDateMap().get(key).keySet().iterator().next());
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void testDecode_RejectsUnknownVersion() throws IOException {
+        byte[] bytes = OptionChainSnapshotStore.encode(buildChain(), 1L);
+        bytes[5] = 99; // low byte of the format version
+        OptionChainSnapshotStore.decode(ByteBuffer.wrap(bytes));
+    }
+
+    @Test
+    public void testSaveAndLoadFresh() {
+        store.save("AAPL", buildChain());
+
+        OptionChainResponse loaded = store.loadFresh("AAPL");
+
+        assertNotNull(loaded);
+        assertEquals(loaded.getUnderlyingPrice(), 195.42);
+        assertNull(store.loadFresh("MSFT"));
+    }
+
+    @Test
+    public void testSave_PrunesBeyondRetention() {
+        for (long ts = 1; ts <= 5; ts++) {
+            store.save("AAPL", buildChain(), Instant.ofEpochMilli(ts));
+        }
+
+        assertEquals(store.listSnapshots("AAPL"), List.of(3L, 4L, 5L));
+        assertNotNull(store.load("AAPL", 5L));
+        assertNull(store.load("AAPL", 1L));
+    }
+
+    @Test
+    public void testLoadFresh_StaleSnapshotIgnored() {
+        store.save("AAPL", buildChain(), Instant.now().minusSeconds(7 * 24 * 3600));
+
+        assertNull(store.loadFresh("AAPL"));
+        assertEquals(store.listSnapshots("AAPL").size(), 1);
+    }
+
+    @Test
+    public void testLoad_CorruptFileReturnsNull() throws IOException {
+        Path dir = Files.createDirectories(tempDir.resolve("AAPL"));
+        Files.write(dir.resolve("42.ocs"), new byte[]{1, 2, 3});
+
+        assertNull(store.load("AAPL", 42L));
+    }
+
+    @Test
+    public void testDisabledStore_NoOp() {
+        OptionChainSnapshotStore disabled = new OptionChainSnapshotStore(false, tempDir.toString(), 15, 3);
+        disabled.save("AAPL", buildChain());
+
+        assertTrue(disabled.listSnapshots("AAPL").isEmpty());
+        assertNull(disabled.loadFresh("AAPL"));
+    }
+
+    @Test
+    public void testIsFresh_WithinMaxAge() {
+        Instant now = ZonedDateTime.of(2026, 3, 11, 11, 0, 0, 0, NY).toInstant();
+        assertTrue(store.isFresh(now.minusSeconds(10 * 60), now));
+        assertFalse(store.isFresh(now.minusSeconds(20 * 60), now));
+    }
+
+    @Test
+    public void testIsFresh_AfterCloseUntilNextOpen() {
+        Instant wednesdayClose = ZonedDateTime.of(2026, 3, 11, 16, 5, 0, 0, NY).toInstant();
+        Instant thursdayPreMarket = ZonedDateTime.of(2026, 3, 12, 8, 0, 0, 0, NY).toInstant();
+        Instant thursdayOpen = ZonedDateTime.of(2026, 3, 12, 9, 45, 0, 0, NY).toInstant();
+
+        assertTrue(store.isFresh(wednesdayClose, thursdayPreMarket));
+        assertFalse(store.isFresh(wednesdayClose, thursdayOpen));
+    }
+
+    @Test
+    public void testIsFresh_WeekendUsesFridayClose() {
+        Instant fridayAfterClose = ZonedDateTime.of(2026, 3, 13, 17, 0, 0, 0, NY).toInstant();
+        Instant fridayMidday = ZonedDateTime.of(2026, 3, 13, 12, 0, 0, 0, NY).toInstant();
+        Instant sunday = ZonedDateTime.of(2026, 3, 15, 20, 0, 0, 0, NY).toInstant();
+
+        assertTrue(store.isFresh(fridayAfterClose, sunday));
+        assertFalse(store.isFresh(fridayMidday, sunday));
+    }
+}
@@ -0,0 +1,41 @@
+package com.hemasundar.utils;
+
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+public class RateBudgetTest {
+
+    @Test
+    public void testTotalBudget() {
+        RateBudget budget = new RateBudget(0, 2);
+
+        assertTrue(budget.tryAcquire());
+        assertTrue(budget.tryAcquire());
+        assertTrue(budget.isExhausted());
+        assertFalse(budget.tryAcquire());
+        assertEquals(budget.getUsed(), 2);
+    }
+
+    @Test
+    public void testUnlimited() {
+        RateBudget budget = new RateBudget(0, 0);
+        for (int i = 0; i < 100; i++) {
+            assertTrue(budget.tryAcquire());
+        }
+        assertFalse(budget.isExhausted());
+    }
+
+    @Test
+    public void testPacing_SpacesCallsEvenly() {
+        RateBudget budget = new RateBudget(600, 0); // one slot every 100ms
+
+        long t0 = System.nanoTime();
+        budget.tryAcquire();
+        budget.tryAcquire();
+        budget.tryAcquire();
+        long elapsedMs = (System.nanoTime() - t0) / 1_000_000L;
+
+        assertTrue(elapsedMs >= 190, "Three calls at 600/min should take at least ~200ms, took " + elapsedMs);
+    }
+}
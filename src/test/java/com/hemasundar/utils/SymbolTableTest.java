@@ -0,0 +1,105 @@
+package com.hemasundar.utils;
+
+import com.hemasundar.options.models.OptionChainResponse;
+import com.hemasundar.options.models.OptionChainResponse.ExpirationDateKey;
+import com.hemasundar.options.models.OptionChainResponse.OptionData;
+import com.hemasundar.pojos.PriceHistoryResponse;
+import com.hemasundar.pojos.QuotesResponse;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.testng.Assert.*;
+
+public class SymbolTableTest {
+
+    private static final String CHAIN = "{\"symbol\": \"AAPL\", \"putExpDateMap\": {\"2026-01-16:30\": {\"150.0\": "
+            + "[{\"putCall\": \"PUT\", \"symbol\": \"AAPL  260116P00150000\", "
+            + "\"expirationDate\": \"2026-01-16T21:00:00.000+00:00\", \"delta\": -0.25}]}}}";
+
+    @Test
+    public void testIntern_ReturnsSameInstanceForEqualValues() {
+        String a = new String("MSFT");
+        String b = new String("MSFT");
+
+        assertSame(SymbolTable.intern(a), SymbolTable.intern(b));
+        assertEquals(SymbolTable.intern(b), "MSFT");
+    }
+
+    @Test
+    public void testIntern_Null() {
+        assertNull(SymbolTable.intern(null));
+    }
+
+    @Test
+    public void testExpiryKey_PooledAcrossRawAndParsedForms() {
+        ExpirationDateKey fromRaw = SymbolTable.expiryKey(new String("2026-02-20:65"));
+        ExpirationDateKey fromParts = SymbolTable.expiryKey("2026-02-20", 65);
+
+        assertSame(fromRaw, fromParts);
+        assertEquals(fromRaw.getDate(), "2026-02-20");
+        assertEquals(fromRaw.getDaysToExpiry(), 65);
+        assertSame(fromRaw.getDate(), SymbolTable.intern("2026-02-20"));
+    }
+
+    @Test
+    public void testExpiryKey_NullIsNotPooled() {
+        ExpirationDateKey key = SymbolTable.expiryKey(null);
+
+        assertNull(key.getDate());
+        assertEquals(key.getDaysToExpiry(), 0);
+        assertNotSame(SymbolTable.expiryKey(null), key);
+    }
+
+    @Test
+    public void testDecodedChains_ShareIdentifiers() {
+        OptionChainResponse first = OptionChainProjection.parseFull(CHAIN);
+        OptionChainResponse second = OptionChainProjection.parse(CHAIN);
+
+        assertSame(first.getSymbol(), second.getSymbol());
+        ExpirationDateKey firstKey = first.getPutExpDateMap().keySet().iterator().next();
+        ExpirationDateKey secondKey = second.getPutExpDateMap().keySet().iterator().next();
+        assertSame(firstKey, secondKey);
+
+        String firstStrike = first.getPutExpDateMap().get(firstKey).keySet().iterator().next();
+        String secondStrike = second.getPutExpDateMap().get(secondKey).keySet().iterator().next();
+        assertSame(firstStrike, secondStrike);
+
+        OptionData firstPut = onlyPut(first);
+        OptionData secondPut = onlyPut(second);
+        assertSame(firstPut.getPutCall(), secondPut.getPutCall());
+        assertSame(firstPut.getExpirationDate(), secondPut.getExpirationDate());
+        // Contract symbols are high-cardinality and deliberately not pooled
+        assertNotSame(firstPut.getSymbol(), secondPut.getSymbol());
+    }
+
+    @Test
+    public void testExpiryKey_NewDayReplacesPooledKeyOfSameDate() {
+        int before = SymbolTable.size();
+        ExpirationDateKey today = SymbolTable.expiryKey("2027-03-19", 40);
+        ExpirationDateKey tomorrow = SymbolTable.expiryKey("2027-03-19", 39);
+
+        assertEquals(tomorrow.getDaysToExpiry(), 39);
+        assertNotEquals(tomorrow, today);
+        assertSame(SymbolTable.expiryKey("2027-03-19:39"), tomorrow);
+        assertTrue(SymbolTable.size() <= before + 2, "one string and one key for the date");
+    }
+
+    @Test
+    public void testDecodedQuotesAndHistory_ShareSymbol() {
+        Map<String, QuotesResponse.QuoteData> quotes = JavaUtils.convertJsonToMap(
+                "{\"NVDA\": {\"symbol\": \"NVDA\"}}", QuotesResponse.QuoteData.class);
+        PriceHistoryResponse history = JavaUtils.convertJsonToPojo(
+                "{\"symbol\": \"NVDA\", \"candles\": []}", PriceHistoryResponse.class);
+
+        String symbol = quotes.get("NVDA").getSymbol();
+        assertSame(symbol, history.getSymbol());
+        assertSame(symbol, SymbolTable.intern(new String("NVDA")));
+    }
+
+    private static OptionData onlyPut(OptionChainResponse chain) {
+        List<OptionData> options = chain.getPutExpDateMap().values().iterator().next().values().iterator().next();
+        return options.get(0);
+    }
+}
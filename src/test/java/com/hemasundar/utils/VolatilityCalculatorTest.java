@@ -95,4 +95,37 @@ public class VolatilityCalculatorTest {
         Double result = volatilityCalculator.calculateHvRank(priceHistory, 20);
         assertNull(result);
     }
+
+    @Test
+    public void testCalculateHvRankFromCandles_MatchesPojoPath() {
+        PriceHistoryResponse priceHistory = new PriceHistoryResponse();
+        priceHistory.setSymbol("AAPL");
+        List<PriceHistoryResponse.CandleData> candles = new java.util.ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            double close = 100.0 + 5 * Math.sin(i / 3.0) + i * 0.1;
+            candles.add(new PriceHistoryResponse.CandleData(close, close, close, close, 100L, (long) i));
+        }
+        priceHistory.setCandles(candles);
+
+        Double fromPojo = volatilityCalculator.calculateHvRank(priceHistory, 20);
+        Double fromCandles = volatilityCalculator.calculateHvRankFromCandles(
+                com.hemasundar.technical.CandleSeries.from(priceHistory), 20);
+
+        assertNotNull(fromCandles);
+        assertEquals(fromCandles, fromPojo);
+    }
+
+    @Test
+    public void testCalculateHvRankFromCandles_MissingCloseRejected() {
+        PriceHistoryResponse priceHistory = new PriceHistoryResponse();
+        List<PriceHistoryResponse.CandleData> candles = new java.util.ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            candles.add(new PriceHistoryResponse.CandleData(100.0, 100.0, 100.0, i == 10 ? null : 100.0 + i, 100L, (long) i));
+        }
+        priceHistory.setCandles(candles);
+
+        assertNull(volatilityCalculator.calculateHvRankFromCandles(
+                com.hemasundar.technical.CandleSeries.from(priceHistory), 20));
+        assertNull(volatilityCalculator.calculateHvRankFromCandles(null, 20));
+    }
 }